@@ -0,0 +1,35 @@
+package com.sitemasterpro.benchmark;
+
+import com.sitemasterpro.service.AuditService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caller-side cost of AuditService.logAction, i.e. what every audited write pays inline. Inserts
+ * happen on the writer thread, so a sustained rate above its throughput shows up as enqueue stalls.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Thread)
+public class AuditBenchmark {
+
+    private AuditService auditService;
+    private long entityId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkSecurity.authenticateAsAdmin();
+        auditService = BenchmarkEnvironment.bean(AuditService.class);
+    }
+
+    @Benchmark
+    public void logAction() {
+        entityId++;
+        auditService.logAction("BENCHMARK", "Material", entityId,
+                "Material: Cement, Old Stock: 100.00", "Material: Cement, New Stock: 99.00");
+    }
+}
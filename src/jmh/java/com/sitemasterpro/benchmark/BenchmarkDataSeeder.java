@@ -0,0 +1,103 @@
+package com.sitemasterpro.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.function.Supplier;
+
+/**
+ * Deterministic benchmark data. Every random value comes from PostgreSQL's random() after
+ * setseed(), so the same seed produces the same rows on every run and every machine. Rows are
+ * generated inside the database with generate_series, and change-log triggers are bypassed while
+ * loading, so seeding a million rows takes seconds rather than minutes.
+ */
+public class BenchmarkDataSeeder {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final double seed;
+
+    public BenchmarkDataSeeder(DataSource dataSource, long seed) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        // setseed() takes a value in [-1, 1]
+        this.seed = (seed % 1000) / 1000.0;
+    }
+
+    /**
+     * The shared baseline: the migration's admin user, a handful of projects, suppliers and
+     * materials stocked high enough that stock-out benchmarks never run dry.
+     */
+    public SeededData seedBaseline() {
+        return withSeed(() -> {
+            jdbcTemplate.update(
+                    "INSERT INTO projects (name, location, start_date, end_date, contract_value, budgeted_cost, status) " +
+                    "SELECT 'Benchmark Project ' || g, 'Site ' || g, CURRENT_DATE - 200, CURRENT_DATE + 200, " +
+                    "round((1000000 + random() * 9000000)::numeric, 2), round((800000 + random() * 7000000)::numeric, 2), " +
+                    "'IN_PROGRESS' FROM generate_series(1, 20) g");
+            jdbcTemplate.update(
+                    "INSERT INTO suppliers (name, email, contact_person) " +
+                    "SELECT 'Supplier ' || g, 'supplier' || g || '@example.com', 'Contact ' || g FROM generate_series(1, 10) g");
+            jdbcTemplate.update(
+                    "INSERT INTO materials (name, unit, unit_price, current_stock, min_stock_level, max_stock_level) " +
+                    "SELECT 'Material ' || g, 'pieces', round((1 + random() * 500)::numeric, 2), 90000000, 100, 99000000 " +
+                    "FROM generate_series(1, 50) g");
+
+            Long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = 'admin'", Long.class);
+            Long projectId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM projects", Long.class);
+            Long materialId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM materials", Long.class);
+            return new SeededData(userId, projectId, materialId);
+        });
+    }
+
+    /**
+     * Creates a project carrying exactly {@code rows} financial transactions, for report benchmarks.
+     */
+    public long seedReportProject(int rows) {
+        return withSeed(() -> {
+            Long projectId = jdbcTemplate.queryForObject(
+                    "INSERT INTO projects (name, location, start_date, contract_value, budgeted_cost, status) " +
+                    "VALUES ('Report Project ' || ?, 'Report Site', CURRENT_DATE - 365, 50000000, 40000000, 'IN_PROGRESS') " +
+                    "RETURNING id", Long.class, rows);
+            jdbcTemplate.update(
+                    "INSERT INTO financial_transactions (project_id, type, category, amount, description, transaction_date, approved) " +
+                    "SELECT ?, type, CASE WHEN type = 'INCOME' THEN 'CONTRACT_PAYMENT' " +
+                    "ELSE (ARRAY['MATERIALS','LABOR','EQUIPMENT','SUBCONTRACTOR','OVERHEAD'])[1 + floor(random() * 5)::int] END, " +
+                    "round((10 + random() * 50000)::numeric, 2), 'Transaction ' || g, " +
+                    "CURRENT_TIMESTAMP - (random() * 365) * INTERVAL '1 day', random() < 0.8 " +
+                    "FROM (SELECT g, CASE WHEN random() < 0.3 THEN 'INCOME' ELSE 'EXPENSE' END AS type " +
+                    "FROM generate_series(1, ?) g) t",
+                    projectId, rows);
+            jdbcTemplate.execute("ANALYZE financial_transactions");
+            return projectId;
+        });
+    }
+
+    // One transaction keeps the seed and the trigger bypass on the connection that runs the inserts
+    private <T> T withSeed(Supplier<T> work) {
+        return transactionTemplate.execute(status -> {
+            // Change-log triggers are skipped for bulk loads; these rows are fixtures, not synced data
+            jdbcTemplate.execute("SET LOCAL session_replication_role = replica");
+            jdbcTemplate.queryForObject("SELECT setseed(?)", Object.class, seed);
+            return work.get();
+        });
+    }
+
+    public static final class SeededData {
+        private final Long userId;
+        private final Long projectId;
+        private final Long materialId;
+
+        SeededData(Long userId, Long projectId, Long materialId) {
+            this.userId = userId;
+            this.projectId = projectId;
+            this.materialId = materialId;
+        }
+
+        public Long getUserId() { return userId; }
+        public Long getProjectId() { return projectId; }
+        public Long getMaterialId() { return materialId; }
+    }
+}
@@ -0,0 +1,80 @@
+package com.sitemasterpro.benchmark;
+
+import com.sitemasterpro.SiteMasterProApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+
+/**
+ * One embedded PostgreSQL and one application context per benchmark JVM. Flyway builds the real
+ * schema, so the benchmarks run the same SQL as production; data comes from {@link BenchmarkDataSeeder}.
+ */
+public final class BenchmarkEnvironment {
+
+    private static EmbeddedPostgres postgres;
+    private static ConfigurableApplicationContext context;
+    private static BenchmarkDataSeeder.SeededData data;
+
+    private BenchmarkEnvironment() {}
+
+    public static synchronized ConfigurableApplicationContext context() {
+        if (context == null) {
+            start();
+        }
+        return context;
+    }
+
+    public static synchronized BenchmarkDataSeeder.SeededData data() {
+        context();
+        return data;
+    }
+
+    public static <T> T bean(Class<T> type) {
+        return context().getBean(type);
+    }
+
+    public static BenchmarkDataSeeder seeder() {
+        return new BenchmarkDataSeeder(bean(DataSource.class), Long.getLong("benchmark.seed", 42L));
+    }
+
+    private static void start() {
+        try {
+            postgres = EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start embedded PostgreSQL", e);
+        }
+
+        context = new SpringApplicationBuilder(SiteMasterProApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .properties(
+                        "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "spring.datasource.username=postgres",
+                        "spring.datasource.password=postgres",
+                        "server.port=0",
+                        "spring.devtools.restart.enabled=false",
+                        "logging.level.root=WARN",
+                        "logging.level.com.sitemasterpro=WARN",
+                        "app.websocket.broker.mode=simple")
+                .run();
+        data = seeder().seedBaseline();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(BenchmarkEnvironment::stop, "benchmark-shutdown"));
+    }
+
+    private static synchronized void stop() {
+        if (context != null) {
+            context.close();
+        }
+        if (postgres != null) {
+            try {
+                postgres.close();
+            } catch (IOException ignored) {
+                // JVM is exiting
+            }
+        }
+    }
+}
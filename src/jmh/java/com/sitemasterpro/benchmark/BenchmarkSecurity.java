@@ -0,0 +1,20 @@
+package com.sitemasterpro.benchmark;
+
+import com.sitemasterpro.security.CustomUserDetailsService;
+import com.sitemasterpro.security.UserPrincipal;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+final class BenchmarkSecurity {
+
+    private BenchmarkSecurity() {}
+
+    // The security context is thread-local, so each benchmark thread authenticates itself
+    static UserPrincipal authenticateAsAdmin() {
+        UserPrincipal principal = (UserPrincipal) BenchmarkEnvironment.bean(CustomUserDetailsService.class)
+                .loadUserByUsername("admin");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        return principal;
+    }
+}
@@ -0,0 +1,60 @@
+package com.sitemasterpro.benchmark;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code --name=value} arguments of the performance tools; a bare {@code --name} means true. Every
+ * read consumes its option, so {@link #rejectUnknown()} reports typos instead of silently ignoring them.
+ */
+public final class CommandLineOptions {
+
+    private final Map<String, String> options = new LinkedHashMap<>();
+
+    private CommandLineOptions() {}
+
+    public static CommandLineOptions parse(String[] args) {
+        CommandLineOptions parsed = new CommandLineOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            parsed.options.put(eq < 0 ? arg.substring(2) : arg.substring(2, eq), eq < 0 ? "true" : arg.substring(eq + 1));
+        }
+        return parsed;
+    }
+
+    public String string(String name, String defaultValue) {
+        String value = options.remove(name);
+        return value != null ? value : defaultValue;
+    }
+
+    public int integer(String name, int defaultValue) {
+        return Integer.parseInt(string(name, Integer.toString(defaultValue)));
+    }
+
+    public long number(String name, long defaultValue) {
+        return Long.parseLong(string(name, Long.toString(defaultValue)));
+    }
+
+    public double decimal(String name, double defaultValue) {
+        return Double.parseDouble(string(name, Double.toString(defaultValue)));
+    }
+
+    public boolean flag(String name, boolean defaultValue) {
+        return Boolean.parseBoolean(string(name, Boolean.toString(defaultValue)));
+    }
+
+    public void rejectUnknown() {
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + options.keySet());
+        }
+    }
+
+    // Environment variable with a fallback, for settings shared with application.yml
+    public static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null ? value : defaultValue;
+    }
+}
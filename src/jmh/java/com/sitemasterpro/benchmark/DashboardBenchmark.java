@@ -0,0 +1,29 @@
+package com.sitemasterpro.benchmark;
+
+import com.sitemasterpro.service.ReportService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class DashboardBenchmark {
+
+    private ReportService reportService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkSecurity.authenticateAsAdmin();
+        reportService = BenchmarkEnvironment.bean(ReportService.class);
+    }
+
+    @Benchmark
+    public Map<String, Object> generateDashboardData() {
+        return reportService.generateDashboardData();
+    }
+}
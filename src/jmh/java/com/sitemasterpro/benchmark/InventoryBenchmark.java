@@ -0,0 +1,49 @@
+package com.sitemasterpro.benchmark;
+
+import com.sitemasterpro.entity.InventoryTransaction;
+import com.sitemasterpro.entity.Material;
+import com.sitemasterpro.entity.Project;
+import com.sitemasterpro.service.InventoryService;
+import com.sitemasterpro.service.ProjectService;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of one stock issue: ledger update, transaction insert, dashboard delta, audit
+ * enqueue and realtime notification. Run with -t N to measure contention on the same material row.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Thread)
+public class InventoryBenchmark {
+
+    private InventoryService inventoryService;
+    private Project project;
+    private Material material;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkSecurity.authenticateAsAdmin();
+        inventoryService = BenchmarkEnvironment.bean(InventoryService.class);
+        BenchmarkDataSeeder.SeededData data = BenchmarkEnvironment.data();
+        project = BenchmarkEnvironment.bean(ProjectService.class).getProjectById(data.getProjectId());
+        material = inventoryService.getMaterialById(data.getMaterialId());
+    }
+
+    @Benchmark
+    public InventoryTransaction recordStockOut() {
+        InventoryTransaction transaction = new InventoryTransaction();
+        transaction.setProject(project);
+        transaction.setMaterial(material);
+        transaction.setQuantity(BigDecimal.ONE);
+        transaction.setUnitPrice(material.getUnitPrice());
+        transaction.setTotalAmount(material.getUnitPrice());
+        transaction.setIssuedTo("Benchmark crew");
+        return inventoryService.recordStockOut(transaction);
+    }
+}
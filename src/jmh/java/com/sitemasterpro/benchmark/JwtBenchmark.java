@@ -0,0 +1,75 @@
+package com.sitemasterpro.benchmark;
+
+import com.sitemasterpro.security.JwtAuthenticationFilter;
+import com.sitemasterpro.security.JwtUtil;
+import com.sitemasterpro.security.UserPrincipal;
+import com.sitemasterpro.service.JwtService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request authentication cost. The filter benchmark covers header parsing, the verified-token
+ * cache and the principal cache; the JwtService benchmarks isolate signature verification.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtBenchmark {
+
+    private JwtAuthenticationFilter filter;
+    private JwtService jwtService;
+    private JwtUtil jwtUtil;
+    private String token;
+    private String legacyToken;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        UserPrincipal principal = BenchmarkSecurity.authenticateAsAdmin();
+        SecurityContextHolder.clearContext();
+        filter = BenchmarkEnvironment.bean(JwtAuthenticationFilter.class);
+        jwtService = BenchmarkEnvironment.bean(JwtService.class);
+        jwtUtil = BenchmarkEnvironment.bean(JwtUtil.class);
+        token = jwtUtil.generateJwtToken(principal);
+        legacyToken = jwtService.generateToken(principal);
+    }
+
+    @Benchmark
+    public Object authenticationFilter() throws ServletException, IOException {
+        // OncePerRequestFilter marks the request as filtered, so every invocation needs a fresh one
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects");
+        request.addHeader("Authorization", "Bearer " + token);
+        FilterChain chain = new MockFilterChain();
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public Object parseCachedClaims() {
+        return jwtUtil.parseClaims(token);
+    }
+
+    @Benchmark
+    public Boolean verifyToken() {
+        return jwtService.validateToken(legacyToken);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(legacyToken);
+    }
+}
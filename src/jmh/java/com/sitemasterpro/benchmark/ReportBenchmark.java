@@ -0,0 +1,55 @@
+package com.sitemasterpro.benchmark;
+
+import com.sitemasterpro.service.ReportService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming workbook generation at increasing row counts. Each report run is long, so these are
+ * single-shot measurements.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReportBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    public int rows;
+
+    private ReportService reportService;
+    private long projectId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        reportService = BenchmarkEnvironment.bean(ReportService.class);
+        projectId = BenchmarkEnvironment.seeder().seedReportProject(rows);
+    }
+
+    @Benchmark
+    public long projectFinancialReport() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        reportService.writeProjectFinancialReport(projectId, out);
+        return out.count;
+    }
+
+    // Returning the byte count keeps the workbook output observable without holding it in memory
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.sitemasterpro.benchmark.datagen;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Runs each table load as one COPY in its own transaction on a single connection. The change-log
+ * trigger of a synced table is disabled for the load, since a per-row trigger would double the work;
+ * {@link DataGenerator} writes the change feed for the loaded rows in one statement afterwards.
+ */
+final class BulkLoader {
+    private static final Logger logger = LoggerFactory.getLogger(BulkLoader.class);
+
+    // Tables carrying a "<table>_change_log" trigger from V9__Sync_Change_Log.sql
+    private static final Set<String> CHANGE_LOG_TABLES = Set.of(
+            "materials", "inventory_transactions", "financial_transactions", "labor_records", "project_milestones");
+
+    // Junction tables keyed by their two foreign keys
+    private static final Set<String> TABLES_WITHOUT_ID = Set.of("user_roles", "user_projects");
+
+    interface Rows {
+        void write(CopyWriter out) throws IOException;
+    }
+
+    private interface Work<T> {
+        T run() throws SQLException, IOException;
+    }
+
+    private final Connection connection;
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, Long> idsBefore = new LinkedHashMap<>();
+
+    BulkLoader(Connection connection) throws SQLException {
+        this.connection = connection;
+        connection.setAutoCommit(false);
+        this.jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+    }
+
+    JdbcTemplate jdbc() {
+        return jdbcTemplate;
+    }
+
+    long copy(String table, String[] columns, Rows rows) throws SQLException, IOException {
+        long started = System.nanoTime();
+        if (!TABLES_WITHOUT_ID.contains(table)) {
+            idsBefore.putIfAbsent(table, maxId(table));
+        }
+        long count = inTransaction(table, () -> {
+            try (CopyWriter out = CopyWriter.open(connection, table, columns)) {
+                rows.write(out);
+                return out.rows();
+            }
+        });
+
+        double seconds = Math.max((System.nanoTime() - started) / 1e9, 0.001);
+        logger.info("Loaded {} rows into {} in {} s ({} rows/s)", count, table, String.format("%.1f", seconds),
+                   Math.round(count / seconds));
+        return count;
+    }
+
+    void batchUpdate(String table, String sql, List<Object[]> batchArgs) throws SQLException, IOException {
+        inTransaction(table, () -> jdbcTemplate.batchUpdate(sql, batchArgs));
+    }
+
+    // Runs all statements in one transaction, so readers never see a half-applied step
+    void execute(String... statements) throws SQLException, IOException {
+        inTransaction(null, () -> {
+            for (String sql : statements) {
+                jdbcTemplate.execute(sql);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Ids of the rows this run loaded into {@code table}, in load order. COPY draws them from the
+     * table's sequence row by row, so they line up with the order the rows were written in.
+     */
+    long[] loadedIds(String table) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM " + table + " WHERE id > ? ORDER BY id", Long.class, idsBefore.getOrDefault(table, 0L));
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    long[] loadedIdRange(String table) {
+        long before = idsBefore.getOrDefault(table, 0L);
+        return new long[] { before + 1, Math.max(maxId(table), before) };
+    }
+
+    // Highest id present before this run loaded the table; 0 if the table has not been loaded
+    long idBefore(String table) {
+        return idsBefore.getOrDefault(table, 0L);
+    }
+
+    boolean loaded(String table) {
+        return idsBefore.containsKey(table);
+    }
+
+    private <T> T inTransaction(String table, Work<T> work) throws SQLException, IOException {
+        boolean synced = table != null && CHANGE_LOG_TABLES.contains(table);
+        try {
+            if (synced) {
+                jdbcTemplate.execute("ALTER TABLE " + table + " DISABLE TRIGGER " + table + "_change_log");
+            }
+            T result = work.run();
+            if (synced) {
+                jdbcTemplate.execute("ALTER TABLE " + table + " ENABLE TRIGGER " + table + "_change_log");
+            }
+            connection.commit();
+            return result;
+        } catch (SQLException | IOException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        }
+    }
+
+    private long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        return max != null ? max : 0;
+    }
+}
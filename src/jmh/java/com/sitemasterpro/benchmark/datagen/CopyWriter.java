@@ -0,0 +1,118 @@
+package com.sitemasterpro.benchmark.datagen;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Streams rows into one table with COPY ... FROM STDIN in PostgreSQL's text format. Rows are written
+ * field by field and never held in memory, so a table of any size loads in a single round trip.
+ */
+final class CopyWriter implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Writer out;
+    private boolean rowStarted;
+    private long rows;
+
+    private CopyWriter(Writer out) {
+        this.out = out;
+    }
+
+    static CopyWriter open(Connection connection, String table, String... columns) throws SQLException {
+        String sql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN";
+        PGCopyOutputStream stream = new PGCopyOutputStream(connection.unwrap(PGConnection.class), sql, BUFFER_SIZE);
+        return new CopyWriter(new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), BUFFER_SIZE));
+    }
+
+    CopyWriter text(String value) throws IOException {
+        if (value == null) {
+            return nul();
+        }
+        separator();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\': out.write("\\\\"); break;
+                case '\t': out.write("\\t"); break;
+                case '\n': out.write("\\n"); break;
+                case '\r': out.write("\\r"); break;
+                default: out.write(c);
+            }
+        }
+        return this;
+    }
+
+    CopyWriter number(long value) throws IOException {
+        separator();
+        out.write(Long.toString(value));
+        return this;
+    }
+
+    // Fixed-point value held as hundredths, written with two decimals
+    CopyWriter decimal(long cents) throws IOException {
+        separator();
+        if (cents < 0) {
+            out.write('-');
+            cents = -cents;
+        }
+        long fraction = cents % 100;
+        out.write(Long.toString(cents / 100));
+        out.write(fraction < 10 ? ".0" : ".");
+        out.write(Long.toString(fraction));
+        return this;
+    }
+
+    CopyWriter bool(boolean value) throws IOException {
+        separator();
+        out.write(value ? 't' : 'f');
+        return this;
+    }
+
+    CopyWriter date(LocalDate value) throws IOException {
+        return value == null ? nul() : text(value.toString());
+    }
+
+    CopyWriter timestamp(LocalDateTime value) throws IOException {
+        return value == null ? nul() : text(value.toString());
+    }
+
+    CopyWriter nul() throws IOException {
+        separator();
+        out.write("\\N");
+        return this;
+    }
+
+    void endRow() throws IOException {
+        out.write('\n');
+        rowStarted = false;
+        rows++;
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    // Closing the writer ends the COPY; the rows become visible when the surrounding transaction commits
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void separator() throws IOException {
+        if (rowStarted) {
+            out.write('\t');
+        }
+        rowStarted = true;
+    }
+}
@@ -0,0 +1,135 @@
+package com.sitemasterpro.benchmark.datagen;
+
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fills a migrated database with a synthetic construction portfolio for load and scale testing:
+ * users, projects, milestones, suppliers and materials, then inventory, financial and labor ledgers
+ * and audit logs at the requested volumes. Activity is Zipf-skewed towards a few large projects,
+ * hot materials and busy users, and every table is streamed in with COPY. The same seed and
+ * --end-date produce the same rows.
+ *
+ * <p>Rows bypass the services, so the derived state they would maintain (financial rollups, the
+ * sync change feed) is rebuilt at the end. Load with the application stopped; it picks the data up
+ * on its next start. Generated users are named gen_&lt;role&gt;_&lt;n&gt; and share --user-password.
+ *
+ * <pre>
+ * mvn -Pbenchmarks test-compile exec:java@generate-data -Ddatagen.args="--projects=1000 --audit-logs=20000000"
+ * </pre>
+ */
+public final class DataGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(DataGenerator.class);
+
+    // Synced table, its change-log entity type and project column, as recorded by the V9 triggers
+    private static final String[][] CHANGE_LOG_ENTITIES = {
+            { "materials", "Material", "NULL::bigint" },
+            { "inventory_transactions", "InventoryTransaction", "project_id" },
+            { "financial_transactions", "FinancialTransaction", "project_id" },
+            { "labor_records", "LaborRecord", "project_id" },
+            { "project_milestones", "ProjectMilestone", "project_id" } };
+
+    private static final String[] LOADED_TABLES = {
+            "users", "user_roles", "user_projects", "projects", "project_milestones", "suppliers", "materials",
+            "inventory_transactions", "financial_transactions", "labor_records", "audit_logs",
+            "project_financial_rollups", "change_log" };
+
+    private final GeneratorConfig config;
+    private final BulkLoader loader;
+
+    private DataGenerator(GeneratorConfig config, BulkLoader loader) {
+        this.config = config;
+        this.loader = loader;
+    }
+
+    public static void main(String[] args) throws Exception {
+        GeneratorConfig config = GeneratorConfig.parse(args);
+        if (config.migrate) {
+            Flyway.configure()
+                    .dataSource(config.dbUrl, config.dbUser, config.dbPassword)
+                    .locations("classpath:db/migration")
+                    .baselineOnMigrate(true)
+                    .load()
+                    .migrate();
+        }
+
+        try (Connection connection = DriverManager.getConnection(config.dbUrl, config.dbUser, config.dbPassword)) {
+            new DataGenerator(config, new BulkLoader(connection)).run();
+        }
+    }
+
+    private void run() throws SQLException, IOException {
+        long started = System.nanoTime();
+        logger.info("Generating portfolio: {}", config);
+
+        Portfolio portfolio = new ReferenceDataLoader(config, loader).load();
+        LedgerLoader ledger = new LedgerLoader(config, loader, portfolio);
+        ledger.loadInventoryTransactions();
+        ledger.loadFinancialTransactions();
+        ledger.loadLaborRecords();
+        ledger.loadAuditLogs();
+
+        rebuildFinancialRollups();
+        if (config.changeLog) {
+            recordChangeLog();
+        }
+        analyze();
+
+        logger.info("Portfolio generated in {} s", Math.round((System.nanoTime() - started) / 1e9));
+    }
+
+    // Same recomputation as ProjectFinancialRollupService.rebuild(), which loaded rows never went through
+    private void rebuildFinancialRollups() throws SQLException, IOException {
+        loader.execute(
+                "LOCK TABLE project_financial_rollups IN EXCLUSIVE MODE",
+                "DELETE FROM project_financial_rollups",
+                "INSERT INTO project_financial_rollups (project_id, type, category, approved_amount, approved_count, " +
+                "pending_amount, pending_count) " +
+                "SELECT project_id, type, category, " +
+                "COALESCE(SUM(amount) FILTER (WHERE approved), 0), COUNT(*) FILTER (WHERE approved), " +
+                "COALESCE(SUM(amount) FILTER (WHERE NOT approved), 0), COUNT(*) FILTER (WHERE NOT approved) " +
+                "FROM financial_transactions GROUP BY project_id, type, category",
+                "UPDATE projects p SET actual_revenue = t.revenue, actual_cost = t.cost FROM (" +
+                "SELECT pr.id, " +
+                "COALESCE(SUM(r.approved_amount) FILTER (WHERE r.type = 'INCOME'), 0) AS revenue, " +
+                "COALESCE(SUM(r.approved_amount) FILTER (WHERE r.type = 'EXPENSE'), 0) AS cost " +
+                "FROM projects pr LEFT JOIN project_financial_rollups r ON r.project_id = pr.id GROUP BY pr.id) t " +
+                "WHERE p.id = t.id AND (p.actual_revenue <> t.revenue OR p.actual_cost <> t.cost)");
+        logger.info("Financial rollups rebuilt");
+    }
+
+    /**
+     * Appends the loaded rows to the change feed as already-sequenced entries, the way V9 seeded it
+     * for existing rows, so a full sync delivers them like any other change.
+     */
+    private void recordChangeLog() throws SQLException, IOException {
+        List<String> statements = new ArrayList<>();
+        for (String[] entity : CHANGE_LOG_ENTITIES) {
+            if (loader.loaded(entity[0])) {
+                statements.add(
+                        "INSERT INTO change_log (seq, entity_type, entity_id, project_id, operation) " +
+                        "SELECT nextval('change_log_seq'), '" + entity[1] + "', id, project_id, 'U' FROM (" +
+                        "SELECT id, " + entity[2] + " AS project_id FROM " + entity[0] +
+                        " WHERE id > " + loader.idBefore(entity[0]) + " ORDER BY id) loaded");
+            }
+        }
+        loader.execute(statements.toArray(new String[0]));
+        logger.info("Change feed entries recorded for loaded rows");
+    }
+
+    private void analyze() throws SQLException, IOException {
+        List<String> statements = new ArrayList<>();
+        for (String table : LOADED_TABLES) {
+            statements.add("ANALYZE " + table);
+        }
+        loader.execute(statements.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,86 @@
+package com.sitemasterpro.benchmark.datagen;
+
+import com.sitemasterpro.benchmark.CommandLineOptions;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * Volumes and connection settings for {@link DataGenerator}, parsed from {@code --name=value}
+ * arguments. Database settings default to the same environment variables as application.yml.
+ */
+final class GeneratorConfig {
+
+    long seed;
+    int users;
+    int projects;
+    int milestonesPerProject;
+    int suppliers;
+    int materials;
+    long inventoryTransactions;
+    long financialTransactions;
+    long laborRecords;
+    long auditLogs;
+    int months;
+    LocalDate endDate;
+    double skew;
+    String userPassword;
+    boolean changeLog;
+    boolean migrate;
+
+    String dbUrl;
+    String dbUser;
+    String dbPassword;
+
+    static GeneratorConfig parse(String[] args) {
+        CommandLineOptions options = CommandLineOptions.parse(args);
+        GeneratorConfig config = new GeneratorConfig();
+        config.seed = options.number("seed", 42);
+        config.users = options.integer("users", 60);
+        config.projects = options.integer("projects", 200);
+        config.milestonesPerProject = options.integer("milestones-per-project", 12);
+        config.suppliers = options.integer("suppliers", 150);
+        config.materials = options.integer("materials", 2000);
+        config.inventoryTransactions = options.number("inventory-transactions", 500_000);
+        config.financialTransactions = options.number("financial-transactions", 200_000);
+        config.laborRecords = options.number("labor-records", 300_000);
+        config.auditLogs = options.number("audit-logs", 1_000_000);
+        // Audit partitions older than app.audit.partitions.retention-months are archived by the application
+        config.months = options.integer("months", 12);
+        config.endDate = LocalDate.parse(options.string("end-date", LocalDate.now().toString()));
+        config.skew = options.decimal("skew", 1.1);
+        config.userPassword = options.string("user-password", "loadtest123");
+        config.changeLog = options.flag("change-log", true);
+        config.migrate = options.flag("migrate", false);
+        config.dbUrl = options.string("db-url", CommandLineOptions.env("DATABASE_URL", "jdbc:postgresql://localhost:5432/sitemasterpro"));
+        config.dbUser = options.string("db-user", CommandLineOptions.env("PGUSER", "postgres"));
+        config.dbPassword = options.string("db-password", CommandLineOptions.env("PGPASSWORD", "password"));
+        options.rejectUnknown();
+
+        if (config.users < ReferenceDataLoader.MIN_USERS) {
+            throw new IllegalArgumentException("users must be at least " + ReferenceDataLoader.MIN_USERS +
+                                               " so that every role is represented");
+        }
+        if (config.projects < 1 || config.suppliers < 1 || config.materials < 1 || config.months < 1) {
+            throw new IllegalArgumentException("projects, suppliers, materials and months must be at least 1");
+        }
+        return config;
+    }
+
+    /**
+     * An independent random stream per table, so changing one table's volume leaves the rows of
+     * every other table unchanged.
+     */
+    SplittableRandom random(String stream) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + stream.hashCode());
+    }
+
+    @Override
+    public String toString() {
+        return "seed=" + seed + ", users=" + users + ", projects=" + projects + ", milestonesPerProject=" +
+               milestonesPerProject + ", suppliers=" + suppliers + ", materials=" + materials +
+               ", inventoryTransactions=" + inventoryTransactions + ", financialTransactions=" + financialTransactions +
+               ", laborRecords=" + laborRecords + ", auditLogs=" + auditLogs + ", months=" + months +
+               ", endDate=" + endDate + ", skew=" + skew;
+    }
+}
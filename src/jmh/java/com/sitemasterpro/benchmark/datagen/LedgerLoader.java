@@ -0,0 +1,301 @@
+package com.sitemasterpro.benchmark.datagen;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Loads the high-volume tables: inventory, financial and labor ledgers and the audit log. Rows are
+ * written in time order across the window, so ids grow with transaction dates as they do in
+ * production, and every row picks its project and material through the portfolio's skew.
+ */
+final class LedgerLoader {
+
+    private static final String[] ISSUE_TARGETS = {
+            "Concrete crew", "Masonry crew", "Steel fixing crew", "Finishing crew", "Electrical crew",
+            "Plumbing crew", "Formwork crew", "Site stores transfer" };
+
+    private static final String[] INCOME_CATEGORIES = { "CONTRACT_PAYMENT", "MILESTONE_PAYMENT", "RETENTION_RELEASE" };
+    private static final double[] INCOME_WEIGHTS = { 60, 35, 5 };
+    private static final String[] EXPENSE_CATEGORIES = {
+            "MATERIALS", "LABOR", "SUBCONTRACTOR", "EQUIPMENT", "TRANSPORTATION", "UTILITIES", "OVERHEAD",
+            "PERMITS_LICENSES", "INSURANCE", "OTHER" };
+    private static final double[] EXPENSE_WEIGHTS = { 30, 25, 15, 10, 5, 4, 4, 2, 2, 3 };
+
+    // Job title and hourly rate in hundredths
+    private static final String[] JOB_TITLES = {
+            "Mason", "Carpenter", "Electrician", "Plumber", "Steel Fixer", "Helper", "Welder", "Equipment Operator", "Foreman" };
+    private static final long[] HOURLY_RATES = { 12000, 13000, 16000, 15000, 12500, 8000, 15000, 18000, 22000 };
+
+    private static final String[] USER_AGENTS = {
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/124.0 Safari/537.36",
+            "Mozilla/5.0 (Macintosh; Intel Mac OS X 14_4) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.4 Safari/605.1.15",
+            "Mozilla/5.0 (Linux; Android 14; SM-A546E) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/124.0 Mobile Safari/537.36",
+            "SiteMasterPro-Offline/1.4 (Android 13)" };
+
+    // Audit action, entity type, the table its ids come from, and relative frequency
+    private static final Object[][] AUDIT_ACTIONS = {
+            { "STOCK_OUT", "InventoryTransaction", "inventory_transactions", 35 },
+            { "STOCK_IN", "InventoryTransaction", "inventory_transactions", 8 },
+            { "STOCK_ADJUSTMENT", "InventoryTransaction", "inventory_transactions", 2 },
+            { "CREATE_FINANCIAL_TRANSACTION", "FinancialTransaction", "financial_transactions", 15 },
+            { "APPROVE_TRANSACTION", "FinancialTransaction", "financial_transactions", 12 },
+            { "UPDATE_FINANCIAL_TRANSACTION", "FinancialTransaction", "financial_transactions", 3 },
+            { "REJECT_TRANSACTION", "FinancialTransaction", "financial_transactions", 1 },
+            { "UPDATE_MILESTONE_STATUS", "ProjectMilestone", "project_milestones", 6 },
+            { "UPDATE_PROJECT_PROGRESS", "Project", "projects", 5 },
+            { "UPDATE_PROJECT", "Project", "projects", 2 },
+            { "UPDATE_MATERIAL", "Material", "materials", 3 },
+            { "UPDATE_SUPPLIER", "Supplier", "suppliers", 1 },
+            { "CHANGE_PASSWORD", "User", "users", 1 } };
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final GeneratorConfig config;
+    private final BulkLoader loader;
+    private final Portfolio portfolio;
+
+    LedgerLoader(GeneratorConfig config, BulkLoader loader, Portfolio portfolio) {
+        this.config = config;
+        this.loader = loader;
+        this.portfolio = portfolio;
+    }
+
+    /**
+     * Stock-outs draw each material down; when one would take stock below zero a supplier delivery is
+     * written first, so the ledger never goes negative and the final balances become the materials'
+     * current stock.
+     */
+    void loadInventoryTransactions() throws SQLException, IOException {
+        SplittableRandom random = config.random("inventory-transactions");
+        long total = config.inventoryTransactions;
+        long[] balance = portfolio.materialReorderCents.clone();
+
+        loader.copy("inventory_transactions", new String[] { "project_id", "material_id", "supplier_id", "type",
+                "quantity", "unit_price", "total_amount", "purchase_order_reference", "issued_to", "notes",
+                "transaction_date", "created_by" }, out -> {
+            long written = 0;
+            long orders = 0;
+            while (written < total) {
+                LocalDateTime time = portfolio.timeOf(written, total, random.nextDouble());
+                int project = portfolio.activeProject(random, time);
+                int material = portfolio.materialDemand.sample(random);
+                long projectId = portfolio.projectIds[project];
+                long materialId = portfolio.materialIds[material];
+                long storeKeeper = portfolio.projectStaff[project][Portfolio.STORE_KEEPER];
+                long price = portfolio.materialPriceCents[material];
+                long reorder = portfolio.materialReorderCents[material];
+
+                if (random.nextDouble() < 0.02) {
+                    // Cycle count correction of up to 1% either way, never below zero
+                    long delta = Math.max(-balance[material], Math.round(reorder * (random.nextDouble() * 0.02 - 0.01)));
+                    delta = delta != 0 ? delta : 100;
+                    balance[material] += delta;
+                    out.number(projectId).number(materialId).nul().text("ADJUSTMENT").decimal(delta).decimal(price)
+                            .decimal(amount(delta, price)).nul().nul().text("Cycle count correction")
+                            .timestamp(time).number(storeKeeper).endRow();
+                    written++;
+                    continue;
+                }
+
+                long quantity = Math.max(1, Math.round(reorder / 100.0 * (0.005 + 0.045 * random.nextDouble()))) * 100;
+                if (balance[material] < quantity) {
+                    long delivery = reorder + quantity;
+                    balance[material] += delivery;
+                    long supplierId = portfolio.supplierIds[portfolio.supplierShare.sample(random)];
+                    out.number(projectId).number(materialId).number(supplierId).text("STOCK_IN").decimal(delivery)
+                            .decimal(price).decimal(amount(delivery, price)).text("PO-" + time.getYear() + "-" + (++orders))
+                            .nul().nul().timestamp(time).number(storeKeeper).endRow();
+                    if (++written >= total) {
+                        break;
+                    }
+                }
+
+                balance[material] -= quantity;
+                out.number(projectId).number(materialId).nul().text("STOCK_OUT").decimal(quantity).decimal(price)
+                        .decimal(amount(quantity, price)).nul().text(ISSUE_TARGETS[random.nextInt(ISSUE_TARGETS.length)])
+                        .nul().timestamp(time).number(storeKeeper).endRow();
+                written++;
+            }
+        });
+
+        Timestamp updatedAt = Timestamp.valueOf(portfolio.windowEnd);
+        List<Object[]> stock = new ArrayList<>(balance.length);
+        for (int i = 0; i < balance.length; i++) {
+            stock.add(new Object[] { BigDecimal.valueOf(balance[i], 2), updatedAt, portfolio.materialIds[i] });
+        }
+        loader.batchUpdate("materials", "UPDATE materials SET current_stock = ?, updated_at = ? WHERE id = ?", stock);
+    }
+
+    /**
+     * Expense-heavy ledger with log-normal amounts. Anything older than a month is almost always
+     * approved; recent transactions leave a realistic approval backlog.
+     */
+    void loadFinancialTransactions() throws SQLException, IOException {
+        SplittableRandom random = config.random("financial-transactions");
+        long total = config.financialTransactions;
+
+        loader.copy("financial_transactions", new String[] { "project_id", "type", "category", "amount", "description",
+                "reference_number", "transaction_date", "created_by", "approved_by", "approved", "approved_at" }, out -> {
+            for (long i = 0; i < total; i++) {
+                LocalDateTime time = portfolio.timeOf(i, total, random.nextDouble());
+                int project = portfolio.activeProject(random, time);
+                long[] staff = portfolio.projectStaff[project];
+                boolean income = random.nextDouble() < 0.2;
+                String category = income ? pick(random, INCOME_CATEGORIES, INCOME_WEIGHTS)
+                                         : pick(random, EXPENSE_CATEGORIES, EXPENSE_WEIGHTS);
+                double median = income ? 250_000 : 8_000;
+                long amount = Math.max(100, Math.min(Math.round(median * Math.exp(1.1 * random.nextGaussian())) * 100,
+                                                     100_000_000_000L));
+
+                long ageDays = ChronoUnit.DAYS.between(time, portfolio.windowEnd);
+                boolean approved = random.nextDouble() < (ageDays > 30 ? 0.97 : 0.5);
+                LocalDateTime approvedAt = null;
+                if (approved) {
+                    approvedAt = time.plusHours(2 + random.nextInt(240));
+                    approvedAt = approvedAt.isBefore(portfolio.windowEnd) ? approvedAt : portfolio.windowEnd.minusMinutes(1);
+                }
+                long createdBy = income || random.nextBoolean() ? staff[Portfolio.ACCOUNTANT] : staff[Portfolio.SITE_MANAGER];
+
+                out.number(portfolio.projectIds[project]).text(income ? "INCOME" : "EXPENSE").text(category)
+                        .decimal(amount).text(label(category) + (income ? " received" : " expense"))
+                        .text((income ? "INV-" : "BILL-") + (i + 1)).timestamp(time).number(createdBy);
+                if (approved) {
+                    out.number(staff[Portfolio.ACCOUNTANT]).bool(true).timestamp(approvedAt);
+                } else {
+                    out.nul().bool(false).nul();
+                }
+                out.endRow();
+            }
+        });
+    }
+
+    /**
+     * Daily attendance of each project's crew; crews are sized with the project's activity, and each
+     * worker keeps a fixed name, id and trade.
+     */
+    void loadLaborRecords() throws SQLException, IOException {
+        SplittableRandom random = config.random("labor-records");
+        long total = config.laborRecords;
+        int[] crewSize = new int[portfolio.projectIds.length];
+        for (int i = 0; i < crewSize.length; i++) {
+            crewSize[i] = (int) Math.max(8, Math.round(30 * portfolio.projectSize.probability(i) * crewSize.length));
+        }
+
+        loader.copy("labor_records", new String[] { "worker_name", "worker_id", "job_title", "work_date", "hours_worked",
+                "overtime_hours", "hourly_rate", "overtime_rate", "total_pay", "work_description", "attendance_status",
+                "project_id", "recorded_by", "created_at" }, out -> {
+            for (long i = 0; i < total; i++) {
+                LocalDateTime time = portfolio.timeOf(i, total, random.nextDouble());
+                int project = portfolio.activeProject(random, time);
+                int worker = random.nextInt(crewSize[project]);
+                int trade = (project + worker) % JOB_TITLES.length;
+                String name = ReferenceDataLoader.FIRST_NAMES[(project * 31 + worker * 7) % ReferenceDataLoader.FIRST_NAMES.length] +
+                              " " + ReferenceDataLoader.LAST_NAMES[(project * 17 + worker * 13) % ReferenceDataLoader.LAST_NAMES.length];
+
+                double attendance = random.nextDouble();
+                String status = attendance < 0.05 ? "ABSENT" : attendance < 0.12 ? "HALF_DAY" : "PRESENT";
+                long hours = attendance < 0.05 ? 0 : attendance < 0.12 ? 400 : 800;
+                long overtime = "PRESENT".equals(status) && random.nextDouble() < 0.2 ? (1 + random.nextInt(4)) * 100 : 0;
+                long rate = HOURLY_RATES[trade];
+                long overtimeRate = rate * 3 / 2;
+                long pay = (hours * rate + overtime * overtimeRate) / 100;
+
+                out.text(name).text("W" + portfolio.projectIds[project] + "-" + (worker + 1)).text(JOB_TITLES[trade])
+                        .date(time.toLocalDate()).decimal(hours).decimal(overtime).decimal(rate).decimal(overtimeRate)
+                        .decimal(pay).text(JOB_TITLES[trade] + " work").text(status)
+                        .number(portfolio.projectIds[project]).number(portfolio.projectStaff[project][Portfolio.LABOR_HEAD])
+                        .timestamp(time).endRow();
+            }
+        });
+    }
+
+    /**
+     * Audit entries reference rows of the matching entity type loaded by this run. A few heavy users
+     * produce most entries, following the portfolio's user skew.
+     */
+    void loadAuditLogs() throws SQLException, IOException {
+        createAuditPartitions();
+
+        List<Object[]> actions = new ArrayList<>();
+        List<long[]> ranges = new ArrayList<>();
+        for (Object[] action : AUDIT_ACTIONS) {
+            long[] range = loader.loadedIdRange((String) action[2]);
+            if (range[1] >= range[0]) {
+                actions.add(action);
+                ranges.add(range);
+            }
+        }
+        double[] weights = new double[actions.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = (Integer) actions.get(i)[3];
+        }
+
+        SplittableRandom random = config.random("audit-logs");
+        long total = config.auditLogs;
+        loader.copy("audit_logs", new String[] { "user_id", "action", "entity_type", "entity_id", "old_values",
+                "new_values", "ip_address", "user_agent", "timestamp" }, out -> {
+            for (long i = 0; i < total; i++) {
+                LocalDateTime time = portfolio.timeOf(i, total, random.nextDouble());
+                int choice = pickIndex(random, weights);
+                Object[] action = actions.get(choice);
+                long[] range = ranges.get(choice);
+                long entityId = range[0] + random.nextLong(range[1] - range[0] + 1);
+                String entity = action[1] + " #" + entityId;
+
+                out.number(portfolio.userIds[portfolio.userActivity.sample(random)]).text((String) action[0])
+                        .text((String) action[1]).number(entityId).text(entity + " before").text(entity + " after")
+                        .text("10." + random.nextInt(256) + "." + random.nextInt(256) + "." + (1 + random.nextInt(254)))
+                        .text(USER_AGENTS[random.nextInt(USER_AGENTS.length)]).timestamp(time).endRow();
+            }
+        });
+    }
+
+    // Same naming as AuditPartitionService, which only creates partitions from the current month on
+    private void createAuditPartitions() throws SQLException, IOException {
+        List<String> statements = new ArrayList<>();
+        YearMonth last = YearMonth.from(portfolio.windowEnd);
+        for (YearMonth month = YearMonth.from(portfolio.windowStart); !month.isAfter(last); month = month.plusMonths(1)) {
+            statements.add("CREATE TABLE IF NOT EXISTS audit_logs_p" + month.format(PARTITION_SUFFIX) +
+                           " PARTITION OF audit_logs FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" +
+                           month.plusMonths(1).atDay(1) + "')");
+        }
+        loader.execute(statements.toArray(new String[0]));
+    }
+
+    private static long amount(long quantityCents, long priceCents) {
+        return Math.round(quantityCents * (double) priceCents / 100);
+    }
+
+    private static String label(String category) {
+        String words = category.replace('_', ' ').toLowerCase();
+        return Character.toUpperCase(words.charAt(0)) + words.substring(1);
+    }
+
+    private static String pick(SplittableRandom random, String[] values, double[] weights) {
+        return values[pickIndex(random, weights)];
+    }
+
+    private static int pickIndex(SplittableRandom random, double[] weights) {
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        double target = random.nextDouble() * total;
+        for (int i = 0; i < weights.length - 1; i++) {
+            target -= weights[i];
+            if (target < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+}
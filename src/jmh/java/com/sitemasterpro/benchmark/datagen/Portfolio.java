@@ -0,0 +1,68 @@
+package com.sitemasterpro.benchmark.datagen;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * The reference rows one generator run created, with the skewed distributions the ledger tables
+ * draw from: a few large projects carry most of the activity and a few hot materials most of the
+ * stock movements.
+ */
+final class Portfolio {
+
+    // Project-scoped roles; each project gets one user of each, so every project is reachable by every role
+    static final String[] SCOPED_ROLES = {
+            "ROLE_STORE_KEEPER", "ROLE_ACCOUNTANT", "ROLE_SITE_MANAGER", "ROLE_SITE_ENGINEER", "ROLE_LABOR_HEAD" };
+    static final int STORE_KEEPER = 0;
+    static final int ACCOUNTANT = 1;
+    static final int SITE_MANAGER = 2;
+    static final int SITE_ENGINEER = 3;
+    static final int LABOR_HEAD = 4;
+
+    LocalDateTime windowStart;
+    LocalDateTime windowEnd;
+
+    long[] userIds;
+    ZipfDistribution userActivity;
+
+    long[] projectIds;
+    LocalDate[] projectStart;
+    LocalDate[] projectPlannedEnd;
+    // Actual end of completed projects, null while a project is still running
+    LocalDate[] projectEnd;
+    ZipfDistribution projectSize;
+    // [project][scoped role] -> user id
+    long[][] projectStaff;
+
+    long[] supplierIds;
+    ZipfDistribution supplierShare;
+
+    long[] materialIds;
+    long[] materialPriceCents;
+    long[] materialReorderCents;
+    ZipfDistribution materialDemand;
+
+    /**
+     * Picks a project by size that was still running at {@code time}, so completed projects stop
+     * collecting new activity. Falls back to the last pick if the skew keeps landing on finished ones.
+     */
+    int activeProject(SplittableRandom random, LocalDateTime time) {
+        LocalDate date = time.toLocalDate();
+        int project = projectSize.sample(random);
+        for (int attempt = 0; attempt < 8 && projectEnd[project] != null && date.isAfter(projectEnd[project]); attempt++) {
+            project = projectSize.sample(random);
+        }
+        return project;
+    }
+
+    long spanSeconds() {
+        return Duration.between(windowStart, windowEnd).getSeconds();
+    }
+
+    // Time of row index out of total, spread evenly over the window with jitter in [0, 1)
+    LocalDateTime timeOf(long index, long total, double jitter) {
+        return windowStart.plusSeconds((long) ((index + jitter) * spanSeconds() / Math.max(total, 1)));
+    }
+}
@@ -0,0 +1,311 @@
+package com.sitemasterpro.benchmark.datagen;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Loads users, projects and their staff assignments, milestones, suppliers and materials. These are
+ * small tables, but their ids and skew drive every ledger row, so they are loaded first and kept in
+ * a {@link Portfolio}.
+ */
+final class ReferenceDataLoader {
+
+    static final String USERNAME_PREFIX = "gen_";
+
+    // Role of generated user i is ROLE_MIX[i % length]; the first MIN_USERS entries cover every role
+    static final String[] ROLE_MIX = {
+            "ROLE_STORE_KEEPER", "ROLE_ACCOUNTANT", "ROLE_SITE_MANAGER", "ROLE_SITE_ENGINEER", "ROLE_LABOR_HEAD",
+            "ROLE_ADMIN", "ROLE_STORE_KEEPER", "ROLE_SITE_MANAGER", "ROLE_ACCOUNTANT", "ROLE_STORE_KEEPER",
+            "ROLE_LABOR_HEAD", "ROLE_SITE_ENGINEER", "ROLE_STORE_KEEPER", "ROLE_SITE_MANAGER", "ROLE_STORE_KEEPER",
+            "ROLE_ACCOUNTANT", "ROLE_SITE_ENGINEER", "ROLE_LABOR_HEAD", "ROLE_STORE_KEEPER", "ROLE_CEO" };
+    static final int MIN_USERS = 6;
+
+    static final String[] FIRST_NAMES = {
+            "Aarav", "Priya", "Rahul", "Sunita", "Vikram", "Anita", "Arjun", "Kavya", "Rohan", "Meera",
+            "James", "Maria", "David", "Sarah", "Michael", "Fatima", "Omar", "Chen", "Ana", "Lucas" };
+    static final String[] LAST_NAMES = {
+            "Sharma", "Patel", "Singh", "Kumar", "Gupta", "Reddy", "Nair", "Iyer", "Das", "Mehta",
+            "Smith", "Garcia", "Khan", "Wang", "Silva", "Brown", "Ali", "Lopez", "Joshi", "Rao" };
+
+    private static final String[] CITIES = {
+            "Mumbai", "Delhi", "Bengaluru", "Chennai", "Hyderabad", "Pune", "Ahmedabad", "Kolkata", "Jaipur", "Surat" };
+    private static final String[] DISTRICTS = {
+            "Central Business District", "Industrial Area", "Riverside", "North Sector", "Ring Road",
+            "Airport Zone", "Old Town", "Tech Park", "Harbour Front", "Metro Corridor" };
+    private static final String[] PROJECT_TYPES = {
+            "Residential Tower", "Metro Bridge", "Highway Expansion", "Commercial Complex", "Hospital Block",
+            "School Campus", "Water Treatment Plant", "Logistics Warehouse", "Shopping Mall", "Flyover" };
+    private static final String[] MILESTONE_NAMES = {
+            "Site Mobilization", "Excavation", "Foundation", "Substructure", "Superstructure",
+            "Roofing", "MEP Rough-in", "Masonry", "Facade", "Interior Finishing", "External Works", "Handover" };
+    private static final String[] SUPPLIER_NAMES = {
+            "Apex", "Metro", "Quality", "BuildTech", "Prime", "Sterling", "Unity", "Pioneer", "Summit", "Coastal" };
+    private static final String[] SUPPLIER_TRADES = {
+            "Cement Supplies", "Steel Corporation", "Aggregates", "Timber Traders", "Electricals",
+            "Plumbing Solutions", "Paints & Coatings", "Hardware Mart", "Ready-Mix Concrete", "Building Materials" };
+
+    // name, unit, price range and reorder quantity range in whole units
+    private static final Object[][] MATERIAL_CATALOG = {
+            { "Portland Cement", "Bags (50kg)", 300, 450, 500, 2000 },
+            { "Steel Rebar", "Tonnes", 40000, 60000, 5, 40 },
+            { "Concrete Blocks", "Pieces", 30, 60, 2000, 10000 },
+            { "Sand (River)", "Cubic Meters", 700, 1000, 50, 300 },
+            { "Gravel 20mm", "Cubic Meters", 1000, 1500, 50, 300 },
+            { "Ready-Mix Concrete", "Cubic Meters", 4500, 6000, 20, 200 },
+            { "Bricks", "Pieces", 6, 12, 5000, 30000 },
+            { "Plywood 18mm", "Sheets", 1500, 2500, 50, 400 },
+            { "PVC Pipe 110mm", "Meters", 150, 300, 100, 1000 },
+            { "Electrical Cable", "Meters", 40, 80, 500, 5000 },
+            { "Exterior Paint", "Liters", 250, 450, 100, 1000 },
+            { "Ceramic Tiles", "Square Meters", 400, 900, 200, 2000 },
+            { "Structural Steel", "Tonnes", 55000, 75000, 5, 30 },
+            { "Binding Wire", "Kg", 60, 90, 100, 1000 },
+            { "Waterproofing Membrane", "Rolls", 2500, 4000, 20, 150 } };
+
+    private final GeneratorConfig config;
+    private final BulkLoader loader;
+    private final Map<String, List<Long>> usersByRole = new HashMap<>();
+
+    ReferenceDataLoader(GeneratorConfig config, BulkLoader loader) {
+        this.config = config;
+        this.loader = loader;
+    }
+
+    Portfolio load() throws SQLException, IOException {
+        Portfolio portfolio = new Portfolio();
+        portfolio.windowEnd = config.endDate.atStartOfDay();
+        portfolio.windowStart = portfolio.windowEnd.minusMonths(config.months);
+
+        loadUsers(portfolio);
+        loadProjects(portfolio);
+        loadProjectStaff(portfolio);
+        loadMilestones(portfolio);
+        loadSuppliers(portfolio);
+        loadMaterials(portfolio);
+        return portfolio;
+    }
+
+    private void loadUsers(Portfolio portfolio) throws SQLException, IOException {
+        Integer existing = loader.jdbc().queryForObject(
+                "SELECT COUNT(*) FROM users WHERE username LIKE ?", Integer.class, USERNAME_PREFIX.replace("_", "\\_") + "%");
+        if (existing != null && existing > 0) {
+            throw new IllegalStateException("Generated users already exist; run the generator against a freshly migrated database");
+        }
+
+        // Hashed once: BCrypt is deliberately slow and every generated user shares the password
+        String passwordHash = new BCryptPasswordEncoder().encode(config.userPassword);
+        SplittableRandom random = config.random("users");
+        String[] roles = new String[config.users];
+        loader.copy("users", new String[] { "username", "password", "email", "full_name", "phone_number", "enabled",
+                "created_at", "updated_at" }, out -> {
+            Map<String, Integer> counters = new HashMap<>();
+            for (int i = 0; i < config.users; i++) {
+                roles[i] = ROLE_MIX[i % ROLE_MIX.length];
+                int n = counters.merge(roles[i], 1, Integer::sum);
+                String username = USERNAME_PREFIX + roles[i].substring("ROLE_".length()).toLowerCase() + "_" + n;
+                LocalDateTime created = portfolio.windowStart.minusDays(random.nextInt(365));
+                out.text(username).text(passwordHash).text(username + "@example.com").text(personName(random))
+                        .text(phoneNumber(random)).bool(true).timestamp(created).timestamp(created).endRow();
+            }
+        });
+        portfolio.userIds = loader.loadedIds("users");
+
+        Map<String, Long> roleIds = new HashMap<>();
+        loader.jdbc().query("SELECT name, id FROM roles", rs -> {
+            roleIds.put(rs.getString(1), rs.getLong(2));
+        });
+        loader.copy("user_roles", new String[] { "user_id", "role_id" }, out -> {
+            for (int i = 0; i < config.users; i++) {
+                out.number(portfolio.userIds[i]).number(roleIds.get(roles[i])).endRow();
+            }
+        });
+        for (int i = 0; i < config.users; i++) {
+            usersByRole.computeIfAbsent(roles[i], role -> new ArrayList<>()).add(portfolio.userIds[i]);
+        }
+        portfolio.userActivity = new ZipfDistribution(config.users, config.skew, random);
+    }
+
+    private void loadProjects(Portfolio portfolio) throws SQLException, IOException {
+        SplittableRandom random = config.random("projects");
+        int count = config.projects;
+        portfolio.projectSize = new ZipfDistribution(count, config.skew, random);
+        portfolio.projectStart = new LocalDate[count];
+        portfolio.projectPlannedEnd = new LocalDate[count];
+        portfolio.projectEnd = new LocalDate[count];
+        LocalDate today = config.endDate;
+        LocalDate windowStart = portfolio.windowStart.toLocalDate();
+
+        loader.copy("projects", new String[] { "name", "description", "location", "start_date", "end_date",
+                "actual_end_date", "contract_value", "budgeted_cost", "completion_percentage", "status",
+                "created_at", "updated_at" }, out -> {
+            for (int i = 0; i < count; i++) {
+                String type = PROJECT_TYPES[random.nextInt(PROJECT_TYPES.length)];
+                String city = CITIES[random.nextInt(CITIES.length)];
+                LocalDate start = windowStart.minusDays(random.nextInt(540));
+                LocalDate plannedEnd = start.plusDays(365 + random.nextInt(1096));
+
+                // Contract size follows the activity skew: 1.0 is a project of average activity
+                double share = portfolio.projectSize.probability(i) * count;
+                long contractCents = Math.round((5_000_000 + 20_000_000 * share) * (0.8 + 0.4 * random.nextDouble())) * 100;
+                long budgetCents = Math.round(contractCents * (0.75 + 0.15 * random.nextDouble()));
+
+                String status;
+                LocalDate actualEnd = null;
+                long completion;
+                if (plannedEnd.isBefore(today)) {
+                    status = "COMPLETED";
+                    actualEnd = min(plannedEnd.plusDays(random.nextInt(90) - 30), today.minusDays(1));
+                    completion = 10000;
+                } else {
+                    status = random.nextDouble() < 0.06 ? "ON_HOLD" : "IN_PROGRESS";
+                    completion = Math.min(9999, 10000 * ChronoUnit.DAYS.between(start, today) /
+                                                ChronoUnit.DAYS.between(start, plannedEnd));
+                }
+                portfolio.projectStart[i] = start;
+                portfolio.projectPlannedEnd[i] = plannedEnd;
+                portfolio.projectEnd[i] = actualEnd;
+
+                out.text(city + " " + type + " " + (i + 1))
+                        .text("Generated " + type.toLowerCase() + " project in " + city)
+                        .text(DISTRICTS[random.nextInt(DISTRICTS.length)] + ", " + city)
+                        .date(start).date(plannedEnd).date(actualEnd)
+                        .decimal(contractCents).decimal(budgetCents).decimal(completion).text(status)
+                        .timestamp(start.atStartOfDay()).timestamp(start.atStartOfDay()).endRow();
+            }
+        });
+        portfolio.projectIds = loader.loadedIds("projects");
+    }
+
+    private void loadProjectStaff(Portfolio portfolio) throws SQLException, IOException {
+        SplittableRandom random = config.random("project-staff");
+        portfolio.projectStaff = new long[config.projects][Portfolio.SCOPED_ROLES.length];
+        loader.copy("user_projects", new String[] { "user_id", "project_id" }, out -> {
+            for (int i = 0; i < config.projects; i++) {
+                for (int r = 0; r < Portfolio.SCOPED_ROLES.length; r++) {
+                    List<Long> candidates = usersByRole.get(Portfolio.SCOPED_ROLES[r]);
+                    long userId = candidates.get(random.nextInt(candidates.size()));
+                    portfolio.projectStaff[i][r] = userId;
+                    out.number(userId).number(portfolio.projectIds[i]).endRow();
+                }
+            }
+        });
+    }
+
+    private void loadMilestones(Portfolio portfolio) throws SQLException, IOException {
+        SplittableRandom random = config.random("milestones");
+        int perProject = config.milestonesPerProject;
+        LocalDate today = config.endDate;
+
+        loader.copy("project_milestones", new String[] { "project_id", "name", "description", "planned_start_date",
+                "planned_end_date", "actual_start_date", "actual_end_date", "completion_percentage", "status",
+                "created_at", "updated_at" }, out -> {
+            for (int i = 0; i < config.projects; i++) {
+                LocalDate projectStart = portfolio.projectStart[i];
+                long days = ChronoUnit.DAYS.between(projectStart, portfolio.projectPlannedEnd[i]);
+                for (int k = 0; k < perProject; k++) {
+                    LocalDate plannedStart = projectStart.plusDays(days * k / perProject);
+                    LocalDate plannedEnd = max(projectStart.plusDays(days * (k + 1) / perProject - 1), plannedStart);
+                    String name = MILESTONE_NAMES[k % MILESTONE_NAMES.length] +
+                                  (k >= MILESTONE_NAMES.length ? " " + (k / MILESTONE_NAMES.length + 1) : "");
+
+                    LocalDate actualStart = null;
+                    LocalDate actualEnd = null;
+                    long completion = 0;
+                    String status = "NOT_STARTED";
+                    if (plannedEnd.isBefore(today)) {
+                        status = "COMPLETED";
+                        actualStart = min(plannedStart.plusDays(random.nextInt(11) - 3), today.minusDays(1));
+                        actualEnd = max(min(plannedEnd.plusDays(random.nextInt(26) - 5), today.minusDays(1)), actualStart);
+                        completion = 10000;
+                    } else if (!plannedStart.isAfter(today)) {
+                        status = random.nextDouble() < 0.06 ? "ON_HOLD" : "IN_PROGRESS";
+                        actualStart = plannedStart;
+                        completion = 10000 * ChronoUnit.DAYS.between(plannedStart, today) /
+                                     Math.max(1, ChronoUnit.DAYS.between(plannedStart, plannedEnd) + 1);
+                    }
+
+                    out.number(portfolio.projectIds[i]).text(name).text(name + " works")
+                            .date(plannedStart).date(plannedEnd).date(actualStart).date(actualEnd)
+                            .decimal(completion).text(status)
+                            .timestamp(projectStart.atStartOfDay()).timestamp(projectStart.atStartOfDay()).endRow();
+                }
+            }
+        });
+    }
+
+    private void loadSuppliers(Portfolio portfolio) throws SQLException, IOException {
+        SplittableRandom random = config.random("suppliers");
+        loader.copy("suppliers", new String[] { "name", "address", "phone_number", "email", "contact_person",
+                "active", "created_at", "updated_at" }, out -> {
+            for (int i = 0; i < config.suppliers; i++) {
+                String city = CITIES[random.nextInt(CITIES.length)];
+                LocalDateTime created = portfolio.windowStart.minusDays(random.nextInt(720));
+                out.text(SUPPLIER_NAMES[random.nextInt(SUPPLIER_NAMES.length)] + " " +
+                         SUPPLIER_TRADES[random.nextInt(SUPPLIER_TRADES.length)] + " " + (i + 1))
+                        .text((1 + random.nextInt(400)) + " " + DISTRICTS[random.nextInt(DISTRICTS.length)] + ", " + city)
+                        .text(phoneNumber(random)).text("orders@supplier" + (i + 1) + ".example.com")
+                        .text(personName(random)).bool(random.nextDouble() < 0.95)
+                        .timestamp(created).timestamp(created).endRow();
+            }
+        });
+        portfolio.supplierIds = loader.loadedIds("suppliers");
+        portfolio.supplierShare = new ZipfDistribution(config.suppliers, config.skew, random);
+    }
+
+    private void loadMaterials(Portfolio portfolio) throws SQLException, IOException {
+        SplittableRandom random = config.random("materials");
+        int count = config.materials;
+        portfolio.materialPriceCents = new long[count];
+        portfolio.materialReorderCents = new long[count];
+
+        loader.copy("materials", new String[] { "name", "description", "unit", "unit_price", "current_stock",
+                "min_stock_level", "max_stock_level", "active", "created_at", "updated_at" }, out -> {
+            for (int i = 0; i < count; i++) {
+                Object[] item = MATERIAL_CATALOG[i % MATERIAL_CATALOG.length];
+                long price = between(random, (Integer) item[2], (Integer) item[3]) * 100 + random.nextInt(100);
+                long reorder = between(random, (Integer) item[4], (Integer) item[5]) * 100;
+                portfolio.materialPriceCents[i] = price;
+                portfolio.materialReorderCents[i] = reorder;
+
+                // Opens with one reorder quantity in stock; the ledger moves it from there
+                LocalDateTime created = portfolio.windowStart.minusDays(random.nextInt(720));
+                out.text(item[0] + " #" + (i / MATERIAL_CATALOG.length + 1)).text("Generated " + item[0] + " variant")
+                        .text((String) item[1]).decimal(price).decimal(reorder)
+                        .decimal(reorder / 5).decimal(reorder * 3 / 2).bool(true)
+                        .timestamp(created).timestamp(created).endRow();
+            }
+        });
+        portfolio.materialIds = loader.loadedIds("materials");
+        portfolio.materialDemand = new ZipfDistribution(count, config.skew, random);
+    }
+
+    static String personName(SplittableRandom random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+
+    private static String phoneNumber(SplittableRandom random) {
+        return "+91-9" + (100000000 + random.nextInt(900000000));
+    }
+
+    private static long between(SplittableRandom random, int min, int max) {
+        return min + random.nextInt(max - min + 1);
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
@@ -0,0 +1,62 @@
+package com.sitemasterpro.benchmark.datagen;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Zipf-distributed choice among {@code n} items: the item of rank k is picked with probability
+ * proportional to 1 / k^exponent. Ranks are assigned through a seeded shuffle, so the hot items are
+ * spread over the id range instead of being the first rows loaded. An exponent of 0 is uniform.
+ */
+public final class ZipfDistribution {
+
+    private final double[] cdf;
+    private final int[] itemByRank;
+    private final double[] probabilityByItem;
+
+    public ZipfDistribution(int n, double exponent, SplittableRandom random) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Zipf distribution needs at least one item");
+        }
+        cdf = new double[n];
+        double total = 0;
+        for (int rank = 0; rank < n; rank++) {
+            total += 1.0 / Math.pow(rank + 1, exponent);
+            cdf[rank] = total;
+        }
+
+        itemByRank = new int[n];
+        for (int i = 0; i < n; i++) {
+            itemByRank[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = itemByRank[i];
+            itemByRank[i] = itemByRank[j];
+            itemByRank[j] = swap;
+        }
+
+        probabilityByItem = new double[n];
+        for (int rank = 0; rank < n; rank++) {
+            probabilityByItem[itemByRank[rank]] = 1.0 / Math.pow(rank + 1, exponent) / total;
+            cdf[rank] /= total;
+        }
+    }
+
+    public int sample(SplittableRandom random) {
+        int rank = Arrays.binarySearch(cdf, random.nextDouble());
+        if (rank < 0) {
+            rank = -rank - 1;
+        }
+        return itemByRank[Math.min(rank, cdf.length - 1)];
+    }
+
+    // Share of all samples that land on the item, used to size per-item attributes with the skew
+    public double probability(int item) {
+        return probabilityByItem[item];
+    }
+
+    public int size() {
+        return cdf.length;
+    }
+}
@@ -0,0 +1,130 @@
+package com.sitemasterpro.benchmark.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Blocking JSON client for the REST API that records every call in {@link LatencyStats} under its
+ * endpoint label. Failures are returned as responses with status 0 rather than thrown, so a slow or
+ * broken server degrades the numbers instead of stopping the run.
+ */
+final class ApiClient {
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final Duration timeout;
+    private final ObjectMapper mapper;
+    private final LatencyStats stats;
+
+    ApiClient(String baseUrl, Duration timeout, ObjectMapper mapper, LatencyStats stats) {
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+        this.mapper = mapper;
+        this.stats = stats;
+    }
+
+    /** Signs in through /api/auth/signin; returns null when the account does not exist or is refused. */
+    Session login(String username, String password) throws InterruptedException {
+        Response response = post(null, "signin", "/api/auth/signin",
+                                 Map.of("username", username, "password", password), System.nanoTime());
+        if (!response.ok()) {
+            return null;
+        }
+        return new Session(username, response.body.path("id").asLong(), response.body.path("token").asText());
+    }
+
+    Response get(Session session, String endpoint, String path, long intendedStartNanos) throws InterruptedException {
+        return send(endpoint, request(session, path).GET().build(), intendedStartNanos);
+    }
+
+    Response post(Session session, String endpoint, String path, Object body, long intendedStartNanos)
+            throws InterruptedException {
+        HttpRequest.BodyPublisher publisher;
+        try {
+            publisher = body == null ? HttpRequest.BodyPublishers.noBody()
+                                     : HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Request body of " + endpoint + " is not serializable", e);
+        }
+        return send(endpoint, request(session, path).POST(publisher).build(), intendedStartNanos);
+    }
+
+    private HttpRequest.Builder request(Session session, String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .header("Content-Type", "application/json");
+        if (session != null) {
+            builder.header("Authorization", "Bearer " + session.token);
+        }
+        return builder;
+    }
+
+    private Response send(String endpoint, HttpRequest request, long intendedStartNanos) throws InterruptedException {
+        long sent = System.nanoTime();
+        int status;
+        JsonNode body = MissingNode.getInstance();
+        try {
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            status = response.statusCode();
+            if (response.body().length > 0) {
+                try {
+                    body = mapper.readTree(response.body());
+                } catch (IOException e) {
+                    // Non-JSON bodies (e.g. plain-text errors) are only counted, never inspected
+                }
+            }
+        } catch (IOException e) {
+            status = 0;
+        }
+        long finished = System.nanoTime();
+
+        LatencyStats.Outcome outcome = status >= 200 && status < 300 ? LatencyStats.Outcome.OK
+                                       : status >= 400 && status < 500 ? LatencyStats.Outcome.REJECTED
+                                       : LatencyStats.Outcome.ERROR;
+        stats.recordResponse(endpoint, TimeUnit.NANOSECONDS.toMicros(finished - intendedStartNanos),
+                             TimeUnit.NANOSECONDS.toMicros(finished - sent), outcome);
+        return new Response(status, body);
+    }
+
+    /** A signed-in account; JWTs are valid for a day, well beyond any run. */
+    static final class Session {
+        final String username;
+        final long userId;
+        final String token;
+
+        Session(String username, long userId, String token) {
+            this.username = username;
+            this.userId = userId;
+            this.token = token;
+        }
+    }
+
+    static final class Response {
+        final int status;
+        final JsonNode body;
+
+        Response(int status, JsonNode body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.sitemasterpro.benchmark.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms per endpoint (HTTP call or STOMP destination), in microseconds. Virtual users
+ * record concurrently; the single reporting thread drains interval snapshots with {@link #interval()}
+ * and folds them into the running stage totals.
+ */
+final class LatencyStats {
+
+    // Tracks values up to an hour at 3 significant digits before auto-resizing
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    void recordResponse(String endpoint, long responseMicros, long serviceMicros, Outcome outcome) {
+        Endpoint stats = endpoint(endpoint);
+        stats.response.recordValue(Math.max(responseMicros, 0));
+        stats.service.recordValue(Math.max(serviceMicros, 0));
+        stats.outcomes[outcome.ordinal()].increment();
+    }
+
+    // Delivery lag of a pushed event: service time is the lag itself, there is no request to queue behind
+    void recordDelivery(String destination, long lagMicros) {
+        recordResponse(destination, lagMicros, lagMicros, Outcome.OK);
+    }
+
+    /** Drains everything recorded since the previous call and adds it to the stage totals. */
+    Map<String, Snapshot> interval() {
+        Map<String, Snapshot> snapshots = new TreeMap<>();
+        endpoints.forEach((name, stats) -> {
+            Snapshot snapshot = stats.drain();
+            stats.stage.add(snapshot);
+            snapshots.put(name, snapshot);
+        });
+        return snapshots;
+    }
+
+    /** Stage totals accumulated by {@link #interval()} since the last reset. */
+    Map<String, Snapshot> stage() {
+        Map<String, Snapshot> totals = new TreeMap<>();
+        endpoints.forEach((name, stats) -> totals.put(name, stats.stage.copy()));
+        return totals;
+    }
+
+    // Called after warmup so a stage only reports steady-state samples
+    void resetStage() {
+        endpoints.values().forEach(stats -> {
+            stats.drain();
+            stats.stage = new Snapshot();
+        });
+    }
+
+    private Endpoint endpoint(String name) {
+        return endpoints.computeIfAbsent(name, key -> new Endpoint());
+    }
+
+    enum Outcome {
+        OK,
+        // 4xx: the request was served but refused, e.g. insufficient stock or a concurrently approved entry
+        REJECTED,
+        // 5xx, timeouts and connection failures
+        ERROR
+    }
+
+    private static final class Endpoint {
+        private final Recorder response = new Recorder(SIGNIFICANT_DIGITS);
+        private final Recorder service = new Recorder(SIGNIFICANT_DIGITS);
+        private final LongAdder[] outcomes = { new LongAdder(), new LongAdder(), new LongAdder() };
+        private Snapshot stage = new Snapshot();
+
+        private Snapshot drain() {
+            Snapshot snapshot = new Snapshot();
+            snapshot.response.add(response.getIntervalHistogram());
+            snapshot.service.add(service.getIntervalHistogram());
+            for (Outcome outcome : Outcome.values()) {
+                snapshot.counts[outcome.ordinal()] = outcomes[outcome.ordinal()].sumThenReset();
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Response time is measured from when the request was due, service time from when it was sent;
+     * the two diverge when the system under test falls behind the offered load.
+     */
+    static final class Snapshot {
+        final Histogram response = new Histogram(SIGNIFICANT_DIGITS);
+        final Histogram service = new Histogram(SIGNIFICANT_DIGITS);
+        private final long[] counts = new long[Outcome.values().length];
+
+        long count(Outcome outcome) {
+            return counts[outcome.ordinal()];
+        }
+
+        long total() {
+            return counts[0] + counts[1] + counts[2];
+        }
+
+        private void add(Snapshot other) {
+            response.add(other.response);
+            service.add(other.service);
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other.counts[i];
+            }
+        }
+
+        private Snapshot copy() {
+            Snapshot copy = new Snapshot();
+            copy.add(this);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.sitemasterpro.benchmark.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop load test of a running instance: store keepers' site tablets issuing stock, accountants
+ * booking expenses, approvers clearing the approval queue, executives polling the dashboard, and
+ * STOMP clients on the broadcast topics. The number of site tablets is ramped through the --sites
+ * stages while the back-office load stays constant, so the summary shows how stock movement latency
+ * scales with sites. Each stage runs a warmup, then reports HDR latency percentiles per endpoint
+ * every --report-interval and writes full distributions (.hgrm) under --output.
+ *
+ * <p>Virtual users sign in as the gen_&lt;role&gt;_&lt;n&gt; accounts of the data generator; run it first.
+ * Approvals use the admin accounts, as only ADMIN and SUPER_ADMIN may approve transactions.
+ *
+ * <pre>
+ * mvn -Pbenchmarks test-compile exec:java@load-test -Dloadtest.args="--sites=10,50,100 --duration=300"
+ * </pre>
+ */
+public final class LoadTest {
+    private static final Logger logger = LoggerFactory.getLogger(LoadTest.class);
+
+    private static final String STORE_KEEPER = "store_keeper";
+    private static final String ACCOUNTANT = "accountant";
+    private static final String ADMIN = "admin";
+    private static final String CEO = "ceo";
+
+    private final LoadTestConfig config;
+    private final ApiClient client;
+    private final ObjectMapper mapper;
+    private final LatencyStats stats;
+    private final List<VirtualUser> users = new ArrayList<>();
+    private final List<String> summary = new ArrayList<>();
+
+    private LoadTest(LoadTestConfig config, ApiClient client, ObjectMapper mapper, LatencyStats stats) {
+        this.config = config;
+        this.client = client;
+        this.mapper = mapper;
+        this.stats = stats;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        ObjectMapper mapper = new ObjectMapper();
+        LatencyStats stats = new LatencyStats();
+        new LoadTest(config, new ApiClient(config.baseUrl, config.timeout, mapper, stats), mapper, stats).run();
+    }
+
+    private void run() throws Exception {
+        logger.info("Load test: {}", config);
+        int maxSites = 0;
+        for (int sites : config.sites) {
+            maxSites = Math.max(maxSites, sites);
+        }
+
+        List<ApiClient.Session> storeKeepers = signIn(STORE_KEEPER, maxSites, true);
+        List<ApiClient.Session> accountants = signIn(ACCOUNTANT, config.accountants, config.accountants > 0);
+        List<ApiClient.Session> approvers = signIn(ADMIN, config.approvers, config.approvers > 0);
+        int dashboards = Math.max(config.executives, config.subscribers);
+        List<ApiClient.Session> ceos = signIn(CEO, dashboards, false);
+        if (ceos.isEmpty() && dashboards > 0) {
+            logger.warn("No gen_ceo_<n> accounts (generated with fewer than 20 users?); dashboards use admin accounts");
+        }
+        List<ApiClient.Session> executives = ceos.isEmpty() && dashboards > 0 ? signIn(ADMIN, dashboards, true) : ceos;
+        Workload workload = Workload.load(client, storeKeepers.get(0), config);
+
+        StompSubscribers subscribers = new StompSubscribers(mapper, stats);
+        try {
+            for (int i = 0; i < config.subscribers; i++) {
+                subscribers.connect(config.webSocketUrl(), executives.get(i % executives.size()), config.destinations,
+                                    config.timeout.toMillis());
+            }
+            for (int i = 0; i < config.accountants; i++) {
+                ApiClient.Session accountant = accountants.get(i % accountants.size());
+                start("accountant-" + i, config.accountantRate, random -> workload.accountant(accountant, random));
+            }
+            for (int i = 0; i < config.approvers; i++) {
+                ApiClient.Session approver = approvers.get(i % approvers.size());
+                start("approver-" + i, config.approverRate, random -> workload.approver(approver, random));
+            }
+            for (int i = 0; i < config.executives; i++) {
+                ApiClient.Session executive = executives.get(i % executives.size());
+                start("executive-" + i, config.executiveRate, random -> workload.executive(executive));
+            }
+
+            int tablets = 0;
+            for (int sites : config.sites) {
+                for (; tablets < sites; tablets++) {
+                    int site = tablets;
+                    ApiClient.Session storeKeeper = storeKeepers.get(site % storeKeepers.size());
+                    start("site-" + site, config.siteRate, random -> workload.siteTablet(storeKeeper, site, random));
+                }
+                runStage(sites, subscribers);
+            }
+        } finally {
+            for (VirtualUser user : users) {
+                user.stop();
+            }
+            for (VirtualUser user : users) {
+                user.join();
+            }
+            subscribers.close();
+        }
+
+        System.out.println();
+        System.out.println("Stock-out response time by number of sites (ms)");
+        System.out.println(String.format(Locale.ROOT, "%6s %10s %9s %9s %9s %9s %9s %8s %8s",
+                                         "sites", "req/s", "p50", "p90", "p99", "p99.9", "max", "rejected", "errors"));
+        summary.forEach(System.out::println);
+        logger.info("Latency distributions written to {}", Paths.get(config.output).toAbsolutePath());
+    }
+
+    private void runStage(int sites, StompSubscribers subscribers) throws InterruptedException, IOException {
+        logger.info("Stage with {} sites: warming up for {} s", sites, config.warmup.toSeconds());
+        TimeUnit.MILLISECONDS.sleep(config.warmup.toMillis());
+        stats.resetStage();
+
+        long started = System.nanoTime();
+        long end = started + config.duration.toNanos();
+        long intervalStart = started;
+        while (System.nanoTime() < end) {
+            TimeUnit.NANOSECONDS.sleep(Math.min(config.reportInterval.toNanos(), end - System.nanoTime()));
+            long now = System.nanoTime();
+            report(String.format(Locale.ROOT, "%d sites, t+%ds", sites, TimeUnit.NANOSECONDS.toSeconds(now - started)),
+                   stats.interval(), now - intervalStart);
+            intervalStart = now;
+        }
+
+        Map<String, LatencyStats.Snapshot> stage = stats.stage();
+        long elapsed = System.nanoTime() - started;
+        report(sites + " sites, stage total" + (subscribers.disconnects() > 0
+                                                ? " (" + subscribers.disconnects() + " STOMP disconnects so far)" : ""),
+               stage, elapsed);
+        writeHistograms(sites, stage);
+
+        LatencyStats.Snapshot stockOut = stage.get(Workload.STOCK_OUT);
+        if (stockOut != null) {
+            Histogram response = stockOut.response;
+            summary.add(String.format(Locale.ROOT, "%6d %10.1f %9.1f %9.1f %9.1f %9.1f %9.1f %8d %8d",
+                                      sites, stockOut.total() / seconds(elapsed), millis(response.getValueAtPercentile(50)),
+                                      millis(response.getValueAtPercentile(90)), millis(response.getValueAtPercentile(99)),
+                                      millis(response.getValueAtPercentile(99.9)), millis(response.getMaxValue()),
+                                      stockOut.count(LatencyStats.Outcome.REJECTED), stockOut.count(LatencyStats.Outcome.ERROR)));
+        }
+    }
+
+    private void report(String title, Map<String, LatencyStats.Snapshot> snapshots, long elapsedNanos) {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%n[%s]%n%-52s %8s %8s %6s %6s %9s %9s %9s %9s%n",
+                title, "endpoint (ms)", "count", "req/s", "rej", "err", "p50", "p99", "max", "svc p99"));
+        snapshots.forEach((endpoint, snapshot) -> {
+            if (snapshot.total() == 0) {
+                return;
+            }
+            table.append(String.format(Locale.ROOT, "%-52s %8d %8.1f %6d %6d %9.1f %9.1f %9.1f %9.1f%n",
+                                       endpoint, snapshot.total(), snapshot.total() / seconds(elapsedNanos),
+                                       snapshot.count(LatencyStats.Outcome.REJECTED), snapshot.count(LatencyStats.Outcome.ERROR),
+                                       millis(snapshot.response.getValueAtPercentile(50)),
+                                       millis(snapshot.response.getValueAtPercentile(99)),
+                                       millis(snapshot.response.getMaxValue()),
+                                       millis(snapshot.service.getValueAtPercentile(99))));
+        });
+        System.out.print(table);
+    }
+
+    // HistogramLogAnalyzer / hdrhistogram.github.io plotter format, one file per endpoint and stage
+    private void writeHistograms(int sites, Map<String, LatencyStats.Snapshot> stage) throws IOException {
+        Path directory = Paths.get(config.output, sites + "-sites");
+        Files.createDirectories(directory);
+        for (Map.Entry<String, LatencyStats.Snapshot> entry : stage.entrySet()) {
+            if (entry.getValue().total() == 0) {
+                continue;
+            }
+            String name = entry.getKey().replaceAll("[^A-Za-z0-9]+", "-").replaceAll("^-|-$", "").toLowerCase(Locale.ROOT);
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(name + ".hgrm")))) {
+                entry.getValue().response.outputPercentileDistribution(out, 1000.0);
+            }
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(name + ".service.hgrm")))) {
+                entry.getValue().service.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    /**
+     * Signs in gen_&lt;role&gt;_1, gen_&lt;role&gt;_2, ... until {@code wanted} accounts or the first missing one.
+     * Virtual users share the accounts round-robin when there are fewer than users.
+     */
+    private List<ApiClient.Session> signIn(String role, int wanted, boolean required) throws InterruptedException {
+        List<ApiClient.Session> sessions = new ArrayList<>();
+        for (int n = 1; n <= wanted; n++) {
+            ApiClient.Session session = client.login("gen_" + role + "_" + n, config.password);
+            if (session == null) {
+                break;
+            }
+            sessions.add(session);
+        }
+        if (sessions.isEmpty() && required) {
+            throw new IllegalStateException("Cannot sign in as gen_" + role + "_1; load data with exec:java@generate-data " +
+                                            "and pass its --user-password as --password");
+        }
+        logger.info("Signed in {} {} accounts", sessions.size(), role);
+        return sessions;
+    }
+
+    private void start(String name, double rate, ActionFactory actions) {
+        SplittableRandom random = new SplittableRandom(config.seed * 0x9E3779B97F4A7C15L + name.hashCode());
+        VirtualUser user = new VirtualUser(name, rate, random, actions.create(random.split()));
+        users.add(user);
+        user.start();
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static double seconds(long nanos) {
+        return Math.max(nanos, 1) / 1e9;
+    }
+
+    @FunctionalInterface
+    private interface ActionFactory {
+        VirtualUser.Action create(SplittableRandom random);
+    }
+}
@@ -0,0 +1,89 @@
+package com.sitemasterpro.benchmark.loadtest;
+
+import com.sitemasterpro.benchmark.CommandLineOptions;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Offered load and run settings for {@link LoadTest}, parsed from {@code --name=value} arguments.
+ * Rates are requests per second per virtual user; the defaults approximate a working day's traffic
+ * compressed into minutes.
+ */
+final class LoadTestConfig {
+
+    String baseUrl;
+    String password;
+    // Number of concurrent site tablets in each stage, ramped in order
+    int[] sites;
+    double siteRate;
+    int accountants;
+    double accountantRate;
+    int approvers;
+    double approverRate;
+    int executives;
+    double executiveRate;
+    int subscribers;
+    String[] destinations;
+    Duration warmup;
+    Duration duration;
+    Duration reportInterval;
+    Duration timeout;
+    String output;
+    long seed;
+    double skew;
+
+    private LoadTestConfig() {}
+
+    static LoadTestConfig parse(String[] args) {
+        CommandLineOptions options = CommandLineOptions.parse(args);
+        LoadTestConfig config = new LoadTestConfig();
+        config.baseUrl = options.string("base-url", "http://localhost:5000");
+        // Shared password of the gen_<role>_<n> accounts created by the data generator
+        config.password = options.string("password", "loadtest123");
+        config.sites = Arrays.stream(options.string("sites", "10,20,40").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        config.siteRate = options.decimal("site-rate", 0.2);
+        config.accountants = options.integer("accountants", 4);
+        config.accountantRate = options.decimal("accountant-rate", 0.1);
+        config.approvers = options.integer("approvers", 1);
+        config.approverRate = options.decimal("approver-rate", 0.2);
+        config.executives = options.integer("executives", 10);
+        config.executiveRate = options.decimal("executive-rate", 0.1);
+        config.subscribers = options.integer("subscribers", 20);
+        config.destinations = options.string("destinations", "/topic/alerts,/topic/inventory-updates").split(",");
+        config.warmup = Duration.ofSeconds(options.number("warmup", 30));
+        config.duration = Duration.ofSeconds(options.number("duration", 120));
+        config.reportInterval = Duration.ofSeconds(options.number("report-interval", 10));
+        config.timeout = Duration.ofSeconds(options.number("timeout", 30));
+        config.output = options.string("output", "target/loadtest");
+        config.seed = options.number("seed", 42);
+        // Same Zipf exponent as the data generator, so the hot materials here are hot there too
+        config.skew = options.decimal("skew", 1.1);
+        options.rejectUnknown();
+
+        if (config.sites.length == 0 || Arrays.stream(config.sites).anyMatch(sites -> sites < 1)) {
+            throw new IllegalArgumentException("sites must be a comma-separated list of positive stage sizes");
+        }
+        if (config.duration.isZero() || config.reportInterval.isZero()) {
+            throw new IllegalArgumentException("duration and report-interval must be at least one second");
+        }
+        return config;
+    }
+
+    String webSocketUrl() {
+        // SockJS endpoints also accept plain WebSocket clients on <endpoint>/websocket
+        return baseUrl.replaceFirst("^http", "ws") + "/ws/websocket";
+    }
+
+    @Override
+    public String toString() {
+        return "baseUrl=" + baseUrl + ", sites=" + Arrays.toString(sites) + ", siteRate=" + siteRate +
+               ", accountants=" + accountants + ", accountantRate=" + accountantRate + ", approvers=" + approvers +
+               ", approverRate=" + approverRate + ", executives=" + executives + ", executiveRate=" + executiveRate +
+               ", subscribers=" + subscribers + ", destinations=" + Arrays.toString(destinations) +
+               ", warmup=" + warmup.toSeconds() + "s, duration=" + duration.toSeconds() + "s";
+    }
+}
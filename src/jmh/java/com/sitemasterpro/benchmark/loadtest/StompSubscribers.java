@@ -0,0 +1,142 @@
+package com.sitemasterpro.benchmark.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.converter.ByteArrayMessageConverter;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dashboard-style STOMP clients subscribed to the broadcast topics. Each pushed event is recorded
+ * under {@code STOMP <destination>} with its delivery lag: receive time minus the event timestamp the
+ * server stamped when it raised it, which includes the time spent coalesced in a realtime batch. The
+ * server's clock is used as is, so run against an instance on the same host.
+ */
+final class StompSubscribers {
+    private static final Logger logger = LoggerFactory.getLogger(StompSubscribers.class);
+
+    // Matches the broker heartbeat configured in WebSocketConfig
+    private static final long HEARTBEAT_MILLIS = 10_000;
+
+    private final WebSocketStompClient stompClient;
+    private final ThreadPoolTaskScheduler scheduler;
+    private final ObjectMapper mapper;
+    private final LatencyStats stats;
+    private final List<StompSession> sessions = new ArrayList<>();
+    private final AtomicLong disconnects = new AtomicLong();
+
+    StompSubscribers(ObjectMapper mapper, LatencyStats stats) {
+        this.mapper = mapper;
+        this.stats = stats;
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(2);
+        scheduler.setThreadNamePrefix("stomp-heartbeat-");
+        scheduler.setDaemon(true);
+        scheduler.initialize();
+
+        stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new ByteArrayMessageConverter());
+        stompClient.setTaskScheduler(scheduler);
+        stompClient.setDefaultHeartbeat(new long[] { HEARTBEAT_MILLIS, HEARTBEAT_MILLIS });
+    }
+
+    void connect(String url, ApiClient.Session session, String[] destinations, long timeoutMillis)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        // The server authenticates the CONNECT frame, not the WebSocket handshake
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("Authorization", "Bearer " + session.token);
+
+        StompSession stompSession = stompClient.connectAsync(url, new WebSocketHttpHeaders(), connectHeaders, new SessionHandler())
+                .get(timeoutMillis, TimeUnit.MILLISECONDS);
+        for (String destination : destinations) {
+            stompSession.subscribe(destination.trim(), new DeliveryHandler("STOMP " + destination.trim()));
+        }
+        synchronized (sessions) {
+            sessions.add(stompSession);
+        }
+    }
+
+    long disconnects() {
+        return disconnects.get();
+    }
+
+    void close() {
+        synchronized (sessions) {
+            for (StompSession session : sessions) {
+                if (session.isConnected()) {
+                    session.disconnect();
+                }
+            }
+            sessions.clear();
+        }
+        stompClient.stop();
+        scheduler.shutdown();
+    }
+
+    private void record(String endpoint, byte[] payload) {
+        long received = System.currentTimeMillis();
+        try {
+            JsonNode batch = mapper.readTree(payload);
+            // Realtime batches carry their events in "events"; anything else is a single event
+            JsonNode events = batch.has("events") ? batch.get("events") : mapper.createArrayNode().add(batch);
+            for (JsonNode event : events) {
+                long timestamp = event.path("timestamp").asLong(0);
+                if (timestamp > 0) {
+                    stats.recordDelivery(endpoint, TimeUnit.MILLISECONDS.toMicros(received - timestamp));
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Ignoring non-JSON message on {}", endpoint);
+        }
+    }
+
+    private final class DeliveryHandler implements StompFrameHandler {
+        private final String endpoint;
+
+        private DeliveryHandler(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return byte[].class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            record(endpoint, (byte[]) payload);
+        }
+    }
+
+    private final class SessionHandler extends StompSessionHandlerAdapter {
+        @Override
+        public void handleException(StompSession session, StompCommand command, StompHeaders headers,
+                                    byte[] payload, Throwable exception) {
+            logger.warn("STOMP frame handling failed: {}", exception.toString());
+        }
+
+        @Override
+        public void handleTransportError(StompSession session, Throwable exception) {
+            disconnects.incrementAndGet();
+            logger.warn("STOMP subscriber disconnected: {}", exception.toString());
+        }
+    }
+}
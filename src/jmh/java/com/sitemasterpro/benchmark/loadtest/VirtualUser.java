@@ -0,0 +1,84 @@
+package com.sitemasterpro.benchmark.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * One simulated client with at most one request in flight. Requests are scheduled as a Poisson
+ * process at the user's rate; when a response arrives after the next request was due, that request
+ * goes out immediately and keeps its original due time, so queueing delay shows up in response
+ * times instead of silently lowering the offered load (coordinated omission).
+ */
+final class VirtualUser implements Runnable {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualUser.class);
+
+    @FunctionalInterface
+    interface Action {
+        /** Performs one iteration; {@code intendedStartNanos} is the {@link System#nanoTime()} it was due. */
+        void perform(long intendedStartNanos) throws InterruptedException;
+    }
+
+    private final String name;
+    private final double meanIntervalNanos;
+    private final SplittableRandom random;
+    private final Action action;
+    private volatile boolean running = true;
+    private Thread thread;
+
+    VirtualUser(String name, double ratePerSecond, SplittableRandom random, Action action) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Rate of " + name + " must be positive");
+        }
+        this.name = name;
+        this.meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        this.random = random;
+        this.action = action;
+    }
+
+    void start() {
+        thread = new Thread(this, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void stop() {
+        running = false;
+        thread.interrupt();
+    }
+
+    void join() throws InterruptedException {
+        thread.join();
+    }
+
+    @Override
+    public void run() {
+        long due = System.nanoTime() + nextInterval();
+        while (running) {
+            long wait = due - System.nanoTime();
+            while (wait > 0 && running) {
+                LockSupport.parkNanos(wait);
+                wait = due - System.nanoTime();
+            }
+            if (!running) {
+                return;
+            }
+            try {
+                action.perform(due);
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                logger.warn("{} failed: {}", name, e.toString());
+            }
+            due += nextInterval();
+        }
+    }
+
+    // Exponential inter-arrival times give Poisson arrivals at the configured mean rate
+    private long nextInterval() {
+        return (long) (-Math.log(1.0 - random.nextDouble()) * meanIntervalNanos);
+    }
+}
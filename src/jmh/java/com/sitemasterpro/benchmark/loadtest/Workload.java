@@ -0,0 +1,142 @@
+package com.sitemasterpro.benchmark.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sitemasterpro.benchmark.datagen.ZipfDistribution;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * The requests each kind of virtual user sends, against the projects and materials that already
+ * exist in the instance. Material choice follows the same Zipf skew as the data generator, so a few
+ * hot items see most stock movements and their contention.
+ */
+final class Workload {
+    private static final Logger logger = LoggerFactory.getLogger(Workload.class);
+
+    static final String STOCK_OUT = "POST /api/inventory/stock-out";
+    static final String STOCK_IN = "POST /api/inventory/stock-in";
+    static final String RECORD_TRANSACTION = "POST /api/financial/transactions";
+    static final String PENDING_APPROVAL = "GET /api/financial/transactions/pending-approval";
+    static final String APPROVE = "POST /api/financial/transactions/{id}/approve";
+    static final String DASHBOARD = "GET /dashboard/api/data";
+
+    // Largest page the API serves (spring.data.web.pageable.max-page-size)
+    private static final int PAGE_SIZE = 200;
+    private static final String[] EXPENSE_CATEGORIES = {
+            "MATERIALS", "LABOR", "EQUIPMENT", "TRANSPORTATION", "UTILITIES", "OVERHEAD", "SUBCONTRACTOR" };
+
+    private final ApiClient client;
+    private final List<Long> projectIds;
+    private final List<JsonNode> materials;
+    private final ZipfDistribution materialDemand;
+
+    private Workload(ApiClient client, List<Long> projectIds, List<JsonNode> materials, ZipfDistribution materialDemand) {
+        this.client = client;
+        this.projectIds = projectIds;
+        this.materials = materials;
+        this.materialDemand = materialDemand;
+    }
+
+    static Workload load(ApiClient client, ApiClient.Session session, LoadTestConfig config) throws InterruptedException {
+        List<Long> projectIds = new ArrayList<>();
+        for (JsonNode project : fetchAll(client, session, "/api/projects")) {
+            projectIds.add(project.path("id").asLong());
+        }
+        List<JsonNode> materials = fetchAll(client, session, "/api/inventory/materials");
+        if (projectIds.isEmpty() || materials.isEmpty()) {
+            throw new IllegalStateException("The instance has no projects or materials; load data with exec:java@generate-data first");
+        }
+        logger.info("Workload covers {} projects and {} materials", projectIds.size(), materials.size());
+        return new Workload(client, projectIds, materials,
+                            new ZipfDistribution(materials.size(), config.skew, new SplittableRandom(config.seed)));
+    }
+
+    /**
+     * A store keeper's tablet on one site issuing materials. An issue refused for insufficient stock
+     * is followed by a delivery, which is what the site does next and keeps hot items in stock.
+     */
+    VirtualUser.Action siteTablet(ApiClient.Session storeKeeper, int site, SplittableRandom random) {
+        long projectId = projectIds.get(site % projectIds.size());
+        return intendedStart -> {
+            JsonNode material = materials.get(materialDemand.sample(random));
+            Map<String, Object> movement = movement(storeKeeper, projectId, material, BigDecimal.valueOf(1 + random.nextInt(20)));
+            movement.put("issuedTo", "Site crew " + (site + 1));
+            ApiClient.Response issued = client.post(storeKeeper, STOCK_OUT, "/api/inventory/stock-out", movement, intendedStart);
+
+            if (issued.status == 400) {
+                Map<String, Object> delivery = movement(storeKeeper, projectId, material, BigDecimal.valueOf(200 + random.nextInt(300)));
+                delivery.put("purchaseOrderReference", "LT-PO-" + Long.toHexString(random.nextLong() & 0xFFFFFFL));
+                client.post(storeKeeper, STOCK_IN, "/api/inventory/stock-in", delivery, System.nanoTime());
+            }
+        };
+    }
+
+    /** An accountant booking site expenses, which land in the approval queue. */
+    VirtualUser.Action accountant(ApiClient.Session accountant, SplittableRandom random) {
+        return intendedStart -> {
+            Map<String, Object> transaction = new LinkedHashMap<>();
+            transaction.put("projectId", projectIds.get(random.nextInt(projectIds.size())));
+            transaction.put("type", "EXPENSE");
+            transaction.put("category", EXPENSE_CATEGORIES[random.nextInt(EXPENSE_CATEGORIES.length)]);
+            // Log-normal amounts: mostly small invoices, occasionally a large subcontract
+            transaction.put("amount", BigDecimal.valueOf(Math.round(Math.exp(7 + 1.2 * random.nextGaussian()) * 100), 2));
+            transaction.put("description", "Load test expense");
+            transaction.put("createdById", accountant.userId);
+            client.post(accountant, RECORD_TRANSACTION, "/api/financial/transactions", transaction, intendedStart);
+        };
+    }
+
+    /**
+     * An approver working through the pending queue. Approvers race each other for the same
+     * entries, so a rejected approval is an expected outcome rather than a failure.
+     */
+    VirtualUser.Action approver(ApiClient.Session approver, SplittableRandom random) {
+        return intendedStart -> {
+            ApiClient.Response pending = client.get(approver, PENDING_APPROVAL,
+                                                    "/api/financial/transactions/pending-approval?size=20", intendedStart);
+            JsonNode content = pending.body.path("content");
+            if (content.size() > 0) {
+                long id = content.get(random.nextInt(content.size())).path("id").asLong();
+                client.post(approver, APPROVE, "/api/financial/transactions/" + id + "/approve?approverId=" + approver.userId,
+                            null, System.nanoTime());
+            }
+        };
+    }
+
+    /** An executive with the dashboard open, refreshing it. */
+    VirtualUser.Action executive(ApiClient.Session executive) {
+        return intendedStart -> client.get(executive, DASHBOARD, "/dashboard/api/data", intendedStart);
+    }
+
+    private static Map<String, Object> movement(ApiClient.Session session, long projectId, JsonNode material, BigDecimal quantity) {
+        Map<String, Object> movement = new LinkedHashMap<>();
+        movement.put("projectId", projectId);
+        movement.put("materialId", material.path("id").asLong());
+        movement.put("quantity", quantity);
+        movement.put("unitPrice", material.path("unitPrice").decimalValue());
+        movement.put("notes", "Load test");
+        movement.put("createdById", session.userId);
+        return movement;
+    }
+
+    private static List<JsonNode> fetchAll(ApiClient client, ApiClient.Session session, String path) throws InterruptedException {
+        List<JsonNode> rows = new ArrayList<>();
+        for (int page = 0; ; page++) {
+            ApiClient.Response response = client.get(session, "setup", path + "?size=" + PAGE_SIZE + "&page=" + page, System.nanoTime());
+            if (!response.ok()) {
+                throw new IllegalStateException("GET " + path + " failed with status " + response.status);
+            }
+            response.body.path("content").forEach(rows::add);
+            if (response.body.path("last").asBoolean(true)) {
+                return rows;
+            }
+        }
+    }
+}
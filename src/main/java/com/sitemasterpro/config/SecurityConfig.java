@@ -1,6 +1,7 @@
 package com.sitemasterpro.config;
 
 import com.sitemasterpro.security.JwtAuthenticationEntryPoint;
+import com.sitemasterpro.security.PrometheusScrapeAuthorizationManager;
 import com.sitemasterpro.security.JwtAuthenticationFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
@@ -33,6 +34,9 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private PrometheusScrapeAuthorizationManager prometheusScrapeAuthorization;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -53,6 +57,10 @@ public class SecurityConfig {
                         .requestMatchers("/login", "/css/**", "/js/**", "/images/**", "/webjars/**").permitAll()
                         .requestMatchers("/ws/**").permitAll()
                         .requestMatchers("/actuator/health").permitAll()
+                        // Scraped with the dedicated Prometheus credential; admins may also read it with their token
+                        .requestMatchers("/actuator/prometheus").access(prometheusScrapeAuthorization)
+                        .requestMatchers("/actuator/sqlprofile").hasAnyRole("SUPER_ADMIN", "ADMIN")
+                        .requestMatchers("/actuator/jfr").hasRole("SUPER_ADMIN")
                         .requestMatchers("/api/super-admin/**").hasRole("SUPER_ADMIN")
                         .requestMatchers("/api/admin/**").hasAnyRole("SUPER_ADMIN", "ADMIN")
                         .requestMatchers("/api/ceo/**").hasAnyRole("SUPER_ADMIN", "CEO")
@@ -84,6 +92,7 @@ public class SecurityConfig {
 package com.sitemasterpro.config;
 
 import com.sitemasterpro.security.JwtAuthenticationEntryPoint;
+import com.sitemasterpro.security.PrometheusScrapeAuthorizationManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -115,6 +124,9 @@ public class SecurityConfig {
     @Autowired
     private JwtRequestFilter jwtRequestFilter;
 
+    @Autowired
+    private PrometheusScrapeAuthorizationManager prometheusScrapeAuthorization;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -142,6 +154,9 @@ public class SecurityConfig {
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/css/**", "/js/**", "/images/**").permitAll()
                 .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/prometheus").access(prometheusScrapeAuthorization)
+                .requestMatchers("/actuator/sqlprofile").hasAnyRole("SUPER_ADMIN", "ADMIN")
+                .requestMatchers("/actuator/jfr").hasRole("SUPER_ADMIN")
                 .requestMatchers("/login", "/").permitAll()
                 .anyRequest().authenticated()
             );
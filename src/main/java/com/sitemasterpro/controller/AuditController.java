@@ -0,0 +1,48 @@
+package com.sitemasterpro.controller;
+
+import com.sitemasterpro.dto.AuditLogFilter;
+import com.sitemasterpro.dto.AuditLogPageDto;
+import com.sitemasterpro.service.AuditService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+@Controller
+@RequestMapping("/api/audit")
+public class AuditController {
+
+    @Autowired
+    private AuditService auditService;
+
+    @GetMapping("/logs")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @ResponseBody
+    public ResponseEntity<AuditLogPageDto> getAuditLogs(@RequestParam(required = false) Long userId,
+                                                        @RequestParam(required = false) String action,
+                                                        @RequestParam(required = false) String entityType,
+                                                        @RequestParam(required = false) Long entityId,
+                                                        @RequestParam(required = false) String from,
+                                                        @RequestParam(required = false) String to,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer size) {
+        AuditLogFilter filter = new AuditLogFilter();
+        filter.setUserId(userId);
+        filter.setAction(action);
+        filter.setEntityType(entityType);
+        filter.setEntityId(entityId);
+        if (from != null) {
+            filter.setFrom(LocalDateTime.parse(from, DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        }
+        if (to != null) {
+            filter.setTo(LocalDateTime.parse(to, DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        }
+
+        AuditLogPageDto page = auditService.queryAuditLogs(filter, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+}
@@ -63,7 +63,9 @@ public class AuthController {
     @PostMapping("/signout")
     public ResponseEntity<?> logoutUser(@RequestParam String username, HttpServletRequest request) {
         String ipAddress = getClientIpAddress(request);
-        authService.logout(username, ipAddress);
+        String authorization = request.getHeader("Authorization");
+        String token = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        authService.logout(username, token, ipAddress);
         return ResponseEntity.ok(new MessageResponse("User logged out successfully!"));
     }
 
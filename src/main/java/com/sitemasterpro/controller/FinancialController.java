@@ -1,13 +1,24 @@
 package com.sitemasterpro.controller;
 
 import com.sitemasterpro.dto.FinancialTransactionDto;
+import com.sitemasterpro.dto.FinancialTransactionSummaryDto;
+import com.sitemasterpro.dto.ProjectBudgetStatusDto;
+import com.sitemasterpro.dto.ProjectFinancialSummaryDto;
+import com.sitemasterpro.dto.ProjectSummaryDto;
 import com.sitemasterpro.entity.FinancialTransaction;
 import com.sitemasterpro.entity.Project;
+import com.sitemasterpro.service.AuthService;
+import com.sitemasterpro.service.BudgetAnalyticsService;
 import com.sitemasterpro.service.FinancialService;
 import com.sitemasterpro.service.ProjectService;
 import com.sitemasterpro.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
@@ -27,12 +38,18 @@ public class FinancialController {
     @Autowired
     private FinancialService financialService;
 
+    @Autowired
+    private BudgetAnalyticsService budgetAnalyticsService;
+
     @Autowired
     private ProjectService projectService;
 
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private AuthService authService;
+
     @PostMapping("/transactions")
     @PreAuthorize("hasRole('ACCOUNTANT') or hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
     @ResponseBody
@@ -62,16 +79,18 @@ public class FinancialController {
 
     @GetMapping("/transactions/project/{projectId}")
     @ResponseBody
-    public ResponseEntity<List<FinancialTransaction>> getTransactionsByProject(@PathVariable Long projectId) {
-        List<FinancialTransaction> transactions = financialService.getTransactionsByProject(projectId);
+    public ResponseEntity<Slice<FinancialTransactionSummaryDto>> getTransactionsByProject(@PathVariable Long projectId,
+                                                                                          @PageableDefault(size = 50) Pageable pageable) {
+        Slice<FinancialTransactionSummaryDto> transactions = financialService.getTransactionsByProject(projectId, pageable);
         return ResponseEntity.ok(transactions);
     }
 
     @GetMapping("/transactions/pending-approval")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN') or hasRole('CEO')")
     @ResponseBody
-    public ResponseEntity<List<FinancialTransaction>> getPendingApprovalTransactions() {
-        List<FinancialTransaction> transactions = financialService.getPendingApprovalTransactions();
+    public ResponseEntity<Page<FinancialTransactionSummaryDto>> getPendingApprovalTransactions(
+            @PageableDefault(size = 50) Pageable pageable) {
+        Page<FinancialTransactionSummaryDto> transactions = financialService.getPendingApprovalTransactions(pageable);
         return ResponseEntity.ok(transactions);
     }
 
@@ -91,37 +110,56 @@ public class FinancialController {
         return ResponseEntity.ok().build();
     }
 
+    @GetMapping("/project/{projectId}/summary")
+    @PreAuthorize("hasRole('CEO') or hasRole('ADMIN') or hasRole('SUPER_ADMIN') or hasRole('ACCOUNTANT')")
+    @ResponseBody
+    public ResponseEntity<ProjectFinancialSummaryDto> getProjectFinancialSummary(@PathVariable Long projectId) {
+        financialService.requireProject(projectId);
+        ProjectFinancialSummaryDto summary = financialService.getProjectFinancialSummary(projectId);
+        return ResponseEntity.ok(summary);
+    }
+
     @GetMapping("/project/{projectId}/revenue")
+    @PreAuthorize("hasRole('CEO') or hasRole('ADMIN') or hasRole('SUPER_ADMIN') or hasRole('ACCOUNTANT')")
     @ResponseBody
     public ResponseEntity<BigDecimal> getProjectRevenue(@PathVariable Long projectId) {
+        financialService.requireProject(projectId);
         BigDecimal revenue = financialService.calculateProjectRevenue(projectId);
         return ResponseEntity.ok(revenue);
     }
 
     @GetMapping("/project/{projectId}/cost")
+    @PreAuthorize("hasRole('CEO') or hasRole('ADMIN') or hasRole('SUPER_ADMIN') or hasRole('ACCOUNTANT')")
     @ResponseBody
     public ResponseEntity<BigDecimal> getProjectCost(@PathVariable Long projectId) {
+        financialService.requireProject(projectId);
         BigDecimal cost = financialService.calculateProjectCost(projectId);
         return ResponseEntity.ok(cost);
     }
 
     @GetMapping("/project/{projectId}/profit-margin")
+    @PreAuthorize("hasRole('CEO') or hasRole('ADMIN') or hasRole('SUPER_ADMIN') or hasRole('ACCOUNTANT')")
     @ResponseBody
     public ResponseEntity<BigDecimal> getProjectProfitMargin(@PathVariable Long projectId) {
+        financialService.requireProject(projectId);
         BigDecimal profitMargin = financialService.calculateProjectProfitMargin(projectId);
         return ResponseEntity.ok(profitMargin);
     }
 
     @GetMapping("/project/{projectId}/expenses-by-category")
+    @PreAuthorize("hasRole('CEO') or hasRole('ADMIN') or hasRole('SUPER_ADMIN') or hasRole('ACCOUNTANT')")
     @ResponseBody
     public ResponseEntity<Map<FinancialTransaction.Category, BigDecimal>> getExpensesByCategory(@PathVariable Long projectId) {
+        financialService.requireProject(projectId);
         Map<FinancialTransaction.Category, BigDecimal> expenses = financialService.getExpensesByCategory(projectId);
         return ResponseEntity.ok(expenses);
     }
 
     @GetMapping("/project/{projectId}/budget-variance")
+    @PreAuthorize("hasRole('CEO') or hasRole('ADMIN') or hasRole('SUPER_ADMIN') or hasRole('ACCOUNTANT')")
     @ResponseBody
     public ResponseEntity<BigDecimal> getBudgetVariance(@PathVariable Long projectId) {
+        financialService.requireProject(projectId);
         BigDecimal variance = financialService.calculateBudgetVariance(projectId);
         return ResponseEntity.ok(variance);
     }
@@ -129,30 +167,50 @@ public class FinancialController {
     @GetMapping("/projects/over-budget")
     @PreAuthorize("hasRole('CEO') or hasRole('ADMIN') or hasRole('SUPER_ADMIN') or hasRole('ACCOUNTANT')")
     @ResponseBody
-    public ResponseEntity<List<Project>> getProjectsOverBudget() {
-        List<Project> projects = financialService.getProjectsOverBudget();
+    public ResponseEntity<Page<ProjectSummaryDto>> getProjectsOverBudget(@PageableDefault(size = 20) Pageable pageable) {
+        Page<ProjectSummaryDto> projects = financialService.getProjectsOverBudget(pageable);
         return ResponseEntity.ok(projects);
     }
 
+    @GetMapping("/projects/budget-status")
+    @PreAuthorize("hasRole('CEO') or hasRole('ADMIN') or hasRole('SUPER_ADMIN') or hasRole('ACCOUNTANT')")
+    @ResponseBody
+    public ResponseEntity<Page<ProjectBudgetStatusDto>> getBudgetStatuses(
+            @RequestParam(defaultValue = "false") boolean overBudgetOnly,
+            @PageableDefault(size = 20, sort = "variance", direction = Sort.Direction.DESC) Pageable pageable) {
+        Page<ProjectBudgetStatusDto> statuses = budgetAnalyticsService.getBudgetStatuses(overBudgetOnly, pageable);
+        return ResponseEntity.ok(statuses);
+    }
+
+    @GetMapping("/projects/over-budget/top")
+    @PreAuthorize("hasRole('CEO') or hasRole('ADMIN') or hasRole('SUPER_ADMIN') or hasRole('ACCOUNTANT')")
+    @ResponseBody
+    public ResponseEntity<List<ProjectBudgetStatusDto>> getTopOverBudget(@RequestParam(defaultValue = "10") int limit) {
+        List<ProjectBudgetStatusDto> offenders = budgetAnalyticsService.getTopOverBudget(Math.min(Math.max(limit, 1), 100));
+        return ResponseEntity.ok(offenders);
+    }
+
     @GetMapping("/transactions/daterange")
     @ResponseBody
-    public ResponseEntity<List<FinancialTransaction>> getTransactionsByDateRange(
-            @RequestParam String startDate, @RequestParam String endDate) {
+    public ResponseEntity<Slice<FinancialTransactionSummaryDto>> getTransactionsByDateRange(
+            @RequestParam String startDate, @RequestParam String endDate, @PageableDefault(size = 50) Pageable pageable) {
         LocalDateTime start = LocalDateTime.parse(startDate, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
         LocalDateTime end = LocalDateTime.parse(endDate, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-        List<FinancialTransaction> transactions = financialService.getTransactionsByDateRange(start, end);
+        Slice<FinancialTransactionSummaryDto> transactions = financialService.getTransactionsByDateRange(start, end, pageable);
         return ResponseEntity.ok(transactions);
     }
 
     // Thymeleaf views
     @GetMapping("/view")
     public String financialView(Model model) {
-        List<FinancialTransaction> pendingTransactions = financialService.getPendingApprovalTransactions();
-        List<Project> overBudgetProjects = financialService.getProjectsOverBudget();
+        List<FinancialTransaction> pendingTransactions = authService.filterAccessibleProjects(
+                financialService.getPendingApprovalTransactions(), FinancialController::projectIdOf);
+        List<Project> overBudgetProjects = authService.filterAccessibleProjects(
+                financialService.getProjectsOverBudget(), Project::getId);
         
         model.addAttribute("pendingTransactions", pendingTransactions);
         model.addAttribute("overBudgetProjects", overBudgetProjects);
-        model.addAttribute("projects", projectService.getAllProjects());
+        model.addAttribute("projects", authService.filterAccessibleProjects(projectService.getAllProjects(), Project::getId));
         return "financial";
     }
 
@@ -161,15 +219,20 @@ public class FinancialController {
         // Load recent transactions
         LocalDateTime endDate = LocalDateTime.now();
         LocalDateTime startDate = endDate.minusDays(30);
-        List<FinancialTransaction> recentTransactions = financialService.getTransactionsByDateRange(startDate, endDate);
+        List<FinancialTransaction> recentTransactions = authService.filterAccessibleProjects(
+                financialService.getTransactionsByDateRange(startDate, endDate), FinancialController::projectIdOf);
         
         model.addAttribute("transactions", recentTransactions);
-        model.addAttribute("projects", projectService.getAllProjects());
+        model.addAttribute("projects", authService.filterAccessibleProjects(projectService.getAllProjects(), Project::getId));
         model.addAttribute("transactionTypes", FinancialTransaction.TransactionType.values());
         model.addAttribute("categories", FinancialTransaction.Category.values());
         return "financial/transactions";
     }
 
+    private static Long projectIdOf(FinancialTransaction transaction) {
+        return transaction.getProject() != null ? transaction.getProject().getId() : null;
+    }
+
     private FinancialTransaction convertToEntity(FinancialTransactionDto dto) {
         FinancialTransaction transaction = new FinancialTransaction();
         
@@ -1,14 +1,24 @@
 package com.sitemasterpro.controller;
 
+import com.sitemasterpro.dto.BulkStockMovementRequest;
+import com.sitemasterpro.dto.BulkStockMovementResultDto;
 import com.sitemasterpro.dto.InventoryTransactionDto;
+import com.sitemasterpro.dto.InventoryTransactionSummaryDto;
+import com.sitemasterpro.dto.MaterialSummaryDto;
+import com.sitemasterpro.dto.SupplierSummaryDto;
 import com.sitemasterpro.entity.InventoryTransaction;
 import com.sitemasterpro.entity.Material;
 import com.sitemasterpro.entity.Supplier;
 import com.sitemasterpro.service.InventoryService;
 import com.sitemasterpro.service.ProjectService;
+import com.sitemasterpro.service.StockLedgerService;
 import com.sitemasterpro.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
@@ -32,11 +42,14 @@ public class InventoryController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
     // Material Management
     @GetMapping("/materials")
     @ResponseBody
-    public ResponseEntity<List<Material>> getAllMaterials() {
-        List<Material> materials = inventoryService.getActiveMaterials();
+    public ResponseEntity<Page<MaterialSummaryDto>> getAllMaterials(@PageableDefault(size = 50) Pageable pageable) {
+        Page<MaterialSummaryDto> materials = inventoryService.getActiveMaterials(pageable);
         return ResponseEntity.ok(materials);
     }
 
@@ -53,23 +66,23 @@ public class InventoryController {
     @ResponseBody
     public ResponseEntity<Material> updateMaterial(@PathVariable Long id, @Valid @RequestBody Material material) {
         material.setId(id);
-        Material updatedMaterial = inventoryService.updateMaterial(material);
+        Material updatedMaterial = stockLedgerService.withRetry(() -> inventoryService.updateMaterial(material));
         return ResponseEntity.ok(updatedMaterial);
     }
 
     @GetMapping("/materials/low-stock")
     @PreAuthorize("hasRole('STORE_KEEPER') or hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
     @ResponseBody
-    public ResponseEntity<List<Material>> getLowStockMaterials() {
-        List<Material> lowStockMaterials = inventoryService.getLowStockMaterials();
+    public ResponseEntity<Page<MaterialSummaryDto>> getLowStockMaterials(@PageableDefault(size = 50) Pageable pageable) {
+        Page<MaterialSummaryDto> lowStockMaterials = inventoryService.getLowStockMaterials(pageable);
         return ResponseEntity.ok(lowStockMaterials);
     }
 
     // Supplier Management
     @GetMapping("/suppliers")
     @ResponseBody
-    public ResponseEntity<List<Supplier>> getAllSuppliers() {
-        List<Supplier> suppliers = inventoryService.getActiveSuppliers();
+    public ResponseEntity<Page<SupplierSummaryDto>> getAllSuppliers(@PageableDefault(size = 50) Pageable pageable) {
+        Page<SupplierSummaryDto> suppliers = inventoryService.getActiveSuppliers(pageable);
         return ResponseEntity.ok(suppliers);
     }
 
@@ -95,8 +108,8 @@ public class InventoryController {
     @PreAuthorize("hasRole('STORE_KEEPER') or hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
     @ResponseBody
     public ResponseEntity<InventoryTransaction> recordStockIn(@Valid @RequestBody InventoryTransactionDto dto) {
-        InventoryTransaction transaction = convertToEntity(dto);
-        InventoryTransaction savedTransaction = inventoryService.recordStockIn(transaction);
+        InventoryTransaction savedTransaction = stockLedgerService.withRetry(
+                () -> inventoryService.recordStockIn(convertToEntity(dto)));
         return ResponseEntity.ok(savedTransaction);
     }
 
@@ -104,8 +117,8 @@ public class InventoryController {
     @PreAuthorize("hasRole('STORE_KEEPER') or hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
     @ResponseBody
     public ResponseEntity<InventoryTransaction> recordStockOut(@Valid @RequestBody InventoryTransactionDto dto) {
-        InventoryTransaction transaction = convertToEntity(dto);
-        InventoryTransaction savedTransaction = inventoryService.recordStockOut(transaction);
+        InventoryTransaction savedTransaction = stockLedgerService.withRetry(
+                () -> inventoryService.recordStockOut(convertToEntity(dto)));
         return ResponseEntity.ok(savedTransaction);
     }
 
@@ -114,32 +127,43 @@ public class InventoryController {
     @ResponseBody
     public ResponseEntity<InventoryTransaction> recordStockAdjustment(@Valid @RequestBody InventoryTransactionDto dto,
                                                                      @RequestParam String reason) {
-        InventoryTransaction transaction = convertToEntity(dto);
-        InventoryTransaction savedTransaction = inventoryService.recordStockAdjustment(transaction, reason);
+        InventoryTransaction savedTransaction = stockLedgerService.withRetry(
+                () -> inventoryService.recordStockAdjustment(convertToEntity(dto), reason));
         return ResponseEntity.ok(savedTransaction);
     }
 
+    @PostMapping("/movements/bulk")
+    @PreAuthorize("hasRole('STORE_KEEPER') or hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    @ResponseBody
+    public ResponseEntity<BulkStockMovementResultDto> recordBulkStockMovements(@Valid @RequestBody BulkStockMovementRequest request) {
+        BulkStockMovementResultDto result = stockLedgerService.withRetry(
+                () -> inventoryService.recordBulkStockMovements(request));
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/transactions/project/{projectId}")
     @ResponseBody
-    public ResponseEntity<List<InventoryTransaction>> getTransactionsByProject(@PathVariable Long projectId) {
-        List<InventoryTransaction> transactions = inventoryService.getTransactionsByProject(projectId);
+    public ResponseEntity<Slice<InventoryTransactionSummaryDto>> getTransactionsByProject(@PathVariable Long projectId,
+                                                                                          @PageableDefault(size = 50) Pageable pageable) {
+        Slice<InventoryTransactionSummaryDto> transactions = inventoryService.getTransactionsByProject(projectId, pageable);
         return ResponseEntity.ok(transactions);
     }
 
     @GetMapping("/transactions/material/{materialId}")
     @ResponseBody
-    public ResponseEntity<List<InventoryTransaction>> getTransactionsByMaterial(@PathVariable Long materialId) {
-        List<InventoryTransaction> transactions = inventoryService.getTransactionsByMaterial(materialId);
+    public ResponseEntity<Slice<InventoryTransactionSummaryDto>> getTransactionsByMaterial(@PathVariable Long materialId,
+                                                                                           @PageableDefault(size = 50) Pageable pageable) {
+        Slice<InventoryTransactionSummaryDto> transactions = inventoryService.getTransactionsByMaterial(materialId, pageable);
         return ResponseEntity.ok(transactions);
     }
 
     @GetMapping("/transactions/daterange")
     @ResponseBody
-    public ResponseEntity<List<InventoryTransaction>> getTransactionsByDateRange(
-            @RequestParam String startDate, @RequestParam String endDate) {
+    public ResponseEntity<Slice<InventoryTransactionSummaryDto>> getTransactionsByDateRange(
+            @RequestParam String startDate, @RequestParam String endDate, @PageableDefault(size = 50) Pageable pageable) {
         LocalDateTime start = LocalDateTime.parse(startDate, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
         LocalDateTime end = LocalDateTime.parse(endDate, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-        List<InventoryTransaction> transactions = inventoryService.getTransactionsByDateRange(start, end);
+        Slice<InventoryTransactionSummaryDto> transactions = inventoryService.getTransactionsByDateRange(start, end, pageable);
         return ResponseEntity.ok(transactions);
     }
 
@@ -1,11 +1,17 @@
 package com.sitemasterpro.controller;
 
 import com.sitemasterpro.dto.ProjectDto;
+import com.sitemasterpro.dto.ProjectMilestoneSummaryDto;
+import com.sitemasterpro.dto.ProjectSummaryDto;
 import com.sitemasterpro.entity.Project;
 import com.sitemasterpro.entity.ProjectMilestone;
+import com.sitemasterpro.service.AuthService;
 import com.sitemasterpro.service.ProjectService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
@@ -22,10 +28,15 @@ public class ProjectController {
     @Autowired
     private ProjectService projectService;
 
+    @Autowired
+    private AuthService authService;
+
     @GetMapping
     @ResponseBody
-    public ResponseEntity<List<Project>> getAllProjects() {
-        List<Project> projects = projectService.getAllProjects();
+    public ResponseEntity<Page<ProjectSummaryDto>> getAllProjects(@RequestParam(required = false) String search,
+                                                                  @RequestParam(required = false) Project.ProjectStatus status,
+                                                                  @PageableDefault(size = 20) Pageable pageable) {
+        Page<ProjectSummaryDto> projects = projectService.getAllProjects(search, status, pageable);
         return ResponseEntity.ok(projects);
     }
 
@@ -73,8 +84,9 @@ public class ProjectController {
 
     @GetMapping("/{id}/milestones")
     @ResponseBody
-    public ResponseEntity<List<ProjectMilestone>> getProjectMilestones(@PathVariable Long id) {
-        List<ProjectMilestone> milestones = projectService.getProjectMilestones(id);
+    public ResponseEntity<Page<ProjectMilestoneSummaryDto>> getProjectMilestones(@PathVariable Long id,
+                                                                                 @PageableDefault(size = 50) Pageable pageable) {
+        Page<ProjectMilestoneSummaryDto> milestones = projectService.getProjectMilestones(id, pageable);
         return ResponseEntity.ok(milestones);
     }
 
@@ -100,23 +112,23 @@ public class ProjectController {
     @GetMapping("/overdue")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN') or hasRole('CEO')")
     @ResponseBody
-    public ResponseEntity<List<Project>> getOverdueProjects() {
-        List<Project> overdueProjects = projectService.getOverdueProjects();
+    public ResponseEntity<Page<ProjectSummaryDto>> getOverdueProjects(@PageableDefault(size = 20) Pageable pageable) {
+        Page<ProjectSummaryDto> overdueProjects = projectService.getOverdueProjects(pageable);
         return ResponseEntity.ok(overdueProjects);
     }
 
     @GetMapping("/over-budget")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN') or hasRole('CEO') or hasRole('ACCOUNTANT')")
     @ResponseBody
-    public ResponseEntity<List<Project>> getProjectsOverBudget() {
-        List<Project> overBudgetProjects = projectService.getProjectsOverBudget();
+    public ResponseEntity<Page<ProjectSummaryDto>> getProjectsOverBudget(@PageableDefault(size = 20) Pageable pageable) {
+        Page<ProjectSummaryDto> overBudgetProjects = projectService.getProjectsOverBudget(pageable);
         return ResponseEntity.ok(overBudgetProjects);
     }
 
     // Thymeleaf views
     @GetMapping("/view")
     public String projectsView(Model model) {
-        List<Project> projects = projectService.getAllProjects();
+        List<Project> projects = authService.filterAccessibleProjects(projectService.getAllProjects(), Project::getId);
         model.addAttribute("projects", projects);
         return "projects";
     }
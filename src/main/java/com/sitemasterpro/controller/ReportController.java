@@ -1,8 +1,12 @@
 package com.sitemasterpro.controller;
 
+import com.sitemasterpro.dto.ReportJobDto;
+import com.sitemasterpro.service.AuthService;
+import com.sitemasterpro.service.ReportJobService;
 import com.sitemasterpro.service.ReportService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -10,8 +14,12 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Principal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -22,64 +30,97 @@ public class ReportController {
     @Autowired
     private ReportService reportService;
 
+    @Autowired
+    private ReportJobService reportJobService;
+
+    @Autowired
+    private AuthService authService;
+
     @GetMapping("/project/{projectId}/financial")
     @PreAuthorize("hasRole('CEO') or hasRole('ADMIN') or hasRole('SUPER_ADMIN') or hasRole('ACCOUNTANT')")
-    public ResponseEntity<ByteArrayResource> generateProjectFinancialReport(@PathVariable Long projectId) throws IOException {
-        byte[] reportData = reportService.generateProjectFinancialReport(projectId);
-        
-        ByteArrayResource resource = new ByteArrayResource(reportData);
-        
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=project-financial-report-" + projectId + ".xlsx")
-                .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .contentLength(reportData.length)
-                .body(resource);
+    public ResponseEntity<StreamingResponseBody> generateProjectFinancialReport(@PathVariable Long projectId) {
+        reportService.requireProject(projectId);
+        StreamingResponseBody body = outputStream -> reportService.writeProjectFinancialReport(projectId, outputStream);
+        return excelResponse("project-financial-report-" + projectId + ".xlsx", body);
     }
 
     @GetMapping("/inventory")
     @PreAuthorize("hasRole('STORE_KEEPER') or hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
-    public ResponseEntity<ByteArrayResource> generateInventoryReport() throws IOException {
-        byte[] reportData = reportService.generateInventoryReport();
-        
-        ByteArrayResource resource = new ByteArrayResource(reportData);
-        
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=inventory-report.xlsx")
-                .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .contentLength(reportData.length)
-                .body(resource);
+    public ResponseEntity<StreamingResponseBody> generateInventoryReport() {
+        StreamingResponseBody body = outputStream -> reportService.writeInventoryReport(outputStream);
+        return excelResponse("inventory-report.xlsx", body);
     }
 
     @GetMapping("/labor/{projectId}")
     @PreAuthorize("hasRole('LABOR_HEAD') or hasRole('SITE_MANAGER') or hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
-    public ResponseEntity<ByteArrayResource> generateLaborReport(@PathVariable Long projectId) throws IOException {
-        byte[] reportData = reportService.generateLaborReport(projectId);
-        
-        ByteArrayResource resource = new ByteArrayResource(reportData);
-        
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=labor-report-" + projectId + ".xlsx")
-                .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .contentLength(reportData.length)
-                .body(resource);
+    public ResponseEntity<StreamingResponseBody> generateLaborReport(@PathVariable Long projectId) {
+        reportService.requireProject(projectId);
+        StreamingResponseBody body = outputStream -> reportService.writeLaborReport(projectId, outputStream);
+        return excelResponse("labor-report-" + projectId + ".xlsx", body);
     }
 
     @GetMapping("/audit")
     @PreAuthorize("hasRole('SUPER_ADMIN')")
-    public ResponseEntity<ByteArrayResource> generateAuditReport(
-            @RequestParam String startDate, @RequestParam String endDate) throws IOException {
+    public ResponseEntity<StreamingResponseBody> generateAuditReport(
+            @RequestParam String startDate, @RequestParam String endDate) {
         LocalDateTime start = LocalDateTime.parse(startDate, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
         LocalDateTime end = LocalDateTime.parse(endDate, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
         
-        byte[] reportData = reportService.generateAuditReport(start, end);
-        
-        ByteArrayResource resource = new ByteArrayResource(reportData);
-        
+        StreamingResponseBody body = outputStream -> reportService.writeAuditReport(start, end, outputStream);
+        return excelResponse("audit-report.xlsx", body);
+    }
+
+    // Asynchronous report jobs: render on the report worker pool, poll or subscribe for progress, download later
+    @PostMapping("/jobs/project/{projectId}/financial")
+    @PreAuthorize("hasRole('CEO') or hasRole('ADMIN') or hasRole('SUPER_ADMIN') or hasRole('ACCOUNTANT')")
+    public ResponseEntity<ReportJobDto> submitProjectFinancialReport(@PathVariable Long projectId, Principal principal) {
+        return ResponseEntity.accepted().body(reportJobService.submitProjectFinancialReport(projectId, principal.getName()));
+    }
+
+    @PostMapping("/jobs/inventory")
+    @PreAuthorize("hasRole('STORE_KEEPER') or hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<ReportJobDto> submitInventoryReport(Principal principal) {
+        return ResponseEntity.accepted().body(reportJobService.submitInventoryReport(principal.getName()));
+    }
+
+    @PostMapping("/jobs/labor/{projectId}")
+    @PreAuthorize("hasRole('LABOR_HEAD') or hasRole('SITE_MANAGER') or hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<ReportJobDto> submitLaborReport(@PathVariable Long projectId, Principal principal) {
+        return ResponseEntity.accepted().body(reportJobService.submitLaborReport(projectId, principal.getName()));
+    }
+
+    @PostMapping("/jobs/audit")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<ReportJobDto> submitAuditReport(@RequestParam String startDate, @RequestParam String endDate,
+                                                          Principal principal) {
+        LocalDateTime start = LocalDateTime.parse(startDate, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        LocalDateTime end = LocalDateTime.parse(endDate, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        return ResponseEntity.accepted().body(reportJobService.submitAuditReport(start, end, principal.getName()));
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ReportJobDto> getReportJob(@PathVariable String jobId, Principal principal) {
+        return ResponseEntity.ok(reportJobService.getJob(jobId, principal.getName(), authService.hasRole("SUPER_ADMIN")));
+    }
+
+    @GetMapping("/jobs/{jobId}/download")
+    public ResponseEntity<Resource> downloadReportJob(@PathVariable String jobId, Principal principal) throws IOException {
+        ReportJobDto job = reportJobService.getJob(jobId, principal.getName(), authService.hasRole("SUPER_ADMIN"));
+        Path result = reportJobService.getResultFile(job);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + job.getFilename())
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(Files.size(result))
+                .body(new FileSystemResource(result));
+    }
+
+    // The workbook is written straight to the servlet output stream, so no Content-Length is known up front
+    private ResponseEntity<StreamingResponseBody> excelResponse(String filename, StreamingResponseBody body) {
         return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=audit-report.xlsx")
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .contentLength(reportData.length)
-                .body(resource);
+                .body(body);
     }
 
     @GetMapping("/view")
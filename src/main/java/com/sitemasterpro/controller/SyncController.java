@@ -0,0 +1,54 @@
+package com.sitemasterpro.controller;
+
+import com.sitemasterpro.dto.BulkStockMovementRequest;
+import com.sitemasterpro.dto.OfflineStockMovementResultDto;
+import com.sitemasterpro.dto.SyncChangesDto;
+import com.sitemasterpro.service.AuthService;
+import com.sitemasterpro.service.StockLedgerService;
+import com.sitemasterpro.service.SyncService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+
+@Controller
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    @GetMapping("/changes")
+    @ResponseBody
+    public ResponseEntity<SyncChangesDto> getChanges(@RequestParam(required = false) String since,
+                                                     @RequestParam(required = false) Long projectId,
+                                                     @RequestParam(required = false) Integer limit) {
+        Long userId = authService.getCurrentUser().getId();
+        return ResponseEntity.ok(syncService.getChanges(userId, since, projectId, limit));
+    }
+
+    @PostMapping("/stock-movements")
+    @PreAuthorize("hasRole('STORE_KEEPER') or hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    @ResponseBody
+    public ResponseEntity<OfflineStockMovementResultDto> uploadStockMovements(@Valid @RequestBody BulkStockMovementRequest request) {
+        Long userId = authService.getCurrentUser().getId();
+        OfflineStockMovementResultDto result;
+        try {
+            result = stockLedgerService.withRetry(() -> syncService.applyOfflineStockMovements(userId, request));
+        } catch (DuplicateKeyException e) {
+            // A concurrent upload recorded some of these client refs after the duplicate check; the batch rolled
+            // back, and replaying it finds them recorded and reports those lines as DUPLICATE
+            result = stockLedgerService.withRetry(() -> syncService.applyOfflineStockMovements(userId, request));
+        }
+        return ResponseEntity.ok(result);
+    }
+}
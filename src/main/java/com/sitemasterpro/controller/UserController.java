@@ -71,6 +71,14 @@ public class UserController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/{id}/assign-projects")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    @ResponseBody
+    public ResponseEntity<?> assignProjects(@PathVariable Long id, @RequestBody Set<Long> projectIds) {
+        userService.assignProjects(id, projectIds);
+        return ResponseEntity.ok().build();
+    }
+
     @GetMapping("/by-role/{roleName}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
     @ResponseBody
@@ -0,0 +1,65 @@
+package com.sitemasterpro.dto;
+
+import java.time.LocalDateTime;
+
+public class AuditLogDto {
+    private Long id;
+    private LocalDateTime timestamp;
+    private Long userId;
+    private String username;
+    private String action;
+    private String entityType;
+    private Long entityId;
+    private String oldValues;
+    private String newValues;
+    private String ipAddress;
+
+    // Constructors
+    public AuditLogDto() {}
+
+    // Used by the JPQL constructor expression in AuditLogRepositoryCustomImpl
+    public AuditLogDto(Long id, LocalDateTime timestamp, Long userId, String username, String action,
+                       String entityType, Long entityId, String oldValues, String newValues, String ipAddress) {
+        this.id = id;
+        this.timestamp = timestamp;
+        this.userId = userId;
+        this.username = username;
+        this.action = action;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.oldValues = oldValues;
+        this.newValues = newValues;
+        this.ipAddress = ipAddress;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getAction() { return action; }
+    public void setAction(String action) { this.action = action; }
+
+    public String getEntityType() { return entityType; }
+    public void setEntityType(String entityType) { this.entityType = entityType; }
+
+    public Long getEntityId() { return entityId; }
+    public void setEntityId(Long entityId) { this.entityId = entityId; }
+
+    public String getOldValues() { return oldValues; }
+    public void setOldValues(String oldValues) { this.oldValues = oldValues; }
+
+    public String getNewValues() { return newValues; }
+    public void setNewValues(String newValues) { this.newValues = newValues; }
+
+    public String getIpAddress() { return ipAddress; }
+    public void setIpAddress(String ipAddress) { this.ipAddress = ipAddress; }
+}
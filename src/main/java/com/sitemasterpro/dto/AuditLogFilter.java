@@ -0,0 +1,34 @@
+package com.sitemasterpro.dto;
+
+import java.time.LocalDateTime;
+
+public class AuditLogFilter {
+    private Long userId;
+    private String action;
+    private String entityType;
+    private Long entityId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    // Constructors
+    public AuditLogFilter() {}
+
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getAction() { return action; }
+    public void setAction(String action) { this.action = action; }
+
+    public String getEntityType() { return entityType; }
+    public void setEntityType(String entityType) { this.entityType = entityType; }
+
+    public Long getEntityId() { return entityId; }
+    public void setEntityId(Long entityId) { this.entityId = entityId; }
+
+    public LocalDateTime getFrom() { return from; }
+    public void setFrom(LocalDateTime from) { this.from = from; }
+
+    public LocalDateTime getTo() { return to; }
+    public void setTo(LocalDateTime to) { this.to = to; }
+}
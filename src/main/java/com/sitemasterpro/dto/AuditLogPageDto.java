@@ -0,0 +1,28 @@
+package com.sitemasterpro.dto;
+
+import java.util.List;
+
+public class AuditLogPageDto {
+    private List<AuditLogDto> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    // Constructors
+    public AuditLogPageDto() {}
+
+    public AuditLogPageDto(List<AuditLogDto> items, String nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    // Getters and Setters
+    public List<AuditLogDto> getItems() { return items; }
+    public void setItems(List<AuditLogDto> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -0,0 +1,28 @@
+package com.sitemasterpro.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkStockMovementRequest {
+    private Long createdById;
+
+    // Lines are loaded, validated and inserted as one batch inside a single transaction
+    @NotEmpty
+    @Size(max = 1000)
+    @Valid
+    private List<StockMovementLineDto> lines = new ArrayList<>();
+
+    // Constructors
+    public BulkStockMovementRequest() {}
+
+    // Getters and Setters
+    public Long getCreatedById() { return createdById; }
+    public void setCreatedById(Long createdById) { this.createdById = createdById; }
+
+    public List<StockMovementLineDto> getLines() { return lines; }
+    public void setLines(List<StockMovementLineDto> lines) { this.lines = lines; }
+}
@@ -0,0 +1,73 @@
+package com.sitemasterpro.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkStockMovementResultDto {
+    private int totalLines;
+    private int appliedLines;
+    private int materialsUpdated;
+    private List<LineError> errors = new ArrayList<>();
+
+    // Constructors
+    public BulkStockMovementResultDto() {}
+
+    public BulkStockMovementResultDto(int totalLines) {
+        this.totalLines = totalLines;
+    }
+
+    public void addError(int lineIndex, Long materialId, String message) {
+        addError(lineIndex, materialId, Reason.INVALID, message);
+    }
+
+    public void addError(int lineIndex, Long materialId, Reason reason, String message) {
+        errors.add(new LineError(lineIndex, materialId, reason, message));
+    }
+
+    // Getters and Setters
+    public int getTotalLines() { return totalLines; }
+    public void setTotalLines(int totalLines) { this.totalLines = totalLines; }
+
+    public int getAppliedLines() { return appliedLines; }
+    public void setAppliedLines(int appliedLines) { this.appliedLines = appliedLines; }
+
+    public int getMaterialsUpdated() { return materialsUpdated; }
+    public void setMaterialsUpdated(int materialsUpdated) { this.materialsUpdated = materialsUpdated; }
+
+    public List<LineError> getErrors() { return errors; }
+    public void setErrors(List<LineError> errors) { this.errors = errors; }
+
+    // Why a line was refused; clients branch on this, the message is for people
+    public enum Reason {
+        INVALID,
+        INSUFFICIENT_STOCK
+    }
+
+    public static class LineError {
+        private int lineIndex;
+        private Long materialId;
+        private Reason reason;
+        private String message;
+
+        public LineError() {}
+
+        public LineError(int lineIndex, Long materialId, Reason reason, String message) {
+            this.lineIndex = lineIndex;
+            this.materialId = materialId;
+            this.reason = reason;
+            this.message = message;
+        }
+
+        public int getLineIndex() { return lineIndex; }
+        public void setLineIndex(int lineIndex) { this.lineIndex = lineIndex; }
+
+        public Long getMaterialId() { return materialId; }
+        public void setMaterialId(Long materialId) { this.materialId = materialId; }
+
+        public Reason getReason() { return reason; }
+        public void setReason(Reason reason) { this.reason = reason; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+}
@@ -0,0 +1,26 @@
+package com.sitemasterpro.dto;
+
+import com.sitemasterpro.entity.FinancialTransaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Projection of a financial transaction with the project name and the creator's and approver's names
+ * flattened in by the query's joins.
+ */
+public interface FinancialTransactionSummaryDto {
+    Long getId();
+    FinancialTransaction.TransactionType getType();
+    FinancialTransaction.Category getCategory();
+    BigDecimal getAmount();
+    String getDescription();
+    String getReferenceNumber();
+    LocalDateTime getTransactionDate();
+    Boolean getApproved();
+    LocalDateTime getApprovedAt();
+    Long getProjectId();
+    String getProjectName();
+    String getCreatedByName();
+    String getApprovedByName();
+}
@@ -0,0 +1,29 @@
+package com.sitemasterpro.dto;
+
+import com.sitemasterpro.entity.InventoryTransaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Projection of an inventory transaction with the names of its project, material, supplier and
+ * creator flattened in by the query's joins.
+ */
+public interface InventoryTransactionSummaryDto {
+    Long getId();
+    InventoryTransaction.TransactionType getType();
+    BigDecimal getQuantity();
+    BigDecimal getUnitPrice();
+    BigDecimal getTotalAmount();
+    String getPurchaseOrderReference();
+    String getIssuedTo();
+    LocalDateTime getTransactionDate();
+    Long getProjectId();
+    String getProjectName();
+    Long getMaterialId();
+    String getMaterialName();
+    String getMaterialUnit();
+    Long getSupplierId();
+    String getSupplierName();
+    String getCreatedByName();
+}
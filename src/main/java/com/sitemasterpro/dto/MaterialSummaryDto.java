@@ -0,0 +1,20 @@
+package com.sitemasterpro.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Projection of a material for list endpoints, selected column by column so nothing is lazy-loaded.
+ */
+public interface MaterialSummaryDto {
+    Long getId();
+    String getName();
+    String getUnit();
+    BigDecimal getUnitPrice();
+    BigDecimal getCurrentStock();
+    BigDecimal getMinStockLevel();
+    BigDecimal getMaxStockLevel();
+    Boolean getActive();
+    Long getVersion();
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,71 @@
+package com.sitemasterpro.dto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+public class OfflineStockMovementResultDto {
+    private List<LineResult> lines = new ArrayList<>();
+
+    // Constructors
+    public OfflineStockMovementResultDto() {}
+
+    // Getters and Setters
+    public List<LineResult> getLines() { return lines; }
+    public void setLines(List<LineResult> lines) { this.lines = lines; }
+
+    public enum Status {
+        APPLIED,
+        DUPLICATE, // already uploaded before; nothing was changed
+        CONFLICT,  // cannot be applied to the current server stock
+        REJECTED   // invalid regardless of server state
+    }
+
+    /**
+     * Outcome of one queued movement. {@code stale} is set when the material changed on the server
+     * after the client last synced it; {@code currentStock} and {@code stockVersion} are the server's
+     * state after the upload, for resolving conflicts.
+     */
+    public static class LineResult {
+        private int lineIndex;
+        private String clientRef;
+        private Status status;
+        private boolean stale;
+        private String message;
+        private Long materialId;
+        private BigDecimal currentStock;
+        private Long stockVersion;
+
+        public LineResult() {}
+
+        public LineResult(int lineIndex, String clientRef, Long materialId) {
+            this.lineIndex = lineIndex;
+            this.clientRef = clientRef;
+            this.materialId = materialId;
+        }
+
+        public int getLineIndex() { return lineIndex; }
+        public void setLineIndex(int lineIndex) { this.lineIndex = lineIndex; }
+
+        public String getClientRef() { return clientRef; }
+        public void setClientRef(String clientRef) { this.clientRef = clientRef; }
+
+        public Status getStatus() { return status; }
+        public void setStatus(Status status) { this.status = status; }
+
+        public boolean isStale() { return stale; }
+        public void setStale(boolean stale) { this.stale = stale; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+
+        public Long getMaterialId() { return materialId; }
+        public void setMaterialId(Long materialId) { this.materialId = materialId; }
+
+        public BigDecimal getCurrentStock() { return currentStock; }
+        public void setCurrentStock(BigDecimal currentStock) { this.currentStock = currentStock; }
+
+        public Long getStockVersion() { return stockVersion; }
+        public void setStockVersion(Long stockVersion) { this.stockVersion = stockVersion; }
+    }
+}
@@ -0,0 +1,54 @@
+package com.sitemasterpro.dto;
+
+import java.math.BigDecimal;
+
+public class ProjectBudgetStatusDto {
+    private Long projectId;
+    private String projectName;
+    private String status;
+    private BigDecimal budgetedCost;
+    private BigDecimal actualCost;
+    private BigDecimal overrunAmount;
+    private BigDecimal variancePercent;
+    private boolean overBudget;
+
+    // Constructors
+    public ProjectBudgetStatusDto() {}
+
+    public ProjectBudgetStatusDto(Long projectId, String projectName, String status, BigDecimal budgetedCost,
+                                  BigDecimal actualCost, BigDecimal overrunAmount, BigDecimal variancePercent) {
+        this.projectId = projectId;
+        this.projectName = projectName;
+        this.status = status;
+        this.budgetedCost = budgetedCost;
+        this.actualCost = actualCost;
+        this.overrunAmount = overrunAmount;
+        this.variancePercent = variancePercent;
+        this.overBudget = variancePercent.compareTo(BigDecimal.ZERO) > 0;
+    }
+
+    // Getters and Setters
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+
+    public String getProjectName() { return projectName; }
+    public void setProjectName(String projectName) { this.projectName = projectName; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public BigDecimal getBudgetedCost() { return budgetedCost; }
+    public void setBudgetedCost(BigDecimal budgetedCost) { this.budgetedCost = budgetedCost; }
+
+    public BigDecimal getActualCost() { return actualCost; }
+    public void setActualCost(BigDecimal actualCost) { this.actualCost = actualCost; }
+
+    public BigDecimal getOverrunAmount() { return overrunAmount; }
+    public void setOverrunAmount(BigDecimal overrunAmount) { this.overrunAmount = overrunAmount; }
+
+    public BigDecimal getVariancePercent() { return variancePercent; }
+    public void setVariancePercent(BigDecimal variancePercent) { this.variancePercent = variancePercent; }
+
+    public boolean isOverBudget() { return overBudget; }
+    public void setOverBudget(boolean overBudget) { this.overBudget = overBudget; }
+}
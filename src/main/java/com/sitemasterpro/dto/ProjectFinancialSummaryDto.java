@@ -0,0 +1,53 @@
+package com.sitemasterpro.dto;
+
+import com.sitemasterpro.entity.FinancialTransaction;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+
+public class ProjectFinancialSummaryDto {
+    private Long projectId;
+    private BigDecimal revenue = BigDecimal.ZERO;
+    private BigDecimal cost = BigDecimal.ZERO;
+    private BigDecimal pendingIncome = BigDecimal.ZERO;
+    private BigDecimal pendingExpense = BigDecimal.ZERO;
+    private long pendingCount;
+    private Map<FinancialTransaction.Category, BigDecimal> costByCategory = new EnumMap<>(FinancialTransaction.Category.class);
+
+    // Constructors
+    public ProjectFinancialSummaryDto() {}
+
+    public ProjectFinancialSummaryDto(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public BigDecimal getProfitMargin() {
+        if (revenue.compareTo(BigDecimal.ZERO) == 0) {
+            return BigDecimal.ZERO;
+        }
+        return revenue.subtract(cost).divide(revenue, 4, BigDecimal.ROUND_HALF_UP).multiply(BigDecimal.valueOf(100));
+    }
+
+    // Getters and Setters
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+
+    public BigDecimal getRevenue() { return revenue; }
+    public void setRevenue(BigDecimal revenue) { this.revenue = revenue; }
+
+    public BigDecimal getCost() { return cost; }
+    public void setCost(BigDecimal cost) { this.cost = cost; }
+
+    public BigDecimal getPendingIncome() { return pendingIncome; }
+    public void setPendingIncome(BigDecimal pendingIncome) { this.pendingIncome = pendingIncome; }
+
+    public BigDecimal getPendingExpense() { return pendingExpense; }
+    public void setPendingExpense(BigDecimal pendingExpense) { this.pendingExpense = pendingExpense; }
+
+    public long getPendingCount() { return pendingCount; }
+    public void setPendingCount(long pendingCount) { this.pendingCount = pendingCount; }
+
+    public Map<FinancialTransaction.Category, BigDecimal> getCostByCategory() { return costByCategory; }
+    public void setCostByCategory(Map<FinancialTransaction.Category, BigDecimal> costByCategory) { this.costByCategory = costByCategory; }
+}
@@ -0,0 +1,18 @@
+package com.sitemasterpro.dto;
+
+import com.sitemasterpro.entity.ProjectMilestone;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface ProjectMilestoneSummaryDto {
+    Long getId();
+    Long getProjectId();
+    String getName();
+    ProjectMilestone.MilestoneStatus getStatus();
+    LocalDate getPlannedStartDate();
+    LocalDate getPlannedEndDate();
+    LocalDate getActualStartDate();
+    LocalDate getActualEndDate();
+    BigDecimal getCompletionPercentage();
+}
@@ -0,0 +1,21 @@
+package com.sitemasterpro.dto;
+
+import com.sitemasterpro.entity.Project;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface ProjectSummaryDto {
+    Long getId();
+    String getName();
+    String getDescription();
+    String getLocation();
+    Project.ProjectStatus getStatus();
+    LocalDate getStartDate();
+    LocalDate getEndDate();
+    BigDecimal getContractValue();
+    BigDecimal getBudgetedCost();
+    BigDecimal getActualCost();
+    BigDecimal getActualRevenue();
+    BigDecimal getCompletionPercentage();
+}
@@ -0,0 +1,33 @@
+package com.sitemasterpro.dto;
+
+import java.util.List;
+
+/**
+ * One WebSocket message carrying the events collected for a destination during a dispatch window.
+ * {@code coalesced} counts updates that were superseded by a later event for the same entity, and
+ * {@code pending} the events held back for the next window by the per-destination rate limit.
+ */
+public class RealtimeBatchDto {
+    private List<RealtimeEventDto> events;
+    private int coalesced;
+    private int pending;
+
+    // Constructors
+    public RealtimeBatchDto() {}
+
+    public RealtimeBatchDto(List<RealtimeEventDto> events, int coalesced, int pending) {
+        this.events = events;
+        this.coalesced = coalesced;
+        this.pending = pending;
+    }
+
+    // Getters and Setters
+    public List<RealtimeEventDto> getEvents() { return events; }
+    public void setEvents(List<RealtimeEventDto> events) { this.events = events; }
+
+    public int getCoalesced() { return coalesced; }
+    public void setCoalesced(int coalesced) { this.coalesced = coalesced; }
+
+    public int getPending() { return pending; }
+    public void setPending(int pending) { this.pending = pending; }
+}
@@ -0,0 +1,130 @@
+package com.sitemasterpro.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+
+/**
+ * Typed realtime event pushed to WebSocket clients inside a {@link RealtimeBatchDto}. Only the
+ * fields relevant to the event type are set; unset fields are left out of the JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RealtimeEventDto {
+
+    public enum EventType {
+        STOCK_LEVEL,
+        LOW_STOCK_ALERT,
+        LOW_STOCK_SUMMARY,
+        BULK_STOCK_MOVEMENT,
+        INVENTORY_UPDATE,
+        PROJECT_CREATED,
+        PROJECT_UPDATED,
+        PROJECT_STATUS_UPDATE,
+        PROJECT_PROGRESS,
+        PROJECT_FINANCIALS,
+        MILESTONE_STATUS,
+        MILESTONE_DELAY_ALERT,
+        BUDGET_OVERRUN_ALERT,
+        FINANCIAL_TRANSACTION,
+        FINANCIAL_ALERT,
+        REPORT_JOB_UPDATE,
+        USER_NOTIFICATION,
+        BROADCAST_NOTIFICATION,
+        ROLE_BASED_NOTIFICATION
+    }
+
+    private EventType type;
+    private Long entityId;
+    private Long projectId;
+    private String name;
+    private String status;
+    private String action;
+    private BigDecimal quantity;
+    private BigDecimal stockLevel;
+    private BigDecimal threshold;
+    private String unit;
+    private BigDecimal amount;
+    private BigDecimal cost;
+    private BigDecimal revenue;
+    private BigDecimal budget;
+    private BigDecimal percentage;
+    private Long count;
+    private Long total;
+    private String title;
+    private String message;
+    private String severity;
+    private long timestamp;
+
+    // Constructors
+    public RealtimeEventDto() {}
+
+    public RealtimeEventDto(EventType type, Long entityId) {
+        this.type = type;
+        this.entityId = entityId;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    // Getters and Setters
+    public EventType getType() { return type; }
+    public void setType(EventType type) { this.type = type; }
+
+    public Long getEntityId() { return entityId; }
+    public void setEntityId(Long entityId) { this.entityId = entityId; }
+
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getAction() { return action; }
+    public void setAction(String action) { this.action = action; }
+
+    public BigDecimal getQuantity() { return quantity; }
+    public void setQuantity(BigDecimal quantity) { this.quantity = quantity; }
+
+    public BigDecimal getStockLevel() { return stockLevel; }
+    public void setStockLevel(BigDecimal stockLevel) { this.stockLevel = stockLevel; }
+
+    public BigDecimal getThreshold() { return threshold; }
+    public void setThreshold(BigDecimal threshold) { this.threshold = threshold; }
+
+    public String getUnit() { return unit; }
+    public void setUnit(String unit) { this.unit = unit; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public BigDecimal getCost() { return cost; }
+    public void setCost(BigDecimal cost) { this.cost = cost; }
+
+    public BigDecimal getRevenue() { return revenue; }
+    public void setRevenue(BigDecimal revenue) { this.revenue = revenue; }
+
+    public BigDecimal getBudget() { return budget; }
+    public void setBudget(BigDecimal budget) { this.budget = budget; }
+
+    public BigDecimal getPercentage() { return percentage; }
+    public void setPercentage(BigDecimal percentage) { this.percentage = percentage; }
+
+    public Long getCount() { return count; }
+    public void setCount(Long count) { this.count = count; }
+
+    public Long getTotal() { return total; }
+    public void setTotal(Long total) { this.total = total; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public String getSeverity() { return severity; }
+    public void setSeverity(String severity) { this.severity = severity; }
+
+    public long getTimestamp() { return timestamp; }
+    public void setTimestamp(long timestamp) { this.timestamp = timestamp; }
+}
@@ -0,0 +1,65 @@
+package com.sitemasterpro.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ReportJobDto {
+    private String jobId;
+    private String reportType;
+    private String filename;
+    private volatile JobStatus status = JobStatus.QUEUED;
+    private volatile long rowsWritten;
+    private volatile String errorMessage;
+    private LocalDateTime createdAt = LocalDateTime.now();
+    private volatile LocalDateTime completedAt;
+
+    // Everyone who requested this render while it was in flight may download the result
+    @JsonIgnore
+    private final Set<String> requestedBy = ConcurrentHashMap.newKeySet();
+
+    // Constructors
+    public ReportJobDto() {}
+
+    public ReportJobDto(String jobId, String reportType, String filename) {
+        this.jobId = jobId;
+        this.reportType = reportType;
+        this.filename = filename;
+    }
+
+    // Getters and Setters
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+
+    public String getReportType() { return reportType; }
+    public void setReportType(String reportType) { this.reportType = reportType; }
+
+    public String getFilename() { return filename; }
+    public void setFilename(String filename) { this.filename = filename; }
+
+    public JobStatus getStatus() { return status; }
+    public void setStatus(JobStatus status) { this.status = status; }
+
+    public long getRowsWritten() { return rowsWritten; }
+    public void setRowsWritten(long rowsWritten) { this.rowsWritten = rowsWritten; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+
+    public Set<String> getRequestedBy() { return requestedBy; }
+
+    public enum JobStatus {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -0,0 +1,66 @@
+package com.sitemasterpro.dto;
+
+import com.sitemasterpro.entity.InventoryTransaction;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Business rules are checked per line by the service; only column limits that would fail the whole batch insert are here
+public class StockMovementLineDto {
+    private InventoryTransaction.TransactionType type;
+    private Long projectId;
+    private Long materialId;
+    private Long supplierId;
+    private BigDecimal quantity;
+    private BigDecimal unitPrice;
+    @Size(max = 255)
+    private String purchaseOrderReference;
+    @Size(max = 255)
+    private String issuedTo;
+    private String notes;
+    private LocalDateTime transactionDate;
+    @Size(max = 64)
+    private String clientRef;
+    private Long baseStockVersion;
+
+    // Constructors
+    public StockMovementLineDto() {}
+
+    // Getters and Setters
+    public InventoryTransaction.TransactionType getType() { return type; }
+    public void setType(InventoryTransaction.TransactionType type) { this.type = type; }
+
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+
+    public Long getMaterialId() { return materialId; }
+    public void setMaterialId(Long materialId) { this.materialId = materialId; }
+
+    public Long getSupplierId() { return supplierId; }
+    public void setSupplierId(Long supplierId) { this.supplierId = supplierId; }
+
+    public BigDecimal getQuantity() { return quantity; }
+    public void setQuantity(BigDecimal quantity) { this.quantity = quantity; }
+
+    public BigDecimal getUnitPrice() { return unitPrice; }
+    public void setUnitPrice(BigDecimal unitPrice) { this.unitPrice = unitPrice; }
+
+    public String getPurchaseOrderReference() { return purchaseOrderReference; }
+    public void setPurchaseOrderReference(String purchaseOrderReference) { this.purchaseOrderReference = purchaseOrderReference; }
+
+    public String getIssuedTo() { return issuedTo; }
+    public void setIssuedTo(String issuedTo) { this.issuedTo = issuedTo; }
+
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+
+    public LocalDateTime getTransactionDate() { return transactionDate; }
+    public void setTransactionDate(LocalDateTime transactionDate) { this.transactionDate = transactionDate; }
+
+    public String getClientRef() { return clientRef; }
+    public void setClientRef(String clientRef) { this.clientRef = clientRef; }
+
+    public Long getBaseStockVersion() { return baseStockVersion; }
+    public void setBaseStockVersion(Long baseStockVersion) { this.baseStockVersion = baseStockVersion; }
+}
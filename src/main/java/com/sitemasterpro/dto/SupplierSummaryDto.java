@@ -0,0 +1,10 @@
+package com.sitemasterpro.dto;
+
+public interface SupplierSummaryDto {
+    Long getId();
+    String getName();
+    String getContactPerson();
+    String getPhoneNumber();
+    String getEmail();
+    Boolean getActive();
+}
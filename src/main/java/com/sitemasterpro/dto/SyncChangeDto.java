@@ -0,0 +1,49 @@
+package com.sitemasterpro.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * One entry of the change feed: the current state of an entity, or a tombstone when {@code deleted}
+ * is set. {@code data} holds the entity's synced columns keyed by column name.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SyncChangeDto {
+    private String entityType;
+    private Long id;
+    private Long projectId;
+    private long seq;
+    private boolean deleted;
+    private Map<String, Object> data;
+
+    // Constructors
+    public SyncChangeDto() {}
+
+    public SyncChangeDto(String entityType, Long id, Long projectId, long seq, boolean deleted) {
+        this.entityType = entityType;
+        this.id = id;
+        this.projectId = projectId;
+        this.seq = seq;
+        this.deleted = deleted;
+    }
+
+    // Getters and Setters
+    public String getEntityType() { return entityType; }
+    public void setEntityType(String entityType) { this.entityType = entityType; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getProjectId() { return projectId; }
+    public void setProjectId(Long projectId) { this.projectId = projectId; }
+
+    public long getSeq() { return seq; }
+    public void setSeq(long seq) { this.seq = seq; }
+
+    public boolean isDeleted() { return deleted; }
+    public void setDeleted(boolean deleted) { this.deleted = deleted; }
+
+    public Map<String, Object> getData() { return data; }
+    public void setData(Map<String, Object> data) { this.data = data; }
+}
@@ -0,0 +1,36 @@
+package com.sitemasterpro.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A page of the change feed. Pass {@code token} as {@code since} on the next call; keep calling
+ * while {@code hasMore} is set. {@code resetRequired} means the client's token is older than the
+ * retained tombstones, so it must drop its local copy and sync again from token 0.
+ */
+public class SyncChangesDto {
+    private String token;
+    private boolean hasMore;
+    private boolean resetRequired;
+    private List<SyncChangeDto> changes = new ArrayList<>();
+
+    // Constructors
+    public SyncChangesDto() {}
+
+    public SyncChangesDto(String token) {
+        this.token = token;
+    }
+
+    // Getters and Setters
+    public String getToken() { return token; }
+    public void setToken(String token) { this.token = token; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+
+    public boolean isResetRequired() { return resetRequired; }
+    public void setResetRequired(boolean resetRequired) { this.resetRequired = resetRequired; }
+
+    public List<SyncChangeDto> getChanges() { return changes; }
+    public void setChanges(List<SyncChangeDto> changes) { this.changes = changes; }
+}
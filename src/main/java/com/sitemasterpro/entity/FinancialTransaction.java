@@ -7,7 +7,12 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "financial_transactions")
+@NamedEntityGraph(name = FinancialTransaction.WITH_REFERENCES, attributeNodes = {
+        @NamedAttributeNode("project"), @NamedAttributeNode("createdBy"), @NamedAttributeNode("approvedBy") })
 public class FinancialTransaction {
+    // Fetch plan for reads that touch the related project, creator or approver
+    public static final String WITH_REFERENCES = "FinancialTransaction.withReferences";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -7,7 +7,13 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "inventory_transactions")
+@NamedEntityGraph(name = InventoryTransaction.WITH_REFERENCES, attributeNodes = {
+        @NamedAttributeNode("project"), @NamedAttributeNode("material"),
+        @NamedAttributeNode("supplier"), @NamedAttributeNode("createdBy") })
 public class InventoryTransaction {
+    // Fetch plan for reads that touch the related project, material, supplier or creator
+    public static final String WITH_REFERENCES = "InventoryTransaction.withReferences";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -46,6 +52,10 @@ public class InventoryTransaction {
     @Column(columnDefinition = "TEXT")
     private String notes;
 
+    // Client-generated id of a movement recorded offline; makes re-uploading it a no-op
+    @Column(name = "client_ref", length = 64, unique = true)
+    private String clientRef;
+
     @Column(nullable = false)
     private LocalDateTime transactionDate = LocalDateTime.now();
 
@@ -99,6 +109,9 @@ public class InventoryTransaction {
     public String getIssuedTo() { return issuedTo; }
     public void setIssuedTo(String issuedTo) { this.issuedTo = issuedTo; }
 
+    public String getClientRef() { return clientRef; }
+    public void setClientRef(String clientRef) { this.clientRef = clientRef; }
+
     public String getNotes() { return notes; }
     public void setNotes(String notes) { this.notes = notes; }
 
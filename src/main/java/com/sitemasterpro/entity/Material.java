@@ -39,6 +39,11 @@ public class Material {
     @Column(nullable = false)
     private Boolean active = true;
 
+    // Bumped by every stock movement as well, so edits based on a stale read fail instead of overwriting
+    @Version
+    @Column(nullable = false)
+    private Long version = 0L;
+
     @Column(nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
@@ -91,6 +96,9 @@ public class Material {
     public Boolean getActive() { return active; }
     public void setActive(Boolean active) { this.active = active; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
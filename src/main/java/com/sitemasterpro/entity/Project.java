@@ -40,10 +40,11 @@ public class Project {
     @Column(precision = 15, scale = 2, nullable = false)
     private BigDecimal budgetedCost = BigDecimal.ZERO;
 
-    @Column(precision = 15, scale = 2, nullable = false)
+    // Maintained by ProjectFinancialRollupService with delta updates; entity saves must not overwrite them
+    @Column(precision = 15, scale = 2, nullable = false, updatable = false)
     private BigDecimal actualCost = BigDecimal.ZERO;
 
-    @Column(precision = 15, scale = 2, nullable = false)
+    @Column(precision = 15, scale = 2, nullable = false, updatable = false)
     private BigDecimal actualRevenue = BigDecimal.ZERO;
 
     @Column(precision = 5, scale = 2, nullable = false)
@@ -0,0 +1,29 @@
+package com.sitemasterpro.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Approval or rejection of a financial transaction, including the project rollup update and audit entry.
+ */
+@Name("com.sitemasterpro.FinancialApproval")
+@Label("Financial Approval")
+@Category({ "Site Master Pro", "Finance" })
+@StackTrace(false)
+public class FinancialApprovalEvent extends Event {
+
+    @Label("Decision")
+    @Description("approve or reject")
+    public String decision;
+
+    @Label("Transaction Id")
+    public long transactionId;
+
+    @Label("Outcome")
+    @Description("success, rejected or error")
+    public String outcome;
+}
@@ -0,0 +1,54 @@
+package com.sitemasterpro.profiling;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/jfr}: GET lists the JVM's flight recordings; POST starts, stops or dumps one, e.g.
+ * {@code {"action": "start", "name": "spike", "settings": "profile", "durationMinutes": 10}} or
+ * {@code {"action": "dump", "name": "continuous"}}. Files are written on the server, never returned.
+ */
+@Component
+@Endpoint(id = "jfr")
+public class JfrEndpoint {
+
+    @Autowired
+    private JfrRecordingService jfrRecordingService;
+
+    @ReadOperation
+    public Map<String, Object> recordings() {
+        Map<String, Object> recordings = new LinkedHashMap<>();
+        recordings.put("dumpDirectory", jfrRecordingService.getDumpDirectory());
+        recordings.put("recordings", jfrRecordingService.list());
+        return recordings;
+    }
+
+    @WriteOperation
+    public Map<String, Object> control(String action, @Nullable String name, @Nullable String settings,
+                                       @Nullable Long durationMinutes, @Nullable Long maxAgeMinutes,
+                                       @Nullable Long maxSizeMb) {
+        String recording = name != null ? name : JfrRecordingService.CONTINUOUS;
+        try {
+            switch (action) {
+                case "start":
+                    return jfrRecordingService.start(recording, settings, durationMinutes, maxAgeMinutes, maxSizeMb);
+                case "stop":
+                    return jfrRecordingService.stop(recording);
+                case "dump":
+                    return jfrRecordingService.dump(recording);
+                default:
+                    throw new IllegalArgumentException("Unknown action " + action + "; use start, stop or dump");
+            }
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+    }
+}
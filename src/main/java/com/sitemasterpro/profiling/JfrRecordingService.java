@@ -0,0 +1,223 @@
+package com.sitemasterpro.profiling;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Starts, stops and dumps Java Flight Recorder recordings into {@code app.profiling.jfr.dump-dir}. With
+ * {@code app.profiling.jfr.continuous} a recording with the low-overhead "default" settings runs from
+ * startup as a ring buffer bounded by max age and size, to be dumped when latency spikes and written
+ * out on shutdown. Recordings never include the JVM's environment variables or system properties,
+ * which carry the database password and JWT secret; dumps are still only readable on the host.
+ */
+@Component
+public class JfrRecordingService {
+    private static final Logger logger = LoggerFactory.getLogger(JfrRecordingService.class);
+
+    public static final String CONTINUOUS = "continuous";
+
+    private static final Pattern RECORDING_NAME = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final String[] SENSITIVE_EVENTS = { "jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty" };
+
+    @Value("${app.profiling.jfr.dump-dir:./data/jfr}")
+    private String dumpDir;
+
+    @Value("${app.profiling.jfr.continuous:false}")
+    private boolean continuous;
+
+    @Value("${app.profiling.jfr.settings:default}")
+    private String defaultSettings;
+
+    @Value("${app.profiling.jfr.max-age-minutes:60}")
+    private long defaultMaxAgeMinutes;
+
+    @Value("${app.profiling.jfr.max-size-mb:250}")
+    private long defaultMaxSizeMb;
+
+    // Recordings started through this service; ones started with jcmd or -XX:StartFlightRecording are only listed
+    private final Map<String, Recording> recordings = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startContinuousRecording() {
+        if (!continuous) {
+            return;
+        }
+        try {
+            start(CONTINUOUS, defaultSettings, null, null, null);
+        } catch (RuntimeException e) {
+            logger.error("Could not start the continuous JFR recording: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void closeRecordings() {
+        Recording recording = recordings.get(CONTINUOUS);
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            try {
+                dump(CONTINUOUS);
+            } catch (RuntimeException e) {
+                logger.warn("Could not dump the continuous JFR recording on shutdown: {}", e.getMessage());
+            }
+        }
+        recordings.values().forEach(Recording::close);
+        recordings.clear();
+    }
+
+    /**
+     * Starts a named recording. Without a duration it runs until stopped, keeping the last
+     * {@code maxAgeMinutes}/{@code maxSizeMb}; with one it stops by itself and is written to its file.
+     */
+    public synchronized Map<String, Object> start(String name, String settings, Long durationMinutes,
+                                                  Long maxAgeMinutes, Long maxSizeMb) {
+        if (!FlightRecorder.isAvailable()) {
+            throw new IllegalStateException("Java Flight Recorder is not available in this JVM");
+        }
+        checkName(name);
+        Recording existing = recordings.get(name);
+        if (existing != null) {
+            if (existing.getState() == RecordingState.NEW || existing.getState() == RecordingState.RUNNING) {
+                throw new IllegalArgumentException("Recording " + name + " is already running");
+            }
+            existing.close();
+            recordings.remove(name);
+        }
+
+        Recording recording = new Recording(configuration(settings != null ? settings : defaultSettings));
+        recording.setName(name);
+        for (String event : SENSITIVE_EVENTS) {
+            recording.disable(event);
+        }
+        recording.setToDisk(true);
+        recording.setMaxAge(Duration.ofMinutes(maxAgeMinutes != null ? maxAgeMinutes : defaultMaxAgeMinutes));
+        recording.setMaxSize((maxSizeMb != null ? maxSizeMb : defaultMaxSizeMb) * 1024 * 1024);
+        if (durationMinutes != null) {
+            recording.setDuration(Duration.ofMinutes(durationMinutes));
+        }
+        recording.setDumpOnExit(true);
+        try {
+            recording.setDestination(file(name));
+        } catch (IOException e) {
+            recording.close();
+            throw new UncheckedIOException(e);
+        }
+        recording.start();
+        recordings.put(name, recording);
+        logger.info("Started JFR recording {} with {} settings, writing to {}", name,
+                    settings != null ? settings : defaultSettings, recording.getDestination());
+        return describe(recording);
+    }
+
+    /** Stops a recording, writes it to its file and releases it. */
+    public synchronized Map<String, Object> stop(String name) {
+        Recording recording = managed(name);
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        Map<String, Object> stopped = describe(recording);
+        recording.close();
+        recordings.remove(name);
+        logger.info("Stopped JFR recording {}, written to {}", name, stopped.get("destination"));
+        return stopped;
+    }
+
+    /** Writes what a running recording holds so far to a new file, leaving it running. */
+    public Map<String, Object> dump(String name) {
+        Recording recording = managed(name);
+        try {
+            Path file = file(name);
+            recording.dump(file);
+            logger.info("Dumped JFR recording {} to {}", name, file);
+            Map<String, Object> dumped = describe(recording);
+            dumped.put("dumpedTo", file.toString());
+            dumped.put("dumpSize", Files.size(file));
+            return dumped;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public List<Map<String, Object>> list() {
+        List<Map<String, Object>> list = new ArrayList<>();
+        if (FlightRecorder.isAvailable()) {
+            for (Recording recording : FlightRecorder.getFlightRecorder().getRecordings()) {
+                list.add(describe(recording));
+            }
+        }
+        return list;
+    }
+
+    public String getDumpDirectory() {
+        return Paths.get(dumpDir).toAbsolutePath().toString();
+    }
+
+    private Map<String, Object> describe(Recording recording) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("name", recording.getName());
+        description.put("id", recording.getId());
+        description.put("managed", recordings.get(recording.getName()) == recording);
+        description.put("state", recording.getState().name());
+        description.put("startTime", recording.getStartTime());
+        description.put("duration", recording.getDuration());
+        description.put("maxAge", recording.getMaxAge());
+        description.put("maxSize", recording.getMaxSize());
+        description.put("size", recording.getSize());
+        description.put("destination", recording.getDestination() != null ? recording.getDestination().toString() : null);
+        return description;
+    }
+
+    private Recording managed(String name) {
+        checkName(name);
+        Recording recording = recordings.get(name);
+        if (recording == null) {
+            throw new IllegalArgumentException("No recording named " + name + " was started through this endpoint");
+        }
+        return recording;
+    }
+
+    // Names end up in file names, so they are restricted to a safe character set
+    private void checkName(String name) {
+        if (name == null || !RECORDING_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Recording name must be 1-64 letters, digits, '-' or '_'");
+        }
+    }
+
+    private Path file(String name) throws IOException {
+        Path directory = Paths.get(dumpDir);
+        Files.createDirectories(directory);
+        return directory.resolve(name + "-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr");
+    }
+
+    private Configuration configuration(String settings) {
+        try {
+            return Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unknown JFR settings " + settings + "; use default or profile");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.sitemasterpro.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Publication of one batch of realtime events to a STOMP destination by NotificationDispatcher.
+ */
+@Name("com.sitemasterpro.NotificationSend")
+@Label("Notification Send")
+@Category({ "Site Master Pro", "Notifications" })
+@StackTrace(false)
+public class NotificationSendEvent extends Event {
+
+    @Label("Destination")
+    public String destination;
+
+    @Label("User Destination")
+    public boolean toUser;
+
+    @Label("Events")
+    public int events;
+
+    @Label("Coalesced")
+    public int coalesced;
+
+    @Label("Pending")
+    @Description("Events left for the following windows")
+    public int pending;
+}
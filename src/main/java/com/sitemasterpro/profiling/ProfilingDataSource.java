@@ -0,0 +1,152 @@
+package com.sitemasterpro.profiling;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Times statement executions on connections from the wrapped pool and reports them to {@link SqlProfiler}.
+ * This sits below both Hibernate and JdbcTemplate, so native and batch statements are covered and the time
+ * measured is the driver round trip. Rows fetched lazily after execute (streamed reports) are not included.
+ *
+ * <p>Connections are only wrapped while profiling is enabled; one obtained before profiling was switched
+ * on stays unprofiled until it is returned to the pool.
+ */
+class ProfilingDataSource extends DelegatingDataSource {
+
+    private final SqlProfiler profiler;
+
+    ProfilingDataSource(DataSource targetDataSource, SqlProfiler profiler) {
+        super(targetDataSource);
+        this.profiler = profiler;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        if (!profiler.isEnabled()) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(ProfilingDataSource.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, new ConnectionHandler(connection));
+    }
+
+    // Transaction synchronization compares connections, so a wrapper must only equal itself
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        if (method.getName().equals("equals") && args != null && args.length == 1) {
+            return proxy == args[0];
+        }
+        if (method.getName().equals("hashCode") && (args == null || args.length == 0)) {
+            return System.identityHashCode(proxy);
+        }
+        return null;
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identity(proxy, method, args);
+            if (identity != null) {
+                return identity;
+            }
+            Object result = ProfilingDataSource.invoke(method, target, args);
+            Class<?> type;
+            switch (method.getName()) {
+                case "createStatement":
+                    type = Statement.class;
+                    break;
+                case "prepareStatement":
+                    type = PreparedStatement.class;
+                    break;
+                case "prepareCall":
+                    type = CallableStatement.class;
+                    break;
+                default:
+                    return result;
+            }
+            String sql = type == Statement.class ? null : (String) args[0];
+            return Proxy.newProxyInstance(ProfilingDataSource.class.getClassLoader(), new Class<?>[] { type },
+                                          new StatementHandler((Statement) result, (Connection) proxy, sql));
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final Connection connection;
+        private final String preparedSql;
+        // Statement.addBatch(sql) batches are reported under their first statement
+        private String batchSql;
+
+        private StatementHandler(Statement target, Connection connection, String preparedSql) {
+            this.target = target;
+            this.connection = connection;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identity(proxy, method, args);
+            if (identity != null) {
+                return identity;
+            }
+            String name = method.getName();
+            if (name.equals("getConnection")) {
+                return connection;
+            }
+            if (name.equals("addBatch") && args != null && args.length == 1 && batchSql == null) {
+                batchSql = (String) args[0];
+            }
+            if (!name.startsWith("execute")) {
+                return ProfilingDataSource.invoke(method, target, args);
+            }
+
+            String sql = preparedSql;
+            if (sql == null) {
+                sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : batchSql;
+            }
+            if (name.endsWith("Batch")) {
+                batchSql = null;
+            }
+            long started = System.nanoTime();
+            boolean failed = true;
+            try {
+                Object result = ProfilingDataSource.invoke(method, target, args);
+                failed = false;
+                return result;
+            } finally {
+                profiler.record(sql, System.nanoTime() - started, failed);
+            }
+        }
+    }
+}
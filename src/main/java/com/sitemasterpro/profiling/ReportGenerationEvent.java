@@ -0,0 +1,33 @@
+package com.sitemasterpro.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Rendering of an Excel report, from the first query to the last byte written to the response or job file.
+ */
+@Name("com.sitemasterpro.ReportGeneration")
+@Label("Report Generation")
+@Category({ "Site Master Pro", "Reports" })
+@StackTrace(false)
+public class ReportGenerationEvent extends Event {
+
+    @Label("Report Type")
+    public String reportType;
+
+    @Label("Rows")
+    @Description("Data rows written, excluding titles, headers and totals")
+    public long rows;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+
+    @Label("Completed")
+    public boolean completed;
+}
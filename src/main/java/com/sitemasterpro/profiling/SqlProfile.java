@@ -0,0 +1,56 @@
+package com.sitemasterpro.profiling;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statements executed by one HTTP request or STOMP message. Confined to the thread handling it.
+ */
+class SqlProfile {
+    private final String operation;
+    private final long startedNanos = System.nanoTime();
+    private final Map<String, Integer> executions = new HashMap<>();
+    private int statementCount;
+    private long dbTimeNanos;
+
+    SqlProfile(String operation) {
+        this.operation = operation;
+    }
+
+    void record(String statement, long nanos) {
+        statementCount++;
+        dbTimeNanos += nanos;
+        executions.merge(statement, 1, Integer::sum);
+    }
+
+    /** Statements executed at least {@code threshold} times, most repeated first. */
+    List<Map.Entry<String, Integer>> repeatedStatements(int threshold) {
+        List<Map.Entry<String, Integer>> repeated = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : executions.entrySet()) {
+            if (entry.getValue() >= threshold) {
+                repeated.add(entry);
+            }
+        }
+        repeated.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+        return repeated;
+    }
+
+    String getOperation() {
+        return operation;
+    }
+
+    int getStatementCount() {
+        return statementCount;
+    }
+
+    long getDbTimeNanos() {
+        return dbTimeNanos;
+    }
+
+    long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+    }
+}
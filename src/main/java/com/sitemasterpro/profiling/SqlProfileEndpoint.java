@@ -0,0 +1,85 @@
+package com.sitemasterpro.profiling;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/sqlprofile}: GET returns the top statements and the requests/messages issuing the most
+ * SQL ({@code ?limit=20&sort=time|count|max}); POST with a JSON body switches profiling on or off and
+ * changes the logging thresholds ({@code {"enabled": true, "maxStatements": 50, "maxDbTimeMs": 500,
+ * "repeatThreshold": 10}}, every field optional); DELETE clears the aggregates.
+ */
+@Component
+@Endpoint(id = "sqlprofile")
+public class SqlProfileEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    @Autowired
+    private SqlProfiler sqlProfiler;
+
+    @ReadOperation
+    public Map<String, Object> profile(@Nullable Integer limit, @Nullable String sort) {
+        int top = limit != null && limit > 0 ? limit : DEFAULT_LIMIT;
+        Comparator<SqlProfiler.StatementStats> statementOrder;
+        Comparator<SqlProfiler.OperationStats> operationOrder;
+        if ("count".equalsIgnoreCase(sort)) {
+            statementOrder = Comparator.comparingLong(SqlProfiler.StatementStats::getExecutions);
+            operationOrder = Comparator.comparingLong(SqlProfiler.OperationStats::getStatements);
+        } else if ("max".equalsIgnoreCase(sort)) {
+            statementOrder = Comparator.comparingDouble(SqlProfiler.StatementStats::getMaxMs);
+            operationOrder = Comparator.comparingLong(SqlProfiler.OperationStats::getMaxStatements);
+        } else {
+            statementOrder = Comparator.comparingDouble(SqlProfiler.StatementStats::getTotalMs);
+            operationOrder = Comparator.comparingDouble(SqlProfiler.OperationStats::getDbTimeMs);
+        }
+
+        Map<String, Object> profile = settings();
+        profile.put("since", sqlProfiler.getSince());
+        profile.put("untrackedExecutions", sqlProfiler.getUntrackedExecutions());
+        profile.put("operations", sqlProfiler.topOperations(operationOrder.reversed(), top));
+        profile.put("statements", sqlProfiler.topStatements(statementOrder.reversed(), top));
+        return profile;
+    }
+
+    @WriteOperation
+    public Map<String, Object> configure(@Nullable Boolean enabled, @Nullable Integer maxStatements,
+                                         @Nullable Long maxDbTimeMs, @Nullable Integer repeatThreshold) {
+        if (maxStatements != null) {
+            sqlProfiler.setMaxStatements(maxStatements);
+        }
+        if (maxDbTimeMs != null) {
+            sqlProfiler.setMaxDbTimeMs(maxDbTimeMs);
+        }
+        if (repeatThreshold != null) {
+            sqlProfiler.setRepeatThreshold(repeatThreshold);
+        }
+        if (enabled != null) {
+            sqlProfiler.setEnabled(enabled);
+        }
+        return settings();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        sqlProfiler.reset();
+    }
+
+    private Map<String, Object> settings() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("enabled", sqlProfiler.isEnabled());
+        settings.put("maxStatements", sqlProfiler.getMaxStatements());
+        settings.put("maxDbTimeMs", sqlProfiler.getMaxDbTimeMs());
+        settings.put("repeatThreshold", sqlProfiler.getRepeatThreshold());
+        return settings;
+    }
+}
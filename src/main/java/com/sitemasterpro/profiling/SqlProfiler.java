@@ -0,0 +1,281 @@
+package com.sitemasterpro.profiling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Attributes JDBC statements to the HTTP request or STOMP message being handled on the current thread.
+ * Each unit of work gets a {@link SqlProfile} holding its statement count, database time and executions
+ * per normalized statement. When it ends, a unit that exceeds the configured thresholds is logged, with
+ * any statement repeated often enough to look like an N+1 pattern. Statements and units of work are also
+ * aggregated for the sqlprofile actuator endpoint.
+ *
+ * <p>Profiling is off unless {@code app.profiling.sql.enabled} is set, and can be switched at runtime
+ * through the endpoint. While it is off, connections are handed out unwrapped and nothing is recorded.
+ */
+@Component
+public class SqlProfiler {
+    private static final Logger logger = LoggerFactory.getLogger(SqlProfiler.class);
+
+    private static final Pattern COMMENTS = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern STRING_LITERALS = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERALS = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LISTS = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PATH_IDS = Pattern.compile("/(?:\\d+|[0-9a-fA-F]{8}-[0-9a-fA-F-]{27})(?=/|$)");
+    private static final int LOGGED_SQL_LENGTH = 200;
+
+    private final ThreadLocal<SqlProfile> current = new ThreadLocal<>();
+
+    // Raw SQL to its normalized form; prepared statement text repeats, so most lookups hit
+    private final Map<String, String> normalized = new ConcurrentHashMap<>();
+    private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+    private final Map<String, OperationStats> operations = new ConcurrentHashMap<>();
+    private final LongAdder untracked = new LongAdder();
+    private volatile Instant since = Instant.now();
+
+    // Set at startup from configuration, then changed at runtime through the sqlprofile endpoint
+    @Value("${app.profiling.sql.enabled:false}")
+    private volatile boolean enabled;
+
+    @Value("${app.profiling.sql.max-statements:50}")
+    private volatile int maxStatements;
+
+    @Value("${app.profiling.sql.max-db-time-ms:500}")
+    private volatile long maxDbTimeMs;
+
+    @Value("${app.profiling.sql.repeat-threshold:10}")
+    private volatile int repeatThreshold;
+
+    @Value("${app.profiling.sql.max-tracked-statements:2000}")
+    private int maxTrackedStatements;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        if (this.enabled != enabled) {
+            logger.info("SQL profiling {}", enabled ? "enabled" : "disabled");
+        }
+        this.enabled = enabled;
+    }
+
+    public int getMaxStatements() { return maxStatements; }
+    public void setMaxStatements(int maxStatements) { this.maxStatements = maxStatements; }
+
+    public long getMaxDbTimeMs() { return maxDbTimeMs; }
+    public void setMaxDbTimeMs(long maxDbTimeMs) { this.maxDbTimeMs = maxDbTimeMs; }
+
+    public int getRepeatThreshold() { return repeatThreshold; }
+    public void setRepeatThreshold(int repeatThreshold) { this.repeatThreshold = repeatThreshold; }
+
+    public Instant getSince() {
+        return since;
+    }
+
+    public long getUntrackedExecutions() {
+        return untracked.sum();
+    }
+
+    /**
+     * Starts attributing statements on this thread to {@code operation}. Returns false, and changes nothing,
+     * when profiling is off or a unit of work is already open on this thread; only a caller that got true
+     * calls {@link #end()}.
+     */
+    public boolean begin(String operation) {
+        if (!enabled || current.get() != null) {
+            return false;
+        }
+        current.set(new SqlProfile(operation));
+        return true;
+    }
+
+    public void end() {
+        SqlProfile profile = current.get();
+        if (profile == null) {
+            return;
+        }
+        current.remove();
+        if (profile.getStatementCount() == 0) {
+            return;
+        }
+
+        List<Map.Entry<String, Integer>> repeated = profile.repeatedStatements(repeatThreshold);
+        long dbTimeMs = TimeUnit.NANOSECONDS.toMillis(profile.getDbTimeNanos());
+        boolean flagged = !repeated.isEmpty() || profile.getStatementCount() > maxStatements || dbTimeMs > maxDbTimeMs;
+        OperationStats stats = operations.get(profile.getOperation());
+        if (stats == null && operations.size() < maxTrackedStatements) {
+            stats = operations.computeIfAbsent(profile.getOperation(), OperationStats::new);
+        }
+        if (stats != null) {
+            stats.record(profile, flagged, !repeated.isEmpty());
+        }
+
+        if (flagged) {
+            StringBuilder message = new StringBuilder();
+            for (Map.Entry<String, Integer> statement : repeated) {
+                message.append("\n  ").append(statement.getValue()).append("x ").append(abbreviate(statement.getKey()));
+            }
+            logger.warn("SQL profile {}: {} statements, {} ms in database over {} ms{}{}", profile.getOperation(),
+                        profile.getStatementCount(), dbTimeMs, profile.getElapsedMillis(),
+                        repeated.isEmpty() ? "" : "; repeated statements (possible N+1):", message);
+        }
+    }
+
+    /** Called by the profiling JDBC wrappers for every statement round trip, including each executed batch. */
+    void record(String sql, long nanos, boolean failed) {
+        if (sql == null) {
+            sql = "<unknown>";
+        }
+        String statement = normalize(sql);
+        SqlProfile profile = current.get();
+        if (profile != null) {
+            profile.record(statement, nanos);
+        }
+
+        StatementStats stats = statements.get(statement);
+        if (stats == null) {
+            if (statements.size() >= maxTrackedStatements) {
+                untracked.increment();
+                return;
+            }
+            stats = statements.computeIfAbsent(statement, StatementStats::new);
+        }
+        stats.record(nanos, failed, profile != null ? profile.getOperation() : null);
+    }
+
+    public List<StatementStats> topStatements(Comparator<StatementStats> order, int limit) {
+        List<StatementStats> top = new ArrayList<>(statements.values());
+        top.sort(order);
+        return top.subList(0, Math.min(limit, top.size()));
+    }
+
+    public List<OperationStats> topOperations(Comparator<OperationStats> order, int limit) {
+        List<OperationStats> top = new ArrayList<>(operations.values());
+        top.sort(order);
+        return top.subList(0, Math.min(limit, top.size()));
+    }
+
+    public void reset() {
+        statements.clear();
+        operations.clear();
+        untracked.reset();
+        since = Instant.now();
+    }
+
+    // Literals and IN lists are folded so that statements differing only in values aggregate together
+    String normalize(String sql) {
+        String statement = normalized.get(sql);
+        if (statement != null) {
+            return statement;
+        }
+        statement = COMMENTS.matcher(sql).replaceAll(" ");
+        statement = STRING_LITERALS.matcher(statement).replaceAll("?");
+        statement = NUMBER_LITERALS.matcher(statement).replaceAll("?");
+        statement = PARAMETER_LISTS.matcher(statement).replaceAll("(?...)");
+        statement = WHITESPACE.matcher(statement).replaceAll(" ").trim();
+        if (normalized.size() < maxTrackedStatements * 4) {
+            normalized.put(sql, statement);
+        }
+        return statement;
+    }
+
+    /** Operation name for a request path or STOMP destination, with numeric and UUID segments folded to {id}. */
+    static String operation(String kind, String path) {
+        return kind + " " + (path == null ? "" : PATH_IDS.matcher(path).replaceAll("/{id}"));
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() <= LOGGED_SQL_LENGTH ? sql : sql.substring(0, LOGGED_SQL_LENGTH) + "...";
+    }
+
+    /** Totals for one normalized statement across all executions since the last reset. */
+    public static class StatementStats {
+        private final String sql;
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        // Last HTTP request or STOMP message that ran it, as a pointer to where it comes from
+        private volatile String lastOperation;
+
+        StatementStats(String sql) {
+            this.sql = sql;
+        }
+
+        void record(long nanos, boolean failed, String operation) {
+            executions.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            if (failed) {
+                failures.increment();
+            }
+            if (operation != null) {
+                lastOperation = operation;
+            }
+        }
+
+        public String getSql() { return sql; }
+        public long getExecutions() { return executions.sum(); }
+        public long getFailures() { return failures.sum(); }
+        public double getTotalMs() { return totalNanos.sum() / 1e6; }
+        public double getMeanMs() { return getExecutions() == 0 ? 0 : getTotalMs() / getExecutions(); }
+        public double getMaxMs() { return maxNanos.get() / 1e6; }
+        public String getLastOperation() { return lastOperation; }
+    }
+
+    /** Totals for one HTTP route or STOMP destination across the units of work profiled since the last reset. */
+    public static class OperationStats {
+        private final String operation;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder flagged = new LongAdder();
+        private final LongAdder repeatedStatements = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder dbTimeNanos = new LongAdder();
+        private final AtomicLong maxStatements = new AtomicLong();
+        private final AtomicLong maxDbTimeNanos = new AtomicLong();
+
+        OperationStats(String operation) {
+            this.operation = operation;
+        }
+
+        void record(SqlProfile profile, boolean exceeded, boolean repeated) {
+            count.increment();
+            statements.add(profile.getStatementCount());
+            dbTimeNanos.add(profile.getDbTimeNanos());
+            maxStatements.accumulateAndGet(profile.getStatementCount(), Math::max);
+            maxDbTimeNanos.accumulateAndGet(profile.getDbTimeNanos(), Math::max);
+            if (exceeded) {
+                flagged.increment();
+            }
+            if (repeated) {
+                repeatedStatements.increment();
+            }
+        }
+
+        public String getOperation() { return operation; }
+        public long getCount() { return count.sum(); }
+        public long getFlagged() { return flagged.sum(); }
+        public long getWithRepeatedStatements() { return repeatedStatements.sum(); }
+        public long getStatements() { return statements.sum(); }
+        public double getMeanStatements() { return getCount() == 0 ? 0 : (double) getStatements() / getCount(); }
+        public long getMaxStatements() { return maxStatements.get(); }
+        public double getDbTimeMs() { return dbTimeNanos.sum() / 1e6; }
+        public double getMeanDbTimeMs() { return getCount() == 0 ? 0 : getDbTimeMs() / getCount(); }
+        public double getMaxDbTimeMs() { return maxDbTimeNanos.get() / 1e6; }
+    }
+}
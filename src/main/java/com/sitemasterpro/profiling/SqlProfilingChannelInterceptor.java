@@ -0,0 +1,35 @@
+package com.sitemasterpro.profiling;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Opens a SQL profile around each handler of an inbound STOMP frame, named after the command and
+ * destination. Frames are handled on the inbound channel's executor, where no other profile is open.
+ */
+@Component
+public class SqlProfilingChannelInterceptor implements ExecutorChannelInterceptor {
+
+    @Autowired
+    private SqlProfiler sqlProfiler;
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        if (sqlProfiler.isEnabled()) {
+            StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+            String command = accessor.getCommand() != null ? accessor.getCommand().name() : String.valueOf(accessor.getMessageType());
+            sqlProfiler.begin(SqlProfiler.operation("STOMP " + command, accessor.getDestination()));
+        }
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        sqlProfiler.end();
+    }
+}
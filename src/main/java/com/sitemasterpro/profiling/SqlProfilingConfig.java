@@ -0,0 +1,26 @@
+package com.sitemasterpro.profiling;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class SqlProfilingConfig {
+
+    // Static and resolving the profiler lazily, so registering the post-processor does not initialize other beans early
+    @Bean
+    public static BeanPostProcessor sqlProfilingDataSourcePostProcessor(ObjectProvider<SqlProfiler> profiler) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof ProfilingDataSource)) {
+                    return new ProfilingDataSource((DataSource) bean, profiler.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
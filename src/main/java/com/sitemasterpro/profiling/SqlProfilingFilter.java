@@ -0,0 +1,40 @@
+package com.sitemasterpro.profiling;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Opens a SQL profile for each HTTP request. Ordered ahead of Spring Security so statements run while
+ * authenticating the request, and while Jackson serializes lazy associations into the response, are
+ * attributed to it. Work handed to other threads (async report renders, streamed downloads) is not.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlProfilingFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private SqlProfiler sqlProfiler;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!sqlProfiler.begin(SqlProfiler.operation(request.getMethod(), request.getRequestURI()))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            sqlProfiler.end();
+        }
+    }
+}
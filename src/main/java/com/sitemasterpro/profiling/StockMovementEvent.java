@@ -0,0 +1,40 @@
+package com.sitemasterpro.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A stock movement through InventoryService, from validation to the queued notification. A bulk
+ * request emits one event per material it updates, covering only that material's ledger write.
+ */
+@Name("com.sitemasterpro.StockMovement")
+@Label("Stock Movement")
+@Category({ "Site Master Pro", "Inventory" })
+@StackTrace(false)
+public class StockMovementEvent extends Event {
+
+    @Label("Operation")
+    @Description("stock_in, stock_out, adjustment or bulk")
+    public String operation;
+
+    @Label("Material Id")
+    public long materialId;
+
+    @Label("Quantity")
+    @Description("Signed change in stock")
+    public double quantity;
+
+    @Label("Ledger Update Time")
+    @Description("Time in the conditional stock UPDATE, which under contention is mostly waiting for the material's row lock")
+    @Timespan(Timespan.NANOSECONDS)
+    public long ledgerTime;
+
+    @Label("Outcome")
+    @Description("success, rejected or error")
+    public String outcome;
+}
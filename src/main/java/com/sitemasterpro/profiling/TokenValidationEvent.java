@@ -0,0 +1,29 @@
+package com.sitemasterpro.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Authentication of a bearer token on an HTTP request or STOMP CONNECT frame.
+ */
+@Name("com.sitemasterpro.TokenValidation")
+@Label("JWT Validation")
+@Category({ "Site Master Pro", "Security" })
+@StackTrace(false)
+public class TokenValidationEvent extends Event {
+
+    @Label("Outcome")
+    @Description("accepted, invalid, unknown_user, disabled or stale_version")
+    public String outcome;
+
+    @Label("User Id")
+    public long userId;
+
+    @Label("Principal Loaded")
+    @Description("The principal was not cached and was loaded from the database")
+    public boolean principalLoaded;
+}
@@ -1,26 +1,15 @@
 package com.sitemasterpro.repository;
 
 import com.sitemasterpro.entity.AuditLog;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
-    List<AuditLog> findByUserId(Long userId);
-    
-    List<AuditLog> findByAction(String action);
-    
-    List<AuditLog> findByEntityTypeAndEntityId(String entityType, Long entityId);
-    
-    @Query("SELECT al FROM AuditLog al WHERE al.timestamp BETWEEN :startDate AND :endDate")
-    List<AuditLog> findByDateRange(@Param("startDate") LocalDateTime startDate, 
-                                  @Param("endDate") LocalDateTime endDate);
-    
-    @Query("SELECT al FROM AuditLog al ORDER BY al.timestamp DESC")
-    List<AuditLog> findAllOrderByTimestampDesc();
+public interface AuditLogRepository extends JpaRepository<AuditLog, Long>, AuditLogRepositoryCustom {
+    List<AuditLog> findByTimestampBetweenAndIdGreaterThanOrderByIdAsc(LocalDateTime startDate, LocalDateTime endDate,
+                                                                      Long id, Pageable pageable);
 }
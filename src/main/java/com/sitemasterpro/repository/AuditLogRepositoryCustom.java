@@ -0,0 +1,15 @@
+package com.sitemasterpro.repository;
+
+import com.sitemasterpro.dto.AuditLogDto;
+import com.sitemasterpro.dto.AuditLogFilter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AuditLogRepositoryCustom {
+    /**
+     * Returns up to {@code limit} audit rows matching the filter, newest first, strictly after the
+     * (timestamp, id) cursor when one is given.
+     */
+    List<AuditLogDto> findPage(AuditLogFilter filter, LocalDateTime cursorTimestamp, Long cursorId, int limit);
+}
@@ -0,0 +1,65 @@
+package com.sitemasterpro.repository;
+
+import com.sitemasterpro.dto.AuditLogDto;
+import com.sitemasterpro.dto.AuditLogFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class AuditLogRepositoryCustomImpl implements AuditLogRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AuditLogDto> findPage(AuditLogFilter filter, LocalDateTime cursorTimestamp, Long cursorId, int limit) {
+        // Only the predicates that are actually set are added, so each filter combination can use its own index
+        StringBuilder jpql = new StringBuilder(
+                "SELECT new com.sitemasterpro.dto.AuditLogDto(al.id, al.timestamp, u.id, u.username, al.action, " +
+                "al.entityType, al.entityId, al.oldValues, al.newValues, al.ipAddress) " +
+                "FROM AuditLog al LEFT JOIN al.user u WHERE 1 = 1");
+        Map<String, Object> params = new HashMap<>();
+
+        if (filter.getUserId() != null) {
+            jpql.append(" AND u.id = :userId");
+            params.put("userId", filter.getUserId());
+        }
+        if (filter.getAction() != null) {
+            jpql.append(" AND al.action = :action");
+            params.put("action", filter.getAction());
+        }
+        if (filter.getEntityType() != null) {
+            jpql.append(" AND al.entityType = :entityType");
+            params.put("entityType", filter.getEntityType());
+        }
+        if (filter.getEntityId() != null) {
+            jpql.append(" AND al.entityId = :entityId");
+            params.put("entityId", filter.getEntityId());
+        }
+        if (filter.getFrom() != null) {
+            jpql.append(" AND al.timestamp >= :from");
+            params.put("from", filter.getFrom());
+        }
+        if (filter.getTo() != null) {
+            jpql.append(" AND al.timestamp < :to");
+            params.put("to", filter.getTo());
+        }
+        if (cursorTimestamp != null && cursorId != null) {
+            // The redundant upper bound lets Postgres prune newer monthly partitions
+            jpql.append(" AND al.timestamp <= :cursorTimestamp");
+            jpql.append(" AND (al.timestamp < :cursorTimestamp OR (al.timestamp = :cursorTimestamp AND al.id < :cursorId))");
+            params.put("cursorTimestamp", cursorTimestamp);
+            params.put("cursorId", cursorId);
+        }
+        jpql.append(" ORDER BY al.timestamp DESC, al.id DESC");
+
+        TypedQuery<AuditLogDto> query = entityManager.createQuery(jpql.toString(), AuditLogDto.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+}
@@ -1,19 +1,32 @@
 package com.sitemasterpro.repository;
 
+import com.sitemasterpro.dto.FinancialTransactionSummaryDto;
 import com.sitemasterpro.entity.FinancialTransaction;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface FinancialTransactionRepository extends JpaRepository<FinancialTransaction, Long> {
+    String SUMMARY_SELECT = "SELECT ft.id AS id, ft.type AS type, ft.category AS category, ft.amount AS amount, " +
+            "ft.description AS description, ft.referenceNumber AS referenceNumber, ft.transactionDate AS transactionDate, " +
+            "ft.approved AS approved, ft.approvedAt AS approvedAt, p.id AS projectId, p.name AS projectName, " +
+            "cu.fullName AS createdByName, au.fullName AS approvedByName FROM FinancialTransaction ft JOIN ft.project p " +
+            "LEFT JOIN ft.createdBy cu LEFT JOIN ft.approvedBy au";
+
     List<FinancialTransaction> findByProjectId(Long projectId);
     
+    List<FinancialTransaction> findByProjectIdAndIdGreaterThanOrderByIdAsc(Long projectId, Long id, Pageable pageable);
+    
     List<FinancialTransaction> findByType(FinancialTransaction.TransactionType type);
     
     List<FinancialTransaction> findByCategory(FinancialTransaction.Category category);
@@ -22,15 +35,38 @@ public interface FinancialTransactionRepository extends JpaRepository<FinancialT
     
     List<FinancialTransaction> findByApprovedFalse();
     
+    long countByApprovedFalse();
+    
     @Query("SELECT ft FROM FinancialTransaction ft WHERE ft.transactionDate BETWEEN :startDate AND :endDate")
     List<FinancialTransaction> findByDateRange(@Param("startDate") LocalDateTime startDate, 
                                              @Param("endDate") LocalDateTime endDate);
-    
-    @Query("SELECT SUM(ft.amount) FROM FinancialTransaction ft WHERE ft.project.id = :projectId AND ft.type = :type AND ft.approved = true")
-    BigDecimal sumAmountByProjectAndType(@Param("projectId") Long projectId, 
-                                       @Param("type") FinancialTransaction.TransactionType type);
-    
-    @Query("SELECT SUM(ft.amount) FROM FinancialTransaction ft WHERE ft.project.id = :projectId AND ft.category = :category AND ft.approved = true")
-    BigDecimal sumAmountByProjectAndCategory(@Param("projectId") Long projectId, 
-                                           @Param("category") FinancialTransaction.Category category);
+
+    // Financial views: every row shows its project, creator and approver, so load them in the same query
+    @EntityGraph(FinancialTransaction.WITH_REFERENCES)
+    @Query("SELECT ft FROM FinancialTransaction ft WHERE ft.approved = false")
+    List<FinancialTransaction> findWithReferencesByApprovedFalse();
+
+    @EntityGraph(FinancialTransaction.WITH_REFERENCES)
+    @Query("SELECT ft FROM FinancialTransaction ft WHERE ft.transactionDate BETWEEN :startDate AND :endDate")
+    List<FinancialTransaction> findWithReferencesByDateRange(@Param("startDate") LocalDateTime startDate,
+                                                             @Param("endDate") LocalDateTime endDate);
+
+    @Query(SUMMARY_SELECT + " WHERE p.id = :projectId")
+    Slice<FinancialTransactionSummaryDto> findSummariesByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+
+    // Approvers work through the whole queue, so this one is a Page with a total
+    @Query(value = SUMMARY_SELECT + " WHERE ft.approved = false",
+           countQuery = "SELECT COUNT(ft) FROM FinancialTransaction ft WHERE ft.approved = false")
+    Page<FinancialTransactionSummaryDto> findPendingApprovalSummaries(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " WHERE ft.transactionDate BETWEEN :startDate AND :endDate")
+    Slice<FinancialTransactionSummaryDto> findSummariesByDateRange(@Param("startDate") LocalDateTime startDate,
+                                                                   @Param("endDate") LocalDateTime endDate,
+                                                                   Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " WHERE ft.transactionDate BETWEEN :startDate AND :endDate AND p.id IN :projectIds")
+    Slice<FinancialTransactionSummaryDto> findSummariesByDateRangeAndProjectIds(@Param("startDate") LocalDateTime startDate,
+                                                                               @Param("endDate") LocalDateTime endDate,
+                                                                               @Param("projectIds") Collection<Long> projectIds,
+                                                                               Pageable pageable);
 }
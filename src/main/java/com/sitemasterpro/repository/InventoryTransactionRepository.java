@@ -1,6 +1,10 @@
 package com.sitemasterpro.repository;
 
+import com.sitemasterpro.dto.InventoryTransactionSummaryDto;
 import com.sitemasterpro.entity.InventoryTransaction;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,6 +15,13 @@ import java.util.List;
 
 @Repository
 public interface InventoryTransactionRepository extends JpaRepository<InventoryTransaction, Long> {
+    String SUMMARY_SELECT = "SELECT it.id AS id, it.type AS type, it.quantity AS quantity, it.unitPrice AS unitPrice, " +
+            "it.totalAmount AS totalAmount, it.purchaseOrderReference AS purchaseOrderReference, it.issuedTo AS issuedTo, " +
+            "it.transactionDate AS transactionDate, p.id AS projectId, p.name AS projectName, m.id AS materialId, " +
+            "m.name AS materialName, m.unit AS materialUnit, s.id AS supplierId, s.name AS supplierName, " +
+            "u.fullName AS createdByName FROM InventoryTransaction it JOIN it.project p JOIN it.material m " +
+            "LEFT JOIN it.supplier s LEFT JOIN it.createdBy u";
+
     List<InventoryTransaction> findByProjectId(Long projectId);
     
     List<InventoryTransaction> findByMaterialId(Long materialId);
@@ -23,7 +34,25 @@ public interface InventoryTransactionRepository extends JpaRepository<InventoryT
     List<InventoryTransaction> findByDateRange(@Param("startDate") LocalDateTime startDate, 
                                              @Param("endDate") LocalDateTime endDate);
     
+    // Transactions view: every row shows its project, material, supplier and creator, so load them in the same query
+    @EntityGraph(InventoryTransaction.WITH_REFERENCES)
+    @Query("SELECT it FROM InventoryTransaction it WHERE it.transactionDate BETWEEN :startDate AND :endDate")
+    List<InventoryTransaction> findWithReferencesByDateRange(@Param("startDate") LocalDateTime startDate,
+                                                             @Param("endDate") LocalDateTime endDate);
+    
     @Query("SELECT it FROM InventoryTransaction it WHERE it.project.id = :projectId AND it.material.id = :materialId")
     List<InventoryTransaction> findByProjectAndMaterial(@Param("projectId") Long projectId, 
                                                        @Param("materialId") Long materialId);
+
+    // Slices skip the COUNT query; transaction histories are only ever paged forward
+    @Query(SUMMARY_SELECT + " WHERE p.id = :projectId")
+    Slice<InventoryTransactionSummaryDto> findSummariesByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " WHERE m.id = :materialId")
+    Slice<InventoryTransactionSummaryDto> findSummariesByMaterialId(@Param("materialId") Long materialId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " WHERE it.transactionDate BETWEEN :startDate AND :endDate")
+    Slice<InventoryTransactionSummaryDto> findSummariesByDateRange(@Param("startDate") LocalDateTime startDate,
+                                                                   @Param("endDate") LocalDateTime endDate,
+                                                                   Pageable pageable);
 }
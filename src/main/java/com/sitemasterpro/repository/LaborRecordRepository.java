@@ -1,6 +1,7 @@
 package com.sitemasterpro.repository;
 
 import com.sitemasterpro.entity.LaborRecord;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,6 +16,15 @@ public interface LaborRecordRepository extends JpaRepository<LaborRecord, Long>
     
     List<LaborRecord> findByProjectIdOrderByWorkDateDesc(Long projectId);
     
+    // Keyset pages for the streamed labor report: the first page, then the rows after the last (workDate, id) seen
+    List<LaborRecord> findByProjectIdOrderByWorkDateDescIdDesc(Long projectId, Pageable pageable);
+    
+    @Query("SELECT lr FROM LaborRecord lr WHERE lr.project.id = :projectId " +
+           "AND (lr.workDate < :workDate OR (lr.workDate = :workDate AND lr.id < :id)) " +
+           "ORDER BY lr.workDate DESC, lr.id DESC")
+    List<LaborRecord> findByProjectIdAfter(@Param("projectId") Long projectId, @Param("workDate") LocalDate workDate,
+                                           @Param("id") Long id, Pageable pageable);
+    
     List<LaborRecord> findByWorkDate(LocalDate workDate);
     
     @Query("SELECT lr FROM LaborRecord lr WHERE lr.workDate BETWEEN :startDate AND :endDate ORDER BY lr.workDate DESC")
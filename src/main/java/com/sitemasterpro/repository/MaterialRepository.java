@@ -1,6 +1,9 @@
 package com.sitemasterpro.repository;
 
+import com.sitemasterpro.dto.MaterialSummaryDto;
 import com.sitemasterpro.entity.Material;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -9,13 +12,30 @@ import java.util.List;
 
 @Repository
 public interface MaterialRepository extends JpaRepository<Material, Long> {
+    String SUMMARY_SELECT = "SELECT m.id AS id, m.name AS name, m.unit AS unit, m.unitPrice AS unitPrice, " +
+            "m.currentStock AS currentStock, m.minStockLevel AS minStockLevel, m.maxStockLevel AS maxStockLevel, " +
+            "m.active AS active, m.version AS version, m.updatedAt AS updatedAt FROM Material m";
+
     List<Material> findByActiveTrue();
     
+    List<Material> findByActiveTrueAndIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    
     @Query("SELECT m FROM Material m WHERE m.currentStock <= m.minStockLevel AND m.active = true")
     List<Material> findLowStockMaterials();
     
+    @Query("SELECT m.id FROM Material m WHERE m.currentStock <= m.minStockLevel AND m.active = true")
+    List<Long> findLowStockMaterialIds();
+    
     @Query("SELECT m FROM Material m WHERE m.name LIKE %:name% AND m.active = true")
     List<Material> findByNameContainingIgnoreCase(String name);
     
     List<Material> findByUnit(String unit);
+
+    @Query(value = SUMMARY_SELECT + " WHERE m.active = true",
+           countQuery = "SELECT COUNT(m) FROM Material m WHERE m.active = true")
+    Page<MaterialSummaryDto> findActiveSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + " WHERE m.currentStock <= m.minStockLevel AND m.active = true",
+           countQuery = "SELECT COUNT(m) FROM Material m WHERE m.currentStock <= m.minStockLevel AND m.active = true")
+    Page<MaterialSummaryDto> findLowStockSummaries(Pageable pageable);
 }
@@ -1,6 +1,9 @@
 package com.sitemasterpro.repository;
 
+import com.sitemasterpro.dto.ProjectMilestoneSummaryDto;
 import com.sitemasterpro.entity.ProjectMilestone;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -25,4 +28,11 @@ public interface ProjectMilestoneRepository extends JpaRepository<ProjectMilesto
     @Query("SELECT pm FROM ProjectMilestone pm WHERE pm.plannedStartDate BETWEEN :startDate AND :endDate")
     List<ProjectMilestone> findMilestonesByDateRange(@Param("startDate") LocalDate startDate, 
                                                     @Param("endDate") LocalDate endDate);
+
+    @Query(value = "SELECT pm.id AS id, pm.project.id AS projectId, pm.name AS name, pm.status AS status, " +
+                   "pm.plannedStartDate AS plannedStartDate, pm.plannedEndDate AS plannedEndDate, " +
+                   "pm.actualStartDate AS actualStartDate, pm.actualEndDate AS actualEndDate, " +
+                   "pm.completionPercentage AS completionPercentage FROM ProjectMilestone pm WHERE pm.project.id = :projectId",
+           countQuery = "SELECT COUNT(pm) FROM ProjectMilestone pm WHERE pm.project.id = :projectId")
+    Page<ProjectMilestoneSummaryDto> findSummariesByProjectId(@Param("projectId") Long projectId, Pageable pageable);
 }
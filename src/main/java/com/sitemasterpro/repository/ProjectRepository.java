@@ -1,6 +1,9 @@
 package com.sitemasterpro.repository;
 
+import com.sitemasterpro.dto.ProjectSummaryDto;
 import com.sitemasterpro.entity.Project;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -8,10 +11,16 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
+    String SUMMARY_SELECT = "SELECT p.id AS id, p.name AS name, p.description AS description, p.location AS location, p.status AS status, " +
+            "p.startDate AS startDate, p.endDate AS endDate, p.contractValue AS contractValue, " +
+            "p.budgetedCost AS budgetedCost, p.actualCost AS actualCost, p.actualRevenue AS actualRevenue, " +
+            "p.completionPercentage AS completionPercentage FROM Project p";
+
     List<Project> findByStatus(Project.ProjectStatus status);
     
     @Query("SELECT p FROM Project p WHERE p.endDate < :date AND p.status != 'COMPLETED'")
@@ -20,7 +29,7 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     @Query("SELECT p FROM Project p WHERE p.completionPercentage < :threshold")
     List<Project> findProjectsWithLowProgress(@Param("threshold") BigDecimal threshold);
     
-    @Query("SELECT p FROM Project p WHERE p.actualCost > p.budgetedCost")
+    @Query("SELECT p FROM Project p WHERE p.budgetedCost > 0 AND p.actualCost > p.budgetedCost")
     List<Project> findProjectsOverBudget();
     
     @Query("SELECT SUM(p.actualRevenue) FROM Project p WHERE p.status = 'COMPLETED'")
@@ -29,8 +38,32 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     @Query("SELECT SUM(p.actualCost) FROM Project p")
     BigDecimal getTotalProjectCosts();
     
+    @Query("SELECT p.id, p.name, p.location, p.status, p.endDate, p.actualRevenue, p.actualCost, p.completionPercentage FROM Project p")
+    List<Object[]> findDashboardRows();
+    
     @Query("SELECT p FROM Project p JOIN p.users u WHERE u.id = :userId")
     List<Project> findProjectsByUserId(@Param("userId") Long userId);
+
+    // A null search pattern or status matches every project
+    String SUMMARY_FILTER = " WHERE (:status IS NULL OR p.status = :status) " +
+            "AND (:search IS NULL OR LOWER(p.name) LIKE :search OR LOWER(p.location) LIKE :search)";
+
+    @Query(value = SUMMARY_SELECT + SUMMARY_FILTER, countQuery = "SELECT COUNT(p) FROM Project p" + SUMMARY_FILTER)
+    Page<ProjectSummaryDto> findSummaries(@Param("search") String search, @Param("status") Project.ProjectStatus status,
+                                          Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + SUMMARY_FILTER + " AND p.id IN :ids",
+           countQuery = "SELECT COUNT(p) FROM Project p" + SUMMARY_FILTER + " AND p.id IN :ids")
+    Page<ProjectSummaryDto> findSummariesByIdIn(@Param("ids") Collection<Long> ids, @Param("search") String search,
+                                                @Param("status") Project.ProjectStatus status, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + " WHERE p.endDate < :date AND p.status != 'COMPLETED'",
+           countQuery = "SELECT COUNT(p) FROM Project p WHERE p.endDate < :date AND p.status != 'COMPLETED'")
+    Page<ProjectSummaryDto> findOverdueSummaries(@Param("date") LocalDate date, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + " WHERE p.budgetedCost > 0 AND p.actualCost > p.budgetedCost",
+           countQuery = "SELECT COUNT(p) FROM Project p WHERE p.budgetedCost > 0 AND p.actualCost > p.budgetedCost")
+    Page<ProjectSummaryDto> findOverBudgetSummaries(Pageable pageable);
 }
 package com.sitemasterpro.repository;
 
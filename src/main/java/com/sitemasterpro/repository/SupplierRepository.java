@@ -1,6 +1,9 @@
 package com.sitemasterpro.repository;
 
+import com.sitemasterpro.dto.SupplierSummaryDto;
 import com.sitemasterpro.entity.Supplier;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -16,4 +19,9 @@ public interface SupplierRepository extends JpaRepository<Supplier, Long> {
     
     @Query("SELECT s FROM Supplier s WHERE s.email = :email")
     List<Supplier> findByEmail(String email);
+
+    @Query(value = "SELECT s.id AS id, s.name AS name, s.contactPerson AS contactPerson, s.phoneNumber AS phoneNumber, " +
+                   "s.email AS email, s.active AS active FROM Supplier s WHERE s.active = true",
+           countQuery = "SELECT COUNT(s) FROM Supplier s WHERE s.active = true")
+    Page<SupplierSummaryDto> findActiveSummaries(Pageable pageable);
 }
@@ -3,8 +3,10 @@ package com.sitemasterpro.security;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -20,6 +22,12 @@ public class JwtUtil {
     
     private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
     
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_TOKEN_VERSION = "tv";
+    
+    @Autowired
+    private VerifiedTokenCache tokenCache;
+    
     @Value("${app.jwt.secret}")
     private String jwtSecret;
     
@@ -29,10 +37,35 @@ public class JwtUtil {
     @Value("${app.jwt.refresh-expiration}")
     private long jwtRefreshExpirationMs;
     
+    // Built once; both are immutable and thread-safe
+    private Key signingKey;
+    private JwtParser parser;
+    
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    }
+    
     public String generateJwtToken(UserDetails userDetails) {
+        if (userDetails instanceof UserPrincipal) {
+            return createToken(principalClaims((UserPrincipal) userDetails), userDetails.getUsername(), jwtExpirationMs);
+        }
         return generateTokenFromUsername(userDetails.getUsername());
     }
     
+    public String generateRefreshToken(UserPrincipal principal) {
+        return createToken(principalClaims(principal), principal.getUsername(), jwtRefreshExpirationMs);
+    }
+    
+    // Roles are deliberately left out: authorities always come from the cached principal, which a role change evicts
+    private Map<String, Object> principalClaims(UserPrincipal principal) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, principal.getId());
+        claims.put(CLAIM_TOKEN_VERSION, principal.getTokenVersion());
+        return claims;
+    }
+    
     public String generateTokenFromUsername(String username) {
         return createToken(new HashMap<>(), username, jwtExpirationMs);
     }
@@ -52,7 +85,17 @@ public class JwtUtil {
     }
     
     private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        return signingKey;
+    }
+    
+    /**
+     * Verifies signature and expiry once and returns the claims; repeated calls for the same token
+     * are served from {@link VerifiedTokenCache}.
+     *
+     * @throws JwtException if the token is invalid, expired or revoked
+     */
+    public Claims parseClaims(String token) {
+        return getAllClaimsFromToken(token);
     }
     
     public String getUsernameFromJwtToken(String token) {
@@ -69,11 +112,20 @@ public class JwtUtil {
     }
     
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return tokenCache.verify(token, t -> parser.parseClaimsJws(t).getBody());
+    }
+    
+    /**
+     * Revokes a still valid token, e.g. on logout. Invalid tokens are ignored since they are
+     * rejected anyway.
+     */
+    public void revokeToken(String token) {
+        try {
+            Claims claims = getAllClaimsFromToken(token);
+            tokenCache.revoke(token, claims.getExpiration().getTime());
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("Ignoring revocation of invalid token: {}", e.getMessage());
+        }
     }
     
     public Boolean isTokenExpired(String token) {
@@ -95,13 +147,15 @@ public class JwtUtil {
             logger.error("JWT token is unsupported: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
+        } catch (JwtException e) {
+            logger.error("JWT token rejected: {}", e.getMessage());
         }
         return false;
     }
     
     public boolean validateJwtToken(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(key()).build().parse(authToken);
+            getAllClaimsFromToken(authToken);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
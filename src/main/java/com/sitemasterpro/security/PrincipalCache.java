@@ -0,0 +1,92 @@
+package com.sitemasterpro.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded, TTL-limited cache of authenticated principals keyed by user id, so that requests carrying
+ * a valid token need no database access. Entries are evicted by UserService whenever a change bumps
+ * the user's token version; the TTL bounds how long another instance can serve a stale entry.
+ */
+@Component
+public class PrincipalCache {
+
+    @Value("${app.security.principal-cache.ttl-ms:300000}")
+    private long ttlMs;
+
+    @Value("${app.security.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    public UserPrincipal get(Long userId) {
+        Entry entry = entries.get(userId);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            entries.remove(userId, entry);
+            return null;
+        }
+        return entry.principal;
+    }
+
+    public void put(UserPrincipal principal) {
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        entries.put(principal.getId(), new Entry(principal, System.currentTimeMillis() + ttlMs));
+    }
+
+    public void invalidate(Long userId) {
+        entries.remove(userId);
+    }
+
+    // Evicting only once the change commits keeps a concurrent request from re-caching the old state
+    public void invalidateAfterCommit(Long userId) {
+        invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(userId);
+                }
+            });
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt < now);
+        if (entries.size() < maxSize) {
+            return;
+        }
+
+        // Still full of live entries: drop an arbitrary tenth rather than track recency on every hit
+        Iterator<Long> keys = entries.keySet().iterator();
+        for (int i = maxSize / 10; i >= 0 && keys.hasNext(); i--) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static final class Entry {
+        private final UserPrincipal principal;
+        private final long expiresAt;
+
+        private Entry(UserPrincipal principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.sitemasterpro.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * In-memory view of which projects each user may access, loaded from user_projects and user_roles.
+ * A user's assigned project ids are held as a sorted primitive array, so an access check is a binary
+ * search with no entity loading and no boxing. Users holding a role that sees every project are
+ * flagged instead. UserService refreshes a user's entry after committing an assignment change, and
+ * the whole index is reloaded periodically to pick up changes made by other instances.
+ *
+ * <p>A reload or a single-user load reads the database before it publishes its result, so an
+ * invalidation landing in between would be overwritten by the stale read. Every invalidation is
+ * stamped from a counter, and anything loaded before a user's latest stamp is dropped again after
+ * it is published.
+ */
+@Component
+public class ProjectAccessIndex {
+    private static final Logger logger = LoggerFactory.getLogger(ProjectAccessIndex.class);
+
+    private static final String GLOBAL_ROLES = "('ROLE_SUPER_ADMIN', 'ROLE_ADMIN', 'ROLE_CEO')";
+
+    private static final String GLOBAL_USERS_SQL =
+            "SELECT DISTINCT ur.user_id FROM user_roles ur JOIN roles r ON r.id = ur.role_id WHERE r.name IN " + GLOBAL_ROLES;
+
+    private static final Access NO_ACCESS = new Access(false, new long[0]);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private volatile Map<Long, Access> index = new ConcurrentHashMap<>();
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    // User id to the stamp of its latest invalidation; entries older than the last reload are pruned
+    private final Map<Long, Long> invalidatedAt = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.project-access.reload-interval-ms:300000}",
+               initialDelayString = "${app.security.project-access.reload-interval-ms:300000}")
+    public void reload() {
+        long generation = invalidations.get();
+        Map<Long, List<Long>> assignments = new HashMap<>();
+        jdbcTemplate.query("SELECT user_id, project_id FROM user_projects ORDER BY user_id, project_id",
+                rs -> {
+                    assignments.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getLong(2));
+                });
+        List<Long> globalUsers = jdbcTemplate.queryForList(GLOBAL_USERS_SQL, Long.class);
+
+        Map<Long, Access> loaded = new ConcurrentHashMap<>();
+        assignments.forEach((userId, projectIds) ->
+                loaded.put(userId, new Access(false, projectIds.stream().mapToLong(Long::longValue).toArray())));
+        for (Long userId : globalUsers) {
+            loaded.put(userId, new Access(true, loaded.getOrDefault(userId, NO_ACCESS).projectIds));
+        }
+
+        index = loaded;
+        // Invalidations after the reads started may have hit the old map; ones before are in what was read
+        invalidatedAt.forEach((userId, stamp) -> {
+            if (stamp > generation) {
+                loaded.remove(userId);
+            } else {
+                invalidatedAt.remove(userId, stamp);
+            }
+        });
+        logger.debug("Project access index loaded: {} users with assignments, {} with global access",
+                    assignments.size(), globalUsers.size());
+    }
+
+    public boolean canAccess(Long userId, Long projectId) {
+        if (userId == null || projectId == null) {
+            return false;
+        }
+        Access access = get(userId);
+        return access.global || Arrays.binarySearch(access.projectIds, projectId) >= 0;
+    }
+
+    public boolean hasGlobalAccess(Long userId) {
+        return userId != null && get(userId).global;
+    }
+
+    /**
+     * @return the ids of the projects assigned to the user, or null if the user can access all projects
+     */
+    public long[] assignedProjectIds(Long userId) {
+        Access access = get(userId);
+        return access.global ? null : access.projectIds.clone();
+    }
+
+    /**
+     * Keeps only the items whose project the user may access, preserving order. Intended for list
+     * endpoints: one index lookup for the whole list instead of a check per item.
+     */
+    public <T> List<T> filter(Long userId, Collection<T> items, Function<T, Long> projectIdOf) {
+        Access access = userId != null ? get(userId) : NO_ACCESS;
+        if (access.global) {
+            return new ArrayList<>(items);
+        }
+        List<T> accessible = new ArrayList<>();
+        for (T item : items) {
+            Long projectId = projectIdOf.apply(item);
+            if (projectId != null && Arrays.binarySearch(access.projectIds, projectId) >= 0) {
+                accessible.add(item);
+            }
+        }
+        return accessible;
+    }
+
+    // Drops the user's entry once the change commits; it is reloaded on the next check
+    public void invalidateAfterCommit(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(userId);
+                }
+            });
+        } else {
+            invalidate(userId);
+        }
+    }
+
+    private void invalidate(Long userId) {
+        invalidatedAt.put(userId, invalidations.incrementAndGet());
+        index.remove(userId);
+    }
+
+    private Access get(Long userId) {
+        Access access = index.get(userId);
+        if (access == null) {
+            // Users missing from the index (e.g. created since the last reload) are loaded on first use
+            long generation = invalidations.get();
+            access = load(userId);
+            Map<Long, Access> current = index;
+            if (current.putIfAbsent(userId, access) == null
+                    && invalidatedAt.getOrDefault(userId, 0L) > generation) {
+                current.remove(userId, access);
+            }
+        }
+        return access;
+    }
+
+    private Access load(Long userId) {
+        List<Long> projectIds = jdbcTemplate.queryForList(
+                "SELECT project_id FROM user_projects WHERE user_id = ? ORDER BY project_id", Long.class, userId);
+        Boolean global = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM user_roles ur JOIN roles r ON r.id = ur.role_id " +
+                "WHERE ur.user_id = ? AND r.name IN " + GLOBAL_ROLES + ")", Boolean.class, userId);
+        return new Access(Boolean.TRUE.equals(global), projectIds.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    private static final class Access {
+        private final boolean global;
+        private final long[] projectIds;
+
+        private Access(boolean global, long[] projectIds) {
+            this.global = global;
+            this.projectIds = projectIds;
+        }
+    }
+}
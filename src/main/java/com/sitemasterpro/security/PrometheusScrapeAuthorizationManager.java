@@ -0,0 +1,61 @@
+package com.sitemasterpro.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.function.Supplier;
+
+/**
+ * Access rule for the Prometheus scrape endpoint. Admins may read it with their bearer token; the scraper
+ * presents the dedicated credential from {@code app.security.prometheus-scrape} as HTTP Basic. The source
+ * address is not trusted, since behind a local reverse proxy every request arrives from localhost. With no
+ * scrape password configured, only admins get in.
+ */
+@Component
+public class PrometheusScrapeAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final String BASIC_PREFIX = "Basic ";
+
+    private final AuthorityAuthorizationManager<RequestAuthorizationContext> admins =
+            AuthorityAuthorizationManager.hasAnyRole("SUPER_ADMIN", "ADMIN");
+
+    @Value("${app.security.prometheus-scrape.username:prometheus}")
+    private String username;
+
+    @Value("${app.security.prometheus-scrape.password:}")
+    private String password;
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        if (hasScrapeCredential(context.getRequest())) {
+            return new AuthorizationDecision(true);
+        }
+        return admins.check(authentication, context);
+    }
+
+    private boolean hasScrapeCredential(HttpServletRequest request) {
+        String header = request.getHeader("Authorization");
+        if (!StringUtils.hasText(password) || header == null || !header.startsWith(BASIC_PREFIX)) {
+            return false;
+        }
+        byte[] presented;
+        try {
+            presented = Base64.getDecoder().decode(header.substring(BASIC_PREFIX.length()).trim());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        byte[] expected = (username + ":" + password).getBytes(StandardCharsets.UTF_8);
+        // Constant-time comparison, so the response time does not reveal how much of the credential matched
+        return MessageDigest.isEqual(presented, expected);
+    }
+}
@@ -0,0 +1,127 @@
+package com.sitemasterpro.security;
+
+import com.sitemasterpro.service.AuthService;
+import com.sitemasterpro.service.ProjectSubscriptionRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.security.Principal;
+import java.util.Set;
+
+/**
+ * Authenticates STOMP sessions from the bearer token in the CONNECT frame and authorizes SUBSCRIBE
+ * frames. Project-scoped destinations require access to that project. The global topics that carry
+ * project data require access to all projects. Destinations that are patterns are refused outright: the
+ * simple broker matches subscriptions as Ant patterns, so {@code /topic/**} would receive every topic
+ * without any of these checks applying. A rejected SUBSCRIBE is answered with an ERROR frame.
+ */
+@Component
+public class StompChannelInterceptor implements ChannelInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(StompChannelInterceptor.class);
+
+    private static final Set<String> ALL_PROJECTS_TOPICS = Set.of(
+            "/topic/projects", "/topic/project-updates", "/topic/progress-updates",
+            "/topic/milestone-updates", "/topic/financial-updates", "/topic/financial-alerts");
+
+    // Same matcher semantics as the simple broker's subscription registry
+    private static final AntPathMatcher DESTINATION_MATCHER = new AntPathMatcher();
+
+    @Autowired
+    private TokenAuthenticator tokenAuthenticator;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private ProjectSubscriptionRegistry subscriptionRegistry;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        StompCommand command = accessor.getCommand();
+        if (command == StompCommand.CONNECT) {
+            authenticate(accessor);
+        } else if (command == StompCommand.SUBSCRIBE) {
+            authorizeSubscription(accessor);
+        } else if (command == StompCommand.UNSUBSCRIBE) {
+            subscriptionRegistry.unsubscribed(accessor.getSessionId(), accessor.getSubscriptionId());
+        } else if (command == StompCommand.DISCONNECT) {
+            subscriptionRegistry.disconnected(accessor.getSessionId());
+        }
+        return message;
+    }
+
+    private void authenticate(StompHeaderAccessor accessor) {
+        if (accessor.getUser() != null) {
+            return;
+        }
+        String authorization = accessor.getFirstNativeHeader("Authorization");
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            UsernamePasswordAuthenticationToken authentication = tokenAuthenticator.authenticate(authorization.substring(7));
+            if (authentication != null) {
+                accessor.setUser(authentication);
+            }
+        }
+    }
+
+    private void authorizeSubscription(StompHeaderAccessor accessor) {
+        String destination = accessor.getDestination();
+        if (destination == null) {
+            return;
+        }
+        if (DESTINATION_MATCHER.isPattern(destination)) {
+            throw new AccessDeniedException("Wildcard subscriptions are not allowed: " + destination);
+        }
+
+        boolean projectScoped = destination.startsWith(ProjectSubscriptionRegistry.PROJECT_TOPIC_PREFIX);
+        if (!projectScoped && !ALL_PROJECTS_TOPICS.contains(destination)) {
+            return;
+        }
+
+        Long userId = userId(accessor.getUser());
+        if (userId == null) {
+            throw new AccessDeniedException("Authentication required to subscribe to " + destination);
+        }
+
+        if (!projectScoped) {
+            if (!authService.hasAllProjectsAccess(userId)) {
+                throw new AccessDeniedException("Subscribe to project-scoped destinations instead of " + destination);
+            }
+            return;
+        }
+
+        // Anything else under the prefix could address other projects' topics
+        Long projectId = ProjectSubscriptionRegistry.parseProjectId(destination);
+        if (projectId == null) {
+            throw new AccessDeniedException("Invalid project destination: " + destination);
+        }
+        if (!authService.canAccessProject(userId, projectId)) {
+            logger.debug("User {} denied subscription to {}", userId, destination);
+            throw new AccessDeniedException("No access to project " + projectId);
+        }
+        subscriptionRegistry.subscribed(accessor.getSessionId(), accessor.getSubscriptionId(), projectId);
+    }
+
+    private Long userId(Principal user) {
+        if (user instanceof UsernamePasswordAuthenticationToken
+                && ((UsernamePasswordAuthenticationToken) user).getPrincipal() instanceof UserPrincipal) {
+            return ((UserPrincipal) ((UsernamePasswordAuthenticationToken) user).getPrincipal()).getId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,100 @@
+package com.sitemasterpro.security;
+
+import com.sitemasterpro.profiling.TokenValidationEvent;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns a bearer token into an authentication. The signature is verified once, the user id and
+ * token version come from the claims, and the principal is served from {@link PrincipalCache}, so
+ * a steady-state request does no database work. A cache miss loads the user once by id.
+ */
+@Component
+public class TokenAuthenticator {
+    private static final Logger logger = LoggerFactory.getLogger(TokenAuthenticator.class);
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    /**
+     * @return the authentication for a valid, current token, or null if the token is invalid,
+     *         expired, revoked by a token version bump, or belongs to a disabled user
+     */
+    public UsernamePasswordAuthenticationToken authenticate(String token) {
+        TokenValidationEvent event = new TokenValidationEvent();
+        event.begin();
+        try {
+            return authenticate(token, event);
+        } finally {
+            event.commit();
+        }
+    }
+
+    private UsernamePasswordAuthenticationToken authenticate(String token, TokenValidationEvent event) {
+        Claims claims;
+        try {
+            claims = jwtUtil.parseClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("Rejected JWT: {}", e.getMessage());
+            event.outcome = "invalid";
+            return null;
+        }
+
+        Number userId = claims.get(JwtUtil.CLAIM_USER_ID, Number.class);
+        Number tokenVersion = claims.get(JwtUtil.CLAIM_TOKEN_VERSION, Number.class);
+        UserPrincipal principal;
+        try {
+            principal = userId != null ? resolve(userId.longValue(), event) : loadLegacy(claims.getSubject(), event);
+        } catch (UsernameNotFoundException e) {
+            logger.debug("Rejected JWT for unknown user: {}", e.getMessage());
+            event.outcome = "unknown_user";
+            return null;
+        }
+        if (principal.getId() != null) {
+            event.userId = principal.getId();
+        }
+
+        if (!principal.isEnabled() || !principal.getUsername().equals(claims.getSubject())) {
+            event.outcome = "disabled";
+            return null;
+        }
+        if (tokenVersion != null && tokenVersion.longValue() != principal.getTokenVersion()) {
+            logger.debug("Rejected JWT with stale token version for user {}", principal.getUsername());
+            event.outcome = "stale_version";
+            return null;
+        }
+
+        event.outcome = "accepted";
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    private UserPrincipal resolve(Long userId, TokenValidationEvent event) {
+        UserPrincipal principal = principalCache.get(userId);
+        if (principal == null) {
+            event.principalLoaded = true;
+            principal = ((UserPrincipal) userDetailsService.loadUserById(userId)).withoutPassword();
+            principalCache.put(principal);
+        }
+        return principal;
+    }
+
+    // Access tokens issued before the uid claim carry only the username and read the users table on every
+    // request. None are issued any more and they expire within app.jwt.expiration (24 hours) of the rollout;
+    // a refresh mints a token with the claims.
+    private UserPrincipal loadLegacy(String username, TokenValidationEvent event) {
+        event.principalLoaded = true;
+        return (UserPrincipal) userDetailsService.loadUserByUsername(username);
+    }
+}
@@ -21,6 +21,10 @@ public class UserPrincipal implements UserDetails {
     
     private Collection<? extends GrantedAuthority> authorities;
     
+    private boolean enabled = true;
+    
+    private long tokenVersion;
+    
     public UserPrincipal(Long id, String username, String email, String fullName, 
                         String password, Collection<? extends GrantedAuthority> authorities) {
         this.id = id;
@@ -31,6 +35,13 @@ public class UserPrincipal implements UserDetails {
         this.authorities = authorities;
     }
     
+    public UserPrincipal(Long id, String username, String email, String fullName, String password,
+                        Collection<? extends GrantedAuthority> authorities, boolean enabled, long tokenVersion) {
+        this(id, username, email, fullName, password, authorities);
+        this.enabled = enabled;
+        this.tokenVersion = tokenVersion;
+    }
+    
     public static UserPrincipal create(User user) {
         List<GrantedAuthority> authorities = user.getRoles().stream()
                 .map(role -> new SimpleGrantedAuthority(role.getName().name()))
@@ -42,10 +53,17 @@ public class UserPrincipal implements UserDetails {
                 user.getEmail(),
                 user.getFullName(),
                 user.getPassword(),
-                authorities
+                authorities,
+                !Boolean.FALSE.equals(user.getEnabled()),
+                user.getTokenVersion() != null ? user.getTokenVersion() : 0L
         );
     }
     
+    // Copy without the password hash, for principals that outlive the login request
+    public UserPrincipal withoutPassword() {
+        return new UserPrincipal(id, username, email, fullName, null, authorities, enabled, tokenVersion);
+    }
+    
     public Long getId() {
         return id;
     }
@@ -58,6 +76,10 @@ public class UserPrincipal implements UserDetails {
         return fullName;
     }
     
+    public long getTokenVersion() {
+        return tokenVersion;
+    }
+    
     @Override
     public String getUsername() {
         return username;
@@ -90,7 +112,7 @@ public class UserPrincipal implements UserDetails {
     
     @Override
     public boolean isEnabled() {
-        return true;
+        return enabled;
     }
     
     @Override
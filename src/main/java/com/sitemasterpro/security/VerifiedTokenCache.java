@@ -0,0 +1,210 @@
+package com.sitemasterpro.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Claims of tokens whose signature has already been verified, keyed by a SHA-256 digest of the
+ * token so the cache never holds usable credentials. Entries live until the token itself expires.
+ * Revoked tokens go on a deny-list that is consulted before the cache and kept until their expiry.
+ * Revocations are also written to the shared revoked_tokens table, and every instance polls that table
+ * into its own deny-list, so a token logged out on one node is refused by the others within
+ * {@code app.security.token-cache.revocation-sync-ms}.
+ */
+@Component
+public class VerifiedTokenCache {
+    private static final Logger logger = LoggerFactory.getLogger(VerifiedTokenCache.class);
+
+    private static final String INSERT_REVOCATION_SQL =
+            "INSERT INTO revoked_tokens (token_digest, expires_at) VALUES (?, ?) ON CONFLICT (token_digest) DO NOTHING";
+
+    // Each poll re-reads this far back, so a revocation whose transaction committed after the last poll started is not missed
+    private static final long SYNC_OVERLAP_MS = 60_000;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.security.token-cache.max-size:50000}")
+    private int maxSize;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Long> denied = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    // Database time at which the last successful poll started; null until the first one loads every live revocation
+    private volatile Timestamp syncedUpTo;
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("security.token.cache.size", entries, Map::size)
+                .description("Verified tokens held in the cache")
+                .register(meterRegistry);
+        Gauge.builder("security.token.denylist.size", denied, Map::size)
+                .description("Revoked tokens that have not expired yet")
+                .register(meterRegistry);
+        FunctionCounter.builder("security.token.cache.hits", hits, AtomicLong::get)
+                .register(meterRegistry);
+        FunctionCounter.builder("security.token.cache.misses", misses, AtomicLong::get)
+                .description("Lookups that required full signature verification")
+                .register(meterRegistry);
+        FunctionCounter.builder("security.token.cache.evictions", evictions, AtomicLong::get)
+                .description("Entries removed because they expired or the cache was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the claims of {@code token}, running {@code verifier} only if the token has not been
+     * verified before. The returned claims are shared and must not be modified.
+     *
+     * @throws JwtException if the token was revoked or the verifier rejects it
+     */
+    public Claims verify(String token, Function<String, Claims> verifier) {
+        String digest = digest(token);
+        if (denied.containsKey(digest)) {
+            throw new JwtException("Token has been revoked");
+        }
+
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(digest);
+        if (entry != null) {
+            if (entry.expiresAt > now) {
+                hits.incrementAndGet();
+                return entry.claims;
+            }
+            if (entries.remove(digest, entry)) {
+                evictions.incrementAndGet();
+            }
+        }
+
+        misses.incrementAndGet();
+        Claims claims = verifier.apply(token);
+        if (claims.getExpiration() != null) {
+            if (entries.size() >= maxSize) {
+                evict(now);
+            }
+            entries.put(digest, new Entry(claims, claims.getExpiration().getTime()));
+        }
+        return claims;
+    }
+
+    /**
+     * Rejects the token from now on, even though its signature stays valid until it expires. This instance
+     * refuses it at once; the others once they have polled the revocation, which commits with the caller's
+     * transaction.
+     */
+    public void revoke(String token, long expiresAt) {
+        String digest = digest(token);
+        deny(digest, expiresAt);
+        jdbcTemplate.update(INSERT_REVOCATION_SQL, digest, new Timestamp(expiresAt));
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.token-cache.revocation-sync-ms:5000}")
+    public void syncRevocations() {
+        try {
+            Timestamp started = jdbcTemplate.queryForObject("SELECT CURRENT_TIMESTAMP", Timestamp.class);
+            Timestamp since = syncedUpTo;
+            RowCallbackHandler handler = rs -> deny(rs.getString(1), rs.getTimestamp(2).getTime());
+            if (since == null) {
+                jdbcTemplate.query("SELECT token_digest, expires_at FROM revoked_tokens WHERE expires_at > ?",
+                                   handler, started);
+            } else {
+                jdbcTemplate.query("SELECT token_digest, expires_at FROM revoked_tokens WHERE revoked_at >= ?",
+                                   handler, new Timestamp(since.getTime() - SYNC_OVERLAP_MS));
+            }
+            syncedUpTo = started;
+        } catch (DataAccessException e) {
+            // The next poll covers the same window again, since syncedUpTo has not moved
+            logger.warn("Could not sync revoked tokens: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.token-cache.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        purgeLocal();
+        try {
+            jdbcTemplate.update("DELETE FROM revoked_tokens WHERE expires_at <= CURRENT_TIMESTAMP");
+        } catch (DataAccessException e) {
+            logger.warn("Could not purge expired revoked tokens: {}", e.getMessage());
+        }
+    }
+
+    private void deny(String digest, long expiresAt) {
+        if (expiresAt > System.currentTimeMillis()) {
+            denied.put(digest, expiresAt);
+        }
+        entries.remove(digest);
+    }
+
+    private void purgeLocal() {
+        long now = System.currentTimeMillis();
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+        evictions.addAndGet(Math.max(0, before - entries.size()));
+        denied.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+
+    private void evict(long now) {
+        purgeLocal();
+        if (entries.size() < maxSize) {
+            return;
+        }
+
+        // Still full of live tokens: drop an arbitrary tenth, they are simply verified again on next use
+        logger.debug("Verified token cache full at {} entries, evicting", entries.size());
+        Iterator<String> keys = entries.keySet().iterator();
+        for (int i = maxSize / 10; i >= 0 && keys.hasNext(); i--) {
+            keys.next();
+            keys.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class Entry {
+        private final Claims claims;
+        private final long expiresAt;
+
+        private Entry(Claims claims, long expiresAt) {
+            this.claims = claims;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.sitemasterpro.service;
+
+import com.sitemasterpro.entity.AuditLog;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind buffer for audit events. Callers enqueue fully populated {@link AuditLog} instances
+ * and a single background thread inserts them with JDBC batches, either when a batch fills up or
+ * when the flush interval elapses. When the buffer is full callers wait up to the enqueue timeout,
+ * after which the event is dropped and counted rather than stalling the business operation.
+ */
+@Component
+public class AuditLogWriter {
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO audit_logs (user_id, action, entity_type, entity_id, old_values, new_values, " +
+            "ip_address, user_agent, timestamp) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.audit.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.audit.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.audit.flush-interval-ms:500}")
+    private long flushIntervalMs;
+
+    @Value("${app.audit.enqueue-timeout-ms:50}")
+    private long enqueueTimeoutMs;
+
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final AtomicLong writtenEvents = new AtomicLong();
+    private final AtomicLong failedEvents = new AtomicLong();
+
+    private BlockingQueue<AuditLog> queue;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Gauge.builder("audit.queue.depth", queue, BlockingQueue::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+        FunctionCounter.builder("audit.events.dropped", droppedEvents, AtomicLong::get)
+                .description("Audit events dropped because the buffer was full")
+                .register(meterRegistry);
+        FunctionCounter.builder("audit.events.written", writtenEvents, AtomicLong::get)
+                .register(meterRegistry);
+        FunctionCounter.builder("audit.events.failed", failedEvents, AtomicLong::get)
+                .description("Audit events lost because the batch insert failed")
+                .register(meterRegistry);
+
+        running = true;
+        writerThread = new Thread(this::runWriter, "audit-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    public void enqueue(AuditLog auditLog) {
+        try {
+            if (queue.offer(auditLog, enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        long dropped = droppedEvents.incrementAndGet();
+        // Log the first drop and then every 1000th so a burst does not flood the log
+        if (dropped == 1 || dropped % 1000 == 0) {
+            logger.warn("Audit buffer full, dropped {} events so far (last: {} {} {})",
+                       dropped, auditLog.getAction(), auditLog.getEntityType(), auditLog.getEntityId());
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writerThread.join(Math.max(flushIntervalMs * 4, 5000));
+
+        // Writer did not finish in time; write whatever is left from this thread
+        List<AuditLog> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            writeBatch(remaining);
+        }
+        logger.info("Audit log writer stopped: {} written, {} dropped, {} failed",
+                   writtenEvents.get(), droppedEvents.get(), failedEvents.get());
+    }
+
+    private void runWriter() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    AuditLog event = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (event == null) {
+                        break;
+                    }
+                    batch.add(event);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                running = false;
+            }
+
+            if (!batch.isEmpty()) {
+                writeBatch(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<AuditLog> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, auditLog) -> {
+                if (auditLog.getUser() != null && auditLog.getUser().getId() != null) {
+                    ps.setLong(1, auditLog.getUser().getId());
+                } else {
+                    ps.setNull(1, Types.BIGINT);
+                }
+                ps.setString(2, auditLog.getAction());
+                ps.setString(3, auditLog.getEntityType());
+                if (auditLog.getEntityId() != null) {
+                    ps.setLong(4, auditLog.getEntityId());
+                } else {
+                    ps.setNull(4, Types.BIGINT);
+                }
+                ps.setString(5, auditLog.getOldValues());
+                ps.setString(6, auditLog.getNewValues());
+                ps.setString(7, auditLog.getIpAddress());
+                ps.setString(8, auditLog.getUserAgent());
+                ps.setTimestamp(9, Timestamp.valueOf(auditLog.getTimestamp()));
+            });
+            writtenEvents.addAndGet(batch.size());
+            logger.debug("Audit batch written: {} events", batch.size());
+        } catch (Exception e) {
+            failedEvents.addAndGet(batch.size());
+            logger.error("Failed to write audit batch of {} events", batch.size(), e);
+        }
+    }
+}
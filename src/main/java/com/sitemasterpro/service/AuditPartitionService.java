@@ -0,0 +1,234 @@
+package com.sitemasterpro.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Maintains the monthly range partitions of audit_logs. Partitions are created a few months ahead
+ * so inserts never hit a missing range, and partitions older than the retention window are detached,
+ * exported to a gzipped CSV file (loadable offline with {@code COPY ... FROM PROGRAM 'zcat ...' CSV HEADER})
+ * and dropped.
+ */
+@Service
+public class AuditPartitionService {
+    private static final Logger logger = LoggerFactory.getLogger(AuditPartitionService.class);
+
+    private static final String PARTITION_PREFIX = "audit_logs_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    // Arbitrary advisory lock key shared by all instances
+    private static final long ARCHIVE_LOCK_KEY = 0x4175_6469_7441_72L;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.audit.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${app.audit.partitions.retention-months:12}")
+    private int retentionMonths;
+
+    @Value("${app.audit.partitions.archive-dir:./data/audit-archive}")
+    private String archiveDir;
+
+    @Value("${app.reports.fetch-size:1000}")
+    private int fetchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${app.audit.partitions.maintenance-cron:0 30 2 * * *}")
+    public void maintainPartitions() {
+        try {
+            createFuturePartitions();
+            archiveExpiredPartitions();
+        } catch (Exception e) {
+            logger.error("Audit log partition maintenance failed", e);
+        }
+    }
+
+    public void createFuturePartitions() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month) +
+                    " PARTITION OF audit_logs FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" +
+                    month.plusMonths(1).atDay(1) + "')");
+        }
+    }
+
+    public void archiveExpiredPartitions() throws SQLException {
+        // The archive spans several connections and its own export transaction, so the lock is a session lock
+        // held on a connection of its own for the whole run; another instance already archiving means skip
+        try (Connection lockConnection = dataSource.getConnection()) {
+            if (!advisoryLock(lockConnection, "SELECT pg_try_advisory_lock(?)")) {
+                logger.debug("Audit log partitions are being archived by another instance, skipping");
+                return;
+            }
+            try {
+                archivePartitions();
+            } finally {
+                advisoryLock(lockConnection, "SELECT pg_advisory_unlock(?)");
+            }
+        }
+    }
+
+    private boolean advisoryLock(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, ARCHIVE_LOCK_KEY);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private void archivePartitions() {
+        YearMonth cutoff = YearMonth.now().minusMonths(retentionMonths);
+
+        // Detached partitions are still listed here, so an archive interrupted after the detach is retried
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT tablename FROM pg_tables WHERE schemaname = current_schema() AND tablename LIKE 'audit_logs_p%' " +
+                "ORDER BY tablename", String.class);
+
+        for (String partition : partitions) {
+            YearMonth month = parseMonth(partition);
+            if (month == null || !month.isBefore(cutoff)) {
+                continue;
+            }
+            try {
+                archivePartition(partition);
+            } catch (Exception e) {
+                logger.error("Failed to archive audit log partition {}", partition, e);
+                return;
+            }
+        }
+    }
+
+    private void archivePartition(String partition) throws IOException {
+        Integer attached = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE c.relname = ? AND i.inhparent = 'audit_logs'::regclass", Integer.class, partition);
+        if (attached != null && attached > 0) {
+            jdbcTemplate.execute("ALTER TABLE audit_logs DETACH PARTITION " + partition);
+        }
+
+        Path dir = Paths.get(archiveDir);
+        Files.createDirectories(dir);
+        Path target = dir.resolve(partition + ".csv.gz");
+        Path partFile = dir.resolve(partition + ".csv.gz.part");
+
+        long rows = exportPartition(partition, partFile);
+        Files.move(partFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        jdbcTemplate.execute("DROP TABLE " + partition);
+        logger.info("Archived audit log partition {} ({} rows) to {}", partition, rows, target);
+    }
+
+    private long exportPartition(String partition, Path file) throws IOException {
+        // The driver only streams with a fetch size inside a transaction; otherwise it buffers the whole partition
+        JdbcTemplate exportTemplate = new JdbcTemplate(dataSource);
+        exportTemplate.setFetchSize(fetchSize);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(file)), StandardCharsets.UTF_8))) {
+            Long rows = transactionTemplate.execute(status -> exportTemplate.query(
+                    "SELECT id, user_id, action, entity_type, entity_id, old_values, new_values, ip_address, " +
+                    "user_agent, timestamp FROM " + partition + " ORDER BY timestamp, id",
+                    rs -> {
+                        long count = 0;
+                        try {
+                            ResultSetMetaData meta = rs.getMetaData();
+                            int columns = meta.getColumnCount();
+                            for (int i = 1; i <= columns; i++) {
+                                writer.write(i > 1 ? "," : "");
+                                writer.write(meta.getColumnName(i));
+                            }
+                            writer.write('\n');
+                            while (rs.next()) {
+                                writeCsvRow(writer, rs, columns);
+                                count++;
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        return count;
+                    }));
+            return rows != null ? rows : 0;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeCsvRow(Writer writer, ResultSet rs, int columns) throws SQLException, IOException {
+        for (int i = 1; i <= columns; i++) {
+            if (i > 1) {
+                writer.write(',');
+            }
+            String value = rs.getString(i);
+            // Unquoted empty field reads back as NULL, quoted "" as an empty string
+            if (value == null) {
+                continue;
+            }
+            if (value.isEmpty() || value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write('\n');
+    }
+
+    private String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    private YearMonth parseMonth(String partition) {
+        try {
+            return YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -1,20 +1,32 @@
 package com.sitemasterpro.service;
 
+import com.sitemasterpro.dto.AuditLogDto;
+import com.sitemasterpro.dto.AuditLogFilter;
+import com.sitemasterpro.dto.AuditLogPageDto;
 import com.sitemasterpro.entity.AuditLog;
 import com.sitemasterpro.entity.User;
+import com.sitemasterpro.exception.CustomException;
 import com.sitemasterpro.repository.AuditLogRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import jakarta.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 
 @Service
@@ -25,6 +37,33 @@ public class AuditService {
     @Autowired
     private AuditLogRepository auditLogRepository;
 
+    @Autowired
+    private AuditLogWriter auditLogWriter;
+
+    @Value("${app.audit.query.default-page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${app.audit.query.max-page-size:500}")
+    private int maxPageSize;
+
+    @Autowired
+    private OperationMetrics operationMetrics;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private DistributionSummary queryRows;
+
+    @PostConstruct
+    public void registerMetrics() {
+        queryRows = DistributionSummary.builder("audit.query.rows")
+                .description("Rows returned per audit log page")
+                .baseUnit("rows")
+                .register(meterRegistry);
+    }
+
+    // Request context is captured here on the caller's thread; the entry is queued once the caller's transaction
+    // commits, so a rolled-back change leaves no audit record, and inserted later on the writer thread
     public void logAction(String action, String entityType, Long entityId, String oldValues, String newValues) {
         try {
             User currentUser = getCurrentUser();
@@ -35,9 +74,9 @@ public class AuditService {
                                            oldValues, newValues, ipAddress);
             auditLog.setUserAgent(userAgent);
 
-            auditLogRepository.save(auditLog);
+            afterCommit(() -> auditLogWriter.enqueue(auditLog));
             
-            logger.debug("Audit log created: {} by user {} on {} {}", 
+            logger.debug("Audit log queued: {} by user {} on {} {}", 
                         action, currentUser != null ? currentUser.getUsername() : "SYSTEM", 
                         entityType, entityId);
         } catch (Exception e) {
@@ -55,7 +94,8 @@ public class AuditService {
             auditLog.setIpAddress(ipAddress);
             auditLog.setTimestamp(LocalDateTime.now());
 
-            auditLogRepository.save(auditLog);
+            afterCompletion(() -> auditLogWriter.enqueue(auditLog));
+            meterRegistry.counter("audit.logins", "outcome", successful ? "success" : "failure").increment();
             
             logger.info("Login attempt logged: {} for user {} from IP {}", 
                        successful ? "SUCCESS" : "FAILURE", username, ipAddress);
@@ -73,7 +113,7 @@ public class AuditService {
             auditLog.setIpAddress(ipAddress);
             auditLog.setTimestamp(LocalDateTime.now());
 
-            auditLogRepository.save(auditLog);
+            afterCompletion(() -> auditLogWriter.enqueue(auditLog));
             
             logger.info("Logout logged for user {} from IP {}", username, ipAddress);
         } catch (Exception e) {
@@ -81,24 +121,66 @@ public class AuditService {
         }
     }
 
-    public List<AuditLog> getAuditLogsByUser(Long userId) {
-        return auditLogRepository.findByUserId(userId);
+    @Transactional(readOnly = true)
+    public AuditLogPageDto queryAuditLogs(AuditLogFilter filter, String cursor, Integer pageSize) {
+        return operationMetrics.record(OperationMetrics.AUDIT_QUERIES, "search", () -> query(filter, cursor, pageSize));
     }
 
-    public List<AuditLog> getAuditLogsByAction(String action) {
-        return auditLogRepository.findByAction(action);
-    }
+    private AuditLogPageDto query(AuditLogFilter filter, String cursor, Integer pageSize) {
+        int limit = pageSize == null ? defaultPageSize : Math.min(Math.max(pageSize, 1), maxPageSize);
+
+        LocalDateTime cursorTimestamp = null;
+        Long cursorId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                cursorTimestamp = LocalDateTime.parse(parts[0]);
+                cursorId = Long.parseLong(parts[1]);
+            } catch (RuntimeException e) {
+                throw new CustomException("Invalid audit log cursor");
+            }
+        }
 
-    public List<AuditLog> getAuditLogsByEntity(String entityType, Long entityId) {
-        return auditLogRepository.findByEntityTypeAndEntityId(entityType, entityId);
+        // One extra row tells us whether another page exists without a COUNT query
+        List<AuditLogDto> rows = auditLogRepository.findPage(filter, cursorTimestamp, cursorId, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<AuditLogDto> items = hasMore ? rows.subList(0, limit) : rows;
+        queryRows.record(items.size());
+
+        String nextCursor = null;
+        if (hasMore) {
+            AuditLogDto last = items.get(items.size() - 1);
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                    (last.getTimestamp() + "|" + last.getId()).getBytes(StandardCharsets.UTF_8));
+        }
+        return new AuditLogPageDto(items, nextCursor, hasMore);
     }
 
-    public List<AuditLog> getAuditLogsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return auditLogRepository.findByDateRange(startDate, endDate);
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
 
-    public List<AuditLog> getAllAuditLogs() {
-        return auditLogRepository.findAllOrderByTimestampDesc();
+    // Login and logout records are kept whatever the caller's transaction does; a failed login rolls it back
+    private void afterCompletion(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
 
     private User getCurrentUser() {
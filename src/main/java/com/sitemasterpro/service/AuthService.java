@@ -7,8 +7,12 @@ import com.sitemasterpro.entity.User;
 import com.sitemasterpro.exception.CustomException;
 import com.sitemasterpro.repository.RoleRepository;
 import com.sitemasterpro.repository.UserRepository;
+import com.sitemasterpro.security.CustomUserDetailsService;
 import com.sitemasterpro.security.JwtUtil;
+import com.sitemasterpro.security.ProjectAccessIndex;
 import com.sitemasterpro.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,13 +20,18 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -45,6 +54,12 @@ public class AuthService {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private ProjectAccessIndex projectAccessIndex;
+
     @Autowired
     private AuditService auditService;
 
@@ -59,7 +74,7 @@ public class AuthService {
             SecurityContextHolder.getContext().setAuthentication(authentication);
             UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
             String jwt = jwtUtil.generateJwtToken(userPrincipal);
-            String refreshToken = jwtUtil.generateRefreshToken(userPrincipal.getUsername());
+            String refreshToken = jwtUtil.generateRefreshToken(userPrincipal);
 
             // Update last login time
             User user = userRepository.findById(userPrincipal.getId()).orElse(null);
@@ -125,14 +140,25 @@ public class AuthService {
     }
 
     public String refreshToken(String refreshToken) {
-        if (jwtUtil.validateJwtToken(refreshToken)) {
-            String username = jwtUtil.getUsernameFromJwtToken(refreshToken);
-            return jwtUtil.generateTokenFromUsername(username);
+        try {
+            Claims claims = jwtUtil.parseClaims(refreshToken);
+            UserPrincipal principal = (UserPrincipal) userDetailsService.loadUserByUsername(claims.getSubject());
+            Number tokenVersion = claims.get(JwtUtil.CLAIM_TOKEN_VERSION, Number.class);
+
+            // A password, role or status change since the refresh token was issued revokes it
+            if (principal.isEnabled() && (tokenVersion == null || tokenVersion.longValue() == principal.getTokenVersion())) {
+                return jwtUtil.generateJwtToken(principal);
+            }
+        } catch (JwtException | IllegalArgumentException | UsernameNotFoundException e) {
+            logger.debug("Refresh token rejected: {}", e.getMessage());
         }
         throw new CustomException("Invalid refresh token");
     }
 
-    public void logout(String username, String ipAddress) {
+    public void logout(String username, String token, String ipAddress) {
+        if (token != null) {
+            jwtUtil.revokeToken(token);
+        }
         auditService.logLogout(username, ipAddress);
         SecurityContextHolder.clearContext();
         logger.info("User {} logged out", username);
@@ -161,19 +187,49 @@ public class AuthService {
             return false;
         }
 
-        // Super Admin and Admin can access all projects
-        if (hasRole("SUPER_ADMIN") || hasRole("ADMIN") || hasRole("CEO")) {
-            return true;
+        return canAccessProject(currentUser.getId(), projectId);
+    }
+
+    // Super Admin, Admin and CEO can access all projects, other roles only those they are assigned to
+    public boolean canAccessProject(Long userId, Long projectId) {
+        return projectAccessIndex.canAccess(userId, projectId);
+    }
+
+    public boolean hasAllProjectsAccess(Long userId) {
+        return projectAccessIndex.hasGlobalAccess(userId);
+    }
+
+    // Null means the user can access all projects
+    public List<Long> getAccessibleProjectIds(Long userId) {
+        long[] projectIds = projectAccessIndex.assignedProjectIds(userId);
+        if (projectIds == null) {
+            return null;
+        }
+        List<Long> ids = new ArrayList<>(projectIds.length);
+        for (long projectId : projectIds) {
+            ids.add(projectId);
+        }
+        return ids;
+    }
+
+    // Null means the current user can access all projects, an empty list that they can access none
+    public List<Long> getCurrentUserAccessibleProjectIds() {
+        UserPrincipal currentUser = getCurrentUser();
+        if (currentUser == null) {
+            return new ArrayList<>();
         }
+        return getAccessibleProjectIds(currentUser.getId());
+    }
 
-        // Other roles can only access projects they are assigned to
-        User user = userRepository.findById(currentUser.getId()).orElse(null);
-        if (user != null) {
-            return user.getProjects().stream()
-                    .anyMatch(project -> project.getId().equals(projectId));
+    /**
+     * Keeps the items of a list that belong to projects the current user can access.
+     */
+    public <T> List<T> filterAccessibleProjects(Collection<T> items, Function<T, Long> projectIdOf) {
+        UserPrincipal currentUser = getCurrentUser();
+        if (currentUser == null) {
+            return new ArrayList<>();
         }
-        
-        return false;
+        return projectAccessIndex.filter(currentUser.getId(), items, projectIdOf);
     }
 }
 package com.sitemasterpro.service;
@@ -0,0 +1,135 @@
+package com.sitemasterpro.service;
+
+import com.sitemasterpro.dto.ProjectBudgetStatusDto;
+import com.sitemasterpro.entity.Project;
+import com.sitemasterpro.exception.CustomException;
+import com.sitemasterpro.repository.ProjectRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Portfolio budget analytics computed in single set-based queries over projects. actual_cost is kept
+ * current by the financial rollups, so variance needs no per-project SUM.
+ */
+@Service
+@Transactional(readOnly = true)
+public class BudgetAnalyticsService {
+    private static final Logger logger = LoggerFactory.getLogger(BudgetAnalyticsService.class);
+
+    private static final String VARIANCE_EXPR =
+            "CASE WHEN budgeted_cost > 0 THEN ROUND((actual_cost - budgeted_cost) * 100 / budgeted_cost, 2) ELSE 0 END";
+
+    private static final String SELECT_SQL =
+            "SELECT id, name, status, budgeted_cost, actual_cost, actual_cost - budgeted_cost AS overrun, " +
+            VARIANCE_EXPR + " AS variance FROM projects";
+
+    private static final String OVER_BUDGET_WHERE = " WHERE budgeted_cost > 0 AND actual_cost > budgeted_cost";
+
+    // Sortable API properties mapped to SQL expressions; anything else is rejected
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "variance", "variance",
+            "overrun", "overrun",
+            "name", "name",
+            "actualCost", "actual_cost",
+            "budgetedCost", "budgeted_cost");
+
+    private static final RowMapper<ProjectBudgetStatusDto> ROW_MAPPER = (rs, rowNum) -> new ProjectBudgetStatusDto(
+            rs.getLong("id"), rs.getString("name"), rs.getString("status"), rs.getBigDecimal("budgeted_cost"),
+            rs.getBigDecimal("actual_cost"), rs.getBigDecimal("overrun"), rs.getBigDecimal("variance"));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Value("${app.financial.budget-alert-threshold-percent:0}")
+    private BigDecimal alertThresholdPercent;
+
+    public Page<ProjectBudgetStatusDto> getBudgetStatuses(boolean overBudgetOnly, Pageable pageable) {
+        String where = overBudgetOnly ? OVER_BUDGET_WHERE : "";
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM projects" + where, Long.class);
+
+        List<ProjectBudgetStatusDto> content = jdbcTemplate.query(
+                SELECT_SQL + where + orderBy(pageable.getSortOr(Sort.by(Sort.Direction.DESC, "variance"))) +
+                " LIMIT ? OFFSET ?",
+                ROW_MAPPER, pageable.getPageSize(), pageable.getOffset());
+        return new PageImpl<>(content, pageable, total != null ? total : 0);
+    }
+
+    public List<ProjectBudgetStatusDto> getTopOverBudget(int limit) {
+        return getBudgetStatuses(true, PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "variance"))).getContent();
+    }
+
+    public ProjectBudgetStatusDto getBudgetStatus(Long projectId) {
+        List<ProjectBudgetStatusDto> rows = jdbcTemplate.query(SELECT_SQL + " WHERE id = ?", ROW_MAPPER, projectId);
+        if (rows.isEmpty()) {
+            throw new CustomException("Project not found with id: " + projectId);
+        }
+        return rows.get(0);
+    }
+
+    /**
+     * Alerts once per threshold crossing. The alert flag is flipped in the same statement that finds
+     * the crossing, so overlapping sweeps or instances cannot alert twice, and it is cleared again
+     * once a project drops back under the threshold.
+     */
+    @Scheduled(cron = "${app.financial.budget-sweep-cron:0 */15 * * * *}")
+    @Transactional
+    public void sweepBudgetOverruns() {
+        List<Long> crossed = jdbcTemplate.queryForList(
+                "UPDATE projects SET budget_alert_active = TRUE WHERE budgeted_cost > 0 AND NOT budget_alert_active " +
+                "AND " + VARIANCE_EXPR + " > ? RETURNING id", Long.class, alertThresholdPercent);
+        int recovered = jdbcTemplate.update(
+                "UPDATE projects SET budget_alert_active = FALSE WHERE budget_alert_active " +
+                "AND NOT (budgeted_cost > 0 AND " + VARIANCE_EXPR + " > ?)", alertThresholdPercent);
+
+        if (crossed.isEmpty()) {
+            logger.debug("Budget sweep: no new overruns, {} recovered", recovered);
+            return;
+        }
+
+        for (Project project : projectRepository.findAllById(crossed)) {
+            BigDecimal variance = project.getActualCost().subtract(project.getBudgetedCost())
+                    .multiply(BigDecimal.valueOf(100))
+                    .divide(project.getBudgetedCost(), 2, BigDecimal.ROUND_HALF_UP);
+            notificationService.sendBudgetOverrunAlert(project, variance);
+        }
+        logger.info("Budget sweep: {} projects crossed the {}% overrun threshold, {} recovered",
+                   crossed.size(), alertThresholdPercent, recovered);
+    }
+
+    private String orderBy(Sort sort) {
+        List<String> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new CustomException("Unsupported sort property: " + order.getProperty());
+            }
+            orders.add(column + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        // Stable tie-break so pages do not overlap when sort values repeat
+        orders.add("id ASC");
+        return " ORDER BY " + String.join(", ", orders);
+    }
+}
@@ -0,0 +1,74 @@
+package com.sitemasterpro.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Keeps change_log usable as a sync feed. The triggers cannot number rows in commit order, so rows are
+ * written without a seq and the sequencer numbers them once committed: a row committing late simply
+ * gets a later seq, and a client token never skips it. Compaction drops entries superseded by a newer
+ * entry for the same entity, and purges tombstones past the retention window, advancing the horizon.
+ */
+@Service
+public class ChangeLogMaintenanceService {
+    private static final Logger logger = LoggerFactory.getLogger(ChangeLogMaintenanceService.class);
+
+    // Arbitrary advisory lock key shared by all instances
+    private static final long SEQUENCER_LOCK_KEY = 0x5379_6e63_4c6f_67L;
+
+    // Wrapping the ordered ids in a subquery makes nextval() follow id order
+    private static final String SEQUENCE_SQL =
+            "UPDATE change_log c SET seq = s.seq FROM (SELECT id, nextval('change_log_seq') AS seq FROM " +
+            "(SELECT id FROM change_log WHERE seq IS NULL ORDER BY id LIMIT ?) pending) s WHERE c.id = s.id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.sync.sequencer-batch-size:5000}")
+    private int sequencerBatchSize;
+
+    @Value("${app.sync.tombstone-retention-days:30}")
+    private int tombstoneRetentionDays;
+
+    @Scheduled(fixedDelayString = "${app.sync.sequencer-interval-ms:1000}")
+    @Transactional
+    public void sequencePendingChanges() {
+        Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, SEQUENCER_LOCK_KEY);
+        if (!Boolean.TRUE.equals(locked)) {
+            return;
+        }
+        int sequenced = jdbcTemplate.update(SEQUENCE_SQL, sequencerBatchSize);
+        if (sequenced > 0) {
+            logger.debug("Sequenced {} change log entries", sequenced);
+        }
+    }
+
+    @Scheduled(cron = "${app.sync.compaction-cron:0 45 3 * * *}")
+    @Transactional
+    public void compact() {
+        int superseded = jdbcTemplate.update(
+                "DELETE FROM change_log c USING change_log n WHERE n.entity_type = c.entity_type " +
+                "AND n.entity_id = c.entity_id AND n.project_id IS NOT DISTINCT FROM c.project_id " +
+                "AND c.seq IS NOT NULL AND n.seq > c.seq");
+
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(tombstoneRetentionDays));
+        Long purgedUpTo = jdbcTemplate.queryForObject(
+                "WITH purged AS (DELETE FROM change_log WHERE operation = 'D' AND seq IS NOT NULL AND changed_at < ? " +
+                "RETURNING seq) SELECT MAX(seq) FROM purged", Long.class, cutoff);
+        if (purgedUpTo != null) {
+            jdbcTemplate.update("UPDATE sync_state SET horizon = GREATEST(horizon, ?) WHERE id = 1", purgedUpTo);
+        }
+
+        logger.info("Change log compacted: {} superseded entries removed, tombstones purged up to seq {}",
+                   superseded, purgedUpTo != null ? purgedUpTo : "none");
+    }
+}
@@ -0,0 +1,15 @@
+package com.sitemasterpro.service;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries realtime messages between application nodes when each node runs its own simple broker
+ * ({@code app.websocket.broker.mode=cluster}). Every message published by a node, including its own,
+ * is handed to the listeners of every node.
+ */
+public interface ClusterRelayTransport {
+
+    void publish(String message);
+
+    void subscribe(Consumer<String> listener);
+}
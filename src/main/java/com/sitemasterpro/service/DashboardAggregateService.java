@@ -0,0 +1,310 @@
+package com.sitemasterpro.service;
+
+import com.sitemasterpro.dto.DashboardDto;
+import com.sitemasterpro.entity.Material;
+import com.sitemasterpro.entity.Project;
+import com.sitemasterpro.repository.FinancialTransactionRepository;
+import com.sitemasterpro.repository.MaterialRepository;
+import com.sitemasterpro.repository.ProjectRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * In-memory dashboard aggregates. Seeded once from aggregate queries at startup and then
+ * maintained by the project, inventory and financial write paths after their transactions commit,
+ * so dashboard reads never touch the database.
+ */
+@Service
+public class DashboardAggregateService {
+    private static final Logger logger = LoggerFactory.getLogger(DashboardAggregateService.class);
+    private static final int RECENT_PROJECT_COUNT = 5;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private MaterialRepository materialRepository;
+
+    @Autowired
+    private FinancialTransactionRepository financialTransactionRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Guarded by this
+    private final NavigableMap<Long, ProjectState> projects = new TreeMap<>();
+    private final Set<Long> lowStockMaterialIds = new HashSet<>();
+    private BigDecimal totalRevenue = BigDecimal.ZERO;
+    private BigDecimal totalCost = BigDecimal.ZERO;
+    private long activeProjects;
+    private long overdueProjects;
+    private long pendingApprovals;
+    private LocalDate overdueAsOf = LocalDate.now();
+
+    // Bumped at the start of every rebuild; see applyCommitted
+    private volatile long generation;
+
+    private volatile Map<String, Object> snapshot = Collections.emptyMap();
+
+    // Read from the published snapshot, so a scrape never takes the aggregate lock or queries the database
+    @PostConstruct
+    public void registerMetrics() {
+        registerGauge("finance.approvals.pending", "pendingApprovals", "Financial transactions waiting for approval");
+        registerGauge("inventory.materials.low.stock", "lowStockItems", "Active materials at or below their minimum stock level");
+        registerGauge("projects.active", "activeProjects", "Projects in progress");
+        registerGauge("projects.overdue", "overdueProjects", "Unfinished projects past their end date");
+    }
+
+    private void registerGauge(String name, String snapshotKey, String description) {
+        Gauge.builder(name, this, service -> ((Number) service.snapshot.getOrDefault(snapshotKey, 0)).doubleValue())
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        rebuild();
+    }
+
+    // Corrects any drift from writes that bypass the services (SQL scripts, manual fixes)
+    @Scheduled(cron = "${app.dashboard.reconcile-cron:0 0 * * * *}")
+    public void reconcile() {
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        generation++;
+        projects.clear();
+        lowStockMaterialIds.clear();
+        totalRevenue = BigDecimal.ZERO;
+        totalCost = BigDecimal.ZERO;
+        activeProjects = 0;
+        overdueProjects = 0;
+        overdueAsOf = LocalDate.now();
+
+        for (Object[] row : projectRepository.findDashboardRows()) {
+            ProjectState state = new ProjectState((Long) row[0], (String) row[1], (String) row[2],
+                    (Project.ProjectStatus) row[3], (LocalDate) row[4], (BigDecimal) row[5],
+                    (BigDecimal) row[6], (BigDecimal) row[7]);
+            projects.put(state.id, state);
+            add(state, 1);
+        }
+        lowStockMaterialIds.addAll(materialRepository.findLowStockMaterialIds());
+        pendingApprovals = financialTransactionRepository.countByApprovedFalse();
+
+        publishSnapshot();
+        logger.info("Dashboard aggregates rebuilt: {} projects, {} low stock materials, {} pending approvals",
+                   projects.size(), lowStockMaterialIds.size(), pendingApprovals);
+    }
+
+    public Map<String, Object> getSnapshot() {
+        return snapshot;
+    }
+
+    public void onProjectSaved(Project project) {
+        ProjectState state = new ProjectState(project.getId(), project.getName(), project.getLocation(),
+                project.getStatus(), project.getEndDate(), project.getActualRevenue(), project.getActualCost(),
+                project.getCompletionPercentage());
+        afterCommit(() -> applyProject(state));
+    }
+
+    public void onProjectFinancialsChanged(Long projectId, BigDecimal revenueDelta, BigDecimal costDelta) {
+        afterCommit(() -> applyProjectFinancials(projectId, revenueDelta, costDelta));
+    }
+
+    public void onProjectDeleted(Long projectId) {
+        afterCommit(() -> removeProject(projectId));
+    }
+
+    public void onMaterialChanged(Material material) {
+        Long materialId = material.getId();
+        boolean lowStock = Boolean.TRUE.equals(material.getActive()) && material.isLowStock();
+        afterCommit(() -> applyMaterial(materialId, lowStock));
+    }
+
+    public void onPendingApprovalsChanged(int delta) {
+        afterCommit(() -> applyPendingApprovals(delta));
+    }
+
+    // Overdue status changes with the calendar, not only with writes
+    @Scheduled(cron = "5 0 0 * * *")
+    public synchronized void refreshOverdueProjects() {
+        overdueAsOf = LocalDate.now();
+        overdueProjects = projects.values().stream().filter(state -> state.isOverdue(overdueAsOf)).count();
+        publishSnapshot();
+    }
+
+    private synchronized void applyProject(ProjectState state) {
+        ProjectState previous = projects.get(state.id);
+        if (previous != null) {
+            // Financial totals only move through onProjectFinancialsChanged; the saved entity may carry stale ones
+            state = state.withFinancials(previous.actualRevenue, previous.actualCost);
+            add(previous, -1);
+        }
+        projects.put(state.id, state);
+        add(state, 1);
+        publishSnapshot();
+    }
+
+    private synchronized void applyProjectFinancials(Long projectId, BigDecimal revenueDelta, BigDecimal costDelta) {
+        ProjectState previous = projects.get(projectId);
+        if (previous == null) {
+            return;
+        }
+        ProjectState state = previous.withFinancials(previous.actualRevenue.add(revenueDelta),
+                previous.actualCost.add(costDelta));
+        projects.put(projectId, state);
+        add(previous, -1);
+        add(state, 1);
+        publishSnapshot();
+    }
+
+    private synchronized void removeProject(Long projectId) {
+        ProjectState previous = projects.remove(projectId);
+        if (previous != null) {
+            add(previous, -1);
+            publishSnapshot();
+        }
+    }
+
+    private synchronized void applyMaterial(Long materialId, boolean lowStock) {
+        boolean changed = lowStock ? lowStockMaterialIds.add(materialId) : lowStockMaterialIds.remove(materialId);
+        if (changed) {
+            publishSnapshot();
+        }
+    }
+
+    private synchronized void applyPendingApprovals(int delta) {
+        pendingApprovals = Math.max(0, pendingApprovals + delta);
+        publishSnapshot();
+    }
+
+    private void add(ProjectState state, int sign) {
+        BigDecimal factor = BigDecimal.valueOf(sign);
+        totalRevenue = totalRevenue.add(state.actualRevenue.multiply(factor));
+        totalCost = totalCost.add(state.actualCost.multiply(factor));
+        if (state.status == Project.ProjectStatus.IN_PROGRESS) {
+            activeProjects += sign;
+        }
+        if (state.isOverdue(overdueAsOf)) {
+            overdueProjects += sign;
+        }
+    }
+
+    private void publishSnapshot() {
+        List<DashboardDto.ProjectSummary> recentProjects = new ArrayList<>(RECENT_PROJECT_COUNT);
+        for (ProjectState state : projects.descendingMap().values()) {
+            if (recentProjects.size() == RECENT_PROJECT_COUNT) {
+                break;
+            }
+            recentProjects.add(state.toSummary());
+        }
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("totalProjects", projects.size());
+        data.put("activeProjects", activeProjects);
+        data.put("totalRevenue", totalRevenue);
+        data.put("totalCost", totalCost);
+        data.put("profitMargin", calculateProfitMargin(totalRevenue, totalCost));
+        data.put("lowStockItems", lowStockMaterialIds.size());
+        data.put("pendingApprovals", pendingApprovals);
+        data.put("recentProjects", Collections.unmodifiableList(recentProjects));
+        data.put("overdueProjects", overdueProjects);
+        snapshot = Collections.unmodifiableMap(data);
+    }
+
+    private BigDecimal calculateProfitMargin(BigDecimal revenue, BigDecimal cost) {
+        if (revenue.compareTo(BigDecimal.ZERO) == 0) {
+            return BigDecimal.ZERO;
+        }
+        return revenue.subtract(cost).divide(revenue, 4, BigDecimal.ROUND_HALF_UP).multiply(BigDecimal.valueOf(100));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyCommitted(generation, action);
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Applies a change that committed while {@code committedIn} was the current generation. If a rebuild has
+     * started since then, its aggregate queries already saw the commit and the change is dropped rather than
+     * counted twice. A commit that lands while a rebuild's queries are running can still be counted by both;
+     * that drift is limited to the few writes in that window and is corrected by the next reconcile.
+     */
+    private synchronized void applyCommitted(long committedIn, Runnable action) {
+        if (committedIn != generation) {
+            logger.debug("Dropping dashboard change committed before the last rebuild");
+            return;
+        }
+        action.run();
+    }
+
+    private static final class ProjectState {
+        private final Long id;
+        private final String name;
+        private final String location;
+        private final Project.ProjectStatus status;
+        private final LocalDate endDate;
+        private final BigDecimal actualRevenue;
+        private final BigDecimal actualCost;
+        private final BigDecimal completionPercentage;
+
+        private ProjectState(Long id, String name, String location, Project.ProjectStatus status, LocalDate endDate,
+                             BigDecimal actualRevenue, BigDecimal actualCost, BigDecimal completionPercentage) {
+            this.id = id;
+            this.name = name;
+            this.location = location;
+            this.status = status;
+            this.endDate = endDate;
+            this.actualRevenue = actualRevenue != null ? actualRevenue : BigDecimal.ZERO;
+            this.actualCost = actualCost != null ? actualCost : BigDecimal.ZERO;
+            this.completionPercentage = completionPercentage;
+        }
+
+        private ProjectState withFinancials(BigDecimal revenue, BigDecimal cost) {
+            return new ProjectState(id, name, location, status, endDate, revenue, cost, completionPercentage);
+        }
+
+        private boolean isOverdue(LocalDate today) {
+            return endDate != null && endDate.isBefore(today) && status != Project.ProjectStatus.COMPLETED;
+        }
+
+        private DashboardDto.ProjectSummary toSummary() {
+            BigDecimal profitMargin = actualRevenue.compareTo(BigDecimal.ZERO) == 0 ? BigDecimal.ZERO
+                    : actualRevenue.subtract(actualCost).divide(actualRevenue, 4, BigDecimal.ROUND_HALF_UP)
+                            .multiply(BigDecimal.valueOf(100));
+            return new DashboardDto.ProjectSummary(id, name, location, completionPercentage,
+                    status != null ? status.name() : null, profitMargin);
+        }
+    }
+}
@@ -1,13 +1,25 @@
 package com.sitemasterpro.service;
 
+import com.sitemasterpro.dto.FinancialTransactionSummaryDto;
+import com.sitemasterpro.dto.ProjectFinancialSummaryDto;
+import com.sitemasterpro.dto.ProjectSummaryDto;
 import com.sitemasterpro.entity.FinancialTransaction;
 import com.sitemasterpro.entity.Project;
 import com.sitemasterpro.exception.CustomException;
+import com.sitemasterpro.profiling.FinancialApprovalEvent;
 import com.sitemasterpro.repository.FinancialTransactionRepository;
+import com.sitemasterpro.repository.ProjectRepository;
+import com.sitemasterpro.util.PageableUtil;
+import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,29 +27,62 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Service
 @Transactional
 public class FinancialService {
     private static final Logger logger = LoggerFactory.getLogger(FinancialService.class);
 
+    // Sortable properties of FinancialTransactionSummaryDto
+    private static final Set<String> TRANSACTION_SORTS =
+            Set.of("id", "transactionDate", "amount", "type", "category", "projectName");
+
     @Autowired
     private FinancialTransactionRepository transactionRepository;
 
     @Autowired
     private ProjectService projectService;
 
+    @Autowired
+    private ProjectRepository projectRepository;
+
     @Autowired
     private AuditService auditService;
 
     @Autowired
-    private SimpMessagingTemplate messagingTemplate;
+    private DashboardAggregateService dashboardAggregateService;
+
+    @Autowired
+    private ProjectFinancialRollupService rollupService;
+
+    @Autowired
+    private BudgetAnalyticsService budgetAnalyticsService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private OperationMetrics operationMetrics;
+
+    @Autowired
+    private AuthService authService;
 
     public FinancialTransaction recordTransaction(FinancialTransaction transaction) {
+        return operationMetrics.record(OperationMetrics.FINANCIAL_TRANSACTIONS, "record", () -> record(transaction));
+    }
+
+    public FinancialTransaction updateTransaction(FinancialTransaction transaction) {
+        return operationMetrics.record(OperationMetrics.FINANCIAL_TRANSACTIONS, "update", () -> update(transaction));
+    }
+
+    private FinancialTransaction record(FinancialTransaction transaction) {
         validateTransaction(transaction);
         
         FinancialTransaction savedTransaction = transactionRepository.save(transaction);
+        if (!savedTransaction.getApproved()) {
+            dashboardAggregateService.onPendingApprovalsChanged(1);
+        }
         
         auditService.logAction("CREATE_FINANCIAL_TRANSACTION", "FinancialTransaction", 
                               savedTransaction.getId(), null, 
@@ -46,13 +91,10 @@ public class FinancialService {
                                           transaction.getAmount()));
         
         // Update project financials
-        updateProjectFinancialsFromTransaction(savedTransaction);
+        rollupService.add(savedTransaction);
         
         // Notify via WebSocket
-        messagingTemplate.convertAndSend("/topic/financial-updates", 
-                String.format("New %s transaction: %s - %s", 
-                            transaction.getType(), transaction.getAmount(), 
-                            transaction.getDescription()));
+        notificationService.sendFinancialTransactionUpdate(savedTransaction);
         
         logger.info("Financial transaction recorded: {} {} for project {}", 
                    transaction.getType(), transaction.getAmount(), 
@@ -61,12 +103,14 @@ public class FinancialService {
         return savedTransaction;
     }
 
-    public FinancialTransaction updateTransaction(FinancialTransaction transaction) {
+    private FinancialTransaction update(FinancialTransaction transaction) {
         FinancialTransaction existingTransaction = getTransactionById(transaction.getId());
         String oldValues = String.format("amount: %s, description: %s, approved: %s", 
                                         existingTransaction.getAmount(), 
                                         existingTransaction.getDescription(),
                                         existingTransaction.getApproved());
+        ProjectFinancialRollupService.Contribution previousContribution = rollupService.contributionOf(existingTransaction);
+        boolean wasApproved = existingTransaction.getApproved();
 
         FinancialTransaction updatedTransaction = transactionRepository.save(transaction);
         
@@ -78,10 +122,11 @@ public class FinancialService {
         auditService.logAction("UPDATE_FINANCIAL_TRANSACTION", "FinancialTransaction", 
                               transaction.getId(), oldValues, newValues);
         
-        // Update project financials if approval status changed
-        if (!existingTransaction.getApproved().equals(updatedTransaction.getApproved())) {
-            updateProjectFinancialsFromTransaction(updatedTransaction);
+        // existingTransaction is the same managed instance as updatedTransaction, so compare against the captured state
+        if (wasApproved != updatedTransaction.getApproved()) {
+            dashboardAggregateService.onPendingApprovalsChanged(updatedTransaction.getApproved() ? -1 : 1);
         }
+        rollupService.replace(previousContribution, updatedTransaction);
         
         return updatedTransaction;
     }
@@ -95,8 +140,21 @@ public class FinancialService {
         return transactionRepository.findByProjectId(projectId);
     }
 
+    // For the financial view, which renders each row's references
     public List<FinancialTransaction> getPendingApprovalTransactions() {
-        return transactionRepository.findByApprovedFalse();
+        return transactionRepository.findWithReferencesByApprovedFalse();
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<FinancialTransactionSummaryDto> getTransactionsByProject(Long projectId, Pageable pageable) {
+        return transactionRepository.findSummariesByProjectId(projectId, transactionPage(pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<FinancialTransactionSummaryDto> getPendingApprovalTransactions(Pageable pageable) {
+        // Oldest first, so the approval queue is worked in arrival order
+        return transactionRepository.findPendingApprovalSummaries(
+                PageableUtil.restrictSort(pageable, TRANSACTION_SORTS, Sort.by("transactionDate")));
     }
 
     public List<FinancialTransaction> getApprovedTransactions() {
@@ -104,11 +162,39 @@ public class FinancialService {
     }
 
     public void approveTransaction(Long transactionId, Long approverId) {
+        recordDecision("approve", transactionId, () -> approve(transactionId, approverId));
+    }
+
+    public void rejectTransaction(Long transactionId, String reason) {
+        recordDecision("reject", transactionId, () -> reject(transactionId, reason));
+    }
+
+    private void recordDecision(String decision, Long transactionId, Runnable work) {
+        FinancialApprovalEvent event = new FinancialApprovalEvent();
+        event.decision = decision;
+        event.outcome = "error";
+        if (transactionId != null) {
+            event.transactionId = transactionId;
+        }
+        event.begin();
+        try {
+            operationMetrics.record(OperationMetrics.FINANCIAL_TRANSACTIONS, decision, work);
+            event.outcome = "success";
+        } catch (CustomException e) {
+            event.outcome = "rejected";
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    private void approve(Long transactionId, Long approverId) {
         FinancialTransaction transaction = getTransactionById(transactionId);
         
         if (transaction.getApproved()) {
             throw new CustomException("Transaction is already approved");
         }
+        ProjectFinancialRollupService.Contribution previousContribution = rollupService.contributionOf(transaction);
         
         transaction.setApproved(true);
         transaction.setApprovedAt(LocalDateTime.now());
@@ -116,23 +202,22 @@ public class FinancialService {
         // transaction.setApprovedBy(userService.getUserById(approverId));
         
         transactionRepository.save(transaction);
+        dashboardAggregateService.onPendingApprovalsChanged(-1);
         
         // Update project financials
-        updateProjectFinancialsFromTransaction(transaction);
+        rollupService.replace(previousContribution, transaction);
         
         auditService.logAction("APPROVE_TRANSACTION", "FinancialTransaction", transactionId, 
                               "approved: false", "approved: true");
         
         // Notify via WebSocket
-        messagingTemplate.convertAndSend("/topic/financial-updates", 
-                String.format("Transaction approved: %s - %s", 
-                            transaction.getAmount(), transaction.getDescription()));
+        notificationService.sendFinancialTransactionUpdate(transaction);
         
         logger.info("Financial transaction approved: {} for project {}", 
                    transaction.getId(), transaction.getProject().getName());
     }
 
-    public void rejectTransaction(Long transactionId, String reason) {
+    private void reject(Long transactionId, String reason) {
         FinancialTransaction transaction = getTransactionById(transactionId);
         transaction.setNotes(transaction.getNotes() + "\nREJECTED: " + reason);
         transactionRepository.save(transaction);
@@ -143,24 +228,6 @@ public class FinancialService {
         logger.info("Financial transaction rejected: {} - Reason: {}", transaction.getId(), reason);
     }
 
-    private void updateProjectFinancialsFromTransaction(FinancialTransaction transaction) {
-        if (!transaction.getApproved()) {
-            return; // Only approved transactions affect project financials
-        }
-
-        Project project = transaction.getProject();
-        
-        if (transaction.getType() == FinancialTransaction.TransactionType.INCOME) {
-            BigDecimal newRevenue = calculateProjectRevenue(project.getId());
-            project.setActualRevenue(newRevenue);
-        } else {
-            BigDecimal newCost = calculateProjectCost(project.getId());
-            project.setActualCost(newCost);
-        }
-        
-        projectService.updateProject(project);
-    }
-
     private void validateTransaction(FinancialTransaction transaction) {
         if (transaction.getProject() == null) {
             throw new CustomException("Project is required for financial transaction");
@@ -173,75 +240,78 @@ public class FinancialService {
         }
     }
 
+    /**
+     * Guard for the per-project figures served from the rollup, which has a zero row for any id: unknown
+     * projects are a 404 and projects outside the caller's assignments a 403.
+     */
+    @Transactional(readOnly = true)
+    public void requireProject(Long projectId) {
+        if (projectId == null || !projectRepository.existsById(projectId)) {
+            throw new EntityNotFoundException("Project not found with id: " + projectId);
+        }
+        if (!authService.canAccessProject(projectId)) {
+            throw new AccessDeniedException("Access denied to project " + projectId);
+        }
+    }
+
+    public ProjectFinancialSummaryDto getProjectFinancialSummary(Long projectId) {
+        return rollupService.getSummary(projectId);
+    }
+
     public BigDecimal calculateProjectRevenue(Long projectId) {
-        BigDecimal revenue = transactionRepository.sumAmountByProjectAndType(
-                projectId, FinancialTransaction.TransactionType.INCOME);
-        return revenue != null ? revenue : BigDecimal.ZERO;
+        return rollupService.getSummary(projectId).getRevenue();
     }
 
     public BigDecimal calculateProjectCost(Long projectId) {
-        BigDecimal cost = transactionRepository.sumAmountByProjectAndType(
-                projectId, FinancialTransaction.TransactionType.EXPENSE);
-        return cost != null ? cost : BigDecimal.ZERO;
+        return rollupService.getSummary(projectId).getCost();
     }
 
     public BigDecimal calculateProjectProfitMargin(Long projectId) {
-        BigDecimal revenue = calculateProjectRevenue(projectId);
-        BigDecimal cost = calculateProjectCost(projectId);
-        
-        if (revenue.compareTo(BigDecimal.ZERO) == 0) {
-            return BigDecimal.ZERO;
-        }
-        
-        BigDecimal profit = revenue.subtract(cost);
-        return profit.divide(revenue, 4, BigDecimal.ROUND_HALF_UP).multiply(BigDecimal.valueOf(100));
+        return rollupService.getSummary(projectId).getProfitMargin();
     }
 
     public Map<FinancialTransaction.Category, BigDecimal> getExpensesByCategory(Long projectId) {
-        List<FinancialTransaction> expenses = transactionRepository.findByProjectId(projectId)
-                .stream()
-                .filter(t -> t.getType() == FinancialTransaction.TransactionType.EXPENSE)
-                .filter(FinancialTransaction::getApproved)
-                .collect(Collectors.toList());
-
-        return expenses.stream()
-                .collect(Collectors.groupingBy(
-                        FinancialTransaction::getCategory,
-                        Collectors.reducing(BigDecimal.ZERO, 
-                                          FinancialTransaction::getAmount, 
-                                          BigDecimal::add)
-                ));
+        return rollupService.getSummary(projectId).getCostByCategory();
     }
 
     public BigDecimal calculateCostByCategory(Long projectId, FinancialTransaction.Category category) {
-        BigDecimal cost = transactionRepository.sumAmountByProjectAndCategory(projectId, category);
-        return cost != null ? cost : BigDecimal.ZERO;
+        return rollupService.getSummary(projectId).getCostByCategory().getOrDefault(category, BigDecimal.ZERO);
     }
 
+    // For the transactions view, which renders each row's references
     public List<FinancialTransaction> getTransactionsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return transactionRepository.findByDateRange(startDate, endDate);
+        return transactionRepository.findWithReferencesByDateRange(startDate, endDate);
     }
 
-    public BigDecimal calculateBudgetVariance(Long projectId) {
-        Project project = projectService.getProjectById(projectId);
-        BigDecimal actualCost = calculateProjectCost(projectId);
-        
-        if (project.getBudgetedCost().compareTo(BigDecimal.ZERO) == 0) {
-            return BigDecimal.ZERO;
+    @Transactional(readOnly = true)
+    public Slice<FinancialTransactionSummaryDto> getTransactionsByDateRange(LocalDateTime startDate, LocalDateTime endDate,
+                                                                          Pageable pageable) {
+        Pageable page = transactionPage(pageable);
+        List<Long> accessible = authService.getCurrentUserAccessibleProjectIds();
+        if (accessible == null) {
+            return transactionRepository.findSummariesByDateRange(startDate, endDate, page);
         }
-        
-        BigDecimal variance = actualCost.subtract(project.getBudgetedCost());
-        return variance.divide(project.getBudgetedCost(), 4, BigDecimal.ROUND_HALF_UP)
-                      .multiply(BigDecimal.valueOf(100));
+        return accessible.isEmpty() ? new SliceImpl<>(List.of(), page, false)
+                : transactionRepository.findSummariesByDateRangeAndProjectIds(startDate, endDate, accessible, page);
+    }
+
+    public BigDecimal calculateBudgetVariance(Long projectId) {
+        return budgetAnalyticsService.getBudgetStatus(projectId).getVariancePercent();
     }
 
     public boolean isProjectOverBudget(Long projectId) {
-        return calculateBudgetVariance(projectId).compareTo(BigDecimal.ZERO) > 0;
+        return budgetAnalyticsService.getBudgetStatus(projectId).isOverBudget();
     }
 
     public List<Project> getProjectsOverBudget() {
-        return projectService.getAllProjects().stream()
-                .filter(project -> isProjectOverBudget(project.getId()))
-                .collect(Collectors.toList());
+        return projectService.getProjectsOverBudget();
+    }
+
+    public Page<ProjectSummaryDto> getProjectsOverBudget(Pageable pageable) {
+        return projectService.getProjectsOverBudget(pageable);
+    }
+
+    private Pageable transactionPage(Pageable pageable) {
+        return PageableUtil.restrictSort(pageable, TRANSACTION_SORTS, Sort.by(Sort.Direction.DESC, "transactionDate"));
     }
 }
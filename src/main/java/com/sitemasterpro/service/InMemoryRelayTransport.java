@@ -0,0 +1,48 @@
+package com.sitemasterpro.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Stand-in relay that connects all application contexts running in the same JVM, so cluster mode
+ * can be exercised (e.g. two contexts in one test) without PostgreSQL. Each context's transport
+ * joins a JVM-wide list while its context is running and leaves it when the context closes.
+ */
+@Component
+@ConditionalOnExpression("'${app.websocket.broker.mode:simple}' == 'cluster' && '${app.websocket.broker.cluster.transport:postgres}' == 'in-memory'")
+public class InMemoryRelayTransport implements ClusterRelayTransport {
+
+    private static final List<InMemoryRelayTransport> nodes = new CopyOnWriteArrayList<>();
+
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    @PostConstruct
+    public void join() {
+        nodes.add(this);
+    }
+
+    @PreDestroy
+    public void leave() {
+        nodes.remove(this);
+    }
+
+    @Override
+    public void publish(String message) {
+        for (InMemoryRelayTransport node : nodes) {
+            for (Consumer<String> listener : node.listeners) {
+                listener.accept(message);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+}
@@ -1,28 +1,75 @@
 package com.sitemasterpro.service;
 
+import com.sitemasterpro.dto.BulkStockMovementRequest;
+import com.sitemasterpro.dto.BulkStockMovementResultDto;
+import com.sitemasterpro.dto.InventoryTransactionSummaryDto;
+import com.sitemasterpro.dto.MaterialSummaryDto;
+import com.sitemasterpro.dto.StockMovementLineDto;
+import com.sitemasterpro.dto.SupplierSummaryDto;
 import com.sitemasterpro.entity.InventoryTransaction;
 import com.sitemasterpro.entity.Material;
+import com.sitemasterpro.entity.Project;
 import com.sitemasterpro.entity.Supplier;
 import com.sitemasterpro.exception.CustomException;
+import com.sitemasterpro.profiling.StockMovementEvent;
 import com.sitemasterpro.repository.InventoryTransactionRepository;
 import com.sitemasterpro.repository.MaterialRepository;
+import com.sitemasterpro.repository.ProjectRepository;
 import com.sitemasterpro.repository.SupplierRepository;
+import com.sitemasterpro.repository.UserRepository;
+import com.sitemasterpro.util.PageableUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class InventoryService {
     private static final Logger logger = LoggerFactory.getLogger(InventoryService.class);
 
+    // Sortable properties of the list projections
+    private static final Set<String> MATERIAL_SORTS =
+            Set.of("id", "name", "unit", "currentStock", "minStockLevel", "unitPrice", "updatedAt");
+    private static final Set<String> SUPPLIER_SORTS = Set.of("id", "name", "contactPerson");
+    private static final Set<String> TRANSACTION_SORTS =
+            Set.of("id", "transactionDate", "type", "quantity", "totalAmount", "projectName", "materialName", "supplierName");
+
+    private static final String INSERT_TRANSACTION_SQL =
+            "INSERT INTO inventory_transactions (project_id, material_id, supplier_id, type, quantity, unit_price, " +
+            "total_amount, purchase_order_reference, issued_to, notes, transaction_date, created_by, client_ref) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+
     @Autowired
     private MaterialRepository materialRepository;
 
@@ -32,6 +79,12 @@ public class InventoryService {
     @Autowired
     private InventoryTransactionRepository transactionRepository;
 
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
     @Autowired
     private AuditService auditService;
 
@@ -39,11 +92,41 @@ public class InventoryService {
     private NotificationService notificationService;
 
     @Autowired
-    private SimpMessagingTemplate messagingTemplate;
+    private DashboardAggregateService dashboardAggregateService;
+
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    @Autowired
+    private OperationMetrics operationMetrics;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Counter rejectedStockOuts;
+    private DistributionSummary bulkMovementLines;
+
+    @PostConstruct
+    public void registerMetrics() {
+        rejectedStockOuts = Counter.builder("inventory.stock.out.rejected")
+                .description("Stock-outs and bulk stock-out lines refused, mostly for insufficient stock")
+                .register(meterRegistry);
+        bulkMovementLines = DistributionSummary.builder("inventory.bulk.lines")
+                .description("Lines per bulk stock movement request")
+                .baseUnit("lines")
+                .register(meterRegistry);
+    }
 
     // Material Management
     public Material createMaterial(Material material) {
         Material savedMaterial = materialRepository.save(material);
+        dashboardAggregateService.onMaterialChanged(savedMaterial);
         logger.info("Material created: {}", savedMaterial.getName());
         
         auditService.logAction("CREATE_MATERIAL", "Material", savedMaterial.getId(), 
@@ -58,7 +141,19 @@ public class InventoryService {
                                         existingMaterial.getName(), existingMaterial.getUnitPrice(), 
                                         existingMaterial.getCurrentStock());
 
-        Material updatedMaterial = materialRepository.save(material);
+        // Stock only changes through the ledger, so an edit never writes back a stale currentStock
+        existingMaterial.setName(material.getName());
+        existingMaterial.setDescription(material.getDescription());
+        existingMaterial.setUnit(material.getUnit());
+        existingMaterial.setUnitPrice(material.getUnitPrice());
+        existingMaterial.setMinStockLevel(material.getMinStockLevel());
+        existingMaterial.setMaxStockLevel(material.getMaxStockLevel());
+        if (material.getActive() != null) {
+            existingMaterial.setActive(material.getActive());
+        }
+
+        Material updatedMaterial = materialRepository.save(existingMaterial);
+        dashboardAggregateService.onMaterialChanged(updatedMaterial);
         
         String newValues = String.format("name: %s, unitPrice: %s, currentStock: %s", 
                                         updatedMaterial.getName(), updatedMaterial.getUnitPrice(), 
@@ -86,6 +181,18 @@ public class InventoryService {
         return materialRepository.findLowStockMaterials();
     }
 
+    @Transactional(readOnly = true)
+    public Page<MaterialSummaryDto> getActiveMaterials(Pageable pageable) {
+        return materialRepository.findActiveSummaries(
+                PageableUtil.restrictSort(pageable, MATERIAL_SORTS, Sort.by("name")));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<MaterialSummaryDto> getLowStockMaterials(Pageable pageable) {
+        return materialRepository.findLowStockSummaries(
+                PageableUtil.restrictSort(pageable, MATERIAL_SORTS, Sort.by("name")));
+    }
+
     // Supplier Management
     public Supplier createSupplier(Supplier supplier) {
         Supplier savedSupplier = supplierRepository.save(supplier);
@@ -127,8 +234,74 @@ public class InventoryService {
         return supplierRepository.findByActiveTrue();
     }
 
+    @Transactional(readOnly = true)
+    public Page<SupplierSummaryDto> getActiveSuppliers(Pageable pageable) {
+        return supplierRepository.findActiveSummaries(
+                PageableUtil.restrictSort(pageable, SUPPLIER_SORTS, Sort.by("name")));
+    }
+
     // Inventory Transaction Management
     public InventoryTransaction recordStockIn(InventoryTransaction transaction) {
+        return recordMovement("stock_in", transaction, event -> stockIn(transaction, event));
+    }
+
+    public InventoryTransaction recordStockOut(InventoryTransaction transaction) {
+        try {
+            return recordMovement("stock_out", transaction, event -> stockOut(transaction, event));
+        } catch (CustomException e) {
+            rejectedStockOuts.increment();
+            throw e;
+        }
+    }
+
+    public InventoryTransaction recordStockAdjustment(InventoryTransaction transaction, String reason) {
+        return recordMovement("adjustment", transaction, event -> stockAdjustment(transaction, reason, event));
+    }
+
+    private InventoryTransaction recordMovement(String operation, InventoryTransaction transaction,
+                                                Function<StockMovementEvent, InventoryTransaction> movement) {
+        StockMovementEvent event = new StockMovementEvent();
+        event.operation = operation;
+        event.outcome = "error";
+        if (transaction.getMaterial() != null && transaction.getMaterial().getId() != null) {
+            event.materialId = transaction.getMaterial().getId();
+        }
+        event.begin();
+        try {
+            InventoryTransaction recorded = operationMetrics.record(OperationMetrics.STOCK_MOVEMENTS, operation,
+                                                                    () -> movement.apply(event));
+            event.outcome = "success";
+            return recorded;
+        } catch (CustomException e) {
+            event.outcome = "rejected";
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    // Timed separately for the JFR event: under contention this is mostly the wait for the material's row lock
+    private BigDecimal tryApplyDelta(Material material, BigDecimal delta, StockMovementEvent event) {
+        event.quantity = delta.doubleValue();
+        long started = System.nanoTime();
+        try {
+            return stockLedgerService.tryApplyDelta(material, delta);
+        } finally {
+            event.ledgerTime += System.nanoTime() - started;
+        }
+    }
+
+    private BigDecimal applyDelta(Material material, BigDecimal delta, StockMovementEvent event) {
+        event.quantity = delta.doubleValue();
+        long started = System.nanoTime();
+        try {
+            return stockLedgerService.applyDelta(material, delta);
+        } finally {
+            event.ledgerTime += System.nanoTime() - started;
+        }
+    }
+
+    private InventoryTransaction stockIn(InventoryTransaction transaction, StockMovementEvent event) {
         validateTransaction(transaction);
         
         transaction.setType(InventoryTransaction.TransactionType.STOCK_IN);
@@ -136,18 +309,16 @@ public class InventoryService {
         
         // Update material stock
         Material material = transaction.getMaterial();
-        BigDecimal oldStock = material.getCurrentStock();
-        material.setCurrentStock(oldStock.add(transaction.getQuantity()));
-        materialRepository.save(material);
+        BigDecimal newStock = applyDelta(material, transaction.getQuantity(), event);
+        BigDecimal oldStock = newStock.subtract(transaction.getQuantity());
+        dashboardAggregateService.onMaterialChanged(material);
         
         auditService.logAction("STOCK_IN", "InventoryTransaction", savedTransaction.getId(), 
                               String.format("Material: %s, Old Stock: %s", material.getName(), oldStock),
                               String.format("Material: %s, New Stock: %s", material.getName(), material.getCurrentStock()));
         
         // Notify via WebSocket
-        messagingTemplate.convertAndSend("/topic/inventory-updates", 
-                String.format("Stock received: %s %s of %s", 
-                            transaction.getQuantity(), material.getUnit(), material.getName()));
+        notificationService.sendStockLevelUpdate(savedTransaction);
         
         logger.info("Stock in recorded: {} {} of {}", 
                    transaction.getQuantity(), material.getUnit(), material.getName());
@@ -155,24 +326,18 @@ public class InventoryService {
         return savedTransaction;
     }
 
-    public InventoryTransaction recordStockOut(InventoryTransaction transaction) {
+    private InventoryTransaction stockOut(InventoryTransaction transaction, StockMovementEvent event) {
         validateTransaction(transaction);
         
         Material material = transaction.getMaterial();
         
-        // Check if sufficient stock is available
-        if (material.getCurrentStock().compareTo(transaction.getQuantity()) < 0) {
-            throw new CustomException("Insufficient stock. Available: " + material.getCurrentStock() + 
-                                    " " + material.getUnit());
-        }
-        
         transaction.setType(InventoryTransaction.TransactionType.STOCK_OUT);
         InventoryTransaction savedTransaction = transactionRepository.save(transaction);
         
-        // Update material stock
-        BigDecimal oldStock = material.getCurrentStock();
-        material.setCurrentStock(oldStock.subtract(transaction.getQuantity()));
-        materialRepository.save(material);
+        // Update material stock; the ledger rejects the issue atomically if stock is insufficient
+        BigDecimal newStock = applyDelta(material, transaction.getQuantity().negate(), event);
+        BigDecimal oldStock = newStock.add(transaction.getQuantity());
+        dashboardAggregateService.onMaterialChanged(material);
         
         // Check for low stock alert
         if (material.isLowStock()) {
@@ -184,10 +349,7 @@ public class InventoryService {
                               String.format("Material: %s, New Stock: %s", material.getName(), material.getCurrentStock()));
         
         // Notify via WebSocket
-        messagingTemplate.convertAndSend("/topic/inventory-updates", 
-                String.format("Stock issued: %s %s of %s to %s", 
-                            transaction.getQuantity(), material.getUnit(), 
-                            material.getName(), transaction.getIssuedTo()));
+        notificationService.sendStockLevelUpdate(savedTransaction);
         
         logger.info("Stock out recorded: {} {} of {} to {}", 
                    transaction.getQuantity(), material.getUnit(), 
@@ -196,7 +358,8 @@ public class InventoryService {
         return savedTransaction;
     }
 
-    public InventoryTransaction recordStockAdjustment(InventoryTransaction transaction, String reason) {
+    private InventoryTransaction stockAdjustment(InventoryTransaction transaction, String reason,
+                                                 StockMovementEvent event) {
         validateTransaction(transaction);
         
         transaction.setType(InventoryTransaction.TransactionType.ADJUSTMENT);
@@ -205,11 +368,11 @@ public class InventoryService {
         
         // Update material stock
         Material material = transaction.getMaterial();
-        BigDecimal oldStock = material.getCurrentStock();
         
         // For adjustments, quantity can be positive (increase) or negative (decrease)
-        material.setCurrentStock(oldStock.add(transaction.getQuantity()));
-        materialRepository.save(material);
+        BigDecimal newStock = applyDelta(material, transaction.getQuantity(), event);
+        BigDecimal oldStock = newStock.subtract(transaction.getQuantity());
+        dashboardAggregateService.onMaterialChanged(material);
         
         auditService.logAction("STOCK_ADJUSTMENT", "InventoryTransaction", savedTransaction.getId(), 
                               String.format("Material: %s, Old Stock: %s, Reason: %s", 
@@ -223,6 +386,229 @@ public class InventoryService {
         return savedTransaction;
     }
 
+    /**
+     * Applies a batch of stock movements in one transaction. Every line is validated up front against
+     * a running per-material balance; lines that fail are reported back by index and skipped, the rest
+     * are inserted with one JDBC batch and folded into a single ledger update per material. If an issue
+     * committed since validation leaves too little stock for that update, the material's row is locked and
+     * its lines are checked again, and only the lines that no longer fit are reported. Audit rows are
+     * written per material and one summary notification is sent for the whole batch.
+     */
+    public BulkStockMovementResultDto recordBulkStockMovements(BulkStockMovementRequest request) {
+        return operationMetrics.record(OperationMetrics.STOCK_MOVEMENTS, "bulk", () -> bulkStockMovements(request));
+    }
+
+    private BulkStockMovementResultDto bulkStockMovements(BulkStockMovementRequest request) {
+        List<StockMovementLineDto> lines = request.getLines() != null ? request.getLines() : List.of();
+        bulkMovementLines.record(lines.size());
+        BulkStockMovementResultDto result = new BulkStockMovementResultDto(lines.size());
+        if (lines.isEmpty()) {
+            return result;
+        }
+
+        if (request.getCreatedById() != null && !userRepository.existsById(request.getCreatedById())) {
+            throw new CustomException("User not found with id: " + request.getCreatedById());
+        }
+
+        Set<Long> materialIds = new HashSet<>();
+        Set<Long> projectIds = new HashSet<>();
+        Set<Long> supplierIds = new HashSet<>();
+        for (StockMovementLineDto line : lines) {
+            if (line.getMaterialId() != null) {
+                materialIds.add(line.getMaterialId());
+            }
+            if (line.getProjectId() != null) {
+                projectIds.add(line.getProjectId());
+            }
+            if (line.getSupplierId() != null) {
+                supplierIds.add(line.getSupplierId());
+            }
+        }
+
+        Map<Long, Material> materials = materialRepository.findAllById(materialIds).stream()
+                .collect(Collectors.toMap(Material::getId, Function.identity()));
+        // Stock is written with SQL below, so keep Hibernate from flushing its own copy over it
+        materials.values().forEach(entityManager::detach);
+        Set<Long> existingProjects = projectRepository.findAllById(projectIds).stream()
+                .map(Project::getId).collect(Collectors.toSet());
+        Set<Long> existingSuppliers = supplierRepository.findAllById(supplierIds).stream()
+                .map(Supplier::getId).collect(Collectors.toSet());
+
+        Map<Long, BigDecimal> balances = new LinkedHashMap<>();
+        // Accepted line indices per material; ascending id order gives every batch the same row lock order
+        Map<Long, List<Integer>> accepted = new TreeMap<>();
+        for (int i = 0; i < lines.size(); i++) {
+            StockMovementLineDto line = lines.get(i);
+            String error = validateMovementLine(line, materials, existingProjects, existingSuppliers);
+            BulkStockMovementResultDto.Reason reason = BulkStockMovementResultDto.Reason.INVALID;
+            if (error == null) {
+                Material material = materials.get(line.getMaterialId());
+                BigDecimal balance = balances.getOrDefault(material.getId(), material.getCurrentStock());
+                BigDecimal newBalance = balance.add(signedQuantity(line));
+                if (newBalance.compareTo(BigDecimal.ZERO) < 0) {
+                    error = "Insufficient stock. Available: " + balance + " " + material.getUnit();
+                    reason = BulkStockMovementResultDto.Reason.INSUFFICIENT_STOCK;
+                } else {
+                    balances.put(material.getId(), newBalance);
+                    accepted.computeIfAbsent(material.getId(), id -> new ArrayList<>()).add(i);
+                }
+            }
+            if (error != null) {
+                result.addError(i, line.getMaterialId(), reason, error);
+                if (line.getType() == InventoryTransaction.TransactionType.STOCK_OUT) {
+                    rejectedStockOuts.increment();
+                }
+            }
+        }
+
+        // Stock is checked again as it is written: an issue committed since validation may have taken some of it
+        List<Material> lowStock = new ArrayList<>();
+        Iterator<Map.Entry<Long, List<Integer>>> entries = accepted.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<Long, List<Integer>> entry = entries.next();
+            Material material = materials.get(entry.getKey());
+            boolean wasLowStock = material.isLowStock();
+            // One JFR event per material, covering its ledger write
+            StockMovementEvent event = new StockMovementEvent();
+            event.operation = "bulk";
+            event.materialId = material.getId();
+            event.begin();
+            BigDecimal delta = netQuantity(lines, entry.getValue());
+            BigDecimal newStock = tryApplyDelta(material, delta, event);
+            if (newStock == null) {
+                // Lock the row and replay this material's lines against what is left, refusing those it no longer covers
+                entry.setValue(recheckStock(lines, entry.getValue(), material,
+                                            stockLedgerService.lockCurrentStock(material), result));
+                if (entry.getValue().isEmpty()) {
+                    entries.remove();
+                    event.outcome = "rejected";
+                    event.commit();
+                    continue;
+                }
+                delta = netQuantity(lines, entry.getValue());
+                newStock = applyDelta(material, delta, event);
+            }
+            event.outcome = "success";
+            event.commit();
+            BigDecimal oldStock = newStock.subtract(delta);
+            dashboardAggregateService.onMaterialChanged(material);
+            if (material.isLowStock() && !wasLowStock) {
+                lowStock.add(material);
+            }
+
+            auditService.logAction("BULK_STOCK_MOVEMENT", "Material", material.getId(),
+                                  String.format("Material: %s, Old Stock: %s", material.getName(), oldStock),
+                                  String.format("Material: %s, New Stock: %s, Lines: %d",
+                                              material.getName(), material.getCurrentStock(), entry.getValue().size()));
+        }
+        result.getErrors().sort(Comparator.comparingInt(BulkStockMovementResultDto.LineError::getLineIndex));
+
+        if (accepted.isEmpty()) {
+            return result;
+        }
+
+        List<StockMovementLineDto> applied = accepted.values().stream()
+                .flatMap(List::stream).sorted().map(lines::get).collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+        Long createdById = request.getCreatedById();
+        jdbcTemplate.batchUpdate(INSERT_TRANSACTION_SQL, applied, applied.size(), (ps, line) -> {
+            ps.setLong(1, line.getProjectId());
+            ps.setLong(2, line.getMaterialId());
+            if (line.getSupplierId() != null) {
+                ps.setLong(3, line.getSupplierId());
+            } else {
+                ps.setNull(3, Types.BIGINT);
+            }
+            ps.setString(4, line.getType().name());
+            ps.setBigDecimal(5, line.getQuantity());
+            ps.setBigDecimal(6, line.getUnitPrice());
+            ps.setBigDecimal(7, line.getQuantity().multiply(line.getUnitPrice()));
+            ps.setString(8, line.getPurchaseOrderReference());
+            ps.setString(9, line.getIssuedTo());
+            ps.setString(10, line.getNotes());
+            ps.setTimestamp(11, Timestamp.valueOf(line.getTransactionDate() != null ? line.getTransactionDate() : now));
+            if (createdById != null) {
+                ps.setLong(12, createdById);
+            } else {
+                ps.setNull(12, Types.BIGINT);
+            }
+            ps.setString(13, line.getClientRef());
+        });
+
+        result.setAppliedLines(applied.size());
+        result.setMaterialsUpdated(accepted.size());
+
+        lowStock.forEach(notificationService::sendLowStockAlert);
+        notificationService.sendBulkStockMovementSummary(result);
+
+        logger.info("Bulk stock movement recorded: {} of {} lines applied across {} materials",
+                   result.getAppliedLines(), result.getTotalLines(), result.getMaterialsUpdated());
+
+        return result;
+    }
+
+    private String validateMovementLine(StockMovementLineDto line, Map<Long, Material> materials,
+                                        Set<Long> existingProjects, Set<Long> existingSuppliers) {
+        if (line.getType() == null) {
+            return "Movement type is required";
+        }
+        if (line.getMaterialId() == null) {
+            return "Material is required for inventory transaction";
+        }
+        if (!materials.containsKey(line.getMaterialId())) {
+            return "Material not found with id: " + line.getMaterialId();
+        }
+        if (line.getProjectId() == null || !existingProjects.contains(line.getProjectId())) {
+            return "Project not found with id: " + line.getProjectId();
+        }
+        if (line.getSupplierId() != null && !existingSuppliers.contains(line.getSupplierId())) {
+            return "Supplier not found with id: " + line.getSupplierId();
+        }
+        if (line.getQuantity() == null || line.getQuantity().compareTo(BigDecimal.ZERO) <= 0) {
+            return "Quantity must be greater than zero";
+        }
+        if (line.getUnitPrice() == null || line.getUnitPrice().compareTo(BigDecimal.ZERO) < 0) {
+            return "Unit price cannot be negative";
+        }
+        if (line.getType() == InventoryTransaction.TransactionType.ADJUSTMENT && Objects.toString(line.getNotes(), "").isBlank()) {
+            return "Reason is required for stock adjustments";
+        }
+        return null;
+    }
+
+    private BigDecimal netQuantity(List<StockMovementLineDto> lines, List<Integer> indices) {
+        BigDecimal net = BigDecimal.ZERO;
+        for (Integer index : indices) {
+            net = net.add(signedQuantity(lines.get(index)));
+        }
+        return net;
+    }
+
+    // Replays a material's accepted lines, in request order, against the stock now locked for this batch
+    private List<Integer> recheckStock(List<StockMovementLineDto> lines, List<Integer> indices, Material material,
+                                       BigDecimal available, BulkStockMovementResultDto result) {
+        List<Integer> kept = new ArrayList<>();
+        BigDecimal balance = available;
+        for (Integer index : indices) {
+            BigDecimal newBalance = balance.add(signedQuantity(lines.get(index)));
+            if (newBalance.compareTo(BigDecimal.ZERO) < 0) {
+                result.addError(index, material.getId(), BulkStockMovementResultDto.Reason.INSUFFICIENT_STOCK,
+                                "Insufficient stock. Available: " + balance + " " + material.getUnit());
+                rejectedStockOuts.increment();
+            } else {
+                balance = newBalance;
+                kept.add(index);
+            }
+        }
+        return kept;
+    }
+
+    private BigDecimal signedQuantity(StockMovementLineDto line) {
+        return line.getType() == InventoryTransaction.TransactionType.STOCK_OUT
+                ? line.getQuantity().negate()
+                : line.getQuantity();
+    }
+
     private void validateTransaction(InventoryTransaction transaction) {
         if (transaction.getMaterial() == null) {
             throw new CustomException("Material is required for inventory transaction");
@@ -247,8 +633,29 @@ public class InventoryService {
         return transactionRepository.findBySupplierId(supplierId);
     }
 
+    // For the transactions view, which renders each row's references
     public List<InventoryTransaction> getTransactionsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return transactionRepository.findByDateRange(startDate, endDate);
+        return transactionRepository.findWithReferencesByDateRange(startDate, endDate);
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<InventoryTransactionSummaryDto> getTransactionsByProject(Long projectId, Pageable pageable) {
+        return transactionRepository.findSummariesByProjectId(projectId, transactionPage(pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<InventoryTransactionSummaryDto> getTransactionsByMaterial(Long materialId, Pageable pageable) {
+        return transactionRepository.findSummariesByMaterialId(materialId, transactionPage(pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<InventoryTransactionSummaryDto> getTransactionsByDateRange(LocalDateTime startDate, LocalDateTime endDate,
+                                                                          Pageable pageable) {
+        return transactionRepository.findSummariesByDateRange(startDate, endDate, transactionPage(pageable));
+    }
+
+    private Pageable transactionPage(Pageable pageable) {
+        return PageableUtil.restrictSort(pageable, TRANSACTION_SORTS, Sort.by(Sort.Direction.DESC, "transactionDate"));
     }
 
     public BigDecimal calculateMaterialConsumptionCost(Long projectId, Long materialId) {
@@ -271,9 +678,8 @@ public class InventoryService {
                 notificationService.sendLowStockAlert(material);
             }
             
-            // Notify via WebSocket
-            messagingTemplate.convertAndSend("/topic/alerts", 
-                    String.format("Low stock alert: %d materials need restocking", lowStockMaterials.size()));
+            // Per-material alerts are batched by the dispatcher, followed by the summary
+            notificationService.sendLowStockSummary(lowStockMaterials.size());
         }
     }
 }
@@ -0,0 +1,209 @@
+package com.sitemasterpro.service;
+
+import com.sitemasterpro.dto.RealtimeBatchDto;
+import com.sitemasterpro.dto.RealtimeEventDto;
+import com.sitemasterpro.profiling.NotificationSendEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Buffers realtime events per destination and sends each destination at most one batch per window.
+ * A newer event of the same type for the same entity replaces the pending one, so a burst of updates
+ * to one material or project reaches clients as its latest state. Each batch holds at most
+ * {@code max-events-per-window} events and the rest wait for the next window. A destination that
+ * falls too far behind drops its oldest events.
+ */
+@Service
+public class NotificationDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    @Autowired
+    private RealtimePublisher realtimePublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.notifications.window-ms:250}")
+    private long windowMs;
+
+    @Value("${app.notifications.max-events-per-window:200}")
+    private int maxEventsPerWindow;
+
+    @Value("${app.notifications.max-pending-per-destination:5000}")
+    private int maxPendingPerDestination;
+
+    private final Map<String, DestinationBuffer> buffers = new ConcurrentHashMap<>();
+
+    private final AtomicLong coalescedEvents = new AtomicLong();
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final AtomicLong sentBatches = new AtomicLong();
+
+    private DistributionSummary batchEvents;
+
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    public void start() {
+        Gauge.builder("notifications.destinations.pending", buffers, Map::size)
+                .description("Destinations with events waiting for the next window")
+                .register(meterRegistry);
+        FunctionCounter.builder("notifications.events.coalesced", coalescedEvents, AtomicLong::get)
+                .description("Events replaced by a newer event for the same entity before being sent")
+                .register(meterRegistry);
+        FunctionCounter.builder("notifications.events.dropped", droppedEvents, AtomicLong::get)
+                .description("Events dropped because a destination's backlog was full")
+                .register(meterRegistry);
+        FunctionCounter.builder("notifications.batches.sent", sentBatches, AtomicLong::get)
+                .register(meterRegistry);
+        batchEvents = DistributionSummary.builder("notifications.batch.events")
+                .description("Events per realtime batch sent to a destination")
+                .baseUnit("events")
+                .register(meterRegistry);
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushSafely, windowMs, windowMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(windowMs * 4, TimeUnit.MILLISECONDS);
+        flush();
+    }
+
+    public void dispatch(String destination, RealtimeEventDto event) {
+        enqueue(null, destination, event);
+    }
+
+    public void dispatchToUser(String user, String destination, RealtimeEventDto event) {
+        enqueue(user, destination, event);
+    }
+
+    private void enqueue(String user, String destination, RealtimeEventDto event) {
+        String key = user != null ? user + "|" + destination : destination;
+        // compute() keeps the add atomic with flush() removing an emptied buffer
+        buffers.compute(key, (k, buffer) -> {
+            if (buffer == null) {
+                buffer = new DestinationBuffer(user, destination);
+            }
+            buffer.add(event);
+            return buffer;
+        });
+    }
+
+    public void flush() {
+        for (String key : buffers.keySet()) {
+            DestinationBuffer buffer = buffers.get(key);
+            if (buffer == null) {
+                continue;
+            }
+            RealtimeBatchDto batch = buffer.drain();
+            buffers.computeIfPresent(key, (k, b) -> b.isEmpty() ? null : b);
+            if (batch == null) {
+                continue;
+            }
+
+            NotificationSendEvent sendEvent = new NotificationSendEvent();
+            sendEvent.begin();
+            if (buffer.user != null) {
+                realtimePublisher.publishToUser(buffer.user, buffer.destination, batch);
+            } else {
+                realtimePublisher.publish(buffer.destination, batch);
+            }
+            if (sendEvent.shouldCommit()) {
+                sendEvent.destination = buffer.destination;
+                sendEvent.toUser = buffer.user != null;
+                sendEvent.events = batch.getEvents().size();
+                sendEvent.coalesced = batch.getCoalesced();
+                sendEvent.pending = batch.getPending();
+                sendEvent.commit();
+            }
+            sentBatches.incrementAndGet();
+            batchEvents.record(batch.getEvents().size());
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // An exception would cancel the scheduled task and silently stop all realtime updates
+            logger.error("Failed to flush realtime notifications", e);
+        }
+    }
+
+    private final class DestinationBuffer {
+        private final String user;
+        private final String destination;
+        private final LinkedHashMap<String, RealtimeEventDto> pending = new LinkedHashMap<>();
+        private long sequence;
+        private int coalesced;
+
+        private DestinationBuffer(String user, String destination) {
+            this.user = user;
+            this.destination = destination;
+        }
+
+        private synchronized void add(RealtimeEventDto event) {
+            // Events without an entity are never merged
+            String key = event.getEntityId() != null ? event.getType() + ":" + event.getEntityId() : "#" + sequence++;
+            if (pending.containsKey(key)) {
+                pending.put(key, event);
+                coalesced++;
+                coalescedEvents.incrementAndGet();
+                return;
+            }
+            if (pending.size() >= maxPendingPerDestination) {
+                Iterator<RealtimeEventDto> oldest = pending.values().iterator();
+                oldest.next();
+                oldest.remove();
+                droppedEvents.incrementAndGet();
+                logger.debug("Realtime backlog for {} is full, dropped the oldest event", destination);
+            }
+            pending.put(key, event);
+        }
+
+        private synchronized RealtimeBatchDto drain() {
+            if (pending.isEmpty()) {
+                return null;
+            }
+            List<RealtimeEventDto> events = new ArrayList<>(Math.min(pending.size(), maxEventsPerWindow));
+            Iterator<RealtimeEventDto> iterator = pending.values().iterator();
+            while (iterator.hasNext() && events.size() < maxEventsPerWindow) {
+                events.add(iterator.next());
+                iterator.remove();
+            }
+            RealtimeBatchDto batch = new RealtimeBatchDto(events, coalesced, pending.size());
+            coalesced = 0;
+            return batch;
+        }
+
+        private synchronized boolean isEmpty() {
+            return pending.isEmpty();
+        }
+    }
+}
@@ -1,159 +1,242 @@
 package com.sitemasterpro.service;
 
+import com.sitemasterpro.dto.BulkStockMovementResultDto;
+import com.sitemasterpro.dto.RealtimeEventDto;
+import com.sitemasterpro.dto.RealtimeEventDto.EventType;
+import com.sitemasterpro.dto.ReportJobDto;
+import com.sitemasterpro.entity.FinancialTransaction;
+import com.sitemasterpro.entity.InventoryTransaction;
 import com.sitemasterpro.entity.Material;
 import com.sitemasterpro.entity.Project;
-import com.sitemasterpro.entity.User;
+import com.sitemasterpro.entity.ProjectMilestone;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 @Service
 public class NotificationService {
     private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
 
     @Autowired
-    private SimpMessagingTemplate messagingTemplate;
+    private NotificationDispatcher dispatcher;
+
+    @Autowired
+    private ProjectSubscriptionRegistry subscriptionRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
 
     public void sendLowStockAlert(Material material) {
-        Map<String, Object> notification = new HashMap<>();
-        notification.put("type", "LOW_STOCK_ALERT");
-        notification.put("message", String.format("Low stock alert: %s (Current: %s %s, Minimum: %s %s)", 
-                material.getName(), material.getCurrentStock(), material.getUnit(),
-                material.getMinStockLevel(), material.getUnit()));
-        notification.put("materialId", material.getId());
-        notification.put("currentStock", material.getCurrentStock());
-        notification.put("minStockLevel", material.getMinStockLevel());
-        notification.put("timestamp", LocalDateTime.now());
-        notification.put("severity", "WARNING");
-
-        messagingTemplate.convertAndSend("/topic/alerts", notification);
+        RealtimeEventDto event = new RealtimeEventDto(EventType.LOW_STOCK_ALERT, material.getId());
+        event.setName(material.getName());
+        event.setStockLevel(material.getCurrentStock());
+        event.setThreshold(material.getMinStockLevel());
+        event.setUnit(material.getUnit());
+        event.setSeverity("WARNING");
+
+        dispatcher.dispatch("/topic/alerts", event);
+        countAlert("low_stock");
         logger.warn("Low stock alert sent for material: {}", material.getName());
     }
 
+    public void sendLowStockSummary(int materialCount) {
+        RealtimeEventDto event = new RealtimeEventDto(EventType.LOW_STOCK_SUMMARY, null);
+        event.setCount((long) materialCount);
+        event.setSeverity("WARNING");
+
+        dispatcher.dispatch("/topic/alerts", event);
+    }
+
+    public void sendStockLevelUpdate(InventoryTransaction transaction) {
+        Material material = transaction.getMaterial();
+        RealtimeEventDto event = new RealtimeEventDto(EventType.STOCK_LEVEL, material.getId());
+        event.setName(material.getName());
+        event.setAction(transaction.getType().name());
+        event.setQuantity(transaction.getQuantity());
+        event.setStockLevel(material.getCurrentStock());
+        event.setUnit(material.getUnit());
+        if (transaction.getProject() != null) {
+            event.setProjectId(transaction.getProject().getId());
+        }
+
+        dispatchForProject("inventory-updates", event);
+    }
+
     public void sendBudgetOverrunAlert(Project project, BigDecimal budgetVariance) {
-        Map<String, Object> notification = new HashMap<>();
-        notification.put("type", "BUDGET_OVERRUN_ALERT");
-        notification.put("message", String.format("Budget overrun alert: Project %s is %s%% over budget", 
-                project.getName(), budgetVariance));
-        notification.put("projectId", project.getId());
-        notification.put("projectName", project.getName());
-        notification.put("budgetVariance", budgetVariance);
-        notification.put("actualCost", project.getActualCost());
-        notification.put("budgetedCost", project.getBudgetedCost());
-        notification.put("timestamp", LocalDateTime.now());
-        notification.put("severity", "CRITICAL");
-
-        messagingTemplate.convertAndSend("/topic/alerts", notification);
+        RealtimeEventDto event = new RealtimeEventDto(EventType.BUDGET_OVERRUN_ALERT, project.getId());
+        event.setProjectId(project.getId());
+        event.setName(project.getName());
+        event.setPercentage(budgetVariance);
+        event.setCost(project.getActualCost());
+        event.setBudget(project.getBudgetedCost());
+        event.setSeverity("CRITICAL");
+
+        dispatchToProject("alerts", event);
+        countAlert("budget_overrun");
         logger.error("Budget overrun alert sent for project: {}", project.getName());
     }
 
     public void sendMilestoneDelayAlert(String milestoneName, String projectName, Long projectId) {
-        Map<String, Object> notification = new HashMap<>();
-        notification.put("type", "MILESTONE_DELAY_ALERT");
-        notification.put("message", String.format("Milestone delay: %s in project %s is overdue", 
-                milestoneName, projectName));
-        notification.put("projectId", projectId);
-        notification.put("projectName", projectName);
-        notification.put("milestoneName", milestoneName);
-        notification.put("timestamp", LocalDateTime.now());
-        notification.put("severity", "HIGH");
-
-        messagingTemplate.convertAndSend("/topic/alerts", notification);
+        RealtimeEventDto event = new RealtimeEventDto(EventType.MILESTONE_DELAY_ALERT, null);
+        event.setProjectId(projectId);
+        event.setName(milestoneName);
+        event.setTitle(projectName);
+        event.setSeverity("HIGH");
+
+        dispatchToProject("alerts", event);
+        countAlert("milestone_delay");
         logger.warn("Milestone delay alert sent for milestone: {} in project: {}", milestoneName, projectName);
     }
 
     public void sendProjectStatusUpdate(Project project, String statusChange) {
-        Map<String, Object> notification = new HashMap<>();
-        notification.put("type", "PROJECT_STATUS_UPDATE");
-        notification.put("message", String.format("Project %s status changed: %s", 
-                project.getName(), statusChange));
-        notification.put("projectId", project.getId());
-        notification.put("projectName", project.getName());
-        notification.put("newStatus", project.getStatus());
-        notification.put("completionPercentage", project.getCompletionPercentage());
-        notification.put("timestamp", LocalDateTime.now());
-        notification.put("severity", "INFO");
-
-        messagingTemplate.convertAndSend("/topic/project-updates", notification);
+        RealtimeEventDto event = projectEvent(EventType.PROJECT_STATUS_UPDATE, project);
+        event.setMessage(statusChange);
+        event.setSeverity("INFO");
+
+        dispatchForProject("project-updates", event);
         logger.info("Project status update sent for project: {}", project.getName());
     }
 
+    public void sendProjectUpdate(Project project, boolean created) {
+        dispatchForProject("projects",
+                projectEvent(created ? EventType.PROJECT_CREATED : EventType.PROJECT_UPDATED, project));
+    }
+
+    public void sendProjectProgressUpdate(Project project) {
+        dispatchForProject("progress-updates", projectEvent(EventType.PROJECT_PROGRESS, project));
+    }
+
+    public void sendMilestoneStatusUpdate(ProjectMilestone milestone) {
+        RealtimeEventDto event = new RealtimeEventDto(EventType.MILESTONE_STATUS, milestone.getId());
+        event.setProjectId(milestone.getProject().getId());
+        event.setName(milestone.getName());
+        event.setStatus(milestone.getStatus().name());
+        event.setPercentage(milestone.getCompletionPercentage());
+
+        dispatchForProject("milestone-updates", event);
+    }
+
+    public void sendFinancialTransactionUpdate(FinancialTransaction transaction) {
+        RealtimeEventDto event = new RealtimeEventDto(EventType.FINANCIAL_TRANSACTION, transaction.getId());
+        event.setProjectId(transaction.getProject().getId());
+        event.setAction(transaction.getType().name());
+        event.setStatus(Boolean.TRUE.equals(transaction.getApproved()) ? "APPROVED" : "PENDING");
+        event.setAmount(transaction.getAmount());
+        event.setName(transaction.getDescription());
+
+        dispatchForProject("financial-updates", event);
+    }
+
     public void sendFinancialAlert(String type, String message, Long projectId, BigDecimal amount) {
-        Map<String, Object> notification = new HashMap<>();
-        notification.put("type", "FINANCIAL_ALERT");
-        notification.put("subType", type);
-        notification.put("message", message);
-        notification.put("projectId", projectId);
-        notification.put("amount", amount);
-        notification.put("timestamp", LocalDateTime.now());
-        notification.put("severity", "HIGH");
-
-        messagingTemplate.convertAndSend("/topic/financial-alerts", notification);
+        RealtimeEventDto event = new RealtimeEventDto(EventType.FINANCIAL_ALERT, null);
+        event.setAction(type);
+        event.setMessage(message);
+        event.setProjectId(projectId);
+        event.setAmount(amount);
+        event.setSeverity("HIGH");
+
+        dispatchForProject("financial-alerts", event);
+        countAlert("financial");
         logger.info("Financial alert sent: {}", message);
     }
 
     public void sendUserNotification(Long userId, String title, String message, String type) {
-        Map<String, Object> notification = new HashMap<>();
-        notification.put("type", "USER_NOTIFICATION");
-        notification.put("title", title);
-        notification.put("message", message);
-        notification.put("notificationType", type);
-        notification.put("userId", userId);
-        notification.put("timestamp", LocalDateTime.now());
-        notification.put("read", false);
-
-        messagingTemplate.convertAndSendToUser(userId.toString(), "/queue/notifications", notification);
+        RealtimeEventDto event = new RealtimeEventDto(EventType.USER_NOTIFICATION, null);
+        event.setTitle(title);
+        event.setMessage(message);
+        event.setAction(type);
+
+        dispatcher.dispatchToUser(userId.toString(), "/queue/notifications", event);
         logger.info("User notification sent to user ID {}: {}", userId, title);
     }
 
     public void sendBroadcastNotification(String title, String message, String type, String severity) {
-        Map<String, Object> notification = new HashMap<>();
-        notification.put("type", "BROADCAST_NOTIFICATION");
-        notification.put("title", title);
-        notification.put("message", message);
-        notification.put("notificationType", type);
-        notification.put("timestamp", LocalDateTime.now());
-        notification.put("severity", severity);
-
-        messagingTemplate.convertAndSend("/topic/broadcasts", notification);
+        RealtimeEventDto event = new RealtimeEventDto(EventType.BROADCAST_NOTIFICATION, null);
+        event.setTitle(title);
+        event.setMessage(message);
+        event.setAction(type);
+        event.setSeverity(severity);
+
+        dispatcher.dispatch("/topic/broadcasts", event);
         logger.info("Broadcast notification sent: {}", title);
     }
 
     public void sendInventoryUpdate(String action, String materialName, BigDecimal quantity, String unit) {
-        Map<String, Object> notification = new HashMap<>();
-        notification.put("type", "INVENTORY_UPDATE");
-        notification.put("action", action);
-        notification.put("message", String.format("%s: %s %s of %s", action, quantity, unit, materialName));
-        notification.put("materialName", materialName);
-        notification.put("quantity", quantity);
-        notification.put("unit", unit);
-        notification.put("timestamp", LocalDateTime.now());
-
-        messagingTemplate.convertAndSend("/topic/inventory-updates", notification);
+        RealtimeEventDto event = new RealtimeEventDto(EventType.INVENTORY_UPDATE, null);
+        event.setAction(action);
+        event.setName(materialName);
+        event.setQuantity(quantity);
+        event.setUnit(unit);
+
+        dispatcher.dispatch("/topic/inventory-updates", event);
         logger.debug("Inventory update sent: {} {} of {}", action, quantity, materialName);
     }
 
+    public void sendBulkStockMovementSummary(BulkStockMovementResultDto result) {
+        RealtimeEventDto event = new RealtimeEventDto(EventType.BULK_STOCK_MOVEMENT, null);
+        event.setCount((long) result.getAppliedLines());
+        event.setTotal((long) result.getTotalLines());
+
+        dispatcher.dispatch("/topic/inventory-updates", event);
+        logger.debug("Bulk stock movement summary sent: {} lines", result.getAppliedLines());
+    }
+
+    public void sendReportJobUpdate(ReportJobDto job) {
+        RealtimeEventDto event = new RealtimeEventDto(EventType.REPORT_JOB_UPDATE, null);
+        event.setName(job.getJobId());
+        event.setAction(job.getReportType());
+        event.setStatus(job.getStatus().name());
+        event.setCount(job.getRowsWritten());
+        event.setMessage(job.getErrorMessage());
+
+        dispatcher.dispatch("/topic/report-jobs/" + job.getJobId(), event);
+        logger.debug("Report job update sent: {} {}", job.getJobId(), job.getStatus());
+    }
+
     public void notifyRoleBasedUsers(List<String> roles, String title, String message, String type) {
-        Map<String, Object> notification = new HashMap<>();
-        notification.put("type", "ROLE_BASED_NOTIFICATION");
-        notification.put("title", title);
-        notification.put("message", message);
-        notification.put("notificationType", type);
-        notification.put("targetRoles", roles);
-        notification.put("timestamp", LocalDateTime.now());
+        RealtimeEventDto event = new RealtimeEventDto(EventType.ROLE_BASED_NOTIFICATION, null);
+        event.setTitle(title);
+        event.setMessage(message);
+        event.setAction(type);
 
         for (String role : roles) {
-            messagingTemplate.convertAndSend("/topic/role/" + role.toLowerCase(), notification);
+            dispatcher.dispatch("/topic/role/" + role.toLowerCase(), event);
         }
         
         logger.info("Role-based notification sent to roles {}: {}", roles, title);
     }
+
+    // Goes to the global topic and, if anyone on the project is listening, to the project's own topic
+    private void dispatchForProject(String channel, RealtimeEventDto event) {
+        dispatcher.dispatch("/topic/" + channel, event);
+        dispatchToProject(channel, event);
+    }
+
+    // Project alerts skip /topic/alerts: any user may subscribe to it for stock alerts, so only the
+    // access-checked project topic may carry project budgets and schedules
+    private void dispatchToProject(String channel, RealtimeEventDto event) {
+        Long projectId = event.getProjectId();
+        if (projectId != null && subscriptionRegistry.mayHaveSubscribers(projectId)) {
+            dispatcher.dispatch(ProjectSubscriptionRegistry.destination(projectId, channel), event);
+        }
+    }
+
+    // Tagged by alert kind only; per-material or per-project counts would not stay low-cardinality
+    private void countAlert(String type) {
+        meterRegistry.counter("notifications.alerts", "type", type).increment();
+    }
+
+    private RealtimeEventDto projectEvent(EventType type, Project project) {
+        RealtimeEventDto event = new RealtimeEventDto(type, project.getId());
+        event.setProjectId(project.getId());
+        event.setName(project.getName());
+        event.setStatus(project.getStatus() != null ? project.getStatus().name() : null);
+        event.setPercentage(project.getCompletionPercentage());
+        return event;
+    }
 }
@@ -0,0 +1,49 @@
+package com.sitemasterpro.service;
+
+import com.sitemasterpro.exception.CustomException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Times business operations. Each timer is tagged with the operation and its outcome:
+ * {@code success}, {@code rejected} when a business rule refused it with a {@link CustomException}
+ * (insufficient stock, an already approved transaction), or {@code error} for anything else,
+ * including attempts that StockLedgerService retries. Both tags take a small fixed set of values.
+ */
+@Component
+public class OperationMetrics {
+
+    public static final String STOCK_MOVEMENTS = "inventory.stock.movements";
+    public static final String FINANCIAL_TRANSACTIONS = "finance.transactions";
+    public static final String PROJECT_OPERATIONS = "projects.operations";
+    public static final String AUDIT_QUERIES = "audit.queries";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    public <T> T record(String timer, String operation, Supplier<T> work) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = work.get();
+            outcome = "success";
+            return result;
+        } catch (CustomException e) {
+            outcome = "rejected";
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer(timer, "operation", operation, "outcome", outcome));
+        }
+    }
+
+    public void record(String timer, String operation, Runnable work) {
+        record(timer, operation, () -> {
+            work.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,144 @@
+package com.sitemasterpro.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Relays messages between nodes with PostgreSQL LISTEN/NOTIFY, so cluster mode needs no
+ * infrastructure beyond the database every node already shares. Notifications are sent on a pooled
+ * connection of their own, outside any transaction of the caller, so they are delivered right away
+ * and a failed send cannot abort the business transaction. PostgreSQL caps a payload at 8000 bytes;
+ * larger messages are not relayed and only reach subscribers of the publishing node.
+ */
+@Component
+@ConditionalOnExpression("'${app.websocket.broker.mode:simple}' == 'cluster' && '${app.websocket.broker.cluster.transport:postgres}' == 'postgres'")
+public class PostgresRelayTransport implements ClusterRelayTransport {
+    private static final Logger logger = LoggerFactory.getLogger(PostgresRelayTransport.class);
+
+    private static final int MAX_PAYLOAD_BYTES = 7999;
+    private static final String NOTIFY_SQL = "SELECT pg_notify(?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${app.websocket.broker.cluster.channel:ws_relay}")
+    private String channel;
+
+    @Value("${app.websocket.broker.cluster.poll-timeout-ms:500}")
+    private int pollTimeoutMs;
+
+    @Value("${app.websocket.broker.cluster.reconnect-delay-ms:5000}")
+    private long reconnectDelayMs;
+
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    private Thread listenerThread;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        listenerThread = new Thread(this::listen, "ws-relay-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        listenerThread.interrupt();
+        listenerThread.join(pollTimeoutMs * 2L);
+    }
+
+    @Override
+    public void publish(String message) {
+        if (message.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+            logger.warn("Realtime message of {} characters exceeds the NOTIFY limit and is not relayed to other nodes",
+                       message.length());
+            return;
+        }
+        // Straight from the pool rather than through the JdbcTemplate, which would join the caller's transaction
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            try (PreparedStatement statement = connection.prepareStatement(NOTIFY_SQL)) {
+                statement.setString(1, channel);
+                statement.setString(2, message);
+                statement.execute();
+            }
+        } catch (SQLException e) {
+            throw jdbcTemplate.getExceptionTranslator().translate("pg_notify", NOTIFY_SQL, e);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    // Holds one connection for the lifetime of the node; it is re-established if it drops
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                logger.info("Listening for realtime messages from other nodes on channel {}", channel);
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        dispatch(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                logger.error("Realtime relay connection lost, reconnecting in {} ms", reconnectDelayMs, e);
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void dispatch(String message) {
+        for (Consumer<String> listener : listeners) {
+            try {
+                listener.accept(message);
+            } catch (RuntimeException e) {
+                logger.error("Failed to deliver relayed realtime message", e);
+            }
+        }
+    }
+}
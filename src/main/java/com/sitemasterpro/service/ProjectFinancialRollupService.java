@@ -0,0 +1,172 @@
+package com.sitemasterpro.service;
+
+import com.sitemasterpro.dto.ProjectFinancialSummaryDto;
+import com.sitemasterpro.entity.FinancialTransaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Maintains project_financial_rollups, the per-project totals behind every financial read. Writes
+ * apply the signed contribution of a transaction as an upsert in the caller's transaction, so totals
+ * never need a SUM over financial_transactions; {@link #rebuild()} recomputes them from the ledger.
+ */
+@Service
+public class ProjectFinancialRollupService {
+    private static final Logger logger = LoggerFactory.getLogger(ProjectFinancialRollupService.class);
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO project_financial_rollups AS r (project_id, type, category, approved_amount, approved_count, " +
+            "pending_amount, pending_count) VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (project_id, type, category) DO UPDATE SET " +
+            "approved_amount = r.approved_amount + EXCLUDED.approved_amount, " +
+            "approved_count = r.approved_count + EXCLUDED.approved_count, " +
+            "pending_amount = r.pending_amount + EXCLUDED.pending_amount, " +
+            "pending_count = r.pending_count + EXCLUDED.pending_count";
+
+    // Project.actualRevenue/actualCost are kept as denormalized copies for project listings
+    private static final String PROJECT_TOTALS_SQL =
+            "UPDATE projects SET actual_revenue = actual_revenue + ?, actual_cost = actual_cost + ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DashboardAggregateService dashboardAggregateService;
+
+    /**
+     * Captures what a transaction currently contributes to its project's totals. Take it before
+     * mutating a transaction and pass it to {@link #replace} afterwards.
+     */
+    public Contribution contributionOf(FinancialTransaction transaction) {
+        return new Contribution(transaction.getProject().getId(), transaction.getType(), transaction.getCategory(),
+                transaction.getAmount(), Boolean.TRUE.equals(transaction.getApproved()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(FinancialTransaction transaction) {
+        apply(contributionOf(transaction), 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void replace(Contribution before, FinancialTransaction transaction) {
+        Contribution after = contributionOf(transaction);
+        if (before.equals(after)) {
+            return;
+        }
+        apply(before, -1);
+        apply(after, 1);
+    }
+
+    @Transactional(readOnly = true)
+    public ProjectFinancialSummaryDto getSummary(Long projectId) {
+        ProjectFinancialSummaryDto summary = new ProjectFinancialSummaryDto(projectId);
+        jdbcTemplate.query(
+                "SELECT type, category, approved_amount, pending_amount, pending_count " +
+                "FROM project_financial_rollups WHERE project_id = ?",
+                rs -> {
+                    FinancialTransaction.TransactionType type = FinancialTransaction.TransactionType.valueOf(rs.getString(1));
+                    FinancialTransaction.Category category = FinancialTransaction.Category.valueOf(rs.getString(2));
+                    BigDecimal approved = rs.getBigDecimal(3);
+                    BigDecimal pending = rs.getBigDecimal(4);
+
+                    if (type == FinancialTransaction.TransactionType.INCOME) {
+                        summary.setRevenue(summary.getRevenue().add(approved));
+                        summary.setPendingIncome(summary.getPendingIncome().add(pending));
+                    } else {
+                        summary.setCost(summary.getCost().add(approved));
+                        summary.setPendingExpense(summary.getPendingExpense().add(pending));
+                        if (approved.compareTo(BigDecimal.ZERO) != 0) {
+                            summary.getCostByCategory().merge(category, approved, BigDecimal::add);
+                        }
+                    }
+                    summary.setPendingCount(summary.getPendingCount() + rs.getLong(5));
+                },
+                projectId);
+        return summary;
+    }
+
+    // Recomputes every rollup from financial_transactions, correcting drift from writes outside the services
+    @Scheduled(cron = "${app.financial.rollup-reconcile-cron:0 15 3 * * *}")
+    @Transactional
+    public void rebuild() {
+        // Blocks rollup writers (not readers) so no delta lands between the delete and the re-insert
+        jdbcTemplate.execute("LOCK TABLE project_financial_rollups IN EXCLUSIVE MODE");
+        jdbcTemplate.update("DELETE FROM project_financial_rollups");
+        int rows = jdbcTemplate.update(
+                "INSERT INTO project_financial_rollups (project_id, type, category, approved_amount, approved_count, " +
+                "pending_amount, pending_count) " +
+                "SELECT project_id, type, category, " +
+                "COALESCE(SUM(amount) FILTER (WHERE approved), 0), COUNT(*) FILTER (WHERE approved), " +
+                "COALESCE(SUM(amount) FILTER (WHERE NOT approved), 0), COUNT(*) FILTER (WHERE NOT approved) " +
+                "FROM financial_transactions GROUP BY project_id, type, category");
+        int drifted = jdbcTemplate.update(
+                "UPDATE projects p SET actual_revenue = t.revenue, actual_cost = t.cost FROM (" +
+                "SELECT pr.id, " +
+                "COALESCE(SUM(r.approved_amount) FILTER (WHERE r.type = 'INCOME'), 0) AS revenue, " +
+                "COALESCE(SUM(r.approved_amount) FILTER (WHERE r.type = 'EXPENSE'), 0) AS cost " +
+                "FROM projects pr LEFT JOIN project_financial_rollups r ON r.project_id = pr.id GROUP BY pr.id) t " +
+                "WHERE p.id = t.id AND (p.actual_revenue <> t.revenue OR p.actual_cost <> t.cost)");
+
+        if (drifted > 0) {
+            logger.warn("Financial rollup reconciliation corrected totals for {} projects", drifted);
+            dashboardAggregateService.reconcile();
+        }
+        logger.info("Financial rollups rebuilt: {} rows", rows);
+    }
+
+    private void apply(Contribution contribution, int sign) {
+        BigDecimal amount = contribution.amount.multiply(BigDecimal.valueOf(sign));
+        long count = sign;
+        jdbcTemplate.update(UPSERT_SQL, contribution.projectId, contribution.type.name(), contribution.category.name(),
+                contribution.approved ? amount : BigDecimal.ZERO, contribution.approved ? count : 0,
+                contribution.approved ? BigDecimal.ZERO : amount, contribution.approved ? 0 : count);
+
+        if (contribution.approved) {
+            boolean income = contribution.type == FinancialTransaction.TransactionType.INCOME;
+            BigDecimal revenueDelta = income ? amount : BigDecimal.ZERO;
+            BigDecimal costDelta = income ? BigDecimal.ZERO : amount;
+            jdbcTemplate.update(PROJECT_TOTALS_SQL, revenueDelta, costDelta, contribution.projectId);
+            dashboardAggregateService.onProjectFinancialsChanged(contribution.projectId, revenueDelta, costDelta);
+        }
+    }
+
+    public static final class Contribution {
+        private final Long projectId;
+        private final FinancialTransaction.TransactionType type;
+        private final FinancialTransaction.Category category;
+        private final BigDecimal amount;
+        private final boolean approved;
+
+        private Contribution(Long projectId, FinancialTransaction.TransactionType type,
+                             FinancialTransaction.Category category, BigDecimal amount, boolean approved) {
+            this.projectId = projectId;
+            this.type = type;
+            this.category = category;
+            this.amount = amount;
+            this.approved = approved;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Contribution)) return false;
+            Contribution other = (Contribution) o;
+            return approved == other.approved && Objects.equals(projectId, other.projectId) && type == other.type
+                    && category == other.category && amount.compareTo(other.amount) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(projectId, type, category, approved);
+        }
+    }
+}
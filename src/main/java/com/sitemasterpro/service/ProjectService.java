@@ -1,26 +1,38 @@
 package com.sitemasterpro.service;
 
+import com.sitemasterpro.dto.ProjectMilestoneSummaryDto;
+import com.sitemasterpro.dto.ProjectSummaryDto;
 import com.sitemasterpro.entity.Project;
 import com.sitemasterpro.entity.ProjectMilestone;
 import com.sitemasterpro.exception.CustomException;
 import com.sitemasterpro.repository.ProjectRepository;
 import com.sitemasterpro.repository.ProjectMilestoneRepository;
+import com.sitemasterpro.util.PageableUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @Transactional
 public class ProjectService {
     private static final Logger logger = LoggerFactory.getLogger(ProjectService.class);
 
+    // Sortable properties of the list projections
+    private static final Set<String> PROJECT_SORTS = Set.of("id", "name", "location", "status", "startDate", "endDate",
+            "contractValue", "budgetedCost", "actualCost", "actualRevenue", "completionPercentage");
+    private static final Set<String> MILESTONE_SORTS =
+            Set.of("id", "name", "status", "plannedStartDate", "plannedEndDate", "completionPercentage");
+
     @Autowired
     private ProjectRepository projectRepository;
 
@@ -31,29 +43,47 @@ public class ProjectService {
     private AuditService auditService;
 
     @Autowired
-    private SimpMessagingTemplate messagingTemplate;
+    private DashboardAggregateService dashboardAggregateService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private OperationMetrics operationMetrics;
+
+    @Autowired
+    private AuthService authService;
 
     public Project createProject(Project project) {
+        return operationMetrics.record(OperationMetrics.PROJECT_OPERATIONS, "create", () -> create(project));
+    }
+
+    public Project updateProject(Project project) {
+        return operationMetrics.record(OperationMetrics.PROJECT_OPERATIONS, "update", () -> update(project));
+    }
+
+    private Project create(Project project) {
         Project savedProject = projectRepository.save(project);
+        dashboardAggregateService.onProjectSaved(savedProject);
         logger.info("Project created: {}", savedProject.getName());
         
         auditService.logAction("CREATE_PROJECT", "Project", savedProject.getId(), 
                               null, "Project created: " + savedProject.getName());
         
         // Notify via WebSocket
-        messagingTemplate.convertAndSend("/topic/projects", 
-                "New project created: " + savedProject.getName());
+        notificationService.sendProjectUpdate(savedProject, true);
         
         return savedProject;
     }
 
-    public Project updateProject(Project project) {
+    private Project update(Project project) {
         Project existingProject = getProjectById(project.getId());
         String oldValues = String.format("name: %s, status: %s, completionPercentage: %s", 
                                         existingProject.getName(), existingProject.getStatus(), 
                                         existingProject.getCompletionPercentage());
 
         Project updatedProject = projectRepository.save(project);
+        dashboardAggregateService.onProjectSaved(updatedProject);
         
         String newValues = String.format("name: %s, status: %s, completionPercentage: %s", 
                                         updatedProject.getName(), updatedProject.getStatus(), 
@@ -62,8 +92,7 @@ public class ProjectService {
         auditService.logAction("UPDATE_PROJECT", "Project", project.getId(), oldValues, newValues);
         
         // Notify via WebSocket
-        messagingTemplate.convertAndSend("/topic/projects", 
-                "Project updated: " + updatedProject.getName());
+        notificationService.sendProjectUpdate(updatedProject, false);
         
         return updatedProject;
     }
@@ -89,28 +118,35 @@ public class ProjectService {
         return projectRepository.findProjectsOverBudget();
     }
 
-    public void updateProjectFinancials(Long projectId, BigDecimal actualCost, BigDecimal actualRevenue) {
-        Project project = getProjectById(projectId);
-        
-        BigDecimal oldCost = project.getActualCost();
-        BigDecimal oldRevenue = project.getActualRevenue();
-        
-        project.setActualCost(actualCost);
-        project.setActualRevenue(actualRevenue);
-        
-        projectRepository.save(project);
-        
-        auditService.logAction("UPDATE_PROJECT_FINANCIALS", "Project", projectId, 
-                              String.format("cost: %s, revenue: %s", oldCost, oldRevenue),
-                              String.format("cost: %s, revenue: %s", actualCost, actualRevenue));
-        
-        // Notify via WebSocket about financial changes
-        messagingTemplate.convertAndSend("/topic/financial-updates", 
-                String.format("Project %s financials updated - Cost: %s, Revenue: %s", 
-                            project.getName(), actualCost, actualRevenue));
+    @Transactional(readOnly = true)
+    public Page<ProjectSummaryDto> getAllProjects(String search, Project.ProjectStatus status, Pageable pageable) {
+        Pageable page = projectPage(pageable, Sort.by("name"));
+        // Matches name or location anywhere, ignoring case
+        String pattern = search == null || search.isBlank() ? null : "%" + search.trim().toLowerCase() + "%";
+        List<Long> accessible = authService.getCurrentUserAccessibleProjectIds();
+        if (accessible == null) {
+            return projectRepository.findSummaries(pattern, status, page);
+        }
+        return accessible.isEmpty() ? Page.empty(page)
+                : projectRepository.findSummariesByIdIn(accessible, pattern, status, page);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ProjectSummaryDto> getOverdueProjects(Pageable pageable) {
+        return projectRepository.findOverdueSummaries(LocalDate.now(), projectPage(pageable, Sort.by("endDate")));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ProjectSummaryDto> getProjectsOverBudget(Pageable pageable) {
+        return projectRepository.findOverBudgetSummaries(projectPage(pageable, Sort.by(Sort.Direction.DESC, "actualCost")));
     }
 
     public void updateProjectProgress(Long projectId, BigDecimal completionPercentage) {
+        operationMetrics.record(OperationMetrics.PROJECT_OPERATIONS, "progress",
+                                () -> updateProgress(projectId, completionPercentage));
+    }
+
+    private void updateProgress(Long projectId, BigDecimal completionPercentage) {
         Project project = getProjectById(projectId);
         BigDecimal oldPercentage = project.getCompletionPercentage();
         
@@ -126,14 +162,13 @@ public class ProjectService {
         }
         
         projectRepository.save(project);
+        dashboardAggregateService.onProjectSaved(project);
         
         auditService.logAction("UPDATE_PROJECT_PROGRESS", "Project", projectId, 
                               oldPercentage.toString(), completionPercentage.toString());
         
         // Notify via WebSocket
-        messagingTemplate.convertAndSend("/topic/progress-updates", 
-                String.format("Project %s progress updated to %s%%", 
-                            project.getName(), completionPercentage));
+        notificationService.sendProjectProgressUpdate(project);
     }
 
     public ProjectMilestone createMilestone(ProjectMilestone milestone) {
@@ -152,11 +187,22 @@ public class ProjectService {
         return milestoneRepository.findByProjectId(projectId);
     }
 
+    @Transactional(readOnly = true)
+    public Page<ProjectMilestoneSummaryDto> getProjectMilestones(Long projectId, Pageable pageable) {
+        return milestoneRepository.findSummariesByProjectId(projectId,
+                PageableUtil.restrictSort(pageable, MILESTONE_SORTS, Sort.by("plannedStartDate")));
+    }
+
     public List<ProjectMilestone> getOverdueMilestones() {
         return milestoneRepository.findOverdueMilestones(LocalDate.now());
     }
 
     public void updateMilestoneStatus(Long milestoneId, ProjectMilestone.MilestoneStatus status) {
+        operationMetrics.record(OperationMetrics.PROJECT_OPERATIONS, "milestone_status",
+                                () -> updateMilestone(milestoneId, status));
+    }
+
+    private void updateMilestone(Long milestoneId, ProjectMilestone.MilestoneStatus status) {
         ProjectMilestone milestone = milestoneRepository.findById(milestoneId)
                 .orElseThrow(() -> new CustomException("Milestone not found with id: " + milestoneId));
         
@@ -176,8 +222,7 @@ public class ProjectService {
                               oldStatus.toString(), status.toString());
         
         // Notify via WebSocket
-        messagingTemplate.convertAndSend("/topic/milestone-updates", 
-                String.format("Milestone %s status changed to %s", milestone.getName(), status));
+        notificationService.sendMilestoneStatusUpdate(milestone);
     }
 
     public BigDecimal calculateOverallProjectHealth() {
@@ -203,10 +248,15 @@ public class ProjectService {
     public void deleteProject(Long projectId) {
         Project project = getProjectById(projectId);
         projectRepository.delete(project);
+        dashboardAggregateService.onProjectDeleted(projectId);
         
         auditService.logAction("DELETE_PROJECT", "Project", projectId, 
                               "Project: " + project.getName(), null);
         
         logger.info("Project deleted: {}", project.getName());
     }
+
+    private Pageable projectPage(Pageable pageable, Sort defaultSort) {
+        return PageableUtil.restrictSort(pageable, PROJECT_SORTS, defaultSort);
+    }
 }
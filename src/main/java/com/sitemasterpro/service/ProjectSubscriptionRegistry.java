@@ -0,0 +1,106 @@
+package com.sitemasterpro.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Tracks which WebSocket sessions subscribe to project-scoped destinations
+ * ({@code /topic/project/{projectId}/{channel}}), indexed by project id. The broker already routes
+ * each message only to its subscribers; this index lets NotificationService skip building and
+ * batching events for projects nobody is watching.
+ */
+@Component
+public class ProjectSubscriptionRegistry {
+
+    public static final String PROJECT_TOPIC_PREFIX = "/topic/project/";
+
+    private static final Pattern PROJECT_DESTINATION = Pattern.compile("^/topic/project/(\\d+)/([a-z-]+)$");
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.websocket.broker.mode:simple}")
+    private String brokerMode;
+
+    // projectId -> sessionId -> number of that session's subscriptions to the project
+    private final Map<Long, Map<String, Integer>> sessionsByProject = new ConcurrentHashMap<>();
+
+    // sessionId -> subscriptionId -> projectId, to undo UNSUBSCRIBE and DISCONNECT
+    private final Map<String, Map<String, Long>> subscriptionsBySession = new HashMap<>();
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("websocket.projects.subscribed", sessionsByProject, Map::size)
+                .description("Projects with at least one subscribed session on this node")
+                .register(meterRegistry);
+    }
+
+    public static String destination(Long projectId, String channel) {
+        return PROJECT_TOPIC_PREFIX + projectId + "/" + channel;
+    }
+
+    /**
+     * @return the project id of a project-scoped destination, or null if the destination is not one
+     */
+    public static Long parseProjectId(String destination) {
+        Matcher matcher = PROJECT_DESTINATION.matcher(destination);
+        return matcher.matches() ? Long.valueOf(matcher.group(1)) : null;
+    }
+
+    /**
+     * Whether an event for the project may reach anyone. Only this node's sessions are known, so
+     * with a shared or relayed broker every project is assumed to be watched.
+     */
+    public boolean mayHaveSubscribers(Long projectId) {
+        return !"simple".equalsIgnoreCase(brokerMode) || sessionsByProject.containsKey(projectId);
+    }
+
+    public synchronized void subscribed(String sessionId, String subscriptionId, Long projectId) {
+        Long previous = subscriptionsBySession.computeIfAbsent(sessionId, id -> new HashMap<>()).put(subscriptionId, projectId);
+        if (previous != null) {
+            release(sessionId, previous);
+        }
+        sessionsByProject.computeIfAbsent(projectId, id -> new ConcurrentHashMap<>()).merge(sessionId, 1, Integer::sum);
+    }
+
+    public synchronized void unsubscribed(String sessionId, String subscriptionId) {
+        Map<String, Long> subscriptions = subscriptionsBySession.get(sessionId);
+        Long projectId = subscriptions != null ? subscriptions.remove(subscriptionId) : null;
+        if (projectId != null) {
+            release(sessionId, projectId);
+        }
+    }
+
+    public synchronized void disconnected(String sessionId) {
+        Map<String, Long> subscriptions = subscriptionsBySession.remove(sessionId);
+        if (subscriptions != null) {
+            subscriptions.values().forEach(projectId -> release(sessionId, projectId));
+        }
+    }
+
+    public int sessionCount(Long projectId) {
+        Map<String, Integer> sessions = sessionsByProject.get(projectId);
+        return sessions != null ? sessions.size() : 0;
+    }
+
+    private void release(String sessionId, Long projectId) {
+        Map<String, Integer> sessions = sessionsByProject.get(projectId);
+        if (sessions == null) {
+            return;
+        }
+        sessions.computeIfPresent(sessionId, (id, count) -> count > 1 ? count - 1 : null);
+        if (sessions.isEmpty()) {
+            sessionsByProject.remove(projectId);
+        }
+    }
+}
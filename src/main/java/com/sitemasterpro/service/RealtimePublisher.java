@@ -0,0 +1,113 @@
+package com.sitemasterpro.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Single outlet for STOMP messages to clients. Messages go to this node's broker, which is either the
+ * in-process simple broker or the external broker relay (see WebSocketConfig). In cluster mode they
+ * are also forwarded through the {@link ClusterRelayTransport}, and every other node hands them to
+ * its own simple broker, so a client receives updates whichever node it is connected to.
+ */
+@Service
+public class RealtimePublisher {
+    private static final Logger logger = LoggerFactory.getLogger(RealtimePublisher.class);
+
+    private static final Map<String, Object> JSON_HEADERS =
+            Map.of(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_JSON);
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired(required = false)
+    private ClusterRelayTransport relayTransport;
+
+    // Per instance rather than static, so that contexts sharing a JVM through the in-memory relay are distinct nodes
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @PostConstruct
+    public void init() {
+        if (relayTransport != null) {
+            relayTransport.subscribe(this::deliverRelayed);
+        }
+    }
+
+    public void publish(String destination, Object payload) {
+        messagingTemplate.convertAndSend(destination, payload);
+        relay(null, destination, payload);
+    }
+
+    public void publishToUser(String user, String destination, Object payload) {
+        messagingTemplate.convertAndSendToUser(user, destination, payload);
+        relay(user, destination, payload);
+    }
+
+    private void relay(String user, String destination, Object payload) {
+        if (relayTransport == null) {
+            return;
+        }
+        try {
+            ObjectNode envelope = objectMapper.createObjectNode();
+            envelope.put("origin", nodeId);
+            envelope.put("destination", destination);
+            if (user != null) {
+                envelope.put("user", user);
+            }
+            // Plain strings are sent as text/plain locally, so keep them distinguishable from JSON payloads
+            if (payload instanceof String) {
+                envelope.put("text", (String) payload);
+            } else {
+                envelope.set("payload", objectMapper.valueToTree(payload));
+            }
+            relayTransport.publish(objectMapper.writeValueAsString(envelope));
+        } catch (JsonProcessingException | RuntimeException e) {
+            // Local subscribers already have the message; a relay failure must not fail the business operation
+            logger.error("Failed to relay realtime message for {} to other nodes", destination, e);
+        }
+    }
+
+    private void deliverRelayed(String message) {
+        try {
+            JsonNode envelope = objectMapper.readTree(message);
+            if (nodeId.equals(envelope.path("origin").asText())) {
+                return;
+            }
+
+            String destination = envelope.path("destination").asText();
+            String user = envelope.hasNonNull("user") ? envelope.get("user").asText() : null;
+            Object payload;
+            Map<String, Object> headers = null;
+            if (envelope.has("text")) {
+                payload = envelope.get("text").asText();
+            } else {
+                payload = objectMapper.writeValueAsBytes(envelope.get("payload"));
+                headers = JSON_HEADERS;
+            }
+
+            if (user != null) {
+                messagingTemplate.convertAndSendToUser(user, destination, payload, headers);
+            } else {
+                messagingTemplate.convertAndSend(destination, payload, headers);
+            }
+        } catch (IOException e) {
+            logger.warn("Dropping malformed relayed realtime message: {}", e.getMessage());
+        }
+    }
+}
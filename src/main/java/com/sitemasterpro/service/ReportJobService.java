@@ -0,0 +1,200 @@
+package com.sitemasterpro.service;
+
+import com.sitemasterpro.dto.ReportJobDto;
+import com.sitemasterpro.exception.CustomException;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+@Service
+public class ReportJobService {
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobService.class);
+    private static final long PROGRESS_PUBLISH_INTERVAL_MS = 1000;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    @Qualifier("reportJobExecutor")
+    private ThreadPoolTaskExecutor reportJobExecutor;
+
+    @Value("${app.reports.jobs.storage-dir:${java.io.tmpdir}/sitemasterpro-reports}")
+    private String storageDir;
+
+    @Value("${app.reports.jobs.result-ttl:3600000}")
+    private long resultTtlMs;
+
+    private final Map<String, ReportJobDto> jobs = new ConcurrentHashMap<>();
+
+    // Keyed by report type and parameters so identical concurrent requests share one render
+    private final Map<String, ReportJobDto> inFlightJobs = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void initStorage() throws IOException {
+        Path storagePath = Paths.get(storageDir);
+        Files.createDirectories(storagePath);
+
+        // Job metadata does not survive a restart, so results left on disk can no longer be downloaded
+        try (Stream<Path> files = Files.list(storagePath)) {
+            files.forEach(this::deleteQuietly);
+        }
+    }
+
+    public ReportJobDto submitProjectFinancialReport(Long projectId, String username) {
+        reportService.requireProject(projectId);
+        return submit("financial:" + projectId, "PROJECT_FINANCIAL",
+                "project-financial-report-" + projectId + ".xlsx", username,
+                (out, progress) -> reportService.writeProjectFinancialReport(projectId, out, progress));
+    }
+
+    public ReportJobDto submitInventoryReport(String username) {
+        return submit("inventory", "INVENTORY", "inventory-report.xlsx", username,
+                (out, progress) -> reportService.writeInventoryReport(out, progress));
+    }
+
+    public ReportJobDto submitLaborReport(Long projectId, String username) {
+        reportService.requireProject(projectId);
+        return submit("labor:" + projectId, "LABOR", "labor-report-" + projectId + ".xlsx", username,
+                (out, progress) -> reportService.writeLaborReport(projectId, out, progress));
+    }
+
+    public ReportJobDto submitAuditReport(LocalDateTime startDate, LocalDateTime endDate, String username) {
+        return submit("audit:" + startDate + ":" + endDate, "AUDIT", "audit-report.xlsx", username,
+                (out, progress) -> reportService.writeAuditReport(startDate, endDate, out, progress));
+    }
+
+    public ReportJobDto getJob(String jobId, String username, boolean superAdmin) {
+        ReportJobDto job = jobs.get(jobId);
+        if (job == null || (!superAdmin && !job.getRequestedBy().contains(username))) {
+            throw new CustomException("Report job not found: " + jobId);
+        }
+        return job;
+    }
+
+    public Path getResultFile(ReportJobDto job) {
+        if (job.getStatus() != ReportJobDto.JobStatus.COMPLETED) {
+            throw new CustomException("Report job " + job.getJobId() + " is not ready: " + job.getStatus());
+        }
+        Path result = resultPath(job.getJobId());
+        if (!Files.exists(result)) {
+            throw new CustomException("Report job " + job.getJobId() + " result has expired");
+        }
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${app.reports.jobs.cleanup-interval:300000}")
+    public void purgeExpiredResults() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(Duration.ofMillis(resultTtlMs));
+        jobs.values().removeIf(job -> {
+            boolean expired = job.getCompletedAt() != null && job.getCompletedAt().isBefore(cutoff);
+            if (expired) {
+                deleteQuietly(resultPath(job.getJobId()));
+                logger.debug("Report job {} expired", job.getJobId());
+            }
+            return expired;
+        });
+    }
+
+    private ReportJobDto submit(String dedupKey, String reportType, String filename, String username,
+                                ReportWriter writer) {
+        boolean[] created = new boolean[1];
+        ReportJobDto job = inFlightJobs.computeIfAbsent(dedupKey, key -> {
+            created[0] = true;
+            return new ReportJobDto(UUID.randomUUID().toString(), reportType, filename);
+        });
+        job.getRequestedBy().add(username);
+
+        if (!created[0]) {
+            logger.info("Report request {} by {} joined in-flight job {}", dedupKey, username, job.getJobId());
+            return job;
+        }
+
+        jobs.put(job.getJobId(), job);
+        try {
+            reportJobExecutor.execute(() -> runJob(dedupKey, job, writer));
+        } catch (TaskRejectedException e) {
+            inFlightJobs.remove(dedupKey, job);
+            jobs.remove(job.getJobId());
+            throw new CustomException("Report queue is full, please try again later");
+        }
+
+        logger.info("Report job {} queued: {} by {}", job.getJobId(), dedupKey, username);
+        notificationService.sendReportJobUpdate(job);
+        return job;
+    }
+
+    private void runJob(String dedupKey, ReportJobDto job, ReportWriter writer) {
+        job.setStatus(ReportJobDto.JobStatus.RUNNING);
+        notificationService.sendReportJobUpdate(job);
+
+        Path result = resultPath(job.getJobId());
+        Path partial = result.resolveSibling(job.getJobId() + ".part");
+        long[] lastPublished = {System.currentTimeMillis()};
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial))) {
+                writer.write(out, rows -> {
+                    job.setRowsWritten(rows);
+                    long now = System.currentTimeMillis();
+                    if (now - lastPublished[0] >= PROGRESS_PUBLISH_INTERVAL_MS) {
+                        lastPublished[0] = now;
+                        notificationService.sendReportJobUpdate(job);
+                    }
+                });
+            }
+            Files.move(partial, result, StandardCopyOption.ATOMIC_MOVE);
+            job.setStatus(ReportJobDto.JobStatus.COMPLETED);
+            logger.info("Report job {} completed ({} rows)", job.getJobId(), job.getRowsWritten());
+        } catch (Exception e) {
+            deleteQuietly(partial);
+            job.setErrorMessage(e.getMessage());
+            job.setStatus(ReportJobDto.JobStatus.FAILED);
+            logger.error("Report job {} failed", job.getJobId(), e);
+        } finally {
+            job.setCompletedAt(LocalDateTime.now());
+            inFlightJobs.remove(dedupKey, job);
+            notificationService.sendReportJobUpdate(job);
+        }
+    }
+
+    private Path resultPath(String jobId) {
+        return Paths.get(storageDir, jobId + ".xlsx");
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete report file {}: {}", path, e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface ReportWriter {
+        void write(OutputStream outputStream, LongConsumer rowsWritten) throws IOException;
+    }
+}
@@ -1,25 +1,34 @@
 package com.sitemasterpro.service;
 
 import com.sitemasterpro.entity.*;
+import com.sitemasterpro.exception.CustomException;
+import com.sitemasterpro.profiling.ReportGenerationEvent;
 import com.sitemasterpro.repository.*;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.LongConsumer;
 
 @Service
 public class ReportService {
     private static final Logger logger = LoggerFactory.getLogger(ReportService.class);
+    private static final LongConsumer NO_PROGRESS = rows -> { };
 
     @Autowired
     private ProjectRepository projectRepository;
@@ -36,210 +45,282 @@ public class ReportService {
     @Autowired
     private LaborRecordRepository laborRecordRepository;
 
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
     @Autowired
     private FinancialService financialService;
 
-    public byte[] generateProjectFinancialReport(Long projectId) throws IOException {
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new RuntimeException("Project not found"));
+    @Autowired
+    private DashboardAggregateService dashboardAggregateService;
 
-        Workbook workbook = new XSSFWorkbook();
-        Sheet sheet = workbook.createSheet("Project Financial Report");
+    @Autowired
+    private AuthService authService;
 
-        // Create header style
-        CellStyle headerStyle = workbook.createCellStyle();
-        Font headerFont = workbook.createFont();
-        headerFont.setBold(true);
-        headerStyle.setFont(headerFont);
+    @PersistenceContext
+    private EntityManager entityManager;
 
-        // Title
-        Row titleRow = sheet.createRow(0);
-        Cell titleCell = titleRow.createCell(0);
-        titleCell.setCellValue("Project Financial Report: " + project.getName());
-        titleCell.setCellStyle(headerStyle);
-
-        // Project summary
-        int rowNum = 2;
-        createRow(sheet, rowNum++, "Contract Value:", project.getContractValue().toString());
-        createRow(sheet, rowNum++, "Budgeted Cost:", project.getBudgetedCost().toString());
-        createRow(sheet, rowNum++, "Actual Cost:", project.getActualCost().toString());
-        createRow(sheet, rowNum++, "Actual Revenue:", project.getActualRevenue().toString());
-        createRow(sheet, rowNum++, "Profit Margin:", project.calculateProfitMargin().toString() + "%");
-        createRow(sheet, rowNum++, "Completion:", project.getCompletionPercentage().toString() + "%");
-
-        // Financial transactions
-        rowNum += 2;
-        Row transHeaderRow = sheet.createRow(rowNum++);
-        transHeaderRow.createCell(0).setCellValue("Date");
-        transHeaderRow.createCell(1).setCellValue("Type");
-        transHeaderRow.createCell(2).setCellValue("Category");
-        transHeaderRow.createCell(3).setCellValue("Amount");
-        transHeaderRow.createCell(4).setCellValue("Description");
-
-        List<FinancialTransaction> transactions = financialTransactionRepository.findByProjectId(projectId);
-        for (FinancialTransaction transaction : transactions) {
-            Row dataRow = sheet.createRow(rowNum++);
-            dataRow.createCell(0).setCellValue(transaction.getTransactionDate().toString());
-            dataRow.createCell(1).setCellValue(transaction.getType().toString());
-            dataRow.createCell(2).setCellValue(transaction.getCategory().toString());
-            dataRow.createCell(3).setCellValue(transaction.getAmount().doubleValue());
-            dataRow.createCell(4).setCellValue(transaction.getDescription());
-        }
+    @Value("${app.reports.row-window-size:100}")
+    private int rowWindowSize;
 
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        workbook.write(outputStream);
-        workbook.close();
+    @Value("${app.reports.fetch-size:1000}")
+    private int fetchSize;
 
-        logger.info("Project financial report generated for project: {}", project.getName());
-        return outputStream.toByteArray();
+    public void writeProjectFinancialReport(Long projectId, OutputStream outputStream) throws IOException {
+        writeProjectFinancialReport(projectId, outputStream, NO_PROGRESS);
     }
 
-    public byte[] generateInventoryReport() throws IOException {
-        Workbook workbook = new XSSFWorkbook();
-        Sheet sheet = workbook.createSheet("Inventory Report");
-
-        // Create header style
-        CellStyle headerStyle = workbook.createCellStyle();
-        Font headerFont = workbook.createFont();
-        headerFont.setBold(true);
-        headerStyle.setFont(headerFont);
-
-        // Title
-        Row titleRow = sheet.createRow(0);
-        Cell titleCell = titleRow.createCell(0);
-        titleCell.setCellValue("Inventory Report");
-        titleCell.setCellStyle(headerStyle);
-
-        // Headers
-        int rowNum = 2;
-        Row headerRow = sheet.createRow(rowNum++);
-        headerRow.createCell(0).setCellValue("Material Name");
-        headerRow.createCell(1).setCellValue("Current Stock");
-        headerRow.createCell(2).setCellValue("Unit");
-        headerRow.createCell(3).setCellValue("Unit Price");
-        headerRow.createCell(4).setCellValue("Total Value");
-        headerRow.createCell(5).setCellValue("Min Stock Level");
-        headerRow.createCell(6).setCellValue("Status");
-
-        List<Material> materials = materialRepository.findByActiveTrue();
-        BigDecimal totalInventoryValue = BigDecimal.ZERO;
-
-        for (Material material : materials) {
-            Row dataRow = sheet.createRow(rowNum++);
-            dataRow.createCell(0).setCellValue(material.getName());
-            dataRow.createCell(1).setCellValue(material.getCurrentStock().doubleValue());
-            dataRow.createCell(2).setCellValue(material.getUnit());
-            dataRow.createCell(3).setCellValue(material.getUnitPrice().doubleValue());
-            
-            BigDecimal totalValue = material.getCurrentStock().multiply(material.getUnitPrice());
-            dataRow.createCell(4).setCellValue(totalValue.doubleValue());
-            dataRow.createCell(5).setCellValue(material.getMinStockLevel().doubleValue());
-            dataRow.createCell(6).setCellValue(material.isLowStock() ? "LOW STOCK" : "OK");
-            
-            totalInventoryValue = totalInventoryValue.add(totalValue);
+    public void writeProjectFinancialReport(Long projectId, OutputStream outputStream,
+                                            LongConsumer rowsWritten) throws IOException {
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new CustomException("Project not found with id: " + projectId));
+
+        ReportGenerationEvent event = reportEvent("project_financial");
+        SXSSFWorkbook workbook = createStreamingWorkbook();
+        try {
+            Sheet sheet = workbook.createSheet("Project Financial Report");
+            CellStyle headerStyle = createHeaderStyle(workbook);
+
+            // Title
+            Row titleRow = sheet.createRow(0);
+            Cell titleCell = titleRow.createCell(0);
+            titleCell.setCellValue("Project Financial Report: " + project.getName());
+            titleCell.setCellStyle(headerStyle);
+
+            // Project summary
+            int rowNum = 2;
+            createRow(sheet, rowNum++, "Contract Value:", project.getContractValue().toString());
+            createRow(sheet, rowNum++, "Budgeted Cost:", project.getBudgetedCost().toString());
+            createRow(sheet, rowNum++, "Actual Cost:", project.getActualCost().toString());
+            createRow(sheet, rowNum++, "Actual Revenue:", project.getActualRevenue().toString());
+            createRow(sheet, rowNum++, "Profit Margin:", project.calculateProfitMargin().toString() + "%");
+            createRow(sheet, rowNum++, "Completion:", project.getCompletionPercentage().toString() + "%");
+
+            // Financial transactions
+            rowNum += 2;
+            Row transHeaderRow = sheet.createRow(rowNum++);
+            transHeaderRow.createCell(0).setCellValue("Date");
+            transHeaderRow.createCell(1).setCellValue("Type");
+            transHeaderRow.createCell(2).setCellValue("Category");
+            transHeaderRow.createCell(3).setCellValue("Amount");
+            transHeaderRow.createCell(4).setCellValue("Description");
+
+            long dataRows = 0;
+            Long lastId = 0L;
+            List<FinancialTransaction> chunk;
+            do {
+                chunk = financialTransactionRepository.findByProjectIdAndIdGreaterThanOrderByIdAsc(
+                        projectId, lastId, PageRequest.of(0, fetchSize));
+                for (FinancialTransaction transaction : chunk) {
+                    Row dataRow = sheet.createRow(rowNum++);
+                    dataRow.createCell(0).setCellValue(transaction.getTransactionDate().toString());
+                    dataRow.createCell(1).setCellValue(transaction.getType().toString());
+                    dataRow.createCell(2).setCellValue(transaction.getCategory().toString());
+                    dataRow.createCell(3).setCellValue(transaction.getAmount().doubleValue());
+                    dataRow.createCell(4).setCellValue(transaction.getDescription());
+                    lastId = transaction.getId();
+                }
+                entityManager.clear();
+                dataRows += chunk.size();
+                rowsWritten.accept(dataRows);
+            } while (chunk.size() == fetchSize);
+
+            writeWorkbook(workbook, outputStream, dataRows, event);
+            logger.info("Project financial report generated for project: {}", project.getName());
+        } finally {
+            closeStreamingWorkbook(workbook);
+            event.commit();
         }
+    }
 
-        // Total row
-        rowNum++;
-        Row totalRow = sheet.createRow(rowNum);
-        totalRow.createCell(3).setCellValue("Total Inventory Value:");
-        totalRow.createCell(4).setCellValue(totalInventoryValue.doubleValue());
-
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        workbook.write(outputStream);
-        workbook.close();
+    public void writeInventoryReport(OutputStream outputStream) throws IOException {
+        writeInventoryReport(outputStream, NO_PROGRESS);
+    }
 
-        logger.info("Inventory report generated");
-        return outputStream.toByteArray();
+    public void writeInventoryReport(OutputStream outputStream, LongConsumer rowsWritten) throws IOException {
+        ReportGenerationEvent event = reportEvent("inventory");
+        SXSSFWorkbook workbook = createStreamingWorkbook();
+        try {
+            Sheet sheet = workbook.createSheet("Inventory Report");
+            CellStyle headerStyle = createHeaderStyle(workbook);
+
+            // Title
+            Row titleRow = sheet.createRow(0);
+            Cell titleCell = titleRow.createCell(0);
+            titleCell.setCellValue("Inventory Report");
+            titleCell.setCellStyle(headerStyle);
+
+            // Headers
+            int rowNum = 2;
+            Row headerRow = sheet.createRow(rowNum++);
+            headerRow.createCell(0).setCellValue("Material Name");
+            headerRow.createCell(1).setCellValue("Current Stock");
+            headerRow.createCell(2).setCellValue("Unit");
+            headerRow.createCell(3).setCellValue("Unit Price");
+            headerRow.createCell(4).setCellValue("Total Value");
+            headerRow.createCell(5).setCellValue("Min Stock Level");
+            headerRow.createCell(6).setCellValue("Status");
+
+            BigDecimal totalInventoryValue = BigDecimal.ZERO;
+            long dataRows = 0;
+            Long lastId = 0L;
+            List<Material> chunk;
+            do {
+                chunk = materialRepository.findByActiveTrueAndIdGreaterThanOrderByIdAsc(
+                        lastId, PageRequest.of(0, fetchSize));
+                for (Material material : chunk) {
+                    Row dataRow = sheet.createRow(rowNum++);
+                    dataRow.createCell(0).setCellValue(material.getName());
+                    dataRow.createCell(1).setCellValue(material.getCurrentStock().doubleValue());
+                    dataRow.createCell(2).setCellValue(material.getUnit());
+                    dataRow.createCell(3).setCellValue(material.getUnitPrice().doubleValue());
+
+                    BigDecimal totalValue = material.getCurrentStock().multiply(material.getUnitPrice());
+                    dataRow.createCell(4).setCellValue(totalValue.doubleValue());
+                    dataRow.createCell(5).setCellValue(material.getMinStockLevel().doubleValue());
+                    dataRow.createCell(6).setCellValue(material.isLowStock() ? "LOW STOCK" : "OK");
+
+                    totalInventoryValue = totalInventoryValue.add(totalValue);
+                    lastId = material.getId();
+                }
+                entityManager.clear();
+                dataRows += chunk.size();
+                rowsWritten.accept(dataRows);
+            } while (chunk.size() == fetchSize);
+
+            // Total row
+            rowNum++;
+            Row totalRow = sheet.createRow(rowNum);
+            totalRow.createCell(3).setCellValue("Total Inventory Value:");
+            totalRow.createCell(4).setCellValue(totalInventoryValue.doubleValue());
+
+            writeWorkbook(workbook, outputStream, dataRows, event);
+            logger.info("Inventory report generated");
+        } finally {
+            closeStreamingWorkbook(workbook);
+            event.commit();
+        }
     }
 
-    public byte[] generateLaborReport(Long projectId) throws IOException {
-        Workbook workbook = new XSSFWorkbook();
-        Sheet sheet = workbook.createSheet("Labor Report");
+    public void writeLaborReport(Long projectId, OutputStream outputStream) throws IOException {
+        writeLaborReport(projectId, outputStream, NO_PROGRESS);
+    }
 
-        // Create header style
-        CellStyle headerStyle = workbook.createCellStyle();
-        Font headerFont = workbook.createFont();
-        headerFont.setBold(true);
-        headerStyle.setFont(headerFont);
+    public void writeLaborReport(Long projectId, OutputStream outputStream, LongConsumer rowsWritten) throws IOException {
+        ReportGenerationEvent event = reportEvent("labor");
+        SXSSFWorkbook workbook = createStreamingWorkbook();
+        try {
+            Sheet sheet = workbook.createSheet("Labor Report");
+            CellStyle headerStyle = createHeaderStyle(workbook);
+
+            // Title
+            Row titleRow = sheet.createRow(0);
+            Cell titleCell = titleRow.createCell(0);
+            titleCell.setCellValue("Labor Report");
+            titleCell.setCellStyle(headerStyle);
+
+            // Headers
+            int rowNum = 2;
+            Row headerRow = sheet.createRow(rowNum++);
+            headerRow.createCell(0).setCellValue("Worker Name");
+            headerRow.createCell(1).setCellValue("Job Title");
+            headerRow.createCell(2).setCellValue("Work Date");
+            headerRow.createCell(3).setCellValue("Hours Worked");
+            headerRow.createCell(4).setCellValue("Overtime Hours");
+            headerRow.createCell(5).setCellValue("Total Pay");
+
+            BigDecimal totalPay = BigDecimal.ZERO;
+            long dataRows = 0;
+            LaborRecord last = null;
+            List<LaborRecord> chunk;
+            do {
+                // Keeps the newest-first ordering of the original report; id breaks ties within a day
+                chunk = last == null
+                        ? laborRecordRepository.findByProjectIdOrderByWorkDateDescIdDesc(projectId, PageRequest.of(0, fetchSize))
+                        : laborRecordRepository.findByProjectIdAfter(projectId, last.getWorkDate(), last.getId(),
+                                                                     PageRequest.of(0, fetchSize));
+                for (LaborRecord record : chunk) {
+                    Row dataRow = sheet.createRow(rowNum++);
+                    dataRow.createCell(0).setCellValue(record.getWorkerName());
+                    dataRow.createCell(1).setCellValue(record.getJobTitle());
+                    dataRow.createCell(2).setCellValue(record.getWorkDate().toString());
+                    dataRow.createCell(3).setCellValue(record.getHoursWorked().doubleValue());
+                    dataRow.createCell(4).setCellValue(record.getOvertimeHours() != null ? record.getOvertimeHours().doubleValue() : 0);
+                    dataRow.createCell(5).setCellValue(record.getTotalPay().doubleValue());
+
+                    totalPay = totalPay.add(record.getTotalPay());
+                    last = record;
+                }
+                entityManager.clear();
+                dataRows += chunk.size();
+                rowsWritten.accept(dataRows);
+            } while (chunk.size() == fetchSize);
+
+            // Total row
+            rowNum++;
+            Row totalRow = sheet.createRow(rowNum);
+            totalRow.createCell(4).setCellValue("Total Labor Cost:");
+            totalRow.createCell(5).setCellValue(totalPay.doubleValue());
+
+            writeWorkbook(workbook, outputStream, dataRows, event);
+            logger.info("Labor report generated for project ID: {}", projectId);
+        } finally {
+            closeStreamingWorkbook(workbook);
+            event.commit();
+        }
+    }
 
-        // Title
-        Row titleRow = sheet.createRow(0);
-        Cell titleCell = titleRow.createCell(0);
-        titleCell.setCellValue("Labor Report");
-        titleCell.setCellStyle(headerStyle);
-
-        // Headers
-        int rowNum = 2;
-        Row headerRow = sheet.createRow(rowNum++);
-        headerRow.createCell(0).setCellValue("Worker Name");
-        headerRow.createCell(1).setCellValue("Job Title");
-        headerRow.createCell(2).setCellValue("Work Date");
-        headerRow.createCell(3).setCellValue("Hours Worked");
-        headerRow.createCell(4).setCellValue("Overtime Hours");
-        headerRow.createCell(5).setCellValue("Total Pay");
-
-        List<LaborRecord> laborRecords = laborRecordRepository.findByProjectIdOrderByWorkDateDesc(projectId);
-        BigDecimal totalPay = BigDecimal.ZERO;
-
-        for (LaborRecord record : laborRecords) {
-            Row dataRow = sheet.createRow(rowNum++);
-            dataRow.createCell(0).setCellValue(record.getWorkerName());
-            dataRow.createCell(1).setCellValue(record.getJobTitle());
-            dataRow.createCell(2).setCellValue(record.getWorkDate().toString());
-            dataRow.createCell(3).setCellValue(record.getHoursWorked().doubleValue());
-            dataRow.createCell(4).setCellValue(record.getOvertimeHours() != null ? record.getOvertimeHours().doubleValue() : 0);
-            dataRow.createCell(5).setCellValue(record.getTotalPay().doubleValue());
-            
-            totalPay = totalPay.add(record.getTotalPay());
+    /**
+     * Streamed reports are written after the response is committed; callers check the project first so a
+     * missing one is a 400 and one the user is not assigned to a 403, not a 200 with a truncated file.
+     */
+    public void requireProject(Long projectId) {
+        if (projectId == null || !projectRepository.existsById(projectId)) {
+            throw new CustomException("Project not found with id: " + projectId);
         }
+        if (!authService.canAccessProject(projectId)) {
+            throw new AccessDeniedException("Access denied to project " + projectId);
+        }
+    }
 
-        // Total row
-        rowNum++;
-        Row totalRow = sheet.createRow(rowNum);
-        totalRow.createCell(4).setCellValue("Total Labor Cost:");
-        totalRow.createCell(5).setCellValue(totalPay.doubleValue());
+    public Map<String, Object> generateDashboardData() {
+        return dashboardAggregateService.getSnapshot();
+    }
 
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        workbook.write(outputStream);
-        workbook.close();
+    private SXSSFWorkbook createStreamingWorkbook() {
+        // Only rowWindowSize rows stay on the heap; older rows are flushed to a compressed temp file
+        SXSSFWorkbook workbook = new SXSSFWorkbook(rowWindowSize);
+        workbook.setCompressTempFiles(true);
+        return workbook;
+    }
 
-        logger.info("Labor report generated for project ID: {}", projectId);
-        return outputStream.toByteArray();
+    private ReportGenerationEvent reportEvent(String reportType) {
+        ReportGenerationEvent event = new ReportGenerationEvent();
+        event.reportType = reportType;
+        event.begin();
+        return event;
     }
 
-    public Map<String, Object> generateDashboardData() {
-        List<Project> allProjects = projectRepository.findAll();
-        List<Project> activeProjects = projectRepository.findByStatus(Project.ProjectStatus.IN_PROGRESS);
-        List<Material> lowStockMaterials = materialRepository.findLowStockMaterials();
-        List<FinancialTransaction> pendingApprovals = financialTransactionRepository.findByApprovedFalse();
-
-        BigDecimal totalRevenue = allProjects.stream()
-                .map(Project::getActualRevenue)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalCost = allProjects.stream()
-                .map(Project::getActualCost)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        return Map.of(
-            "totalProjects", allProjects.size(),
-            "activeProjects", activeProjects.size(),
-            "totalRevenue", totalRevenue,
-            "totalCost", totalCost,
-            "profitMargin", calculateOverallProfitMargin(totalRevenue, totalCost),
-            "lowStockItems", lowStockMaterials.size(),
-            "pendingApprovals", pendingApprovals.size(),
-            "recentProjects", allProjects.stream().limit(5).collect(Collectors.toList()),
-            "overdueProjects", projectRepository.findOverdueProjects(java.time.LocalDate.now()).size()
-        );
+    private void writeWorkbook(SXSSFWorkbook workbook, OutputStream outputStream, long dataRows,
+                               ReportGenerationEvent event) throws IOException {
+        CountingOutputStream counting = new CountingOutputStream(outputStream);
+        workbook.write(counting);
+        event.rows = dataRows;
+        event.bytes = counting.count;
+        event.completed = true;
     }
 
-    private BigDecimal calculateOverallProfitMargin(BigDecimal revenue, BigDecimal cost) {
-        if (revenue.compareTo(BigDecimal.ZERO) == 0) {
-            return BigDecimal.ZERO;
-        }
-        return revenue.subtract(cost).divide(revenue, 4, BigDecimal.ROUND_HALF_UP).multiply(BigDecimal.valueOf(100));
+    private void closeStreamingWorkbook(SXSSFWorkbook workbook) throws IOException {
+        workbook.dispose();
+        workbook.close();
+    }
+
+    private CellStyle createHeaderStyle(Workbook workbook) {
+        CellStyle headerStyle = workbook.createCellStyle();
+        Font headerFont = workbook.createFont();
+        headerFont.setBold(true);
+        headerStyle.setFont(headerFont);
+        return headerStyle;
     }
 
     private void createRow(Sheet sheet, int rowNum, String label, String value) {
@@ -248,19 +329,89 @@ public class ReportService {
         row.createCell(1).setCellValue(value);
     }
 
-    public byte[] generateAuditReport(LocalDateTime startDate, LocalDateTime endDate) throws IOException {
-        // Implementation for audit report generation
-        Workbook workbook = new XSSFWorkbook();
-        Sheet sheet = workbook.createSheet("Audit Report");
+    public void writeAuditReport(LocalDateTime startDate, LocalDateTime endDate, OutputStream outputStream) throws IOException {
+        writeAuditReport(startDate, endDate, outputStream, NO_PROGRESS);
+    }
 
-        Row titleRow = sheet.createRow(0);
-        titleRow.createCell(0).setCellValue("Audit Report");
+    public void writeAuditReport(LocalDateTime startDate, LocalDateTime endDate, OutputStream outputStream,
+                                 LongConsumer rowsWritten) throws IOException {
+        ReportGenerationEvent event = reportEvent("audit");
+        SXSSFWorkbook workbook = createStreamingWorkbook();
+        try {
+            Sheet sheet = workbook.createSheet("Audit Report");
+            CellStyle headerStyle = createHeaderStyle(workbook);
+
+            Row titleRow = sheet.createRow(0);
+            Cell titleCell = titleRow.createCell(0);
+            titleCell.setCellValue("Audit Report: " + startDate + " - " + endDate);
+            titleCell.setCellStyle(headerStyle);
+
+            int rowNum = 2;
+            Row headerRow = sheet.createRow(rowNum++);
+            headerRow.createCell(0).setCellValue("Timestamp");
+            headerRow.createCell(1).setCellValue("Action");
+            headerRow.createCell(2).setCellValue("Entity Type");
+            headerRow.createCell(3).setCellValue("Entity ID");
+            headerRow.createCell(4).setCellValue("Old Values");
+            headerRow.createCell(5).setCellValue("New Values");
+            headerRow.createCell(6).setCellValue("IP Address");
+
+            long dataRows = 0;
+            Long lastId = 0L;
+            List<AuditLog> chunk;
+            do {
+                chunk = auditLogRepository.findByTimestampBetweenAndIdGreaterThanOrderByIdAsc(
+                        startDate, endDate, lastId, PageRequest.of(0, fetchSize));
+                for (AuditLog auditLog : chunk) {
+                    Row dataRow = sheet.createRow(rowNum++);
+                    dataRow.createCell(0).setCellValue(auditLog.getTimestamp().toString());
+                    dataRow.createCell(1).setCellValue(auditLog.getAction());
+                    dataRow.createCell(2).setCellValue(auditLog.getEntityType());
+                    if (auditLog.getEntityId() != null) {
+                        dataRow.createCell(3).setCellValue(auditLog.getEntityId());
+                    }
+                    dataRow.createCell(4).setCellValue(auditLog.getOldValues());
+                    dataRow.createCell(5).setCellValue(auditLog.getNewValues());
+                    dataRow.createCell(6).setCellValue(auditLog.getIpAddress());
+                    lastId = auditLog.getId();
+                }
+                entityManager.clear();
+                dataRows += chunk.size();
+                rowsWritten.accept(dataRows);
+            } while (chunk.size() == fetchSize);
+
+            writeWorkbook(workbook, outputStream, dataRows, event);
+            logger.info("Audit report generated for {} - {}", startDate, endDate);
+        } finally {
+            closeStreamingWorkbook(workbook);
+            event.commit();
+        }
+    }
 
-        // Add audit data rows here
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        workbook.write(outputStream);
-        workbook.close();
+    // Measures the rendered size for the JFR event without buffering the report
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
 
-        return outputStream.toByteArray();
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        // The caller owns the response or job file stream
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
     }
 }
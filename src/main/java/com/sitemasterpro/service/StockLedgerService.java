@@ -0,0 +1,135 @@
+package com.sitemasterpro.service;
+
+import com.sitemasterpro.entity.Material;
+import com.sitemasterpro.exception.CustomException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Single write path for Material.currentStock. Every movement is one conditional UPDATE that adds the
+ * delta in the database and refuses to go below zero, so concurrent issues of the same material can
+ * neither lose an update nor both pass the stock check. Each write also bumps the material's version,
+ * which makes entity-level edits that raced with a movement fail optimistically; {@link #withRetry}
+ * re-runs such work in a fresh transaction a bounded number of times.
+ */
+@Service
+public class StockLedgerService {
+    private static final Logger logger = LoggerFactory.getLogger(StockLedgerService.class);
+
+    private static final String APPLY_DELTA_SQL =
+            "UPDATE materials SET current_stock = current_stock + ?, version = version + 1, updated_at = ? " +
+            "WHERE id = ? AND current_stock + ? >= 0 RETURNING current_stock, version";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.inventory.ledger.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.inventory.ledger.retry-backoff-ms:20}")
+    private long retryBackoffMs;
+
+    /**
+     * Atomically adds {@code delta} (negative for issues) to the material's stock and returns the
+     * resulting stock. The given material is detached and updated to the committed stock and version.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public BigDecimal applyDelta(Material material, BigDecimal delta) {
+        BigDecimal newStock = tryApplyDelta(material, delta);
+        if (newStock == null) {
+            throw new CustomException("Insufficient stock. Available: " + lockCurrentStock(material) + " " + material.getUnit());
+        }
+        return newStock;
+    }
+
+    /**
+     * Like {@link #applyDelta}, but returns null instead of throwing when the stock does not cover the
+     * delta, so that a caller applying several movements can refuse some of them and keep its transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public BigDecimal tryApplyDelta(Material material, BigDecimal delta) {
+        List<Object[]> rows = jdbcTemplate.query(APPLY_DELTA_SQL,
+                (rs, rowNum) -> new Object[] { rs.getBigDecimal(1), rs.getLong(2) },
+                delta, Timestamp.valueOf(LocalDateTime.now()), material.getId(), delta);
+        if (rows.isEmpty()) {
+            return null;
+        }
+
+        // The row was written behind Hibernate's back; detach so the stale snapshot is never flushed over it
+        if (entityManager.contains(material)) {
+            entityManager.detach(material);
+        }
+        material.setCurrentStock((BigDecimal) rows.get(0)[0]);
+        material.setVersion((Long) rows.get(0)[1]);
+        return material.getCurrentStock();
+    }
+
+    /**
+     * Locks the material's row until the transaction ends and returns its committed stock. A delta that
+     * this stock covers cannot then be refused by {@link #applyDelta}.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public BigDecimal lockCurrentStock(Material material) {
+        List<BigDecimal> current = jdbcTemplate.queryForList(
+                "SELECT current_stock FROM materials WHERE id = ? FOR UPDATE", BigDecimal.class, material.getId());
+        if (current.isEmpty()) {
+            throw new CustomException("Material not found with id: " + material.getId());
+        }
+        return current.get(0);
+    }
+
+    /**
+     * Runs {@code work} in its own transaction, retrying on optimistic or lock conflicts. The work must
+     * reload whatever it modifies, since the persistence context is cleared after each failed attempt.
+     */
+    public <T> T withRetry(Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Inside a caller's transaction a failed attempt has already poisoned it; retrying here cannot help
+            return work.get();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return work.get();
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxAttempts) {
+                    logger.warn("Stock update still conflicting after {} attempts", attempt);
+                    throw new CustomException("Material is being updated by other users, please retry");
+                }
+                logger.debug("Stock update conflict on attempt {}, retrying: {}", attempt, e.getMessage());
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        // Jitter keeps retrying writers on the same hot material from colliding in lockstep
+        long delay = retryBackoffMs * attempt + ThreadLocalRandom.current().nextLong(retryBackoffMs + 1);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CustomException("Interrupted while retrying stock update");
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.sitemasterpro.service;
+
+import com.sitemasterpro.dto.BulkStockMovementRequest;
+import com.sitemasterpro.dto.BulkStockMovementResultDto;
+import com.sitemasterpro.dto.OfflineStockMovementResultDto;
+import com.sitemasterpro.dto.StockMovementLineDto;
+import com.sitemasterpro.dto.SyncChangeDto;
+import com.sitemasterpro.dto.SyncChangesDto;
+import com.sitemasterpro.exception.CustomException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Delta sync for offline clients. {@link #getChanges} pages through change_log after the client's
+ * token and returns the current state of every entity changed since, or a tombstone for entities
+ * that were deleted or left the client's projects. {@link #applyOfflineStockMovements} replays stock
+ * movements queued while offline, idempotently by client reference.
+ */
+@Service
+public class SyncService {
+    private static final Logger logger = LoggerFactory.getLogger(SyncService.class);
+
+    // Synced columns per entity type; project_id is always selected for the visibility check
+    private static final Map<String, String> ENTITY_QUERIES = Map.of(
+            "Material",
+            "SELECT id, NULL AS project_id, name, description, unit, unit_price, current_stock, min_stock_level, " +
+            "max_stock_level, active, version, updated_at FROM materials WHERE id IN (:ids)",
+            "InventoryTransaction",
+            "SELECT id, project_id, material_id, supplier_id, type, quantity, unit_price, total_amount, " +
+            "purchase_order_reference, issued_to, notes, client_ref, transaction_date, created_by " +
+            "FROM inventory_transactions WHERE id IN (:ids)",
+            "FinancialTransaction",
+            "SELECT id, project_id, type, category, amount, description, reference_number, notes, transaction_date, " +
+            "approved, approved_at FROM financial_transactions WHERE id IN (:ids)",
+            "LaborRecord",
+            "SELECT id, project_id, worker_name, worker_id, job_title, work_date, hours_worked, overtime_hours, " +
+            "hourly_rate, overtime_rate, total_pay, work_description, attendance_status, notes, updated_at " +
+            "FROM labor_records WHERE id IN (:ids)",
+            "ProjectMilestone",
+            "SELECT id, project_id, name, description, planned_start_date, planned_end_date, actual_start_date, " +
+            "actual_end_date, completion_percentage, status, notes, updated_at FROM project_milestones WHERE id IN (:ids)");
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Value("${app.sync.default-page-size:500}")
+    private int defaultPageSize;
+
+    @Value("${app.sync.max-page-size:2000}")
+    private int maxPageSize;
+
+    /**
+     * Returns the changes after {@code since} visible to the user, optionally narrowed to one project.
+     * Materials are not project-scoped and are always included. Each entity appears at most once per
+     * page, with its latest state.
+     */
+    @Transactional(readOnly = true)
+    public SyncChangesDto getChanges(Long userId, String since, Long projectId, Integer limit) {
+        long sinceSeq = parseToken(since);
+        int pageSize = limit == null || limit <= 0 ? defaultPageSize : Math.min(limit, maxPageSize);
+
+        long horizon = namedJdbcTemplate.getJdbcTemplate().queryForObject(
+                "SELECT horizon FROM sync_state WHERE id = 1", Long.class);
+        if (sinceSeq > 0 && sinceSeq < horizon) {
+            SyncChangesDto reset = new SyncChangesDto("0");
+            reset.setResetRequired(true);
+            return reset;
+        }
+
+        Set<Long> visibleProjects = visibleProjects(userId, projectId);
+        MapSqlParameterSource params = new MapSqlParameterSource("since", sinceSeq).addValue("limit", pageSize);
+        String projectFilter = "";
+        if (visibleProjects != null) {
+            projectFilter = visibleProjects.isEmpty() ? " AND project_id IS NULL"
+                    : " AND (project_id IS NULL OR project_id IN (:projects))";
+            params.addValue("projects", visibleProjects);
+        }
+
+        List<SyncChangeDto> entries = namedJdbcTemplate.query(
+                "SELECT seq, entity_type, entity_id, project_id, operation FROM change_log " +
+                "WHERE seq > :since" + projectFilter + " ORDER BY seq LIMIT :limit",
+                params,
+                (rs, rowNum) -> new SyncChangeDto(rs.getString("entity_type"), rs.getLong("entity_id"),
+                        (Long) rs.getObject("project_id"), rs.getLong("seq"), "D".equals(rs.getString("operation"))));
+
+        SyncChangesDto page = new SyncChangesDto(entries.isEmpty() ? String.valueOf(sinceSeq)
+                : String.valueOf(entries.get(entries.size() - 1).getSeq()));
+        page.setHasMore(entries.size() == pageSize);
+
+        // Later entries supersede earlier ones for the same entity
+        Map<String, SyncChangeDto> latest = new LinkedHashMap<>();
+        for (SyncChangeDto entry : entries) {
+            String key = entry.getEntityType() + ":" + entry.getId();
+            latest.remove(key);
+            latest.put(key, entry);
+        }
+
+        Map<String, List<Long>> idsByType = new HashMap<>();
+        for (SyncChangeDto change : latest.values()) {
+            if (!change.isDeleted()) {
+                idsByType.computeIfAbsent(change.getEntityType(), type -> new ArrayList<>()).add(change.getId());
+            }
+        }
+        Map<String, Map<String, Object>> rows = loadRows(idsByType);
+
+        for (SyncChangeDto change : latest.values()) {
+            if (!change.isDeleted()) {
+                Map<String, Object> row = rows.get(change.getEntityType() + ":" + change.getId());
+                Long rowProjectId = row != null ? (Long) row.remove("projectId") : null;
+                // Gone since it was logged, or moved to a project this client does not sync: the client must drop it
+                if (row == null || (rowProjectId != null && visibleProjects != null && !visibleProjects.contains(rowProjectId))) {
+                    change.setDeleted(true);
+                } else {
+                    change.setProjectId(rowProjectId);
+                    change.setData(row);
+                }
+            }
+            page.getChanges().add(change);
+        }
+        return page;
+    }
+
+    /**
+     * Replays stock movements queued offline. Lines whose clientRef was already recorded are reported
+     * as duplicates and skipped, so a client can safely re-upload after a lost response. The rest go
+     * through the regular bulk movement path; lines that no longer fit the server's stock, including stock
+     * taken by a movement that commits while this upload is applied, come back as conflicts together with
+     * the current stock and version for the client to resolve.
+     */
+    @Transactional
+    public OfflineStockMovementResultDto applyOfflineStockMovements(Long userId, BulkStockMovementRequest request) {
+        List<StockMovementLineDto> lines = request.getLines() != null ? request.getLines() : List.of();
+        OfflineStockMovementResultDto result = new OfflineStockMovementResultDto();
+
+        Set<String> clientRefs = new HashSet<>();
+        Set<Long> materialIds = new HashSet<>();
+        for (StockMovementLineDto line : lines) {
+            if (line.getClientRef() != null) {
+                clientRefs.add(line.getClientRef());
+            }
+            if (line.getMaterialId() != null) {
+                materialIds.add(line.getMaterialId());
+            }
+        }
+        Set<String> recorded = clientRefs.isEmpty() ? new HashSet<>() : new HashSet<>(namedJdbcTemplate.queryForList(
+                "SELECT client_ref FROM inventory_transactions WHERE client_ref IN (:refs)",
+                new MapSqlParameterSource("refs", clientRefs), String.class));
+        Map<Long, Object[]> before = loadStock(materialIds);
+
+        List<StockMovementLineDto> accepted = new ArrayList<>();
+        List<OfflineStockMovementResultDto.LineResult> acceptedResults = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            StockMovementLineDto line = lines.get(i);
+            OfflineStockMovementResultDto.LineResult lineResult =
+                    new OfflineStockMovementResultDto.LineResult(i, line.getClientRef(), line.getMaterialId());
+            result.getLines().add(lineResult);
+
+            if (line.getClientRef() != null && !recorded.add(line.getClientRef())) {
+                lineResult.setStatus(OfflineStockMovementResultDto.Status.DUPLICATE);
+                continue;
+            }
+            if (line.getProjectId() != null && !authService.canAccessProject(userId, line.getProjectId())) {
+                lineResult.setStatus(OfflineStockMovementResultDto.Status.REJECTED);
+                lineResult.setMessage("Access denied to project " + line.getProjectId());
+                continue;
+            }
+            Object[] stock = before.get(line.getMaterialId());
+            lineResult.setStale(stock != null && line.getBaseStockVersion() != null
+                    && !line.getBaseStockVersion().equals(stock[1]));
+            lineResult.setStatus(OfflineStockMovementResultDto.Status.APPLIED);
+            accepted.add(line);
+            acceptedResults.add(lineResult);
+        }
+
+        if (!accepted.isEmpty()) {
+            BulkStockMovementRequest replay = new BulkStockMovementRequest();
+            replay.setCreatedById(userId);
+            replay.setLines(accepted);
+            BulkStockMovementResultDto applied = inventoryService.recordBulkStockMovements(replay);
+            for (BulkStockMovementResultDto.LineError error : applied.getErrors()) {
+                OfflineStockMovementResultDto.LineResult lineResult = acceptedResults.get(error.getLineIndex());
+                lineResult.setStatus(error.getReason() == BulkStockMovementResultDto.Reason.INSUFFICIENT_STOCK
+                        ? OfflineStockMovementResultDto.Status.CONFLICT : OfflineStockMovementResultDto.Status.REJECTED);
+                lineResult.setMessage(error.getMessage());
+            }
+        }
+
+        Map<Long, Object[]> after = loadStock(materialIds);
+        int conflicts = 0;
+        for (OfflineStockMovementResultDto.LineResult lineResult : result.getLines()) {
+            Object[] stock = after.get(lineResult.getMaterialId());
+            if (stock != null) {
+                lineResult.setCurrentStock((BigDecimal) stock[0]);
+                lineResult.setStockVersion((Long) stock[1]);
+            }
+            if (lineResult.getStatus() == OfflineStockMovementResultDto.Status.CONFLICT) {
+                conflicts++;
+            }
+        }
+
+        logger.info("Offline stock upload by user {}: {} lines, {} sent to the ledger, {} conflicts",
+                   userId, lines.size(), accepted.size(), conflicts);
+        return result;
+    }
+
+    // Null means no project filter
+    private Set<Long> visibleProjects(Long userId, Long projectId) {
+        if (projectId != null) {
+            if (!authService.canAccessProject(userId, projectId)) {
+                throw new AccessDeniedException("Access denied to project " + projectId);
+            }
+            return Set.of(projectId);
+        }
+        List<Long> accessible = authService.getAccessibleProjectIds(userId);
+        return accessible != null ? new HashSet<>(accessible) : null;
+    }
+
+    private Map<String, Map<String, Object>> loadRows(Map<String, List<Long>> idsByType) {
+        Map<String, Map<String, Object>> rows = new HashMap<>();
+        for (Map.Entry<String, List<Long>> entry : idsByType.entrySet()) {
+            String sql = ENTITY_QUERIES.get(entry.getKey());
+            if (sql == null) {
+                continue;
+            }
+            namedJdbcTemplate.query(sql, new MapSqlParameterSource("ids", entry.getValue()), rs -> {
+                int columns = rs.getMetaData().getColumnCount();
+                Map<String, Object> row = new LinkedHashMap<>();
+                for (int i = 1; i <= columns; i++) {
+                    Object value = rs.getObject(i);
+                    row.put(toCamelCase(rs.getMetaData().getColumnLabel(i)),
+                            value instanceof Timestamp ? ((Timestamp) value).toLocalDateTime() : value);
+                }
+                rows.put(entry.getKey() + ":" + row.get("id"), row);
+            });
+        }
+        return rows;
+    }
+
+    private Map<Long, Object[]> loadStock(Collection<Long> materialIds) {
+        Map<Long, Object[]> stock = new HashMap<>();
+        if (!materialIds.isEmpty()) {
+            namedJdbcTemplate.query("SELECT id, current_stock, version FROM materials WHERE id IN (:ids)",
+                    new MapSqlParameterSource("ids", materialIds),
+                    rs -> {
+                        stock.put(rs.getLong(1), new Object[] { rs.getBigDecimal(2), rs.getLong(3) });
+                    });
+        }
+        return stock;
+    }
+
+    private long parseToken(String token) {
+        if (token == null || token.isBlank()) {
+            return 0;
+        }
+        try {
+            long seq = Long.parseLong(token.trim());
+            if (seq < 0) {
+                throw new NumberFormatException();
+            }
+            return seq;
+        } catch (NumberFormatException e) {
+            throw new CustomException("Invalid sync token: " + token);
+        }
+    }
+
+    private static String toCamelCase(String column) {
+        StringBuilder name = new StringBuilder(column.length());
+        boolean upper = false;
+        for (char c : column.toCharArray()) {
+            if (c == '_') {
+                upper = true;
+            } else {
+                name.append(upper ? Character.toUpperCase(c) : c);
+                upper = false;
+            }
+        }
+        return name.toString();
+    }
+}
@@ -1,10 +1,14 @@
 package com.sitemasterpro.service;
 
+import com.sitemasterpro.entity.Project;
 import com.sitemasterpro.entity.Role;
 import com.sitemasterpro.entity.User;
 import com.sitemasterpro.exception.CustomException;
+import com.sitemasterpro.repository.ProjectRepository;
 import com.sitemasterpro.repository.RoleRepository;
 import com.sitemasterpro.repository.UserRepository;
+import com.sitemasterpro.security.PrincipalCache;
+import com.sitemasterpro.security.ProjectAccessIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -37,6 +41,15 @@ public class UserService implements UserDetailsService {
     @Autowired
     private AuditService auditService;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectAccessIndex projectAccessIndex;
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsername(username)
@@ -84,6 +97,8 @@ public class UserService implements UserDetailsService {
         user.setPhoneNumber(phoneNumber);
 
         User updatedUser = userRepository.save(user);
+        // Profile fields don't affect authorization, so cached principals are refreshed without revoking tokens
+        principalCache.invalidateAfterCommit(userId);
         
         String newValues = String.format("fullName: %s, email: %s, phoneNumber: %s", 
                                         updatedUser.getFullName(), updatedUser.getEmail(), updatedUser.getPhoneNumber());
@@ -127,6 +142,7 @@ public class UserService implements UserDetailsService {
     public void toggleUserStatus(Long userId) {
         User user = getUserById(userId);
         user.setEnabled(!user.getEnabled());
+        revokeTokens(user);
         userRepository.save(user);
         
         auditService.logAction("TOGGLE_USER_STATUS", "User", userId, 
@@ -139,6 +155,7 @@ public class UserService implements UserDetailsService {
     public void changePassword(Long userId, String newPassword) {
         User user = getUserById(userId);
         user.setPassword(passwordEncoder.encode(newPassword));
+        revokeTokens(user);
         userRepository.save(user);
         
         auditService.logAction("CHANGE_PASSWORD", "User", userId, null, "Password changed");
@@ -158,10 +175,38 @@ public class UserService implements UserDetailsService {
             user.getRoles().add(role);
         }
         
+        revokeTokens(user);
         userRepository.save(user);
+        projectAccessIndex.invalidateAfterCommit(userId);
         
         auditService.logAction("ASSIGN_ROLES", "User", userId, oldRoles, user.getRoles().toString());
         
         logger.info("Roles assigned to user {}: {}", user.getUsername(), roleNames);
     }
+
+    public void assignProjects(Long userId, Set<Long> projectIds) {
+        User user = getUserById(userId);
+        List<Project> projects = projectRepository.findAllById(projectIds);
+        if (projects.size() != projectIds.size()) {
+            throw new CustomException("One or more projects not found");
+        }
+        
+        String oldProjects = user.getProjects().stream().map(Project::getId).sorted().toList().toString();
+        user.getProjects().clear();
+        user.getProjects().addAll(projects);
+        
+        userRepository.save(user);
+        projectAccessIndex.invalidateAfterCommit(userId);
+        
+        auditService.logAction("ASSIGN_PROJECTS", "User", userId, oldProjects, 
+                              projectIds.stream().sorted().toList().toString());
+        
+        logger.info("Projects assigned to user {}: {}", user.getUsername(), projectIds);
+    }
+
+    // Invalidates every issued token and the cached principal, so the change takes effect on the next request
+    private void revokeTokens(User user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        principalCache.invalidateAfterCommit(user.getId());
+    }
 }
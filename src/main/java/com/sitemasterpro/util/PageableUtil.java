@@ -0,0 +1,30 @@
+package com.sitemasterpro.util;
+
+import com.sitemasterpro.exception.CustomException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+
+public final class PageableUtil {
+
+    private PageableUtil() {}
+
+    /**
+     * Rejects sort properties outside {@code sortable} and falls back to {@code defaultSort} when none
+     * is given. The id is appended as a tie-break so pages never overlap when sort values repeat.
+     */
+    public static Pageable restrictSort(Pageable pageable, Set<String> sortable, Sort defaultSort) {
+        Sort sort = pageable.getSortOr(defaultSort);
+        for (Sort.Order order : sort) {
+            if (!sortable.contains(order.getProperty())) {
+                throw new CustomException("Unsupported sort property: " + order.getProperty());
+            }
+        }
+        if (sort.getOrderFor("id") == null) {
+            sort = sort.and(Sort.by(Sort.Direction.ASC, "id"));
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+    }
+}
@@ -0,0 +1,78 @@
+package com.sitemasterpro.websocket;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * WebSocket metrics: open sessions by transport, read from the STOMP handler's own counters, and
+ * the size of every message sent to a client, recorded on the client outbound channel where the
+ * payload is already serialized.
+ */
+@Component
+public class WebSocketMetrics implements ChannelInterceptor {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Resolved on first scrape; the handler is built from the broker configuration that registers this interceptor
+    @Autowired
+    @Qualifier("subProtocolWebSocketHandler")
+    private ObjectProvider<WebSocketHandler> webSocketHandler;
+
+    private DistributionSummary outboundPayloads;
+
+    @PostConstruct
+    public void registerMetrics() {
+        registerSessionGauge("websocket", SubProtocolWebSocketHandler.Stats::getWebSocketSessions);
+        registerSessionGauge("http_streaming", SubProtocolWebSocketHandler.Stats::getHttpStreamingSessions);
+        registerSessionGauge("http_polling", SubProtocolWebSocketHandler.Stats::getHttpPollingSessions);
+        outboundPayloads = DistributionSummary.builder("websocket.outbound.payload")
+                .description("Payload size of messages sent to WebSocket clients")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE
+                && message.getPayload() instanceof byte[]) {
+            outboundPayloads.record(((byte[]) message.getPayload()).length);
+        }
+        return message;
+    }
+
+    private void registerSessionGauge(String transport, ToIntFunction<SubProtocolWebSocketHandler.Stats> count) {
+        Gauge.builder("websocket.sessions", this, metrics -> metrics.sessionCount(count))
+                .description("Open WebSocket sessions on this node")
+                .tag("transport", transport)
+                .register(meterRegistry);
+    }
+
+    private double sessionCount(ToIntFunction<SubProtocolWebSocketHandler.Stats> count) {
+        WebSocketHandler handler = webSocketHandler.getIfAvailable();
+        if (handler == null) {
+            return Double.NaN;
+        }
+        WebSocketHandler unwrapped = WebSocketHandlerDecorator.unwrap(handler);
+        if (!(unwrapped instanceof SubProtocolWebSocketHandler)) {
+            return Double.NaN;
+        }
+        return count.applyAsInt(((SubProtocolWebSocketHandler) unwrapped).getStats());
+    }
+}
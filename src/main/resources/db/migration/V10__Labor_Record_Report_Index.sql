@@ -0,0 +1,5 @@
+-- Keyset pagination of the labor report on (work_date, id), newest first
+CREATE INDEX IF NOT EXISTS idx_labor_records_project_date_id ON labor_records(project_id, work_date DESC, id DESC);
+
+-- Superseded by the composite index above, which shares its leading column
+DROP INDEX IF EXISTS idx_labor_records_project;
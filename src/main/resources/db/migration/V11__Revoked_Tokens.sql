@@ -0,0 +1,10 @@
+-- Tokens revoked at logout. Shared by every node, which polls it into its in-memory deny-list, so a
+-- logout on one node is honoured by all of them. Rows are kept until the token itself expires.
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    token_digest VARCHAR(44) PRIMARY KEY, -- Base64 SHA-256 of the token, never the token itself
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_revoked_at ON revoked_tokens(revoked_at);
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens(expires_at);
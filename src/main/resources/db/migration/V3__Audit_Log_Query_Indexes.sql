@@ -0,0 +1,10 @@
+-- Composite indexes for keyset pagination on (timestamp, id), newest first
+CREATE INDEX IF NOT EXISTS idx_audit_logs_timestamp_id ON audit_logs(timestamp DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_logs_user_timestamp_id ON audit_logs(user_id, timestamp DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_logs_action_timestamp_id ON audit_logs(action, timestamp DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_logs_entity_timestamp_id ON audit_logs(entity_type, entity_id, timestamp DESC, id DESC);
+
+-- Superseded by the composite indexes above, which share their leading columns
+DROP INDEX IF EXISTS idx_audit_logs_timestamp;
+DROP INDEX IF EXISTS idx_audit_logs_user;
+DROP INDEX IF EXISTS idx_audit_logs_entity;
@@ -0,0 +1,56 @@
+-- Convert audit_logs into a table range-partitioned by month on timestamp.
+-- The primary key has to include the partition key, so it becomes (id, timestamp);
+-- ids keep coming from the existing sequence and stay unique on their own.
+
+ALTER TABLE audit_logs RENAME TO audit_logs_legacy;
+ALTER SEQUENCE audit_logs_id_seq OWNED BY NONE;
+
+CREATE TABLE audit_logs (
+    id BIGINT NOT NULL DEFAULT nextval('audit_logs_id_seq'),
+    user_id BIGINT,
+    action VARCHAR(255) NOT NULL,
+    entity_type VARCHAR(255) NOT NULL,
+    entity_id BIGINT,
+    old_values TEXT,
+    new_values TEXT,
+    ip_address VARCHAR(45),
+    user_agent TEXT,
+    timestamp TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, timestamp),
+    FOREIGN KEY (user_id) REFERENCES users(id)
+) PARTITION BY RANGE (timestamp);
+
+-- One partition per month from the oldest existing row up to three months ahead;
+-- AuditPartitionService keeps creating future months from here on
+DO $$
+DECLARE
+    month_start DATE;
+    last_month DATE := date_trunc('month', CURRENT_DATE + INTERVAL '3 months')::date;
+BEGIN
+    SELECT date_trunc('month', COALESCE(MIN(timestamp), CURRENT_TIMESTAMP))::date
+    INTO month_start
+    FROM audit_logs_legacy;
+
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF audit_logs FOR VALUES FROM (%L) TO (%L)',
+                       'audit_logs_p' || to_char(month_start, 'YYYY_MM'),
+                       month_start,
+                       (month_start + INTERVAL '1 month')::date);
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO audit_logs (id, user_id, action, entity_type, entity_id, old_values, new_values,
+                        ip_address, user_agent, timestamp)
+SELECT id, user_id, action, entity_type, entity_id, old_values, new_values,
+       ip_address, user_agent, timestamp
+FROM audit_logs_legacy;
+
+DROP TABLE audit_logs_legacy;
+ALTER SEQUENCE audit_logs_id_seq OWNED BY audit_logs.id;
+
+-- Partitioned indexes: created once on the parent and inherited by every partition
+CREATE INDEX IF NOT EXISTS idx_audit_logs_timestamp_id ON audit_logs(timestamp DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_logs_user_timestamp_id ON audit_logs(user_id, timestamp DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_logs_action_timestamp_id ON audit_logs(action, timestamp DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_logs_entity_timestamp_id ON audit_logs(entity_type, entity_id, timestamp DESC, id DESC);
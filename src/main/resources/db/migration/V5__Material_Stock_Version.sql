@@ -0,0 +1,2 @@
+-- Optimistic version for materials; every stock ledger update increments it as well
+ALTER TABLE materials ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,22 @@
+-- Per-project financial totals maintained on write, one row per transaction type and category
+CREATE TABLE IF NOT EXISTS project_financial_rollups (
+    project_id BIGINT NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    category VARCHAR(50) NOT NULL,
+    approved_amount DECIMAL(15,2) NOT NULL DEFAULT 0,
+    approved_count BIGINT NOT NULL DEFAULT 0,
+    pending_amount DECIMAL(15,2) NOT NULL DEFAULT 0,
+    pending_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (project_id, type, category),
+    FOREIGN KEY (project_id) REFERENCES projects(id) ON DELETE CASCADE
+);
+
+INSERT INTO project_financial_rollups (project_id, type, category, approved_amount, approved_count,
+                                       pending_amount, pending_count)
+SELECT project_id, type, category,
+       COALESCE(SUM(amount) FILTER (WHERE approved), 0),
+       COUNT(*) FILTER (WHERE approved),
+       COALESCE(SUM(amount) FILTER (WHERE NOT approved), 0),
+       COUNT(*) FILTER (WHERE NOT approved)
+FROM financial_transactions
+GROUP BY project_id, type, category;
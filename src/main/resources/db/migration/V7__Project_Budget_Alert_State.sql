@@ -0,0 +1,5 @@
+-- Set by the budget sweep when a project crosses the overrun threshold and cleared when it drops back,
+-- so each crossing raises exactly one alert
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS budget_alert_active BOOLEAN NOT NULL DEFAULT FALSE;
+
+CREATE INDEX IF NOT EXISTS idx_projects_budget_alert_active ON projects(budget_alert_active) WHERE budget_alert_active;
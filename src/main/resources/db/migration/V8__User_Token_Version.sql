@@ -0,0 +1,2 @@
+-- Carried in issued JWTs as the "tv" claim; incrementing it revokes every token issued before
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_version BIGINT NOT NULL DEFAULT 0;
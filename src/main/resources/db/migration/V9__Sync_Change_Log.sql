@@ -0,0 +1,75 @@
+-- Change feed for offline clients. Triggers record every write to a synced table in change_log;
+-- the application's sequencer then assigns seq to committed rows in commit order, so a client that
+-- has read up to seq N can never later miss a change with a lower seq.
+CREATE SEQUENCE IF NOT EXISTS change_log_seq;
+
+CREATE TABLE IF NOT EXISTS change_log (
+    id BIGSERIAL PRIMARY KEY,
+    seq BIGINT,
+    entity_type VARCHAR(40) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    project_id BIGINT,
+    operation CHAR(1) NOT NULL, -- U = inserted or updated, D = deleted (or moved to another project)
+    changed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_change_log_unsequenced ON change_log(id) WHERE seq IS NULL;
+CREATE INDEX IF NOT EXISTS idx_change_log_seq ON change_log(seq) WHERE seq IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_change_log_project_seq ON change_log(project_id, seq) WHERE seq IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_change_log_entity ON change_log(entity_type, entity_id, seq);
+
+-- Tokens below horizon refer to tombstones that have been purged; such clients must resync fully
+CREATE TABLE IF NOT EXISTS sync_state (
+    id INT PRIMARY KEY CHECK (id = 1),
+    horizon BIGINT NOT NULL DEFAULT 0
+);
+INSERT INTO sync_state (id, horizon) VALUES (1, 0) ON CONFLICT (id) DO NOTHING;
+
+CREATE OR REPLACE FUNCTION record_project_entity_change() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        INSERT INTO change_log (entity_type, entity_id, project_id, operation) VALUES (TG_ARGV[0], OLD.id, OLD.project_id, 'D');
+        RETURN OLD;
+    END IF;
+    IF TG_OP = 'UPDATE' AND OLD.project_id IS DISTINCT FROM NEW.project_id THEN
+        INSERT INTO change_log (entity_type, entity_id, project_id, operation) VALUES (TG_ARGV[0], OLD.id, OLD.project_id, 'D');
+    END IF;
+    INSERT INTO change_log (entity_type, entity_id, project_id, operation) VALUES (TG_ARGV[0], NEW.id, NEW.project_id, 'U');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION record_global_entity_change() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        INSERT INTO change_log (entity_type, entity_id, operation) VALUES (TG_ARGV[0], OLD.id, 'D');
+        RETURN OLD;
+    END IF;
+    INSERT INTO change_log (entity_type, entity_id, operation) VALUES (TG_ARGV[0], NEW.id, 'U');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER materials_change_log AFTER INSERT OR UPDATE OR DELETE ON materials
+    FOR EACH ROW EXECUTE FUNCTION record_global_entity_change('Material');
+CREATE TRIGGER inventory_transactions_change_log AFTER INSERT OR UPDATE OR DELETE ON inventory_transactions
+    FOR EACH ROW EXECUTE FUNCTION record_project_entity_change('InventoryTransaction');
+CREATE TRIGGER financial_transactions_change_log AFTER INSERT OR UPDATE OR DELETE ON financial_transactions
+    FOR EACH ROW EXECUTE FUNCTION record_project_entity_change('FinancialTransaction');
+CREATE TRIGGER labor_records_change_log AFTER INSERT OR UPDATE OR DELETE ON labor_records
+    FOR EACH ROW EXECUTE FUNCTION record_project_entity_change('LaborRecord');
+CREATE TRIGGER project_milestones_change_log AFTER INSERT OR UPDATE OR DELETE ON project_milestones
+    FOR EACH ROW EXECUTE FUNCTION record_project_entity_change('ProjectMilestone');
+
+-- Existing rows form the initial state of the feed
+INSERT INTO change_log (seq, entity_type, entity_id, project_id, operation)
+SELECT nextval('change_log_seq'), 'Material', id, NULL, 'U' FROM materials
+UNION ALL SELECT nextval('change_log_seq'), 'InventoryTransaction', id, project_id, 'U' FROM inventory_transactions
+UNION ALL SELECT nextval('change_log_seq'), 'FinancialTransaction', id, project_id, 'U' FROM financial_transactions
+UNION ALL SELECT nextval('change_log_seq'), 'LaborRecord', id, project_id, 'U' FROM labor_records
+UNION ALL SELECT nextval('change_log_seq'), 'ProjectMilestone', id, project_id, 'U' FROM project_milestones;
+
+-- Client-generated id of a stock movement queued offline, making its upload idempotent
+ALTER TABLE inventory_transactions ADD COLUMN IF NOT EXISTS client_ref VARCHAR(64);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_inventory_transactions_client_ref ON inventory_transactions(client_ref)
+    WHERE client_ref IS NOT NULL;
@@ -0,0 +1,53 @@
+package com.sitemasterpro;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+
+/**
+ * Base for tests that need the real schema and SQL: one embedded PostgreSQL per test JVM, migrated by
+ * Flyway on startup. Subclasses share the cached application context, so they must not change its
+ * configuration and should create the rows they assert on rather than rely on a clean database.
+ */
+@SpringBootTest(properties = {
+        "spring.devtools.restart.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.com.sitemasterpro=WARN",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+        "app.websocket.broker.mode=simple"
+})
+public abstract class PostgresIntegrationTest {
+
+    private static final EmbeddedPostgres POSTGRES = start();
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", PostgresIntegrationTest::jdbcUrl);
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    /** URL of the shared embedded database, for tests that start application contexts of their own. */
+    public static String jdbcUrl() {
+        return POSTGRES.getJdbcUrl("postgres", "postgres");
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (IOException ignored) {
+                    // JVM is exiting
+                }
+            }, "embedded-postgres-shutdown"));
+            return postgres;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start embedded PostgreSQL", e);
+        }
+    }
+}
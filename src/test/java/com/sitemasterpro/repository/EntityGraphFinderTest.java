@@ -0,0 +1,147 @@
+package com.sitemasterpro.repository;
+
+import com.sitemasterpro.PostgresIntegrationTest;
+import com.sitemasterpro.entity.FinancialTransaction;
+import com.sitemasterpro.entity.InventoryTransaction;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The view finders load each row's references in the listing query itself, so rendering a page of rows costs
+ * one statement however many distinct references it shows. The general finders keep the mapped lazy plan.
+ */
+class EntityGraphFinderTest extends PostgresIntegrationTest {
+    private static final int ROWS = 6;
+
+    // Rows are dated in a month no other test writes to, so the range finders see only these
+    private static final LocalDateTime START = LocalDateTime.of(2001, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2001, 1, 31, 23, 59);
+
+    @Autowired
+    private InventoryTransactionRepository inventoryTransactionRepository;
+
+    @Autowired
+    private FinancialTransactionRepository financialTransactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+    private Statistics statistics;
+
+    @BeforeEach
+    void seed() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Integer seeded = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM inventory_transactions WHERE transaction_date BETWEEN ? AND ?", Integer.class, START, END);
+        if (seeded != null && seeded > 0) {
+            return;
+        }
+        Long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = 'admin'", Long.class);
+        // A distinct project, material and supplier per row, so a lazy plan would need a statement for each
+        for (int i = 0; i < ROWS; i++) {
+            Long projectId = jdbcTemplate.queryForObject(
+                    "INSERT INTO projects (name, location, start_date, contract_value, budgeted_cost, status) " +
+                    "VALUES (?, 'Test site', CURRENT_DATE, 100000, 80000, 'IN_PROGRESS') RETURNING id",
+                    Long.class, "Graph project " + i);
+            Long materialId = jdbcTemplate.queryForObject(
+                    "INSERT INTO materials (name, unit, unit_price, current_stock, min_stock_level, max_stock_level) " +
+                    "VALUES (?, 'bags', 10, 100, 0, 1000) RETURNING id", Long.class, "Graph material " + i);
+            Long supplierId = jdbcTemplate.queryForObject(
+                    "INSERT INTO suppliers (name) VALUES (?) RETURNING id", Long.class, "Graph supplier " + i);
+            LocalDateTime date = START.plusDays(i + 1);
+            jdbcTemplate.update(
+                    "INSERT INTO inventory_transactions (project_id, material_id, supplier_id, type, quantity, unit_price, " +
+                    "total_amount, transaction_date, created_by) VALUES (?, ?, ?, 'STOCK_IN', 10, 10, 100, ?, ?)",
+                    projectId, materialId, supplierId, date, userId);
+            jdbcTemplate.update(
+                    "INSERT INTO financial_transactions (project_id, type, category, amount, description, transaction_date, " +
+                    "created_by, approved) VALUES (?, 'EXPENSE', 'MATERIALS', 100, 'Graph expense', ?, ?, false)",
+                    projectId, date, userId);
+        }
+    }
+
+    @Test
+    void inventoryViewFinderLoadsReferencesInOneStatement() {
+        statistics.clear();
+        readOnly.executeWithoutResult(status -> {
+            List<InventoryTransaction> transactions =
+                    inventoryTransactionRepository.findWithReferencesByDateRange(START, END);
+            assertThat(transactions).hasSize(ROWS);
+            for (InventoryTransaction transaction : transactions) {
+                assertThat(transaction.getProject().getName()).startsWith("Graph project");
+                assertThat(transaction.getMaterial().getName()).startsWith("Graph material");
+                assertThat(transaction.getSupplier().getName()).startsWith("Graph supplier");
+                assertThat(transaction.getCreatedBy().getFullName()).isNotNull();
+            }
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void financialViewFindersLoadReferencesInOneStatement() {
+        statistics.clear();
+        readOnly.executeWithoutResult(status -> {
+            List<FinancialTransaction> transactions =
+                    financialTransactionRepository.findWithReferencesByDateRange(START, END);
+            assertThat(transactions).hasSize(ROWS);
+            for (FinancialTransaction transaction : transactions) {
+                assertThat(transaction.getProject().getName()).startsWith("Graph project");
+                assertThat(transaction.getCreatedBy().getFullName()).isNotNull();
+            }
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        readOnly.executeWithoutResult(status -> {
+            List<FinancialTransaction> pending = financialTransactionRepository.findWithReferencesByApprovedFalse();
+            assertThat(pending).hasSizeGreaterThanOrEqualTo(ROWS);
+            for (FinancialTransaction transaction : pending) {
+                assertThat(transaction.getProject().getName()).isNotNull();
+            }
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void generalFindersKeepReferencesLazy() {
+        statistics.clear();
+        readOnly.executeWithoutResult(status -> {
+            List<InventoryTransaction> inventory = inventoryTransactionRepository.findByDateRange(START, END);
+            List<FinancialTransaction> financial = financialTransactionRepository.findByDateRange(START, END);
+            assertThat(inventory).hasSize(ROWS);
+            assertThat(financial).hasSize(ROWS);
+            for (InventoryTransaction transaction : inventory) {
+                assertThat(Hibernate.isInitialized(transaction.getProject())).isFalse();
+                assertThat(Hibernate.isInitialized(transaction.getMaterial())).isFalse();
+                assertThat(Hibernate.isInitialized(transaction.getSupplier())).isFalse();
+            }
+            for (FinancialTransaction transaction : financial) {
+                assertThat(Hibernate.isInitialized(transaction.getProject())).isFalse();
+            }
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
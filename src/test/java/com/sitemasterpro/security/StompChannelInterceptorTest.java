@@ -0,0 +1,78 @@
+package com.sitemasterpro.security;
+
+import com.sitemasterpro.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * SUBSCRIBE authorization for a site engineer assigned to no project. Broker wildcards must be refused,
+ * since the simple broker would match them against every project's topics.
+ */
+class StompChannelInterceptorTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private StompChannelInterceptor interceptor;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void unassignedUserIsRefusedWildcardSubscriptions() {
+        UsernamePasswordAuthenticationToken user = unassignedUser();
+
+        for (String destination : new String[] { "/topic/**", "/topic/*-updates", "/topic/pro*/**",
+                                                 "/topic/project/*/alerts", "/queue/**" }) {
+            assertThatThrownBy(() -> interceptor.preSend(subscribe(user, destination), null))
+                    .as(destination)
+                    .isInstanceOf(AccessDeniedException.class);
+        }
+    }
+
+    @Test
+    void unassignedUserIsRefusedProjectTopicsButNotOpenOnes() {
+        UsernamePasswordAuthenticationToken user = unassignedUser();
+
+        assertThatThrownBy(() -> interceptor.preSend(subscribe(user, "/topic/financial-updates"), null))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> interceptor.preSend(subscribe(user, "/topic/project/1/alerts"), null))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThatCode(() -> interceptor.preSend(subscribe(user, "/topic/alerts"), null))
+                .doesNotThrowAnyException();
+    }
+
+    private UsernamePasswordAuthenticationToken unassignedUser() {
+        String username = "stomp-" + UUID.randomUUID().toString().substring(0, 8);
+        Long userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (username, password, email, full_name) VALUES (?, 'x', ?, 'Unassigned engineer') RETURNING id",
+                Long.class, username, username + "@example.com");
+        jdbcTemplate.update("INSERT INTO user_roles (user_id, role_id) SELECT ?, id FROM roles WHERE name = 'ROLE_SITE_ENGINEER'",
+                            userId);
+        UserPrincipal principal = (UserPrincipal) userDetailsService.loadUserById(userId);
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    private static Message<byte[]> subscribe(UsernamePasswordAuthenticationToken user, String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setSessionId("session-1");
+        accessor.setSubscriptionId("sub-1");
+        accessor.setDestination(destination);
+        accessor.setUser(user);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,160 @@
+package com.sitemasterpro.service;
+
+import com.sitemasterpro.PostgresIntegrationTest;
+import com.sitemasterpro.dto.SyncChangeDto;
+import com.sitemasterpro.dto.SyncChangesDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The guarantees of the change feed: a client token never skips a change that committed after changes
+ * with higher ids, compaction keeps only the latest entry per entity, and a token below the horizon left
+ * by purged tombstones forces a full resync. The scheduled sequencer keeps running during these tests,
+ * so they wait for entries to be sequenced rather than assume who sequenced them.
+ */
+class ChangeLogFeedTest extends PostgresIntegrationTest {
+    private static final int PAGE = 2000;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private ChangeLogMaintenanceService maintenanceService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void changeCommittingAfterAHigherIdIsNotSkipped() throws Exception {
+        Long adminId = adminId();
+        String token = syncService.getChanges(adminId, latestToken(), null, PAGE).getToken();
+
+        Long lateId;
+        try (Connection late = dataSource.getConnection()) {
+            late.setAutoCommit(false);
+            // Logged first, so its change_log row has the lower id, but it stays uncommitted for now
+            lateId = insertMaterial(late, "Late material");
+            Long earlyId = jdbcTemplate.queryForObject(
+                    "INSERT INTO materials (name, unit, unit_price) VALUES ('Early material', 'bags', 1) RETURNING id", Long.class);
+            long earlySeq = awaitSequenced(earlyId);
+
+            SyncChangesDto first = syncService.getChanges(adminId, token, null, PAGE);
+            assertThat(materialIds(first)).contains(earlyId).doesNotContain(lateId);
+            assertThat(Long.parseLong(first.getToken())).isGreaterThanOrEqualTo(earlySeq);
+            token = first.getToken();
+
+            late.commit();
+        }
+
+        // The late row is numbered when it becomes visible, after the token the client already holds
+        long lateSeq = awaitSequenced(lateId);
+        assertThat(lateSeq).isGreaterThan(Long.parseLong(token));
+        SyncChangesDto second = syncService.getChanges(adminId, token, null, PAGE);
+        assertThat(materialIds(second)).contains(lateId);
+    }
+
+    @Test
+    void compactionKeepsOnlyTheLatestEntryPerEntity() {
+        Long materialId = jdbcTemplate.queryForObject(
+                "INSERT INTO materials (name, unit, unit_price) VALUES ('Compacted material', 'bags', 1) RETURNING id", Long.class);
+        jdbcTemplate.update("UPDATE materials SET unit_price = 2 WHERE id = ?", materialId);
+        jdbcTemplate.update("UPDATE materials SET unit_price = 3 WHERE id = ?", materialId);
+        long lastSeq = awaitSequenced(materialId);
+
+        maintenanceService.compact();
+
+        List<Long> remaining = jdbcTemplate.queryForList(
+                "SELECT seq FROM change_log WHERE entity_type = 'Material' AND entity_id = ?", Long.class, materialId);
+        assertThat(remaining).containsExactly(lastSeq);
+    }
+
+    @Test
+    void tokenBelowPurgedTombstoneRequiresReset() {
+        Long adminId = adminId();
+        Long materialId = jdbcTemplate.queryForObject(
+                "INSERT INTO materials (name, unit, unit_price) VALUES ('Purged material', 'bags', 1) RETURNING id", Long.class);
+        jdbcTemplate.update("DELETE FROM materials WHERE id = ?", materialId);
+        long tombstoneSeq = awaitSequenced(materialId);
+        String staleToken = String.valueOf(tombstoneSeq - 1);
+        // Age the tombstone past the retention window
+        jdbcTemplate.update("UPDATE change_log SET changed_at = CURRENT_TIMESTAMP - INTERVAL '400 days' " +
+                            "WHERE entity_type = 'Material' AND entity_id = ? AND operation = 'D'", materialId);
+
+        maintenanceService.compact();
+
+        Long horizon = jdbcTemplate.queryForObject("SELECT horizon FROM sync_state WHERE id = 1", Long.class);
+        assertThat(horizon).isGreaterThanOrEqualTo(tombstoneSeq);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM change_log WHERE entity_type = 'Material' AND entity_id = ?", Integer.class, materialId))
+                .isZero();
+
+        SyncChangesDto stale = syncService.getChanges(adminId, staleToken, null, PAGE);
+        assertThat(stale.isResetRequired()).isTrue();
+        assertThat(stale.getToken()).isEqualTo("0");
+        assertThat(stale.getChanges()).isEmpty();
+
+        assertThat(syncService.getChanges(adminId, String.valueOf(horizon), null, PAGE).isResetRequired()).isFalse();
+    }
+
+    private Long adminId() {
+        return jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = 'admin'", Long.class);
+    }
+
+    private String latestToken() {
+        return String.valueOf(jdbcTemplate.queryForObject("SELECT COALESCE(MAX(seq), 0) FROM change_log", Long.class));
+    }
+
+    private static Long insertMaterial(Connection connection, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO materials (name, unit, unit_price) VALUES (?, 'bags', 1) RETURNING id")) {
+            statement.setString(1, name);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    // Highest seq of the material's entries once none of them is waiting for the sequencer
+    private long awaitSequenced(Long materialId) {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            maintenanceService.sequencePendingChanges();
+            Integer pending = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM change_log WHERE entity_type = 'Material' AND entity_id = ? AND seq IS NULL",
+                    Integer.class, materialId);
+            Long seq = jdbcTemplate.queryForObject(
+                    "SELECT MAX(seq) FROM change_log WHERE entity_type = 'Material' AND entity_id = ?", Long.class, materialId);
+            if (pending == 0 && seq != null) {
+                return seq;
+            }
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        throw new AssertionError("Change log entries for material " + materialId + " were not sequenced");
+    }
+
+    private static List<Long> materialIds(SyncChangesDto page) {
+        return page.getChanges().stream()
+                .filter(change -> "Material".equals(change.getEntityType()))
+                .map(SyncChangeDto::getId)
+                .collect(Collectors.toList());
+    }
+}
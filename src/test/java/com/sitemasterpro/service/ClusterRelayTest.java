@@ -0,0 +1,102 @@
+package com.sitemasterpro.service;
+
+import com.sitemasterpro.PostgresIntegrationTest;
+import com.sitemasterpro.SiteMasterProApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two nodes in cluster mode, each a full application context in this JVM, connected by the in-memory
+ * relay. A message published on one node must reach the other node's broker, and exactly once the
+ * broker of the node that published it.
+ */
+class ClusterRelayTest {
+    private static final String DESTINATION = "/topic/cluster-relay-test";
+
+    private ConfigurableApplicationContext nodeA;
+    private ConfigurableApplicationContext nodeB;
+
+    @BeforeEach
+    void startNodes() {
+        nodeA = startNode();
+        nodeB = startNode();
+    }
+
+    @AfterEach
+    void stopNodes() {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+    }
+
+    @Test
+    void messagePublishedOnOneNodeReachesTheOther() {
+        List<Message<?>> onA = captureBrokerMessages(nodeA);
+        List<Message<?>> onB = captureBrokerMessages(nodeB);
+
+        nodeA.getBean(RealtimePublisher.class).publish(DESTINATION, Map.of("value", 42));
+
+        assertThat(onA).hasSize(1);
+        assertThat(onB).hasSize(1);
+        assertThat(new String((byte[]) onB.get(0).getPayload(), StandardCharsets.UTF_8)).contains("\"value\":42");
+    }
+
+    @Test
+    void closedNodeLeavesTheRelay() {
+        nodeB.close();
+        List<Message<?>> onA = captureBrokerMessages(nodeA);
+
+        nodeA.getBean(RealtimePublisher.class).publish(DESTINATION, "after shutdown");
+
+        assertThat(onA).hasSize(1);
+        assertThat(onA.get(0).getPayload()).isEqualTo("after shutdown".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(SiteMasterProApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.jmx.enabled=false",
+                        "spring.devtools.restart.enabled=false",
+                        "logging.level.com.sitemasterpro=WARN",
+                        "spring.datasource.url=" + PostgresIntegrationTest.jdbcUrl(),
+                        "spring.datasource.username=postgres",
+                        "spring.datasource.password=postgres",
+                        "app.websocket.broker.mode=cluster",
+                        "app.websocket.broker.cluster.transport=in-memory")
+                .run();
+    }
+
+    // Messages for the test destination as they enter the node's broker, whether published locally or relayed
+    private static List<Message<?>> captureBrokerMessages(ConfigurableApplicationContext node) {
+        List<Message<?>> captured = new CopyOnWriteArrayList<>();
+        node.getBean("brokerChannel", AbstractSubscribableChannel.class).addInterceptor(new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                if (DESTINATION.equals(SimpMessageHeaderAccessor.getDestination(message.getHeaders()))) {
+                    captured.add(message);
+                }
+                return message;
+            }
+        });
+        return captured;
+    }
+}
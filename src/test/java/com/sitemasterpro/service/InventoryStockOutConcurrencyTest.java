@@ -0,0 +1,131 @@
+package com.sitemasterpro.service;
+
+import com.sitemasterpro.PostgresIntegrationTest;
+import com.sitemasterpro.entity.InventoryTransaction;
+import com.sitemasterpro.entity.Material;
+import com.sitemasterpro.entity.Project;
+import com.sitemasterpro.exception.CustomException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many threads issuing the same material at once, asking for several times the stock on hand. The ledger's
+ * conditional update must serialize them so that exactly the issues that fit succeed and the rest are refused.
+ */
+class InventoryStockOutConcurrencyTest extends PostgresIntegrationTest {
+    private static final int THREADS = 16;
+    private static final int ISSUES_PER_THREAD = 25;
+    private static final BigDecimal INITIAL_STOCK = new BigDecimal("200.00");
+    private static final int MAX_QUANTITY = 5;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void concurrentStockOutsNeverOverdrawAndAccountForEveryIssue() throws Exception {
+        Long projectId = jdbcTemplate.queryForObject(
+                "INSERT INTO projects (name, location, start_date, contract_value, budgeted_cost, status) " +
+                "VALUES ('Stock-out stress', 'Test site', CURRENT_DATE, 1000000, 800000, 'IN_PROGRESS') RETURNING id",
+                Long.class);
+        Long materialId = jdbcTemplate.queryForObject(
+                "INSERT INTO materials (name, unit, unit_price, current_stock, min_stock_level, max_stock_level) " +
+                "VALUES ('Stress cement', 'bags', 10, ?, 0, 1000) RETURNING id", Long.class, INITIAL_STOCK);
+        Project project = projectService.getProjectById(projectId);
+        double rejectedBefore = meterRegistry.counter("inventory.stock.out.rejected").count();
+
+        ConcurrentLinkedQueue<BigDecimal> issued = new ConcurrentLinkedQueue<>();
+        ConcurrentLinkedQueue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Random random = new Random(t);
+            workers.add(executor.submit((Callable<Void>) () -> {
+                start.await();
+                for (int i = 0; i < ISSUES_PER_THREAD; i++) {
+                    BigDecimal quantity = BigDecimal.valueOf(1 + random.nextInt(MAX_QUANTITY));
+                    // Each issue gets its own copy: the service writes the new balance back onto the material
+                    Material material = inventoryService.getMaterialById(materialId);
+                    InventoryTransaction transaction = new InventoryTransaction();
+                    transaction.setProject(project);
+                    transaction.setMaterial(material);
+                    transaction.setQuantity(quantity);
+                    transaction.setUnitPrice(material.getUnitPrice());
+                    transaction.setTotalAmount(material.getUnitPrice().multiply(quantity));
+                    transaction.setIssuedTo("Stress crew");
+                    try {
+                        inventoryService.recordStockOut(transaction);
+                        issued.add(quantity);
+                    } catch (CustomException e) {
+                        if (e.getMessage().startsWith("Insufficient stock")) {
+                            rejected.incrementAndGet();
+                        } else {
+                            unexpected.add(e);
+                        }
+                    } catch (RuntimeException e) {
+                        unexpected.add(e);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertThat(unexpected).isEmpty();
+        assertThat(issued.size() + rejected.get()).isEqualTo(THREADS * ISSUES_PER_THREAD);
+
+        BigDecimal totalIssued = issued.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal finalStock = jdbcTemplate.queryForObject(
+                "SELECT current_stock FROM materials WHERE id = ?", BigDecimal.class, materialId);
+        assertThat(finalStock).isGreaterThanOrEqualTo(BigDecimal.ZERO);
+        assertThat(finalStock).isEqualByComparingTo(INITIAL_STOCK.subtract(totalIssued));
+
+        // Refused issues rolled back their transaction rows; the ledger and the transaction log agree
+        BigDecimal recorded = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(quantity), 0) FROM inventory_transactions WHERE material_id = ? AND type = 'STOCK_OUT'",
+                BigDecimal.class, materialId);
+        Integer recordedCount = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM inventory_transactions WHERE material_id = ? AND type = 'STOCK_OUT'",
+                Integer.class, materialId);
+        assertThat(recorded).isEqualByComparingTo(totalIssued);
+        assertThat(recordedCount).isEqualTo(issued.size());
+
+        // Demand is several times the stock, so issues were refused, and only once the stock could not cover them
+        assertThat(rejected.get()).isPositive();
+        assertThat(finalStock).isLessThan(BigDecimal.valueOf(MAX_QUANTITY));
+        assertThat(meterRegistry.counter("inventory.stock.out.rejected").count() - rejectedBefore)
+                .isEqualTo(rejected.get());
+    }
+}